@@ -15,6 +15,28 @@ import java.util.EnumSet;
 /**
  * Abstract implementation of {@link Position3D}, this implementation is the
  * base class for 2D-bounds synchronized and independent implementations.
+ * <p>
+ * The matrices of a position are calculated lazily. The matrices that are
+ * needed for picking only are calculated when a ray is transformed for the
+ * first time after a change, and the absolute rotation matrix is only
+ * allocated if this position or one of its ancestors is rotated. If this
+ * position is not rotated, its matrices are set up directly instead of being
+ * calculated by general matrix operations.
+ * </p>
+ * <p>
+ * Every time the matrices of a position are recalculated, its generation is
+ * incremented. A position remembers the generation of its parent position
+ * that its own matrices are based on, so that it detects a change of its
+ * parent even if the parent has already been validated again. Therefore
+ * changing a position does not need to invalidate its descendants.
+ * </p>
+ * <p>
+ * The absolute location of a position is accumulated in double precision, so
+ * that positions far away from the world origin can be transformed precisely
+ * relative to another origin, e.g. the camera (see
+ * {@link #getTransformationMatrix(IVector3f, Matrix4f)}), and picking rays can
+ * be transformed without losing precision.
+ * </p>
  * 
  * @author Jens von Pilgrim
  * @version $Revision$
@@ -22,26 +44,66 @@ import java.util.EnumSet;
  */
 public abstract class AbstractPosition3D implements Position3D {
 
+	/**
+	 * Indicates whether this position or any of its ancestors is rotated. If
+	 * not, the absolute rotation matrix is the identity matrix.
+	 */
+	private boolean m_absoluteRotated;
+
+	/**
+	 * The absolute location of this position in double precision.
+	 */
+	private double m_absoluteX, m_absoluteY, m_absoluteZ;
+
+	/**
+	 * The absolute rotation matrix, which is only created when this position
+	 * or any of its ancestors is rotated.
+	 */
 	private transient Matrix4fImpl m_absoluteRotationMatrix;
 
 	private Vector3f m_center = new Vector3fImpl();
 
+	/**
+	 * The generation of the matrices of this position, which is incremented
+	 * every time they are recalculated.
+	 */
+	private int m_generation;
+
 	private boolean m_invertible;
 
 	/**
-	 * The matrix with which to transform the direction of a ray.
+	 * The parent position that the matrices of this position are based on.
+	 */
+	private transient Position3D m_parent;
+
+	/**
+	 * The generation of the parent position that the matrices of this position
+	 * are based on.
+	 */
+	private int m_parentGeneration;
+
+	/**
+	 * The matrix with which to transform the direction of a ray, created on
+	 * first use.
 	 * 
 	 * @see #transformRay(Vector3f, Vector3f)
 	 */
 	private transient Matrix4fImpl m_rayDirectionMatrix;
 
 	/**
-	 * The matrix with which to transform the origin of a ray.
+	 * The matrix with which to transform the origin of a ray, created on first
+	 * use.
 	 * 
 	 * @see #transformRay(Vector3f, Vector3f)
 	 */
 	private transient Matrix4fImpl m_rayOriginMatrix;
 
+	/**
+	 * Indicates whether the ray matrices are up to date with the other
+	 * matrices.
+	 */
+	private boolean m_rayValid;
+
 	/**
 	 * The rotation angles of this figure.
 	 */
@@ -67,9 +129,6 @@ public abstract class AbstractPosition3D implements Position3D {
 		m_rotationAngles = new Vector3fImpl(); // null vector
 		m_transformationMatrix = new Matrix4fImpl(); // identity
 		m_rotationLocationMatrix = new Matrix4fImpl(); // identity
-		m_rayOriginMatrix = new Matrix4fImpl(); // identity
-		m_rayDirectionMatrix = new Matrix4fImpl(); // identiy
-		m_absoluteRotationMatrix = new Matrix4fImpl(); // identity
 		m_valid = false;
 		m_invertible = false;
 		m_updatingBounds = false;
@@ -162,6 +221,9 @@ public abstract class AbstractPosition3D implements Position3D {
 	public IMatrix4f getAbsoluteRotationMatrix() {
 
 		validate();
+		if (!m_absoluteRotated)
+			return IMatrix4f.IDENTITY;
+
 		return m_absoluteRotationMatrix;
 	}
 
@@ -176,6 +238,22 @@ public abstract class AbstractPosition3D implements Position3D {
 		return m_center;
 	}
 
+	/**
+	 * Returns the generation of the matrices of this position, which is
+	 * incremented every time they are recalculated, either because this
+	 * position or because one of its ancestors was changed. Clients can
+	 * compare generations in order to find out whether values that they
+	 * derived from this position are out of date. This position is validated
+	 * if necessary.
+	 *
+	 * @return the generation
+	 */
+	public int getGeneration() {
+
+		validate();
+		return m_generation;
+	}
+
 	private Position3D getParentPosition() {
 
 		IHost3D host = getHost();
@@ -252,6 +330,29 @@ public abstract class AbstractPosition3D implements Position3D {
 		return m_transformationMatrix;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.geometry.IPosition3D#getTransformationMatrix(org.eclipse.draw3d.geometry.IVector3f,
+	 *      org.eclipse.draw3d.geometry.Matrix4f)
+	 */
+	public Matrix4f getTransformationMatrix(IVector3f i_origin,
+		Matrix4f o_result) {
+
+		validate();
+
+		Matrix4f result = o_result;
+		if (result == null)
+			result = new Matrix4fImpl();
+
+		result.set(m_transformationMatrix);
+		result.set(3, 0, (float) (m_absoluteX - i_origin.getX()));
+		result.set(3, 1, (float) (m_absoluteY - i_origin.getY()));
+		result.set(3, 2, (float) (m_absoluteZ - i_origin.getZ()));
+
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -273,10 +374,20 @@ public abstract class AbstractPosition3D implements Position3D {
 			return false;
 
 		Position3D parentPosition = getParentPosition();
-		if (parentPosition != null)
+		if (parentPosition != m_parent)
+			return false;
+
+		if (parentPosition != null) {
 			if (!parentPosition.isValid())
 				return false;
 
+			if (parentPosition instanceof AbstractPosition3D) {
+				AbstractPosition3D parent = (AbstractPosition3D) parentPosition;
+				if (parent.m_generation != m_parentGeneration)
+					return false;
+			}
+		}
+
 		return true;
 	}
 
@@ -402,6 +513,13 @@ public abstract class AbstractPosition3D implements Position3D {
 		if (!m_invertible)
 			return false;
 
+		if (!m_rayValid)
+			validateRay();
+
+		// subtract the absolute location in double precision first
+		i_origin.set((float) (i_origin.getX() - m_absoluteX),
+			(float) (i_origin.getY() - m_absoluteY),
+			(float) (i_origin.getZ() - m_absoluteZ));
 		i_origin.transform(m_rayOriginMatrix);
 		i_direction.transform(m_rayDirectionMatrix);
 		return true;
@@ -412,71 +530,143 @@ public abstract class AbstractPosition3D implements Position3D {
 		if (isValid())
 			return;
 
-		Vector3f halfSize = Math3DCache.getVector3f();
-		Vector3f location = Math3DCache.getVector3f();
-		try {
-			// calculate the transformation and rotation / location matrices
-			// transformations are applied in reverse order
-			Position3D parent = getParentPosition();
-			if (parent != null) {
-
-				Math3D.transform(getLocation3D(),
-					parent.getRotationLocationMatrix(), location);
-				m_rotationLocationMatrix.set(IMatrix4f.IDENTITY);
-				m_rotationLocationMatrix.a41 += location.getX();
-				m_rotationLocationMatrix.a42 += location.getY();
-				m_rotationLocationMatrix.a43 += location.getZ();
-
-				// Math3D.translate(parent.getRotationLocationMatrix(),
-				// getLocation3D(), m_rotationLocationMatrix);
-				m_absoluteRotationMatrix
-					.set(parent.getAbsoluteRotationMatrix());
-			} else {
-				Math3D.translate(IMatrix4f.IDENTITY, getLocation3D(),
-					m_rotationLocationMatrix);
-				m_absoluteRotationMatrix.setIdentity();
+		IVector3f location = getLocation3D();
+		IVector3f rotation = getRotation3D();
+		IVector3f size = getSize3D();
+		boolean rotated = !IVector3f.NULLVEC3f.equals(rotation);
+
+		// calculate the transformation and rotation / location matrices
+		// transformations are applied in reverse order
+		Position3D parent = getParentPosition();
+		IMatrix4f parentRotation = IMatrix4f.IDENTITY;
+		float x = location.getX();
+		float y = location.getY();
+		float z = location.getZ();
+		if (parent instanceof AbstractPosition3D) {
+			AbstractPosition3D p = (AbstractPosition3D) parent;
+			p.validate();
+
+			Matrix4fImpl m = p.m_rotationLocationMatrix;
+			m_absoluteX =
+				p.m_absoluteX + (double) x * m.a11 + (double) y * m.a21
+					+ (double) z * m.a31;
+			m_absoluteY =
+				p.m_absoluteY + (double) x * m.a12 + (double) y * m.a22
+					+ (double) z * m.a32;
+			m_absoluteZ =
+				p.m_absoluteZ + (double) x * m.a13 + (double) y * m.a23
+					+ (double) z * m.a33;
+
+			parentRotation = p.getAbsoluteRotationMatrix();
+			m_parentGeneration = p.m_generation;
+		} else if (parent != null) {
+			Vector3f absLocation = Math3DCache.getVector3f();
+			try {
+				Math3D.transform(location, parent.getRotationLocationMatrix(),
+					absLocation);
+				m_absoluteX = absLocation.getX();
+				m_absoluteY = absLocation.getY();
+				m_absoluteZ = absLocation.getZ();
+			} finally {
+				Math3DCache.returnVector3f(absLocation);
 			}
 
-			if (!IVector3f.NULLVEC3f.equals(getRotation3D())) {
-				// Math3D.scale(0.5f, getSize3D(), halfSize);
-				// Math3D.translate(m_rotationLocationMatrix, halfSize,
-				// m_rotationLocationMatrix);
-
-				Math3D.rotate(getRotation3D(), m_rotationLocationMatrix,
-					m_rotationLocationMatrix);
+			parentRotation = parent.getAbsoluteRotationMatrix();
+		} else {
+			m_absoluteX = x;
+			m_absoluteY = y;
+			m_absoluteZ = z;
+		}
 
-				// Math3D.scale(-0.5f, getSize3D(), halfSize);
-				// Math3D.translate(m_rotationLocationMatrix, halfSize,
-				// m_rotationLocationMatrix);
+		m_rotationLocationMatrix.setIdentity();
+		m_rotationLocationMatrix.a41 = (float) m_absoluteX;
+		m_rotationLocationMatrix.a42 = (float) m_absoluteY;
+		m_rotationLocationMatrix.a43 = (float) m_absoluteZ;
+		m_parent = parent;
+
+		m_absoluteRotated = rotated || parentRotation != IMatrix4f.IDENTITY;
+		if (m_absoluteRotated) {
+			if (m_absoluteRotationMatrix == null)
+				m_absoluteRotationMatrix = new Matrix4fImpl();
+			m_absoluteRotationMatrix.set(parentRotation);
+		}
 
-				Math3D.rotate(getRotation3D(), m_absoluteRotationMatrix,
-					m_absoluteRotationMatrix);
-			}
+		if (rotated) {
+			Math3D.rotate(rotation, m_rotationLocationMatrix,
+				m_rotationLocationMatrix);
+			Math3D.rotate(rotation, m_absoluteRotationMatrix,
+				m_absoluteRotationMatrix);
 
 			m_transformationMatrix.set(m_rotationLocationMatrix);
+			Math3D.scale(size, m_transformationMatrix, m_transformationMatrix);
+		} else {
+			// translation and scaling only
+			m_transformationMatrix.setIdentity();
+			m_transformationMatrix.a11 = size.getX();
+			m_transformationMatrix.a22 = size.getY();
+			m_transformationMatrix.a33 = size.getZ();
+			m_transformationMatrix.a41 = m_rotationLocationMatrix.a41;
+			m_transformationMatrix.a42 = m_rotationLocationMatrix.a42;
+			m_transformationMatrix.a43 = m_rotationLocationMatrix.a43;
+		}
 
-			Math3D.scale(getSize3D(), m_transformationMatrix,
-				m_transformationMatrix);
+		m_invertible =
+			size.getX() != 0 && size.getY() != 0 && size.getZ() != 0;
+		m_rayValid = false;
 
-			// calculate the inverse ray transformation matrices
-			if (getSize3D().getX() == 0 || getSize3D().getY() == 0
-				|| getSize3D().getZ() == 0) {
-				m_invertible = false;
-			} else {
-				m_invertible = true;
-				Math3D.invert(m_transformationMatrix, m_rayOriginMatrix);
+		m_center.set(0.5f, 0.5f, 0.5f);
+		m_center.transform(m_transformationMatrix);
 
-				Math3D.scale(getSize3D(), m_absoluteRotationMatrix,
-					m_rayDirectionMatrix);
-				Math3D.invert(m_rayDirectionMatrix, m_rayDirectionMatrix);
-			}
+		m_generation++;
+		m_valid = true;
+	}
 
-			m_center.set(0.5f, 0.5f, 0.5f);
-			m_center.transform(m_transformationMatrix);
+	/**
+	 * Calculates the inverse ray transformation matrices. This position must
+	 * be valid and invertible.
+	 */
+	private void validateRay() {
 
-			m_valid = true;
-		} finally {
-			Math3DCache.returnVector3f(halfSize, location);
+		if (m_rayOriginMatrix == null) {
+			m_rayOriginMatrix = new Matrix4fImpl();
+			m_rayDirectionMatrix = new Matrix4fImpl();
+		}
+
+		IVector3f size = getSize3D();
+		float sx = 1 / size.getX();
+		float sy = 1 / size.getY();
+		float sz = 1 / size.getZ();
+
+		// the translation is subtracted from the ray origin in double
+		// precision, see transformRay
+		if (IVector3f.NULLVEC3f.equals(getRotation3D())) {
+			// inverse of scaling
+			Matrix4fImpl m = m_rayOriginMatrix;
+			m.setIdentity();
+			m.a11 = sx;
+			m.a22 = sy;
+			m.a33 = sz;
+		} else {
+			Matrix4fImpl m = m_rayOriginMatrix;
+			m.set(m_transformationMatrix);
+			m.a41 = 0;
+			m.a42 = 0;
+			m.a43 = 0;
+			Math3D.invert(m, m);
 		}
+
+		if (!m_absoluteRotated) {
+			// inverse of scaling
+			Matrix4fImpl m = m_rayDirectionMatrix;
+			m.setIdentity();
+			m.a11 = sx;
+			m.a22 = sy;
+			m.a33 = sz;
+		} else {
+			Math3D.scale(size, m_absoluteRotationMatrix, m_rayDirectionMatrix);
+			Math3D.invert(m_rayDirectionMatrix, m_rayDirectionMatrix);
+		}
+
+		m_rayValid = true;
 	}
 }
@@ -175,6 +175,22 @@ public interface IPosition3D {
 	 */
 	public IMatrix4f getTransformationMatrix();
 
+	/**
+	 * Returns the transformation matrix of this position relative to the given
+	 * origin, i.e. the given origin is subtracted from the translation of the
+	 * matrix. The subtraction is done in double precision before the result
+	 * is converted to float, so that the relative matrix is precise even if
+	 * this position is located far away from the world origin, as long as it
+	 * is close to the given origin.
+	 * 
+	 * @param i_origin the origin
+	 * @param o_result the result matrix, if <code>null</code>, a new matrix is
+	 *            created
+	 * @return the relative transformation matrix
+	 */
+	public Matrix4f getTransformationMatrix(IVector3f i_origin,
+		Matrix4f o_result);
+
 	/**
 	 * Indicates whether the internal cached information of this position and of
 	 * all its ancestors is valid.
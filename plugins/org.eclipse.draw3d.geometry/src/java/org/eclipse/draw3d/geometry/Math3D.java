@@ -24,7 +24,7 @@ package org.eclipse.draw3d.geometry;
  * @version $Revision$
  * @since 19.10.2008
  */
-public class Math3D extends Math3DMatrixOps {
+public class Math3D extends Math3DBulkOps {
 
 	// empty class
 }
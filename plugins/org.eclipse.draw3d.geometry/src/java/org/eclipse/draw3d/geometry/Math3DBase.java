@@ -235,66 +235,17 @@ public class Math3DBase {
 			throw new NullPointerException("o_size must not be null");
 
 		Position3D absolute = Math3DCache.getPosition3D();
-		Vector3f end = Math3DCache.getVector3f();
-		Vector3f p = Math3DCache.getVector3f();
 		try {
 			i_position.getAbsolute(absolute);
 			if (IVector3f.NULLVEC3f.equals(absolute.getRotation3D())) {
 				o_location.set(absolute.getLocation3D());
 				o_size.set(absolute.getSize3D());
 			} else {
-				IMatrix4f matrix = absolute.getTransformationMatrix();
-
-				p.set(0, 0, 0);
-				p.transform(matrix);
-				o_location.set(p);
-				end.set(p);
-
-				p.set(0, 0, 0);
-				p.transform(matrix);
-				Math3D.min(o_location, p, o_location);
-				Math3D.max(end, p, end);
-
-				p.set(0, 0, 1);
-				p.transform(matrix);
-				Math3D.min(o_location, p, o_location);
-				Math3D.max(end, p, end);
-
-				p.set(0, 1, 0);
-				p.transform(matrix);
-				Math3D.min(o_location, p, o_location);
-				Math3D.max(end, p, end);
-
-				p.set(0, 1, 1);
-				p.transform(matrix);
-				Math3D.min(o_location, p, o_location);
-				Math3D.max(end, p, end);
-
-				p.set(1, 0, 0);
-				p.transform(matrix);
-				Math3D.min(o_location, p, o_location);
-				Math3D.max(end, p, end);
-
-				p.set(1, 0, 1);
-				p.transform(matrix);
-				Math3D.min(o_location, p, o_location);
-				Math3D.max(end, p, end);
-
-				p.set(1, 1, 0);
-				p.transform(matrix);
-				Math3D.min(o_location, p, o_location);
-				Math3D.max(end, p, end);
-
-				p.set(1, 1, 1);
-				p.transform(matrix);
-				Math3D.min(o_location, p, o_location);
-				Math3D.max(end, p, end);
-
-				Math3D.sub(end, o_location, o_size);
+				Math3D.transformBox(IVector3f.NULLVEC3f, IVector3f.UNITVEC3f,
+					absolute.getTransformationMatrix(), o_location, o_size);
 			}
 		} finally {
 			Math3DCache.returnPosition3D(absolute);
-			Math3DCache.returnVector3f(end, p);
 		}
 	}
 
@@ -0,0 +1,598 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Bulk operations on many vectors, points or boxes at once. The operands are
+ * not passed as vector objects, but packed into float arrays or buffers: 2D
+ * points are stored as consecutive (x, y) pairs, 3D points and vectors as
+ * consecutive (x, y, z) triples. The matrix elements are read only once per
+ * call and the loops do not call any methods, so they can be unrolled and
+ * vectorised by the JIT compiler. Use these operations whenever more than a
+ * handful of points have to be transformed, e.g. all corners of a bounding
+ * box or all vertices of a primitive.
+ * <p>
+ * Unless noted otherwise, the source and the result array may be the same
+ * array if the source and result offsets are equal.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class Math3DBulkOps extends Math3DMatrixOps {
+
+	/**
+	 * The number of floats of a box, which is stored as its location followed
+	 * by its size.
+	 */
+	public static final int BOX_SIZE = 6;
+
+	/**
+	 * The number of floats of a plane, which is stored in Hessian normal form,
+	 * i.e. as its normal vector followed by the dot product of the normal and
+	 * any point contained in the plane.
+	 */
+	public static final int PLANE_SIZE = 4;
+
+	private static void checkRange(float[] i_array, String i_name,
+		int i_offset, int i_count, int i_stride) {
+
+		if (i_array == null)
+			throw new NullPointerException(i_name + " must not be null");
+
+		if (i_offset < 0 || i_count < 0
+			|| i_offset + i_count * i_stride > i_array.length)
+			throw new IndexOutOfBoundsException(i_name + " is too small: "
+				+ i_array.length + ", offset: " + i_offset + ", count: "
+				+ i_count);
+	}
+
+	/**
+	 * Calculates the dot product of each of the given vectors with the given
+	 * vector.
+	 *
+	 * @param i_vectors the vectors, stored as (x, y, z) triples
+	 * @param i_offset the index of the first vector in the vector array
+	 * @param i_count the number of vectors
+	 * @param i_vector the vector to multiply with
+	 * @param o_result the result array, which receives one float per vector
+	 * @param i_resultOffset the index at which the results are stored
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 * @throws IndexOutOfBoundsException if any of the given arrays is too
+	 *             small
+	 */
+	public static void dot(float[] i_vectors, int i_offset, int i_count,
+		IVector3f i_vector, float[] o_result, int i_resultOffset) {
+
+		checkRange(i_vectors, "i_vectors", i_offset, i_count, 3);
+		checkRange(o_result, "o_result", i_resultOffset, i_count, 1);
+
+		if (i_vector == null)
+			throw new NullPointerException("i_vector must not be null");
+
+		float x = i_vector.getX();
+		float y = i_vector.getY();
+		float z = i_vector.getZ();
+
+		for (int i = 0, s = i_offset; i < i_count; i++, s += 3)
+			o_result[i_resultOffset + i] =
+				x * i_vectors[s] + y * i_vectors[s + 1] + z * i_vectors[s + 2];
+	}
+
+	/**
+	 * Calculates the smallest paraxial box that contains all of the given
+	 * points.
+	 *
+	 * @param i_points the points, stored as (x, y, z) triples
+	 * @param i_offset the index of the first point in the point array
+	 * @param i_count the number of points, must be positive
+	 * @param o_location the location of the box
+	 * @param o_size the size of the box
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 * @throws IndexOutOfBoundsException if the given point array is too small
+	 * @throws IllegalArgumentException if the given number of points is not
+	 *             positive
+	 */
+	public static void getBounds(float[] i_points, int i_offset, int i_count,
+		Vector3f o_location, Vector3f o_size) {
+
+		checkRange(i_points, "i_points", i_offset, i_count, 3);
+
+		if (i_count <= 0)
+			throw new IllegalArgumentException("i_count must be positive");
+
+		if (o_location == null)
+			throw new NullPointerException("o_location must not be null");
+
+		if (o_size == null)
+			throw new NullPointerException("o_size must not be null");
+
+		float minX = i_points[i_offset];
+		float minY = i_points[i_offset + 1];
+		float minZ = i_points[i_offset + 2];
+		float maxX = minX;
+		float maxY = minY;
+		float maxZ = minZ;
+
+		for (int i = 1, s = i_offset + 3; i < i_count; i++, s += 3) {
+			float x = i_points[s];
+			float y = i_points[s + 1];
+			float z = i_points[s + 2];
+
+			if (x < minX)
+				minX = x;
+			else if (x > maxX)
+				maxX = x;
+			if (y < minY)
+				minY = y;
+			else if (y > maxY)
+				maxY = y;
+			if (z < minZ)
+				minZ = z;
+			else if (z > maxZ)
+				maxZ = z;
+		}
+
+		o_location.set(minX, minY, minZ);
+		o_size.set(maxX - minX, maxY - minY, maxZ - minZ);
+	}
+
+	/**
+	 * Calculates the intersections of a ray with each of the given planes. For
+	 * every plane, the result array receives the scalar factor for the ray
+	 * direction at which the ray intersects with the plane, or
+	 * {@link Float#NaN} if the ray does not intersect with the plane, in the
+	 * same way as
+	 * {@link #rayIntersectsPlane(IVector3f, IVector3f, IVector3f, IVector3f)}.
+	 *
+	 * @param i_rayOrigin the origin of the ray
+	 * @param i_rayDirection the direction vector of the ray, which must be
+	 *            normalised
+	 * @param i_planes the planes, stored in Hessian normal form as described
+	 *            in {@link #PLANE_SIZE}
+	 * @param i_offset the index of the first plane in the plane array
+	 * @param i_count the number of planes
+	 * @param o_distances the result array, which receives one float per plane
+	 * @param i_resultOffset the index at which the results are stored
+	 * @return the index of the closest plane that is intersected by the ray,
+	 *         relative to the first given plane, or <code>-1</code> if the ray
+	 *         does not intersect with any of the given planes
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 * @throws IndexOutOfBoundsException if any of the given arrays is too
+	 *             small
+	 */
+	public static int rayIntersectsPlanes(IVector3f i_rayOrigin,
+		IVector3f i_rayDirection, float[] i_planes, int i_offset,
+		int i_count, float[] o_distances, int i_resultOffset) {
+
+		checkRange(i_planes, "i_planes", i_offset, i_count, PLANE_SIZE);
+		checkRange(o_distances, "o_distances", i_resultOffset, i_count, 1);
+
+		if (i_rayOrigin == null)
+			throw new NullPointerException("i_rayOrigin must not be null");
+
+		if (i_rayDirection == null)
+			throw new NullPointerException("i_rayDirection must not be null");
+
+		float ox = i_rayOrigin.getX();
+		float oy = i_rayOrigin.getY();
+		float oz = i_rayOrigin.getZ();
+		float dx = i_rayDirection.getX();
+		float dy = i_rayDirection.getY();
+		float dz = i_rayDirection.getZ();
+
+		int closest = -1;
+		float closestDistance = Float.POSITIVE_INFINITY;
+
+		for (int i = 0, s = i_offset; i < i_count; i++, s += PLANE_SIZE) {
+			float nx = i_planes[s];
+			float ny = i_planes[s + 1];
+			float nz = i_planes[s + 2];
+
+			float denominator = dx * nx + dy * ny + dz * nz;
+			float t =
+				(i_planes[s + 3] - (ox * nx + oy * ny + oz * nz)) / denominator;
+
+			// NaN and infinity if the denominator is 0
+			if (denominator == 0 || t < 0)
+				t = Float.NaN;
+			else if (t < closestDistance) {
+				closestDistance = t;
+				closest = i;
+			}
+
+			o_distances[i_resultOffset + i] = t;
+		}
+
+		return closest;
+	}
+
+	/**
+	 * Transforms a single box with the given matrix and calculates the
+	 * smallest paraxial box that contains the result.
+	 *
+	 * @param i_location the location of the box to transform
+	 * @param i_size the size of the box to transform
+	 * @param i_matrix the transformation matrix, in homogeneous coordinates
+	 * @param o_location the location of the resulting paraxial box
+	 * @param o_size the size of the resulting paraxial box
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 * @see #transformBoxes(float[], int, int, IMatrix4f, float[], int)
+	 */
+	public static void transformBox(IVector3f i_location, IVector3f i_size,
+		IMatrix4f i_matrix, Vector3f o_location, Vector3f o_size) {
+
+		if (i_location == null)
+			throw new NullPointerException("i_location must not be null");
+
+		if (i_size == null)
+			throw new NullPointerException("i_size must not be null");
+
+		if (o_location == null)
+			throw new NullPointerException("o_location must not be null");
+
+		if (o_size == null)
+			throw new NullPointerException("o_size must not be null");
+
+		float[] box = Math3DCache.getFloatArray(BOX_SIZE);
+		try {
+			box[0] = i_location.getX();
+			box[1] = i_location.getY();
+			box[2] = i_location.getZ();
+			box[3] = i_size.getX();
+			box[4] = i_size.getY();
+			box[5] = i_size.getZ();
+
+			transformBoxes(box, 0, 1, i_matrix, box, 0);
+
+			o_location.set(box[0], box[1], box[2]);
+			o_size.set(box[3], box[4], box[5]);
+		} finally {
+			Math3DCache.returnFloatArray(box);
+		}
+	}
+
+	/**
+	 * Transforms each of the given boxes with the given matrix and calculates
+	 * the smallest paraxial boxes that contain the results. If the given
+	 * matrix is affine, the resulting boxes are calculated directly from the
+	 * box extents, otherwise, all eight corners of each box are transformed.
+	 *
+	 * @param i_boxes the boxes, stored as described in {@link #BOX_SIZE}
+	 * @param i_offset the index of the first box in the box array
+	 * @param i_count the number of boxes
+	 * @param i_matrix the transformation matrix, in homogeneous coordinates
+	 * @param o_result the result array, which receives the resulting paraxial
+	 *            boxes in the same format
+	 * @param i_resultOffset the index at which the result boxes are stored
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 * @throws IndexOutOfBoundsException if any of the given arrays is too
+	 *             small
+	 * @see "Jim Arvo, Transforming Axis-Aligned Bounding Boxes, Graphics Gems,
+	 *      1990"
+	 */
+	public static void transformBoxes(float[] i_boxes, int i_offset,
+		int i_count, IMatrix4f i_matrix, float[] o_result, int i_resultOffset) {
+
+		checkRange(i_boxes, "i_boxes", i_offset, i_count, BOX_SIZE);
+		checkRange(o_result, "o_result", i_resultOffset, i_count, BOX_SIZE);
+
+		if (i_matrix == null)
+			throw new NullPointerException("i_matrix must not be null");
+
+		Matrix4fImpl m = Matrix4fImpl.cast(i_matrix);
+		if (m.a14 != 0 || m.a24 != 0 || m.a34 != 0 || m.a44 != 1) {
+			transformBoxCorners(i_boxes, i_offset, i_count, m, o_result,
+				i_resultOffset);
+			return;
+		}
+
+		float a11 = m.a11, a12 = m.a12, a13 = m.a13;
+		float a21 = m.a21, a22 = m.a22, a23 = m.a23;
+		float a31 = m.a31, a32 = m.a32, a33 = m.a33;
+		float a41 = m.a41, a42 = m.a42, a43 = m.a43;
+
+		for (int i = 0; i < i_count; i++) {
+			int s = i_offset + i * BOX_SIZE;
+			int r = i_resultOffset + i * BOX_SIZE;
+
+			float x0 = i_boxes[s];
+			float y0 = i_boxes[s + 1];
+			float z0 = i_boxes[s + 2];
+			float x1 = x0 + i_boxes[s + 3];
+			float y1 = y0 + i_boxes[s + 4];
+			float z1 = z0 + i_boxes[s + 5];
+
+			float e, f;
+			float minX = a41, maxX = a41;
+			float minY = a42, maxY = a42;
+			float minZ = a43, maxZ = a43;
+
+			e = a11 * x0;
+			f = a11 * x1;
+			minX += e < f ? e : f;
+			maxX += e < f ? f : e;
+			e = a21 * y0;
+			f = a21 * y1;
+			minX += e < f ? e : f;
+			maxX += e < f ? f : e;
+			e = a31 * z0;
+			f = a31 * z1;
+			minX += e < f ? e : f;
+			maxX += e < f ? f : e;
+
+			e = a12 * x0;
+			f = a12 * x1;
+			minY += e < f ? e : f;
+			maxY += e < f ? f : e;
+			e = a22 * y0;
+			f = a22 * y1;
+			minY += e < f ? e : f;
+			maxY += e < f ? f : e;
+			e = a32 * z0;
+			f = a32 * z1;
+			minY += e < f ? e : f;
+			maxY += e < f ? f : e;
+
+			e = a13 * x0;
+			f = a13 * x1;
+			minZ += e < f ? e : f;
+			maxZ += e < f ? f : e;
+			e = a23 * y0;
+			f = a23 * y1;
+			minZ += e < f ? e : f;
+			maxZ += e < f ? f : e;
+			e = a33 * z0;
+			f = a33 * z1;
+			minZ += e < f ? e : f;
+			maxZ += e < f ? f : e;
+
+			o_result[r] = minX;
+			o_result[r + 1] = minY;
+			o_result[r + 2] = minZ;
+			o_result[r + 3] = maxX - minX;
+			o_result[r + 4] = maxY - minY;
+			o_result[r + 5] = maxZ - minZ;
+		}
+	}
+
+	private static void transformBoxCorners(float[] i_boxes, int i_offset,
+		int i_count, Matrix4fImpl i_matrix, float[] o_result,
+		int i_resultOffset) {
+
+		float[] corners = Math3DCache.getFloatArray(24);
+		try {
+			for (int i = 0; i < i_count; i++) {
+				int s = i_offset + i * BOX_SIZE;
+				int r = i_resultOffset + i * BOX_SIZE;
+
+				float x0 = i_boxes[s];
+				float y0 = i_boxes[s + 1];
+				float z0 = i_boxes[s + 2];
+				float x1 = x0 + i_boxes[s + 3];
+				float y1 = y0 + i_boxes[s + 4];
+				float z1 = z0 + i_boxes[s + 5];
+
+				for (int c = 0; c < 8; c++) {
+					corners[3 * c] = (c & 1) == 0 ? x0 : x1;
+					corners[3 * c + 1] = (c & 2) == 0 ? y0 : y1;
+					corners[3 * c + 2] = (c & 4) == 0 ? z0 : z1;
+				}
+
+				transformPoints(corners, 0, 8, i_matrix, corners, 0);
+
+				float minX = corners[0], maxX = minX;
+				float minY = corners[1], maxY = minY;
+				float minZ = corners[2], maxZ = minZ;
+				for (int c = 3; c < 24; c += 3) {
+					minX = Math.min(minX, corners[c]);
+					maxX = Math.max(maxX, corners[c]);
+					minY = Math.min(minY, corners[c + 1]);
+					maxY = Math.max(maxY, corners[c + 1]);
+					minZ = Math.min(minZ, corners[c + 2]);
+					maxZ = Math.max(maxZ, corners[c + 2]);
+				}
+
+				o_result[r] = minX;
+				o_result[r + 1] = minY;
+				o_result[r + 2] = minZ;
+				o_result[r + 3] = maxX - minX;
+				o_result[r + 4] = maxY - minY;
+				o_result[r + 5] = maxZ - minZ;
+			}
+		} finally {
+			Math3DCache.returnFloatArray(corners);
+		}
+	}
+
+	/**
+	 * Transforms each of the given 2D points with the given matrix in the same
+	 * way as {@link #transform(IVector2f, IMatrix3f, Vector2f)}.
+	 *
+	 * @param i_points the points, stored as (x, y) pairs
+	 * @param i_offset the index of the first point in the point array
+	 * @param i_count the number of points
+	 * @param i_matrix the transformation matrix, in homogeneous coordinates
+	 * @param o_result the result array
+	 * @param i_resultOffset the index at which the transformed points are
+	 *            stored
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 * @throws IndexOutOfBoundsException if any of the given arrays is too
+	 *             small
+	 */
+	public static void transformPoints(float[] i_points, int i_offset,
+		int i_count, IMatrix3f i_matrix, float[] o_result, int i_resultOffset) {
+
+		checkRange(i_points, "i_points", i_offset, i_count, 2);
+		checkRange(o_result, "o_result", i_resultOffset, i_count, 2);
+
+		if (i_matrix == null)
+			throw new NullPointerException("i_matrix must not be null");
+
+		Matrix3fImpl m = Matrix3fImpl.cast(i_matrix);
+		float a11 = m.a11, a12 = m.a12, a13 = m.a13;
+		float a21 = m.a21, a22 = m.a22, a23 = m.a23;
+		float a31 = m.a31, a32 = m.a32, a33 = m.a33;
+
+		int s = i_offset;
+		int r = i_resultOffset;
+		if (a13 == 0 && a23 == 0 && a33 == 1) {
+			for (int i = 0; i < i_count; i++, s += 2, r += 2) {
+				float x = i_points[s];
+				float y = i_points[s + 1];
+				o_result[r] = a11 * x + a21 * y + a31;
+				o_result[r + 1] = a12 * x + a22 * y + a32;
+			}
+		} else {
+			for (int i = 0; i < i_count; i++, s += 2, r += 2) {
+				float x = i_points[s];
+				float y = i_points[s + 1];
+				float w = a13 * x + a23 * y + a33;
+				o_result[r] = (a11 * x + a21 * y + a31) / w;
+				o_result[r + 1] = (a12 * x + a22 * y + a32) / w;
+			}
+		}
+	}
+
+	/**
+	 * Transforms each of the given 3D points with the given matrix in the same
+	 * way as {@link #transform(IVector3f, IMatrix4f, Vector3f)}. The division
+	 * by the W component is skipped if the given matrix is affine.
+	 *
+	 * @param i_points the points, stored as (x, y, z) triples
+	 * @param i_offset the index of the first point in the point array
+	 * @param i_count the number of points
+	 * @param i_matrix the transformation matrix, in homogeneous coordinates
+	 * @param o_result the result array
+	 * @param i_resultOffset the index at which the transformed points are
+	 *            stored
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 * @throws IndexOutOfBoundsException if any of the given arrays is too
+	 *             small
+	 */
+	public static void transformPoints(float[] i_points, int i_offset,
+		int i_count, IMatrix4f i_matrix, float[] o_result, int i_resultOffset) {
+
+		checkRange(i_points, "i_points", i_offset, i_count, 3);
+		checkRange(o_result, "o_result", i_resultOffset, i_count, 3);
+
+		if (i_matrix == null)
+			throw new NullPointerException("i_matrix must not be null");
+
+		Matrix4fImpl m = Matrix4fImpl.cast(i_matrix);
+		float a11 = m.a11, a12 = m.a12, a13 = m.a13, a14 = m.a14;
+		float a21 = m.a21, a22 = m.a22, a23 = m.a23, a24 = m.a24;
+		float a31 = m.a31, a32 = m.a32, a33 = m.a33, a34 = m.a34;
+		float a41 = m.a41, a42 = m.a42, a43 = m.a43, a44 = m.a44;
+
+		int s = i_offset;
+		int r = i_resultOffset;
+		if (a14 == 0 && a24 == 0 && a34 == 0 && a44 == 1) {
+			for (int i = 0; i < i_count; i++, s += 3, r += 3) {
+				float x = i_points[s];
+				float y = i_points[s + 1];
+				float z = i_points[s + 2];
+				o_result[r] = a11 * x + a21 * y + a31 * z + a41;
+				o_result[r + 1] = a12 * x + a22 * y + a32 * z + a42;
+				o_result[r + 2] = a13 * x + a23 * y + a33 * z + a43;
+			}
+		} else {
+			for (int i = 0; i < i_count; i++, s += 3, r += 3) {
+				float x = i_points[s];
+				float y = i_points[s + 1];
+				float z = i_points[s + 2];
+				float w = a14 * x + a24 * y + a34 * z + a44;
+				o_result[r] = (a11 * x + a21 * y + a31 * z + a41) / w;
+				o_result[r + 1] = (a12 * x + a22 * y + a32 * z + a42) / w;
+				o_result[r + 2] = (a13 * x + a23 * y + a33 * z + a43) / w;
+			}
+		}
+	}
+
+	/**
+	 * Transforms each of the given 2D points with the given matrix and puts
+	 * the results into the given buffer, e.g. a vertex buffer that is uploaded
+	 * to the graphics card afterwards. The transformed points are written
+	 * starting at the given absolute index, the position of the buffer is not
+	 * changed. The division by the W component is skipped if the given matrix
+	 * is affine.
+	 *
+	 * @param i_points the points, stored as (x, y) pairs
+	 * @param i_offset the index of the first point in the point array
+	 * @param i_count the number of points
+	 * @param i_matrix the transformation matrix, in homogeneous coordinates
+	 * @param o_result the result buffer, which may be a direct buffer
+	 * @param i_resultIndex the index in the result buffer at which the
+	 *            transformed points are stored
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 * @throws IndexOutOfBoundsException if the given array or buffer is too
+	 *             small
+	 * @see #transformPoints(float[], int, int, IMatrix3f, float[], int)
+	 */
+	public static void transformPoints(float[] i_points, int i_offset,
+		int i_count, IMatrix3f i_matrix, FloatBuffer o_result,
+		int i_resultIndex) {
+
+		checkRange(i_points, "i_points", i_offset, i_count, 2);
+
+		if (o_result == null)
+			throw new NullPointerException("o_result must not be null");
+
+		if (i_matrix == null)
+			throw new NullPointerException("i_matrix must not be null");
+
+		if (i_resultIndex < 0 || i_resultIndex + 2 * i_count > o_result.limit())
+			throw new IndexOutOfBoundsException("o_result is too small: "
+				+ o_result.limit() + ", index: " + i_resultIndex + ", count: "
+				+ i_count);
+
+		if (o_result.hasArray()) {
+			transformPoints(i_points, i_offset, i_count, i_matrix, o_result
+				.array(), o_result.arrayOffset() + i_resultIndex);
+			return;
+		}
+
+		Matrix3fImpl m = Matrix3fImpl.cast(i_matrix);
+		float a11 = m.a11, a12 = m.a12, a13 = m.a13;
+		float a21 = m.a21, a22 = m.a22, a23 = m.a23;
+		float a31 = m.a31, a32 = m.a32, a33 = m.a33;
+
+		int s = i_offset;
+		int r = i_resultIndex;
+		if (a13 == 0 && a23 == 0 && a33 == 1) {
+			for (int i = 0; i < i_count; i++, s += 2, r += 2) {
+				float x = i_points[s];
+				float y = i_points[s + 1];
+				o_result.put(r, a11 * x + a21 * y + a31);
+				o_result.put(r + 1, a12 * x + a22 * y + a32);
+			}
+		} else {
+			for (int i = 0; i < i_count; i++, s += 2, r += 2) {
+				float x = i_points[s];
+				float y = i_points[s + 1];
+				float w = a13 * x + a23 * y + a33;
+				o_result.put(r, (a11 * x + a21 * y + a31) / w);
+				o_result.put(r + 1, (a12 * x + a22 * y + a32) / w);
+			}
+		}
+	}
+}
@@ -10,13 +10,31 @@
  ******************************************************************************/
 package org.eclipse.draw3d.geometry;
 
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.logging.Logger;
-
 /**
  * Caches objects that are often used as temporary variables during
  * calculcations.
+ * <p>
+ * Every thread has its own cache (see {@link ObjectPool}), so the cache can be
+ * used by worker threads without any locking, and getting or returning an
+ * object does not allocate memory. Objects must be returned by the thread that
+ * got them, otherwise they are reported as leaked for that thread in the
+ * {@link #getStatistics() statistics}.
+ * </p>
+ * <p>
+ * As an alternative to returning every object explicitly, objects can be
+ * acquired from a {@link Scope}, which returns all of them when it is closed:
+ * 
+ * <pre>
+ * Scope scope = Math3DCache.beginScope();
+ * try {
+ * 	Vector3f v = scope.getVector3f();
+ * 	// ...
+ * } finally {
+ * 	scope.close();
+ * }
+ * </pre>
+ * 
+ * </p>
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -24,183 +42,339 @@ import java.util.logging.Logger;
  */
 public class Math3DCache {
 
-	private static final Logger log =
-		Logger.getLogger(Math3DCache.class.getName());
-
-	private static final Queue<BoundingBox> m_boundingBox =
-		new LinkedList<BoundingBox>();
-
-	private static int m_boundingBoxCounter = 0;
-
 	/**
-	 * Count instantiations and warn when they reach a threshold.
+	 * A scope in which cached objects are acquired. All objects acquired from
+	 * a scope are returned to the cache when the scope is closed. Every thread
+	 * has a single scope object, which is returned by every call to
+	 * {@link Math3DCache#beginScope()} on that thread. Scopes may be nested,
+	 * but they must be closed in the reverse order in which they were begun,
+	 * so {@link #close()} should always be called in a <code>finally</code>
+	 * block.
+	 * 
+	 * @author Jens von Pilgrim
+	 * @version $Revision$
+	 * @since 16.10.2026
 	 */
-	protected static boolean m_count = true;
+	public static final class Scope {
 
-	/**
-	 * If the number of instantiations for a specific class exceeds this number,
-	 * warnings are generated.
-	 */
-	protected static int m_counterThreshold = 100;
+		private int m_depth;
 
-	/**
-	 * If cache size for a specific class exceeds this number, warnings are
-	 * generated.
-	 */
-	protected static int m_instanceThreshold = 100;
+		private int[] m_marks = new int[8];
 
-	private static final Queue<Matrix2f> m_matrix2f =
-		new LinkedList<Matrix2f>();
+		private Object[] m_objects = new Object[32];
 
-	private static int m_matrix2fCounter = 0;
+		private ObjectPool<?>[] m_pools = new ObjectPool<?>[32];
 
-	private static final Queue<Matrix3f> m_matrix3f =
-		new LinkedList<Matrix3f>();
+		private int m_size;
 
-	private static int m_matrix3fCounter = 0;
+		private Scope() {
 
-	private static final Queue<Matrix4f> m_matrix4f =
-		new LinkedList<Matrix4f>();
+			// only created by m_scope
+		}
 
-	private static int m_matrix4fCounter = 0;
+		/**
+		 * Acquires an object from the given pool. The object is returned to
+		 * the pool when this scope is closed.
+		 * 
+		 * @param <T> the type of the object
+		 * @param i_pool the pool
+		 * @return the object
+		 * @throws IllegalStateException if this scope is closed
+		 */
+		public <T> T acquire(ObjectPool<T> i_pool) {
+
+			if (m_depth == 0)
+				throw new IllegalStateException("scope is closed");
+
+			T object = i_pool.get();
+
+			if (m_size == m_objects.length) {
+				Object[] objects = new Object[m_size * 2];
+				System.arraycopy(m_objects, 0, objects, 0, m_size);
+				m_objects = objects;
+
+				ObjectPool<?>[] pools = new ObjectPool<?>[m_size * 2];
+				System.arraycopy(m_pools, 0, pools, 0, m_size);
+				m_pools = pools;
+			}
 
-	private static final Queue<ParaxialBoundingBox> m_paraxialBoundingBox =
-		new LinkedList<ParaxialBoundingBox>();
+			m_objects[m_size] = object;
+			m_pools[m_size] = i_pool;
+			m_size++;
 
-	private static int m_paraxialBoundingBoxCounter = 0;
+			return object;
+		}
 
-	private static final Queue<Position3D> m_position3D =
-		new LinkedList<Position3D>();
+		private void begin() {
 
-	private static int m_position3DCounter = 0;
+			if (m_depth == m_marks.length) {
+				int[] marks = new int[m_depth * 2];
+				System.arraycopy(m_marks, 0, marks, 0, m_depth);
+				m_marks = marks;
+			}
 
-	/**
-	 * Synchronize access to the cache queues.
-	 */
-	protected static boolean m_synchronized = false;
+			m_marks[m_depth++] = m_size;
+		}
 
-	private static final Queue<Vector2f> m_vector2f =
-		new LinkedList<Vector2f>();
+		/**
+		 * Closes the innermost open level of this scope and returns all
+		 * objects that were acquired since it was begun.
+		 * 
+		 * @throws IllegalStateException if this scope is not open
+		 */
+		public void close() {
+
+			if (m_depth == 0)
+				throw new IllegalStateException("scope is not open");
+
+			int mark = m_marks[--m_depth];
+			for (int i = m_size - 1; i >= mark; i--) {
+				release(m_pools[i], m_objects[i]);
+				m_objects[i] = null;
+				m_pools[i] = null;
+			}
 
-	private static int m_vector2fCounter = 0;
+			m_size = mark;
+		}
 
-	private static final Queue<Vector3f> m_vector3f =
-		new LinkedList<Vector3f>();
+		@SuppressWarnings("unchecked")
+		private static <T> void release(ObjectPool<T> i_pool, Object i_object) {
 
-	private static int m_vector3fCounter = 0;
+			i_pool.put((T) i_object);
+		}
 
-	private static final Queue<Vector4f> m_vector4f =
-		new LinkedList<Vector4f>();
+		/**
+		 * Acquires a cached {@link BoundingBox}.
+		 * 
+		 * @return a cached bounding box
+		 */
+		public BoundingBox getBoundingBox() {
 
-	private static int m_vector4fCounter = 0;
+			return acquire(m_boundingBox);
+		}
 
-	private static BoundingBox createBoundingBox() {
+		/**
+		 * Acquires a cached {@link Matrix2f}.
+		 * 
+		 * @return a cached matrix
+		 */
+		public Matrix2f getMatrix2f() {
 
-		if (m_count) {
-			m_boundingBoxCounter++;
-			if (m_boundingBoxCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " bounding boxes, are you properly returning them?");
+			return acquire(m_matrix2f);
 		}
 
-		return new BoundingBoxImpl();
-	}
+		/**
+		 * Acquires a cached {@link Matrix3f}.
+		 * 
+		 * @return a cached matrix
+		 */
+		public Matrix3f getMatrix3f() {
+
+			return acquire(m_matrix3f);
+		}
 
-	private static Matrix2fImpl createMatrix2f() {
+		/**
+		 * Acquires a cached {@link Matrix4f}.
+		 * 
+		 * @return a cached matrix
+		 */
+		public Matrix4f getMatrix4f() {
 
-		if (m_count) {
-			m_matrix2fCounter++;
-			if (m_matrix2fCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " 2f matrices, are you properly returning them?");
+			return acquire(m_matrix4f);
 		}
 
-		return new Matrix2fImpl();
-	}
+		/**
+		 * Acquires a cached {@link ParaxialBoundingBox}.
+		 * 
+		 * @return a cached paraxial bounding box
+		 */
+		public ParaxialBoundingBox getParaxialBoundingBox() {
+
+			return acquire(m_paraxialBoundingBox);
+		}
 
-	private static Matrix3fImpl createMatrix3f() {
+		/**
+		 * Acquires a cached {@link Position3D}.
+		 * 
+		 * @return a cached absolute position 3d
+		 */
+		public Position3D getPosition3D() {
 
-		if (m_count) {
-			m_matrix3fCounter++;
-			if (m_matrix3fCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " 3f matrices, are you properly returning them?");
+			return acquire(m_position3D);
 		}
 
-		return new Matrix3fImpl();
-	}
+		/**
+		 * Acquires a cached {@link Vector2f}.
+		 * 
+		 * @return a cached vector
+		 */
+		public Vector2f getVector2f() {
 
-	private static Matrix4fImpl createMatrix4f() {
+			return acquire(m_vector2f);
+		}
+
+		/**
+		 * Acquires a cached {@link Vector3f}.
+		 * 
+		 * @return a cached vector
+		 */
+		public Vector3f getVector3f() {
 
-		if (m_count) {
-			m_matrix4fCounter++;
-			if (m_matrix4fCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " 4f matrices, are you properly returning them?");
+			return acquire(m_vector3f);
 		}
 
-		return new Matrix4fImpl();
+		/**
+		 * Acquires a cached {@link Vector4f}.
+		 * 
+		 * @return a cached vector
+		 */
+		public Vector4f getVector4f() {
+
+			return acquire(m_vector4f);
+		}
 	}
 
-	private static ParaxialBoundingBoxImpl createParaxialBoundingBox() {
+	/**
+	 * If a thread uses more instances of a type at the same time, a warning is
+	 * generated.
+	 */
+	protected static final int LEAK_THRESHOLD = 100;
 
-		if (m_count) {
-			m_paraxialBoundingBoxCounter++;
-			if (m_paraxialBoundingBoxCounter > m_counterThreshold)
-				log.warning("created more than "
-					+ m_counterThreshold
-					+ " paraxial bounding boxes, are you properly returning them?");
-		}
+	/**
+	 * The maximum number of instances of a type that are kept in the cache of
+	 * a thread.
+	 */
+	protected static final int POOL_SIZE = 100;
 
-		return new ParaxialBoundingBoxImpl();
-	}
+	private static final ObjectPool<BoundingBox> m_boundingBox =
+		new ObjectPool<BoundingBox>("BoundingBox", POOL_SIZE, LEAK_THRESHOLD) {
 
-	private static Position3D createPosition3D() {
+			@Override
+			protected BoundingBox create() {
 
-		if (m_count) {
-			m_position3DCounter++;
-			if (m_position3DCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " 3D positions, are you properly returning them?");
-		}
+				return new BoundingBoxImpl();
+			}
+		};
 
-		return Position3DUtil.createAbsolutePosition();
-	}
+	private static final SizedObjectPool<float[]> m_floatArray =
+		new SizedObjectPool<float[]>("float[]", POOL_SIZE, LEAK_THRESHOLD) {
 
-	private static Vector2fImpl createVector2f() {
+			@Override
+			protected float[] create(int i_size) {
 
-		if (m_count) {
-			m_vector2fCounter++;
-			if (m_vector2fCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " 2f vectors, are you properly returning them?");
-		}
+				return new float[i_size];
+			}
 
-		return new Vector2fImpl();
-	}
+			@Override
+			protected int getSize(float[] i_array) {
 
-	private static Vector3fImpl createVector3f() {
+				return i_array.length;
+			}
+		};
 
-		if (m_count) {
-			m_vector3fCounter++;
-			if (m_vector3fCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " 3f vectors, are you properly returning them?");
-		}
+	private static final ObjectPool<Matrix2f> m_matrix2f =
+		new ObjectPool<Matrix2f>("Matrix2f", POOL_SIZE, LEAK_THRESHOLD) {
 
-		return new Vector3fImpl();
-	}
+			@Override
+			protected Matrix2f create() {
+
+				return new Matrix2fImpl();
+			}
+		};
+
+	private static final ObjectPool<Matrix3f> m_matrix3f =
+		new ObjectPool<Matrix3f>("Matrix3f", POOL_SIZE, LEAK_THRESHOLD) {
+
+			@Override
+			protected Matrix3f create() {
+
+				return new Matrix3fImpl();
+			}
+		};
+
+	private static final ObjectPool<Matrix4f> m_matrix4f =
+		new ObjectPool<Matrix4f>("Matrix4f", POOL_SIZE, LEAK_THRESHOLD) {
+
+			@Override
+			protected Matrix4f create() {
+
+				return new Matrix4fImpl();
+			}
+		};
+
+	private static final ObjectPool<ParaxialBoundingBox> m_paraxialBoundingBox =
+		new ObjectPool<ParaxialBoundingBox>("ParaxialBoundingBox", POOL_SIZE,
+			LEAK_THRESHOLD) {
+
+			@Override
+			protected ParaxialBoundingBox create() {
+
+				return new ParaxialBoundingBoxImpl();
+			}
+		};
+
+	private static final ObjectPool<Position3D> m_position3D =
+		new ObjectPool<Position3D>("Position3D", POOL_SIZE, LEAK_THRESHOLD) {
+
+			@Override
+			protected Position3D create() {
+
+				return Position3DUtil.createAbsolutePosition();
+			}
+		};
 
-	private static Vector4fImpl createVector4f() {
+	private static final ObjectPool<Vector2f> m_vector2f =
+		new ObjectPool<Vector2f>("Vector2f", POOL_SIZE, LEAK_THRESHOLD) {
 
-		if (m_count) {
-			m_vector4fCounter++;
-			if (m_vector4fCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " 4f vectors, are you properly returning them?");
+			@Override
+			protected Vector2f create() {
+
+				return new Vector2fImpl();
+			}
+		};
+
+	private static final ObjectPool<Vector3f> m_vector3f =
+		new ObjectPool<Vector3f>("Vector3f", POOL_SIZE, LEAK_THRESHOLD) {
+
+			@Override
+			protected Vector3f create() {
+
+				return new Vector3fImpl();
+			}
+		};
+
+	private static final ObjectPool<Vector4f> m_vector4f =
+		new ObjectPool<Vector4f>("Vector4f", POOL_SIZE, LEAK_THRESHOLD) {
+
+			@Override
+			protected Vector4f create() {
+
+				return new Vector4fImpl();
+			}
+		};
+
+	private static final ThreadLocal<Scope> m_scope = new ThreadLocal<Scope>() {
+
+		@Override
+		protected Scope initialValue() {
+
+			return new Scope();
 		}
+	};
+
+	/**
+	 * Begins a new scope on the current thread. Objects acquired from the
+	 * returned scope are returned to the cache when {@link Scope#close()} is
+	 * called.
+	 * 
+	 * @return the scope of the current thread
+	 */
+	public static Scope beginScope() {
 
-		return new Vector4fImpl();
+		Scope scope = m_scope.get();
+		scope.begin();
+
+		return scope;
 	}
 
 	/**
@@ -210,19 +384,19 @@ public class Math3DCache {
 	 */
 	public static BoundingBox getBoundingBox() {
 
-		if (m_synchronized) {
-			synchronized (m_boundingBox) {
-				if (m_boundingBox.isEmpty())
-					return createBoundingBox();
-				else
-					return m_boundingBox.remove();
-			}
-		} else {
-			if (m_boundingBox.isEmpty())
-				return createBoundingBox();
-			else
-				return m_boundingBox.remove();
-		}
+		return m_boundingBox.get();
+	}
+
+	/**
+	 * Returns a cached float array whose length is at least the given length.
+	 * The contents of the array are undefined.
+	 * 
+	 * @param i_length the minimum length
+	 * @return a cached float array
+	 */
+	public static float[] getFloatArray(int i_length) {
+
+		return m_floatArray.get(i_length);
 	}
 
 	/**
@@ -232,19 +406,7 @@ public class Math3DCache {
 	 */
 	public static Matrix2f getMatrix2f() {
 
-		if (m_synchronized) {
-			synchronized (m_matrix2f) {
-				if (m_matrix2f.isEmpty())
-					return createMatrix2f();
-				else
-					return m_matrix2f.remove();
-			}
-		} else {
-			if (m_matrix2f.isEmpty())
-				return createMatrix2f();
-			else
-				return m_matrix2f.remove();
-		}
+		return m_matrix2f.get();
 	}
 
 	/**
@@ -254,19 +416,7 @@ public class Math3DCache {
 	 */
 	public static Matrix3f getMatrix3f() {
 
-		if (m_synchronized) {
-			synchronized (m_matrix3f) {
-				if (m_matrix3f.isEmpty())
-					return createMatrix3f();
-				else
-					return m_matrix3f.remove();
-			}
-		} else {
-			if (m_matrix3f.isEmpty())
-				return createMatrix3f();
-			else
-				return m_matrix3f.remove();
-		}
+		return m_matrix3f.get();
 	}
 
 	/**
@@ -276,19 +426,7 @@ public class Math3DCache {
 	 */
 	public static Matrix4f getMatrix4f() {
 
-		if (m_synchronized) {
-			synchronized (m_matrix4f) {
-				if (m_matrix4f.isEmpty())
-					return createMatrix4f();
-				else
-					return m_matrix4f.remove();
-			}
-		} else {
-			if (m_matrix4f.isEmpty())
-				return createMatrix4f();
-			else
-				return m_matrix4f.remove();
-		}
+		return m_matrix4f.get();
 	}
 
 	/**
@@ -298,41 +436,17 @@ public class Math3DCache {
 	 */
 	public static ParaxialBoundingBox getParaxialBoundingBox() {
 
-		if (m_synchronized) {
-			synchronized (m_paraxialBoundingBox) {
-				if (m_paraxialBoundingBox.isEmpty())
-					return createParaxialBoundingBox();
-				else
-					return m_paraxialBoundingBox.remove();
-			}
-		} else {
-			if (m_paraxialBoundingBox.isEmpty())
-				return createParaxialBoundingBox();
-			else
-				return m_paraxialBoundingBox.remove();
-		}
+		return m_paraxialBoundingBox.get();
 	}
 
 	/**
-	 * Returns a cached absolute {@link Position3D}.
+	 * Returns a cached {@link Position3D}.
 	 * 
 	 * @return a cached absolute position 3d
 	 */
 	public static Position3D getPosition3D() {
 
-		if (m_synchronized) {
-			synchronized (m_position3D) {
-				if (m_position3D.isEmpty())
-					return createPosition3D();
-				else
-					return m_position3D.remove();
-			}
-		} else {
-			if (m_position3D.isEmpty())
-				return createPosition3D();
-			else
-				return m_position3D.remove();
-		}
+		return m_position3D.get();
 	}
 
 	/**
@@ -342,19 +456,7 @@ public class Math3DCache {
 	 */
 	public static Vector2f getVector2f() {
 
-		if (m_synchronized) {
-			synchronized (m_vector2f) {
-				if (m_vector2f.isEmpty())
-					return createVector2f();
-				else
-					return m_vector2f.remove();
-			}
-		} else {
-			if (m_vector2f.isEmpty())
-				return createVector2f();
-			else
-				return m_vector2f.remove();
-		}
+		return m_vector2f.get();
 	}
 
 	/**
@@ -364,19 +466,7 @@ public class Math3DCache {
 	 */
 	public static Vector3f getVector3f() {
 
-		if (m_synchronized) {
-			synchronized (m_vector3f) {
-				if (m_vector3f.isEmpty())
-					return createVector3f();
-				else
-					return m_vector3f.remove();
-			}
-		} else {
-			if (m_vector3f.isEmpty())
-				return createVector3f();
-			else
-				return m_vector3f.remove();
-		}
+		return m_vector3f.get();
 	}
 
 	/**
@@ -386,19 +476,19 @@ public class Math3DCache {
 	 */
 	public static Vector4f getVector4f() {
 
-		if (m_synchronized) {
-			synchronized (m_vector4f) {
-				if (m_vector4f.isEmpty())
-					return createVector4f();
-				else
-					return m_vector4f.remove();
-			}
-		} else {
-			if (m_vector4f.isEmpty())
-				return createVector4f();
-			else
-				return m_vector4f.remove();
-		}
+		return m_vector4f.get();
+	}
+
+	/**
+	 * Returns the usage statistics of the caches of all threads, including the
+	 * high-water marks and the number of instances that are currently in use.
+	 * 
+	 * @return the statistics
+	 * @see ObjectPool#getStatistics()
+	 */
+	public static String getStatistics() {
+
+		return ObjectPool.getStatistics();
 	}
 
 	/**
@@ -409,20 +499,20 @@ public class Math3DCache {
 	 */
 	public static void returnBoundingBox(BoundingBox... i_bs) {
 
-		if (m_synchronized)
-			synchronized (m_boundingBox) {
-				for (BoundingBox b : i_bs)
-					if (b != null)
-						m_boundingBox.offer(b);
-			}
-		else
-			for (BoundingBox b : i_bs)
-				if (b != null)
-					m_boundingBox.offer(b);
-
-		if (m_count && m_boundingBox.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " bounding boxes");
+		for (BoundingBox b : i_bs)
+			m_boundingBox.put(b);
+	}
+
+	/**
+	 * Returns the given float arrays to the cache. If any of the given arrays
+	 * is <code>null</code>, it is ignored.
+	 * 
+	 * @param i_as the float arrays to return
+	 */
+	public static void returnFloatArray(float[]... i_as) {
+
+		for (float[] a : i_as)
+			m_floatArray.put(a);
 	}
 
 	/**
@@ -433,21 +523,8 @@ public class Math3DCache {
 	 */
 	public static void returnMatrix2f(Matrix2f... i_ms) {
 
-		if (m_synchronized)
-			synchronized (m_matrix2f) {
-				for (Matrix2f m : i_ms)
-					if (m != null)
-						m_matrix2f.offer(m);
-			}
-		else
-			for (Matrix2f m : i_ms)
-				if (m != null)
-					m_matrix2f.offer(m);
-
-		if (m_count && m_matrix2f.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " 2f matrices");
-
+		for (Matrix2f m : i_ms)
+			m_matrix2f.put(m);
 	}
 
 	/**
@@ -458,21 +535,8 @@ public class Math3DCache {
 	 */
 	public static void returnMatrix3f(Matrix3f... i_ms) {
 
-		if (m_synchronized)
-			synchronized (m_matrix3f) {
-				for (Matrix3f m : i_ms)
-					if (m != null)
-						m_matrix3f.offer(m);
-			}
-		else
-			for (Matrix3f m : i_ms)
-				if (m != null)
-					m_matrix3f.offer(m);
-
-		if (m_count && m_matrix3f.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " 3f matrices");
-
+		for (Matrix3f m : i_ms)
+			m_matrix3f.put(m);
 	}
 
 	/**
@@ -483,20 +547,8 @@ public class Math3DCache {
 	 */
 	public static void returnMatrix4f(Matrix4f... i_ms) {
 
-		if (m_synchronized)
-			synchronized (m_matrix4f) {
-				for (Matrix4f m : i_ms)
-					if (m != null)
-						m_matrix4f.offer(m);
-			}
-		else
-			for (Matrix4f m : i_ms)
-				if (m != null)
-					m_matrix4f.offer(m);
-
-		if (m_count && m_matrix4f.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " 4f matrices");
+		for (Matrix4f m : i_ms)
+			m_matrix4f.put(m);
 	}
 
 	/**
@@ -507,20 +559,8 @@ public class Math3DCache {
 	 */
 	public static void returnParaxialBoundingBox(ParaxialBoundingBox... i_ps) {
 
-		if (m_synchronized)
-			synchronized (m_paraxialBoundingBox) {
-				for (ParaxialBoundingBox p : i_ps)
-					if (p != null)
-						m_paraxialBoundingBox.offer(p);
-			}
-		else
-			for (ParaxialBoundingBox p : i_ps)
-				if (p != null)
-					m_paraxialBoundingBox.offer(p);
-
-		if (m_count && m_paraxialBoundingBox.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " paraxial bounding boxes");
+		for (ParaxialBoundingBox p : i_ps)
+			m_paraxialBoundingBox.put(p);
 	}
 
 	/**
@@ -531,20 +571,8 @@ public class Math3DCache {
 	 */
 	public static void returnPosition3D(Position3D... i_ps) {
 
-		if (m_synchronized)
-			synchronized (m_position3D) {
-				for (Position3D p : i_ps)
-					if (p != null)
-						m_position3D.offer(p);
-			}
-		else
-			for (Position3D p : i_ps)
-				if (p != null)
-					m_position3D.offer(p);
-
-		if (m_count && m_position3D.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " 3D positions");
+		for (Position3D p : i_ps)
+			m_position3D.put(p);
 	}
 
 	/**
@@ -555,20 +583,8 @@ public class Math3DCache {
 	 */
 	public static void returnVector2f(Vector2f... i_vs) {
 
-		if (m_synchronized)
-			synchronized (m_vector2f) {
-				for (Vector2f v : i_vs)
-					if (v != null)
-						m_vector2f.offer(v);
-			}
-		else
-			for (Vector2f v : i_vs)
-				if (v != null)
-					m_vector2f.offer(v);
-
-		if (m_count && m_vector2f.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " 2f vectors");
+		for (Vector2f v : i_vs)
+			m_vector2f.put(v);
 	}
 
 	/**
@@ -579,20 +595,8 @@ public class Math3DCache {
 	 */
 	public static void returnVector3f(Vector3f... i_vs) {
 
-		if (m_synchronized)
-			synchronized (m_vector3f) {
-				for (Vector3f v : i_vs)
-					if (v != null)
-						m_vector3f.offer(v);
-			}
-		else
-			for (Vector3f v : i_vs)
-				if (v != null)
-					m_vector3f.offer(v);
-
-		if (m_count && m_vector3f.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " 3f vectors");
+		for (Vector3f v : i_vs)
+			m_vector3f.put(v);
 	}
 
 	/**
@@ -603,19 +607,7 @@ public class Math3DCache {
 	 */
 	public static void returnVector4f(Vector4f... i_vs) {
 
-		if (m_synchronized)
-			synchronized (m_vector4f) {
-				for (Vector4f v : i_vs)
-					if (v != null)
-						m_vector4f.offer(v);
-			}
-		else
-			for (Vector4f v : i_vs)
-				if (v != null)
-					m_vector4f.offer(v);
-
-		if (m_count && m_vector4f.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " 4f vectors");
+		for (Vector4f v : i_vs)
+			m_vector4f.put(v);
 	}
 }
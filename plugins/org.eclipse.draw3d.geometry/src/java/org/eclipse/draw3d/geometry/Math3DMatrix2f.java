@@ -92,7 +92,7 @@ public class Math3DMatrix2f extends Math3DVector4f {
 	 * will be created on the fly. The algorithm is implemented straight
 	 * forward, no optimization is used here.
 	 * <p>
-	 * Any parameters can be identically.
+	 * Any parameters can be identical.
 	 * </p>
 	 * 
 	 * @param i_left must not be null
@@ -113,34 +113,17 @@ public class Math3DMatrix2f extends Math3DVector4f {
 			result = Matrix2fImpl.cast(o_result);
 		}
 
-		if (result == left && result == right) {
-			float t = result.a11;
-			result.a11 = t * result.a11 + result.a12 * result.a21;
-			float s = result.a12; 
-			result.a12 = t * s + s * result.a22;
-			float u = result.a21; 
-			result.a21 = u * result.a11 + result.a22 * u;
-			result.a22 = u * s + result.a22 * result.a22;
-		} else if (result == left) {
-			float t = result.a11;
-			result.a11 = t * right.a11 + result.a12 * right.a21;
-			result.a12 = t * right.a12 + left.a12 * right.a22;
-			t = result.a21;
-			result.a21 = t * right.a11 + result.a22 * right.a21;
-			result.a22 = t * right.a12 + result.a22 * right.a22;
-		} else if (result == right) {
-			float t = result.a11;
-			result.a11 = left.a11 * t + left.a12 * result.a21;
-			result.a21 = left.a21 * t + left.a22 * result.a21;
-			t = result.a22;
-			result.a12 = left.a11 * result.a12 + left.a12 * t;
-			result.a22 = left.a21 * result.a12 + left.a22 * t;
-		} else {
-			result.a11 = left.a11 * right.a11 + left.a12 * right.a21;
-			result.a12 = left.a11 * right.a12 + left.a12 * right.a22;
-			result.a21 = left.a21 * right.a11 + left.a22 * right.a21;
-			result.a22 = left.a21 * right.a12 + left.a22 * right.a22;
-		}
+		// read all entries first, so that the result may be one of the operands
+		float l11 = left.a11, l12 = left.a12;
+		float l21 = left.a21, l22 = left.a22;
+		float r11 = right.a11, r12 = right.a12;
+		float r21 = right.a21, r22 = right.a22;
+
+		result.a11 = l11 * r11 + l12 * r21;
+		result.a12 = l11 * r12 + l12 * r22;
+		result.a21 = l21 * r11 + l22 * r21;
+		result.a22 = l21 * r12 + l22 * r22;
+
 		if (o_result != result)
 			o_result.set(result);
 
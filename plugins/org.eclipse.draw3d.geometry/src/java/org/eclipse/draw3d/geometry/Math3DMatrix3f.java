@@ -103,6 +103,9 @@ public class Math3DMatrix3f extends Math3DMatrix2f {
 	 * Multiplies two matrices. If the result parameter is null, a new matrix
 	 * will be created on the fly. The algorithm is implemented straight
 	 * forward, no optimization is used here.
+	 * <p>
+	 * Any parameters can be identical.
+	 * </p>
 	 * 
 	 * @param i_left must not be null
 	 * @param i_right must not be null
@@ -112,35 +115,34 @@ public class Math3DMatrix3f extends Math3DMatrix2f {
 	 */
 	public static Matrix3f mul(IMatrix3f i_left, IMatrix3f i_right,
 			Matrix3f o_result) {
-		Matrix3fImpl left = Matrix3fImpl.cast(i_left);
-		Matrix3fImpl right = Matrix3fImpl.cast(i_right);
+		Matrix3fImpl l = Matrix3fImpl.cast(i_left);
+		Matrix3fImpl r = Matrix3fImpl.cast(i_right);
 		Matrix3fImpl result;
-		if (o_result == null || o_result == left || o_result == right) {
+		if (o_result == null) {
 			result = new Matrix3fImpl();
-			if (o_result==null)
-				o_result = result;
+			o_result = result;
 		} else {
 			result = Matrix3fImpl.cast(o_result);
 		}
 
-		result.a11 = left.a11 * right.a11 + left.a21 * right.a12 + left.a31
-				* right.a13;
-		result.a12 = left.a12 * right.a11 + left.a22 * right.a12 + left.a32
-				* right.a13;
-		result.a13 = left.a13 * right.a11 + left.a23 * right.a12 + left.a33
-				* right.a13;
-		result.a21 = left.a11 * right.a21 + left.a21 * right.a22 + left.a31
-				* right.a23;
-		result.a22 = left.a12 * right.a21 + left.a22 * right.a22 + left.a32
-				* right.a23;
-		result.a23 = left.a13 * right.a21 + left.a23 * right.a22 + left.a33
-				* right.a23;
-		result.a31 = left.a11 * right.a31 + left.a21 * right.a32 + left.a31
-				* right.a33;
-		result.a32 = left.a12 * right.a31 + left.a22 * right.a32 + left.a32
-				* right.a33;
-		result.a33 = left.a13 * right.a31 + left.a23 * right.a32 + left.a33
-				* right.a33;
+		// read all entries first, so that the result may be one of the operands
+		float l11 = l.a11, l12 = l.a12, l13 = l.a13;
+		float l21 = l.a21, l22 = l.a22, l23 = l.a23;
+		float l31 = l.a31, l32 = l.a32, l33 = l.a33;
+
+		float r11 = r.a11, r12 = r.a12, r13 = r.a13;
+		float r21 = r.a21, r22 = r.a22, r23 = r.a23;
+		float r31 = r.a31, r32 = r.a32, r33 = r.a33;
+
+		result.a11 = l11 * r11 + l21 * r12 + l31 * r13;
+		result.a12 = l12 * r11 + l22 * r12 + l32 * r13;
+		result.a13 = l13 * r11 + l23 * r12 + l33 * r13;
+		result.a21 = l11 * r21 + l21 * r22 + l31 * r23;
+		result.a22 = l12 * r21 + l22 * r22 + l32 * r23;
+		result.a23 = l13 * r21 + l23 * r22 + l33 * r23;
+		result.a31 = l11 * r31 + l21 * r32 + l31 * r33;
+		result.a32 = l12 * r31 + l22 * r32 + l32 * r33;
+		result.a33 = l13 * r31 + l23 * r32 + l33 * r33;
 
 		if (o_result != result)
 			o_result.set(result);
@@ -259,25 +261,29 @@ public class Math3DMatrix3f extends Math3DMatrix2f {
 	public static Matrix3f adjugate(IMatrix3f i_source, Matrix3f o_result) {
 		Matrix3fImpl m = Matrix3fImpl.cast(i_source);
 		Matrix3fImpl result;
-		if (o_result == null || o_result == m) {
+		if (o_result == null) {
 			result = new Matrix3fImpl();
-			if (o_result==null) 
-				o_result = result;
+			o_result = result;
 		} else {
 			result = Matrix3fImpl.cast(o_result);
 		}
 
-		result.a11 = det(m.a22, m.a23, m.a32, m.a33);
-		result.a12 = negdet(m.a12, m.a13, m.a32, m.a33);
-		result.a13 = det(m.a12, m.a13, m.a22, m.a23);
+		// read all entries first, so that the result may be the source
+		float m11 = m.a11, m12 = m.a12, m13 = m.a13;
+		float m21 = m.a21, m22 = m.a22, m23 = m.a23;
+		float m31 = m.a31, m32 = m.a32, m33 = m.a33;
+
+		result.a11 = det(m22, m23, m32, m33);
+		result.a12 = negdet(m12, m13, m32, m33);
+		result.a13 = det(m12, m13, m22, m23);
 
-		result.a21 = negdet(m.a21, m.a23, m.a31, m.a33);
-		result.a22 = det(m.a11, m.a13, m.a31, m.a33);
-		result.a23 = negdet(m.a11, m.a13, m.a21, m.a23);
+		result.a21 = negdet(m21, m23, m31, m33);
+		result.a22 = det(m11, m13, m31, m33);
+		result.a23 = negdet(m11, m13, m21, m23);
 
-		result.a31 = det(m.a21, m.a22, m.a31, m.a32);
-		result.a32 = negdet(m.a11, m.a12, m.a31, m.a32);
-		result.a33 = det(m.a11, m.a12, m.a21, m.a22);
+		result.a31 = det(m21, m22, m31, m32);
+		result.a32 = negdet(m11, m12, m31, m32);
+		result.a33 = det(m11, m12, m21, m22);
 
 		if (o_result != result)
 			o_result.set(result);
@@ -332,10 +338,9 @@ public class Math3DMatrix3f extends Math3DMatrix2f {
 	public static Matrix3f negate(IMatrix3f i_source, Matrix3f o_result) {
 		Matrix3fImpl m = Matrix3fImpl.cast(i_source);
 		Matrix3fImpl result;
-		if (o_result == null || o_result==m) {
+		if (o_result == null) {
 			result = new Matrix3fImpl();
-			if (o_result==null) 
-				o_result = result;
+			o_result = result;
 		} else {
 			result = Matrix3fImpl.cast(o_result);
 		}
@@ -119,6 +119,9 @@ public class Math3DMatrix4f extends Math3DMatrix3f {
 	 * Multiplies two matrices. If the result parameter is null, a new matrix
 	 * will be created on the fly. The algorithm is implemented straight
 	 * forward, no optimization is used here.
+	 * <p>
+	 * Any parameters can be identical.
+	 * </p>
 	 * 
 	 * @param i_left must not be null
 	 * @param i_right must not be null
@@ -128,68 +131,43 @@ public class Math3DMatrix4f extends Math3DMatrix3f {
 	 */
 	public static Matrix4f mul(IMatrix4f i_left, IMatrix4f i_right,
 		Matrix4f o_result) {
-		Matrix4fImpl left = Matrix4fImpl.cast(i_left);
-		Matrix4fImpl right = Matrix4fImpl.cast(i_right);
+		Matrix4fImpl l = Matrix4fImpl.cast(i_left);
+		Matrix4fImpl r = Matrix4fImpl.cast(i_right);
 		Matrix4fImpl result;
-		if (o_result == null || o_result == left || o_result == right) {
+		if (o_result == null) {
 			result = new Matrix4fImpl();
-			if (o_result == null)
-				o_result = result;
+			o_result = result;
 		} else {
 			result = Matrix4fImpl.cast(o_result);
 		}
 
-		result.a11 =
-			left.a11 * right.a11 + left.a21 * right.a12 + left.a31 * right.a13
-				+ left.a41 * right.a14;
-		result.a12 =
-			left.a12 * right.a11 + left.a22 * right.a12 + left.a32 * right.a13
-				+ left.a42 * right.a14;
-		result.a13 =
-			left.a13 * right.a11 + left.a23 * right.a12 + left.a33 * right.a13
-				+ left.a43 * right.a14;
-		result.a14 =
-			left.a14 * right.a11 + left.a24 * right.a12 + left.a34 * right.a13
-				+ left.a44 * right.a14;
-		result.a21 =
-			left.a11 * right.a21 + left.a21 * right.a22 + left.a31 * right.a23
-				+ left.a41 * right.a24;
-		result.a22 =
-			left.a12 * right.a21 + left.a22 * right.a22 + left.a32 * right.a23
-				+ left.a42 * right.a24;
-		result.a23 =
-			left.a13 * right.a21 + left.a23 * right.a22 + left.a33 * right.a23
-				+ left.a43 * right.a24;
-		result.a24 =
-			left.a14 * right.a21 + left.a24 * right.a22 + left.a34 * right.a23
-				+ left.a44 * right.a24;
-		result.a31 =
-			left.a11 * right.a31 + left.a21 * right.a32 + left.a31 * right.a33
-				+ left.a41 * right.a34;
-		result.a32 =
-			left.a12 * right.a31 + left.a22 * right.a32 + left.a32 * right.a33
-				+ left.a42 * right.a34;
-		result.a33 =
-			left.a13 * right.a31 + left.a23 * right.a32 + left.a33 * right.a33
-				+ left.a43 * right.a34;
-		result.a34 =
-			left.a14 * right.a31 + left.a24 * right.a32 + left.a34 * right.a33
-				+ left.a44 * right.a34;
-		result.a41 =
-			left.a11 * right.a41 + left.a21 * right.a42 + left.a31 * right.a43
-				+ left.a41 * right.a44;
-		result.a42 =
-			left.a12 * right.a41 + left.a22 * right.a42 + left.a32 * right.a43
-				+ left.a42 * right.a44;
-		result.a43 =
-			left.a13 * right.a41 + left.a23 * right.a42 + left.a33 * right.a43
-				+ left.a43 * right.a44;
-		result.a44 =
-			left.a14 * right.a41 + left.a24 * right.a42 + left.a34 * right.a43
-				+ left.a44 * right.a44;
-
-		if (o_result != result)
-			o_result.set(result);
+		// read all entries first, so that the result may be one of the operands
+		float l11 = l.a11, l12 = l.a12, l13 = l.a13, l14 = l.a14;
+		float l21 = l.a21, l22 = l.a22, l23 = l.a23, l24 = l.a24;
+		float l31 = l.a31, l32 = l.a32, l33 = l.a33, l34 = l.a34;
+		float l41 = l.a41, l42 = l.a42, l43 = l.a43, l44 = l.a44;
+
+		float r11 = r.a11, r12 = r.a12, r13 = r.a13, r14 = r.a14;
+		float r21 = r.a21, r22 = r.a22, r23 = r.a23, r24 = r.a24;
+		float r31 = r.a31, r32 = r.a32, r33 = r.a33, r34 = r.a34;
+		float r41 = r.a41, r42 = r.a42, r43 = r.a43, r44 = r.a44;
+
+		result.a11 = l11 * r11 + l21 * r12 + l31 * r13 + l41 * r14;
+		result.a12 = l12 * r11 + l22 * r12 + l32 * r13 + l42 * r14;
+		result.a13 = l13 * r11 + l23 * r12 + l33 * r13 + l43 * r14;
+		result.a14 = l14 * r11 + l24 * r12 + l34 * r13 + l44 * r14;
+		result.a21 = l11 * r21 + l21 * r22 + l31 * r23 + l41 * r24;
+		result.a22 = l12 * r21 + l22 * r22 + l32 * r23 + l42 * r24;
+		result.a23 = l13 * r21 + l23 * r22 + l33 * r23 + l43 * r24;
+		result.a24 = l14 * r21 + l24 * r22 + l34 * r23 + l44 * r24;
+		result.a31 = l11 * r31 + l21 * r32 + l31 * r33 + l41 * r34;
+		result.a32 = l12 * r31 + l22 * r32 + l32 * r33 + l42 * r34;
+		result.a33 = l13 * r31 + l23 * r32 + l33 * r33 + l43 * r34;
+		result.a34 = l14 * r31 + l24 * r32 + l34 * r33 + l44 * r34;
+		result.a41 = l11 * r41 + l21 * r42 + l31 * r43 + l41 * r44;
+		result.a42 = l12 * r41 + l22 * r42 + l32 * r43 + l42 * r44;
+		result.a43 = l13 * r41 + l23 * r42 + l33 * r43 + l43 * r44;
+		result.a44 = l14 * r41 + l24 * r42 + l34 * r43 + l44 * r44;
 
 		return o_result;
 	}
@@ -321,13 +299,18 @@ public class Math3DMatrix4f extends Math3DMatrix3f {
 
 	/**
 	 * Inverts a matrix. If the result parameter is null, a new matrix will be
-	 * created on the fly.
+	 * created on the fly. Source and result matrix may be identical.
 	 * <p>
 	 * If no inverse matrix can be calculated, null is returned. So, there's no
 	 * need for testing the determinant before calling this method, since this
 	 * would only lead to computing the determinant twice. Simply test the
 	 * result if it is null.
 	 * </p>
+	 * <p>
+	 * The inverse is calculated as the adjugate divided by the determinant,
+	 * using the Laplace expansion by the 2x2 sub determinants of the first two
+	 * and the last two rows.
+	 * </p>
 	 * 
 	 * @param i_source must not be null
 	 * @param o_result may be null, if matrix cannot be inverted
@@ -336,13 +319,36 @@ public class Math3DMatrix4f extends Math3DMatrix3f {
 	 */
 	public static Matrix4f invert(IMatrix4f i_source, Matrix4f o_result) {
 
-		float detSource = determinant(i_source);
-		if (detSource == 0) {
+		Matrix4fImpl m = Matrix4fImpl.cast(i_source);
+
+		float m11 = m.a11, m12 = m.a12, m13 = m.a13, m14 = m.a14;
+		float m21 = m.a21, m22 = m.a22, m23 = m.a23, m24 = m.a24;
+		float m31 = m.a31, m32 = m.a32, m33 = m.a33, m34 = m.a34;
+		float m41 = m.a41, m42 = m.a42, m43 = m.a43, m44 = m.a44;
+
+		// determinants of the 2x2 sub matrices of the first two and the last
+		// two rows, the index name indicates the columns
+		float s12 = m11 * m22 - m12 * m21;
+		float s13 = m11 * m23 - m13 * m21;
+		float s14 = m11 * m24 - m14 * m21;
+		float s23 = m12 * m23 - m13 * m22;
+		float s24 = m12 * m24 - m14 * m22;
+		float s34 = m13 * m24 - m14 * m23;
+
+		float c12 = m31 * m42 - m32 * m41;
+		float c13 = m31 * m43 - m33 * m41;
+		float c14 = m31 * m44 - m34 * m41;
+		float c23 = m32 * m43 - m33 * m42;
+		float c24 = m32 * m44 - m34 * m42;
+		float c34 = m33 * m44 - m34 * m43;
+
+		float det =
+			s12 * c34 - s13 * c24 + s14 * c23 + s23 * c14 - s24 * c13
+				+ s34 * c12;
+		if (det == 0) {
 			return null; // matrix in not invertible!
 		}
 
-		Matrix4fImpl m = Matrix4fImpl.cast(i_source);
-
 		Matrix4fImpl result;
 		if (o_result == null) {
 			result = new Matrix4fImpl();
@@ -351,62 +357,29 @@ public class Math3DMatrix4f extends Math3DMatrix3f {
 			result = Matrix4fImpl.cast(o_result);
 		}
 
-		// use blockwise inversion
-		// calculate blocks
-		// AB
-		// CD
-		Matrix2fImpl A = new Matrix2fImpl(m.a11, m.a12, m.a21, m.a22, false);
-		Matrix2fImpl B = new Matrix2fImpl(m.a13, m.a14, m.a23, m.a24, false);
-		Matrix2fImpl C = new Matrix2fImpl(m.a31, m.a32, m.a41, m.a42, false);
-		Matrix2fImpl D = new Matrix2fImpl(m.a33, m.a34, m.a43, m.a44, false);
-
-		// A^{-1}
-		Matrix2fImpl Ainv = new Matrix2fImpl();
-
-		invert(A, Ainv);
-
-		// CA^{-1}
-		Matrix2fImpl C_Ainv = new Matrix2fImpl();
-		mul(C, Ainv, C_Ainv);
-
-		// D−CA^{-1}B
-		Matrix2fImpl SchurInv = new Matrix2fImpl();
-		mul(C_Ainv, B, SchurInv);
-		sub(D, SchurInv, SchurInv);
-		invert(SchurInv, SchurInv);
-
-		// A^{-1}B
-		Matrix2fImpl Ainv_B = new Matrix2fImpl();
-		mul(Ainv, B, Ainv_B);
-
-		// calculate result blocks:
-		mul(Ainv_B, SchurInv, A);
-		negate(A, B); // this is B
-		mul(A, C_Ainv, A);
-		add(Ainv, A, A); // this is A
-		mul(SchurInv, C_Ainv, C);
-		negate(C, C); // this is C
-		D = SchurInv; // this is D
-
-		result.a11 = A.a11;
-		result.a12 = A.a12;
-		result.a21 = A.a21;
-		result.a22 = A.a22;
-
-		result.a13 = B.a11;
-		result.a14 = B.a12;
-		result.a23 = B.a21;
-		result.a24 = B.a22;
-
-		result.a31 = C.a11;
-		result.a32 = C.a12;
-		result.a41 = C.a21;
-		result.a42 = C.a22;
-
-		result.a33 = D.a11;
-		result.a34 = D.a12;
-		result.a43 = D.a21;
-		result.a44 = D.a22;
+		// the inverse is the adjugate divided by the determinant, the
+		// entries are calculated from the sub determinants above
+		float f = 1 / det;
+
+		result.a11 = (m22 * c34 - m23 * c24 + m24 * c23) * f;
+		result.a12 = (-m12 * c34 + m13 * c24 - m14 * c23) * f;
+		result.a13 = (m42 * s34 - m43 * s24 + m44 * s23) * f;
+		result.a14 = (-m32 * s34 + m33 * s24 - m34 * s23) * f;
+
+		result.a21 = (-m21 * c34 + m23 * c14 - m24 * c13) * f;
+		result.a22 = (m11 * c34 - m13 * c14 + m14 * c13) * f;
+		result.a23 = (-m41 * s34 + m43 * s14 - m44 * s13) * f;
+		result.a24 = (m31 * s34 - m33 * s14 + m34 * s13) * f;
+
+		result.a31 = (m21 * c24 - m22 * c14 + m24 * c12) * f;
+		result.a32 = (-m11 * c24 + m12 * c14 - m14 * c12) * f;
+		result.a33 = (m41 * s24 - m42 * s14 + m44 * s12) * f;
+		result.a34 = (-m31 * s24 + m32 * s14 - m34 * s12) * f;
+
+		result.a41 = (-m21 * c23 + m22 * c13 - m23 * c12) * f;
+		result.a42 = (m11 * c23 - m12 * c13 + m13 * c12) * f;
+		result.a43 = (-m41 * s23 + m42 * s13 - m43 * s12) * f;
+		result.a44 = (m31 * s23 - m32 * s13 + m33 * s12) * f;
 
 		if (o_result != result)
 			o_result.set(result);
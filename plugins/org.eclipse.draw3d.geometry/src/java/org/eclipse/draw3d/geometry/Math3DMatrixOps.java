@@ -148,58 +148,67 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 		IMatrix4f i_matrix, Matrix4f o_result) {
 
 		Matrix4fImpl m = Matrix4fImpl.cast(i_matrix);
-		Vector3fImpl axis = new Vector3fImpl();
 		Matrix4fImpl result;
-		if (o_result == null || o_result == m) {
+		if (o_result == null) {
 			result = new Matrix4fImpl();
-			if (o_result == null)
-				o_result = result;
+			o_result = result;
 		} else {
 			result = Matrix4fImpl.cast(o_result);
 		}
 
-		normalise(i_rotationAxis, axis);
+		float ax = i_rotationAxis.getX();
+		float ay = i_rotationAxis.getY();
+		float az = i_rotationAxis.getZ();
+		float lengthInv = 1 / (float) Math.sqrt(ax * ax + ay * ay + az * az);
+		ax *= lengthInv;
+		ay *= lengthInv;
+		az *= lengthInv;
 
 		float s = (float) Math.sin(angle);
 		float c = (float) Math.cos(angle);
 		float t = 1 - c;
 
-		float sx = s * axis.x;
-		float sy = s * axis.y;
-		float sz = s * axis.z;
+		float sx = s * ax;
+		float sy = s * ay;
+		float sz = s * az;
 
-		float tx = t * axis.x;
-		float txy = tx * axis.y;
-		float txz = tx * axis.z;
-		float ty = t * axis.y;
-		float tyz = ty * axis.z;
+		float tx = t * ax;
+		float txy = tx * ay;
+		float txz = tx * az;
+		float ty = t * ay;
+		float tyz = ty * az;
 
 		// rm is the rotation matrix, all other values are 0:
-		float rm11 = tx * axis.x + c;
+		float rm11 = tx * ax + c;
 		float rm12 = txy + sz;
 		float rm13 = txz - sy;
 		float rm21 = txy - sz;
-		float rm22 = ty * axis.y + c;
+		float rm22 = ty * ay + c;
 		float rm23 = tyz + sx;
 		float rm31 = txz + sy;
 		float rm32 = tyz - sx;
-		float rm33 = t * axis.z * axis.z + c;
+		float rm33 = t * az * az + c;
 		// float rm44 = 1;
 
+		// read all entries first, so that the result may be the source matrix
+		float m11 = m.a11, m12 = m.a12, m13 = m.a13, m14 = m.a14;
+		float m21 = m.a21, m22 = m.a22, m23 = m.a23, m24 = m.a24;
+		float m31 = m.a31, m32 = m.a32, m33 = m.a33, m34 = m.a34;
+
 		// next, rm is multiplied by m: RESULT = RM * R
 		// which complexity is reduced, since a lot of rm values are 0
-		result.a11 = m.a11 * rm11 + m.a21 * rm12 + m.a31 * rm13; // +m.a41*rm14;
-		result.a12 = m.a12 * rm11 + m.a22 * rm12 + m.a32 * rm13; // +m.a42*rm14;
-		result.a13 = m.a13 * rm11 + m.a23 * rm12 + m.a33 * rm13; // +m.a43*rm14;
-		result.a14 = m.a14 * rm11 + m.a24 * rm12 + m.a34 * rm13; // +m.a44*rm14;
-		result.a21 = m.a11 * rm21 + m.a21 * rm22 + m.a31 * rm23; // +m.a41*rm24;
-		result.a22 = m.a12 * rm21 + m.a22 * rm22 + m.a32 * rm23; // +m.a42*rm24;
-		result.a23 = m.a13 * rm21 + m.a23 * rm22 + m.a33 * rm23; // +m.a43*rm24;
-		result.a24 = m.a14 * rm21 + m.a24 * rm22 + m.a34 * rm23; // +m.a44*rm24;
-		result.a31 = m.a11 * rm31 + m.a21 * rm32 + m.a31 * rm33; // +m.a41*rm34;
-		result.a32 = m.a12 * rm31 + m.a22 * rm32 + m.a32 * rm33; // +m.a42*rm34;
-		result.a33 = m.a13 * rm31 + m.a23 * rm32 + m.a33 * rm33; // +m.a43*rm34;
-		result.a34 = m.a14 * rm31 + m.a24 * rm32 + m.a34 * rm33; // +m.a44*rm34;
+		result.a11 = m11 * rm11 + m21 * rm12 + m31 * rm13; // +m.a41*rm14;
+		result.a12 = m12 * rm11 + m22 * rm12 + m32 * rm13; // +m.a42*rm14;
+		result.a13 = m13 * rm11 + m23 * rm12 + m33 * rm13; // +m.a43*rm14;
+		result.a14 = m14 * rm11 + m24 * rm12 + m34 * rm13; // +m.a44*rm14;
+		result.a21 = m11 * rm21 + m21 * rm22 + m31 * rm23; // +m.a41*rm24;
+		result.a22 = m12 * rm21 + m22 * rm22 + m32 * rm23; // +m.a42*rm24;
+		result.a23 = m13 * rm21 + m23 * rm22 + m33 * rm23; // +m.a43*rm24;
+		result.a24 = m14 * rm21 + m24 * rm22 + m34 * rm23; // +m.a44*rm24;
+		result.a31 = m11 * rm31 + m21 * rm32 + m31 * rm33; // +m.a41*rm34;
+		result.a32 = m12 * rm31 + m22 * rm32 + m32 * rm33; // +m.a42*rm34;
+		result.a33 = m13 * rm31 + m23 * rm32 + m33 * rm33; // +m.a43*rm34;
+		result.a34 = m14 * rm31 + m24 * rm32 + m34 * rm33; // +m.a44*rm34;
 
 		result.a41 = /* m.a11 0 + m.a21 0 + m.a31 0 + */m.a41; // *rm44=1;
 		result.a42 = /* m.a12 0 + m.a22 0 + m.a32 0 + */m.a42; // *rm44=1;
@@ -209,8 +218,7 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 		if (o_result != result)
 			o_result.set(result);
 
-		return result;
-
+		return o_result;
 	}
 
 	/**
@@ -335,8 +343,10 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 	public static Matrix3f scale(IVector2f i_scaleVector2f, IMatrix3f i_matrix,
 		Matrix3f o_result) {
 
+		float x = i_scaleVector2f.getX();
+		float y = i_scaleVector2f.getY();
+
 		Matrix3fImpl m = Matrix3fImpl.cast(i_matrix);
-		Vector2fImpl v = Vector2fImpl.cast(i_scaleVector2f);
 
 		Matrix3fImpl result;
 		if (o_result == null) {
@@ -346,12 +356,12 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 			result = Matrix3fImpl.cast(o_result);
 		}
 
-		result.a11 = m.a11 * v.x;
-		result.a12 = m.a12 * v.x;
-		result.a13 = m.a13 * v.x;
-		result.a21 = m.a21 * v.y;
-		result.a22 = m.a22 * v.y;
-		result.a23 = m.a23 * v.y;
+		result.a11 = m.a11 * x;
+		result.a12 = m.a12 * x;
+		result.a13 = m.a13 * x;
+		result.a21 = m.a21 * y;
+		result.a22 = m.a22 * y;
+		result.a23 = m.a23 * y;
 		result.a31 = m.a31;
 		result.a32 = m.a32;
 		result.a33 = m.a33;
@@ -359,7 +369,7 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 		if (o_result != result)
 			o_result.set(result);
 
-		return result;
+		return o_result;
 	}
 
 	/**
@@ -375,8 +385,11 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 	public static Matrix4f scale(IVector3f i_scaleVector3f, IMatrix4f i_matrix,
 		Matrix4f o_result) {
 
+		float x = i_scaleVector3f.getX();
+		float y = i_scaleVector3f.getY();
+		float z = i_scaleVector3f.getZ();
+
 		Matrix4fImpl m = Matrix4fImpl.cast(i_matrix);
-		Vector3fImpl v = Vector3fImpl.cast(i_scaleVector3f);
 
 		Matrix4fImpl result;
 		if (o_result == null) {
@@ -386,18 +399,18 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 			result = Matrix4fImpl.cast(o_result);
 		}
 
-		result.a11 = m.a11 * v.x;
-		result.a12 = m.a12 * v.x;
-		result.a13 = m.a13 * v.x;
-		result.a14 = m.a14 * v.x;
-		result.a21 = m.a21 * v.y;
-		result.a22 = m.a22 * v.y;
-		result.a23 = m.a23 * v.y;
-		result.a24 = m.a24 * v.y;
-		result.a31 = m.a31 * v.z;
-		result.a32 = m.a32 * v.z;
-		result.a33 = m.a33 * v.z;
-		result.a34 = m.a34 * v.z;
+		result.a11 = m.a11 * x;
+		result.a12 = m.a12 * x;
+		result.a13 = m.a13 * x;
+		result.a14 = m.a14 * x;
+		result.a21 = m.a21 * y;
+		result.a22 = m.a22 * y;
+		result.a23 = m.a23 * y;
+		result.a24 = m.a24 * y;
+		result.a31 = m.a31 * z;
+		result.a32 = m.a32 * z;
+		result.a33 = m.a33 * z;
+		result.a34 = m.a34 * z;
 		result.a41 = m.a41;
 		result.a42 = m.a42;
 		result.a43 = m.a43;
@@ -406,7 +419,7 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 		if (o_result != result)
 			o_result.set(result);
 
-		return result;
+		return o_result;
 	}
 
 	/**
@@ -428,24 +441,16 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 		Vector2f o_result) {
 
 		Matrix3fImpl m = Matrix3fImpl.cast(i_matrix);
-		Vector2fImpl v = Vector2fImpl.cast(i_vector);
 
-		Vector2fImpl result;
-		if (o_result == v || o_result == null) {
-			result = new Vector2fImpl();
-			if (o_result == null)
-				o_result = result;
-		} else {
-			result = Vector2fImpl.cast(o_result);
-		}
+		if (o_result == null)
+			o_result = new Vector2fImpl();
 
-		float w = m.a13 * v.x + m.a23 * v.y + m.a33;
-		result.x = (m.a11 * v.x + m.a21 * v.y + m.a31) / w;
-		result.y = (m.a12 * v.x + m.a22 * v.y + m.a32) / w;
+		float x = i_vector.getX();
+		float y = i_vector.getY();
 
-		if (o_result != result) {
-			o_result.set(result);
-		}
+		float w = m.a13 * x + m.a23 * y + m.a33;
+		o_result.set((m.a11 * x + m.a21 * y + m.a31) / w, //
+			(m.a12 * x + m.a22 * y + m.a32) / w);
 
 		return o_result;
 	}
@@ -465,26 +470,19 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 		Vector3f o_result) {
 
 		Matrix3fImpl m = Matrix3fImpl.cast(i_matrix);
-		Vector3fImpl v = Vector3fImpl.cast(i_vector);
 
-		Vector3fImpl result;
-		if (o_result == v || o_result == null) {
-			result = new Vector3fImpl();
-			if (o_result == null)
-				o_result = result;
-		} else {
-			result = Vector3fImpl.cast(o_result);
-		}
+		if (o_result == null)
+			o_result = new Vector3fImpl();
 
-		result.x = m.a11 * v.x + m.a21 * v.y + m.a31 * v.z;
-		result.y = m.a12 * v.x + m.a22 * v.y + m.a32 * v.z;
-		result.z = m.a13 * v.x + m.a23 * v.y + m.a33 * v.z;
+		float x = i_vector.getX();
+		float y = i_vector.getY();
+		float z = i_vector.getZ();
 
-		if (o_result != result) {
-			o_result.set(result);
-		}
+		o_result.set(m.a11 * x + m.a21 * y + m.a31 * z, //
+			m.a12 * x + m.a22 * y + m.a32 * z, //
+			m.a13 * x + m.a23 * y + m.a33 * z);
 
-		return result;
+		return o_result;
 	}
 
 	/**
@@ -506,25 +504,18 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 		Vector3f o_result) {
 
 		Matrix4fImpl m = Matrix4fImpl.cast(i_matrix);
-		Vector3fImpl v = Vector3fImpl.cast(i_vector);
 
-		Vector3fImpl result;
-		if (o_result == v || o_result == null) {
-			result = new Vector3fImpl();
-			if (o_result == null)
-				o_result = result;
-		} else {
-			result = Vector3fImpl.cast(o_result);
-		}
+		if (o_result == null)
+			o_result = new Vector3fImpl();
 
-		float w = m.a14 * v.x + m.a24 * v.y + m.a34 * v.z + m.a44;
-		result.x = (m.a11 * v.x + m.a21 * v.y + m.a31 * v.z + m.a41) / w;
-		result.y = (m.a12 * v.x + m.a22 * v.y + m.a32 * v.z + m.a42) / w;
-		result.z = (m.a13 * v.x + m.a23 * v.y + m.a33 * v.z + m.a43) / w;
+		float x = i_vector.getX();
+		float y = i_vector.getY();
+		float z = i_vector.getZ();
 
-		if (o_result != result) {
-			o_result.set(result);
-		}
+		float w = m.a14 * x + m.a24 * y + m.a34 * z + m.a44;
+		o_result.set((m.a11 * x + m.a21 * y + m.a31 * z + m.a41) / w, //
+			(m.a12 * x + m.a22 * y + m.a32 * z + m.a42) / w, //
+			(m.a13 * x + m.a23 * y + m.a33 * z + m.a43) / w);
 
 		return o_result;
 	}
@@ -544,25 +535,19 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 		Vector4f o_result) {
 
 		Matrix4fImpl m = Matrix4fImpl.cast(i_matrix);
-		Vector4fImpl v = Vector4fImpl.cast(i_vector);
 
-		Vector4fImpl result;
-		if (o_result == v || o_result == null) {
-			result = new Vector4fImpl();
-			if (o_result == null)
-				o_result = result;
-		} else {
-			result = Vector4fImpl.cast(o_result);
-		}
+		if (o_result == null)
+			o_result = new Vector4fImpl();
 
-		result.x = m.a11 * v.x + m.a21 * v.y + m.a31 * v.z + m.a41 * v.w;
-		result.y = m.a12 * v.x + m.a22 * v.y + m.a32 * v.z + m.a42 * v.w;
-		result.z = m.a13 * v.x + m.a23 * v.y + m.a33 * v.z + m.a43 * v.w;
-		result.w = m.a14 * v.x + m.a24 * v.y + m.a34 * v.z + m.a44 * v.w;
+		float x = i_vector.getX();
+		float y = i_vector.getY();
+		float z = i_vector.getZ();
+		float w = i_vector.getW();
 
-		if (o_result != result) {
-			o_result.set(result);
-		}
+		o_result.set(m.a11 * x + m.a21 * y + m.a31 * z + m.a41 * w, //
+			m.a12 * x + m.a22 * y + m.a32 * z + m.a42 * w, //
+			m.a13 * x + m.a23 * y + m.a33 * z + m.a43 * w, //
+			m.a14 * x + m.a24 * y + m.a34 * z + m.a44 * w);
 
 		return o_result;
 	}
@@ -580,8 +565,10 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 	public static Matrix3f translate(IMatrix3f i_source, IVector2f i_vector,
 		Matrix3f o_result) {
 
+		float x = i_vector.getX();
+		float y = i_vector.getY();
+
 		Matrix3fImpl m = Matrix3fImpl.cast(i_source);
-		Vector2fImpl v = Vector2fImpl.cast(i_vector);
 
 		Matrix3fImpl result;
 		if (o_result == null) {
@@ -592,13 +579,13 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 			result.set(m);
 		}
 
-		result.a31 += v.x;
-		result.a32 += v.y;
+		result.a31 += x;
+		result.a32 += y;
 
 		if (o_result != result)
 			o_result.set(result);
 
-		return result;
+		return o_result;
 	}
 
 	/**
@@ -614,8 +601,11 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 	public static Matrix4f translate(IMatrix4f i_source, IVector3f i_vector,
 		Matrix4f o_result) {
 
+		float x = i_vector.getX();
+		float y = i_vector.getY();
+		float z = i_vector.getZ();
+
 		Matrix4fImpl m = Matrix4fImpl.cast(i_source);
-		Vector3fImpl v = Vector3fImpl.cast(i_vector);
 
 		Matrix4fImpl result;
 		if (o_result == null) {
@@ -626,13 +616,13 @@ public class Math3DMatrixOps extends Math3DMatrix4f {
 			result.set(m);
 		}
 
-		result.a41 += v.x;
-		result.a42 += v.y;
-		result.a43 += v.z;
+		result.a41 += x;
+		result.a42 += y;
+		result.a43 += z;
 
 		if (o_result != result)
 			o_result.set(result);
 
-		return result;
+		return o_result;
 	}
 }
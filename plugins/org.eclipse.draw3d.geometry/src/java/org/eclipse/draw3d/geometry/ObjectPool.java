@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * A pool of objects that are used as temporary variables. Every thread has its
+ * own pool, which is an array-backed stack, so that neither locking nor any
+ * allocation is needed to get an object from the pool or to return it. An
+ * object that is returned by a thread other than the one that got it is
+ * simply added to the pool of the returning thread.
+ * <p>
+ * For every thread, the pool counts the number of instances that were created,
+ * the number of instances that are currently in use (i.e. that were taken from
+ * the pool and not returned yet) and the maximum of that number, the high-water
+ * mark. If the number of instances in use by a thread exceeds the leak
+ * threshold, a warning containing the thread's name is logged once. The
+ * statistics of all pools are available via {@link #getStatistics()}. They are
+ * collected without synchronization, so they may be slightly out of date for
+ * threads other than the calling one.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @param <T> the type of the pooled objects
+ * @since 16.10.2026
+ * @see Math3DCache
+ */
+public abstract class ObjectPool<T> {
+
+	/**
+	 * The stack of pooled objects of a single thread, along with the usage
+	 * statistics of that thread.
+	 *
+	 * @author Jens von Pilgrim
+	 * @version $Revision$
+	 * @since 16.10.2026
+	 */
+	static class ThreadStack {
+
+		int m_created;
+
+		int m_discarded;
+
+		Object[] m_elements = new Object[INITIAL_CAPACITY];
+
+		int m_highWaterMark;
+
+		int m_inUse;
+
+		int m_size;
+
+		final WeakReference<Thread> m_thread;
+
+		final String m_threadName;
+
+		boolean m_warned;
+
+		ThreadStack(Thread i_thread) {
+
+			m_thread = new WeakReference<Thread>(i_thread);
+			m_threadName = i_thread.getName();
+		}
+
+		void insert(int i_index, Object i_object) {
+
+			if (m_size == m_elements.length) {
+				Object[] elements = new Object[m_elements.length * 2];
+				System.arraycopy(m_elements, 0, elements, 0, m_size);
+				m_elements = elements;
+			}
+
+			System.arraycopy(m_elements, i_index, m_elements, i_index + 1,
+				m_size - i_index);
+			m_elements[i_index] = i_object;
+			m_size++;
+		}
+
+		boolean isAlive() {
+
+			Thread thread = m_thread.get();
+			return thread != null && thread.isAlive();
+		}
+
+		Object remove(int i_index) {
+
+			Object object = m_elements[i_index];
+			System.arraycopy(m_elements, i_index + 1, m_elements, i_index,
+				m_size - i_index - 1);
+			m_elements[--m_size] = null;
+
+			return object;
+		}
+	}
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private static final Logger log =
+		Logger.getLogger(ObjectPool.class.getName());
+
+	private static final List<ObjectPool<?>> m_pools =
+		new ArrayList<ObjectPool<?>>();
+
+	/**
+	 * Returns the usage statistics of all pools, one line per pool and thread.
+	 * Threads that did not use a pool are omitted. A thread that has
+	 * instances in use while it is idle, e.g. after a render pass, is leaking
+	 * instances.
+	 *
+	 * @return the statistics
+	 */
+	public static String getStatistics() {
+
+		StringBuilder builder = new StringBuilder();
+		synchronized (m_pools) {
+			for (ObjectPool<?> pool : m_pools)
+				pool.appendStatistics(builder);
+		}
+
+		return builder.toString();
+	}
+
+	private int m_leakThreshold;
+
+	private final ThreadLocal<ThreadStack> m_local =
+		new ThreadLocal<ThreadStack>() {
+
+			@Override
+			protected ThreadStack initialValue() {
+
+				return register(new ThreadStack(Thread.currentThread()));
+			}
+		};
+
+	private int m_maxSize;
+
+	private final String m_name;
+
+	private final List<ThreadStack> m_stacks = new ArrayList<ThreadStack>();
+
+	/**
+	 * Creates a new pool.
+	 *
+	 * @param i_name the name of the pool, used in warnings and statistics
+	 * @param i_maxSize the maximum number of objects kept in the pool of each
+	 *            thread, further returned objects are discarded
+	 * @param i_leakThreshold if a thread has more instances in use than this
+	 *            number, a warning is logged
+	 */
+	protected ObjectPool(String i_name, int i_maxSize, int i_leakThreshold) {
+
+		if (i_name == null)
+			throw new NullPointerException("i_name must not be null");
+
+		m_name = i_name;
+		m_maxSize = i_maxSize;
+		m_leakThreshold = i_leakThreshold;
+
+		synchronized (m_pools) {
+			m_pools.add(this);
+		}
+	}
+
+	private void appendStatistics(StringBuilder o_builder) {
+
+		synchronized (m_stacks) {
+			for (ThreadStack stack : m_stacks) {
+				o_builder.append(m_name);
+				o_builder.append("[thread: ").append(stack.m_threadName);
+				o_builder.append(", created: ").append(stack.m_created);
+				o_builder.append(", in use: ").append(stack.m_inUse);
+				o_builder.append(", high-water mark: ").append(
+					stack.m_highWaterMark);
+				o_builder.append(", pooled: ").append(stack.m_size);
+				o_builder.append(", discarded: ").append(stack.m_discarded);
+				if (!stack.isAlive())
+					o_builder.append(", terminated");
+				o_builder.append("]\n");
+			}
+		}
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @return the new instance
+	 */
+	protected abstract T create();
+
+	/**
+	 * Returns an object from the pool of the current thread. If that pool is
+	 * empty, a new object is created.
+	 *
+	 * @return the object
+	 */
+	@SuppressWarnings("unchecked")
+	public T get() {
+
+		ThreadStack stack = m_local.get();
+		taken(stack);
+
+		if (stack.m_size > 0) {
+			T object = (T) stack.m_elements[--stack.m_size];
+			stack.m_elements[stack.m_size] = null;
+			return object;
+		}
+
+		stack.m_created++;
+		return create();
+	}
+
+	/**
+	 * Returns the pool of the current thread.
+	 *
+	 * @return the pool of the current thread
+	 */
+	ThreadStack getStack() {
+
+		return m_local.get();
+	}
+
+	/**
+	 * Returns the number of instances that are currently in use by the calling
+	 * thread.
+	 *
+	 * @return the number of instances in use
+	 */
+	public int getInUse() {
+
+		return m_local.get().m_inUse;
+	}
+
+	/**
+	 * Returns the maximum number of instances that were in use by the calling
+	 * thread at the same time.
+	 *
+	 * @return the high-water mark
+	 */
+	public int getHighWaterMark() {
+
+		return m_local.get().m_highWaterMark;
+	}
+
+	/**
+	 * Returns the name of this pool.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+
+		return m_name;
+	}
+
+	/**
+	 * Returns the given object to the pool of the current thread. If the given
+	 * object is <code>null</code>, it is ignored.
+	 *
+	 * @param i_object the object to return
+	 */
+	public void put(T i_object) {
+
+		if (i_object == null)
+			return;
+
+		ThreadStack stack = m_local.get();
+		if (returned(stack))
+			stack.insert(stack.m_size, i_object);
+	}
+
+	private ThreadStack register(ThreadStack i_stack) {
+
+		synchronized (m_stacks) {
+			// forget the pools of terminated threads, so that their objects
+			// can be collected
+			for (Iterator<ThreadStack> i = m_stacks.iterator(); i.hasNext();)
+				if (!i.next().isAlive())
+					i.remove();
+
+			m_stacks.add(i_stack);
+		}
+
+		return i_stack;
+	}
+
+	/**
+	 * Updates the statistics of the given stack after an object was returned.
+	 *
+	 * @param i_stack the stack of the current thread
+	 * @return <code>true</code> if the object should be kept and
+	 *         <code>false</code> if it should be discarded
+	 */
+	boolean returned(ThreadStack i_stack) {
+
+		i_stack.m_inUse--;
+		if (i_stack.m_size >= m_maxSize) {
+			i_stack.m_discarded++;
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Updates the statistics of the given stack after an object was taken.
+	 *
+	 * @param i_stack the stack of the current thread
+	 */
+	void taken(ThreadStack i_stack) {
+
+		i_stack.m_inUse++;
+		if (i_stack.m_inUse > i_stack.m_highWaterMark) {
+			i_stack.m_highWaterMark = i_stack.m_inUse;
+
+			if (i_stack.m_inUse > m_leakThreshold && !i_stack.m_warned) {
+				i_stack.m_warned = true;
+				log.warning("thread '" + i_stack.m_threadName
+					+ "' uses more than " + m_leakThreshold + " instances of "
+					+ m_name + " at the same time, they are probably not returned");
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "ObjectPool[" + m_name + "]";
+	}
+}
@@ -10,9 +10,6 @@
  ******************************************************************************/
 package org.eclipse.draw3d.geometry;
 
-import java.util.LinkedList;
-import java.util.List;
-
 /**
  * Implementation
  * 
@@ -155,55 +152,17 @@ public class ParaxialBoundingBoxImpl extends BoundingBoxImpl implements
 
 		Vector3f boundsLoc = Math3DCache.getVector3f();
 		Vector3f boundsSize = Math3DCache.getVector3f();
-		Vector3f pBoundsP0 = Math3DCache.getVector3f();
-		Vector3f pBoundsP1 = Math3DCache.getVector3f();
-		Vector3f tmp = Math3DCache.getVector3f();
 		try {
 			i_bounds3D.getLocation(boundsLoc);
 			i_bounds3D.getSize(boundsSize);
 
-			tmp.set(boundsLoc);
-			tmp.transform(i_matrix);
-
-			pBoundsP0.set(tmp);
-			pBoundsP1.set(tmp);
-
-			// x 0 0
-			tmp.set(boundsLoc.getX() + boundsSize.getX(), boundsLoc.getY() + 0,
-				boundsLoc.getZ() + 0);
-			updatePs(tmp, i_matrix, pBoundsP0, pBoundsP1);
-			// 0 y 0
-			tmp.set(boundsLoc.getX() + 0, boundsLoc.getY() + boundsSize.getY(),
-				boundsLoc.getZ() + 0);
-			updatePs(tmp, i_matrix, pBoundsP0, pBoundsP1);
-			// x y 0
-			tmp.set(boundsLoc.getX() + boundsSize.getX(), boundsLoc.getY()
-				+ boundsSize.getY(), boundsLoc.getZ() + 0);
-			updatePs(tmp, i_matrix, pBoundsP0, pBoundsP1);
-			// 0 0 z
-			tmp.set(boundsLoc.getX() + 0, boundsLoc.getY() + 0, boundsLoc
-				.getZ()
-				+ boundsSize.getZ());
-			updatePs(tmp, i_matrix, pBoundsP0, pBoundsP1);
-			// x 0 z
-			tmp.set(boundsLoc.getX() + boundsSize.getX(), boundsLoc.getY() + 0,
-				boundsLoc.getZ() + boundsSize.getZ());
-			updatePs(tmp, i_matrix, pBoundsP0, pBoundsP1);
-			// 0 y z
-			tmp.set(boundsLoc.getX() + 0, boundsLoc.getY() + boundsSize.getY(),
-				boundsLoc.getZ() + boundsSize.getZ());
-			updatePs(tmp, i_matrix, pBoundsP0, pBoundsP1);
-			// x y z
-			tmp.set(boundsLoc.getX() + boundsSize.getX(), boundsLoc.getY()
-				+ boundsSize.getY(), boundsLoc.getZ() + boundsSize.getZ());
-			updatePs(tmp, i_matrix, pBoundsP0, pBoundsP1);
-
-			setLocation(pBoundsP0);
-			Math3D.sub(pBoundsP1, pBoundsP0, pBoundsP1);
-			setSize(pBoundsP1);
+			Math3D.transformBox(boundsLoc, boundsSize, i_matrix, boundsLoc,
+				boundsSize);
+
+			setLocation(boundsLoc);
+			setSize(boundsSize);
 		} finally {
-			Math3DCache.returnVector3f(boundsLoc, boundsSize, pBoundsP0,
-				pBoundsP1, tmp);
+			Math3DCache.returnVector3f(boundsLoc, boundsSize);
 		}
 	}
 
@@ -232,6 +191,8 @@ public class ParaxialBoundingBoxImpl extends BoundingBoxImpl implements
 		Vector3f end = Math3DCache.getVector3f();
 		Vector3f planePoint = Math3DCache.getVector3f();
 		Vector3f intersection = Math3DCache.getVector3f();
+		float[] planes = Math3DCache.getFloatArray(3 * Math3D.PLANE_SIZE);
+		float[] distances = Math3DCache.getFloatArray(3);
 		try {
 			getLocation(start);
 			getEnd(end);
@@ -242,50 +203,62 @@ public class ParaxialBoundingBoxImpl extends BoundingBoxImpl implements
 					&& Math3D.in(start.getZ(), end.getZ(), i_rayOrigin.getZ());
 
 			// select possible candidates
-			List<Side> candidates = new LinkedList<Side>();
+			Side[] candidates = new Side[3];
+			int count = 0;
 			float cos = Math3D.dot(Side.FRONT.getNormal(), i_rayDirection);
 			if (inside)
 				cos *= -1;
 
 			if (cos < 0)
-				candidates.add(Side.FRONT);
+				candidates[count++] = Side.FRONT;
 			else if (cos > 0)
-				candidates.add(Side.BACK);
+				candidates[count++] = Side.BACK;
 
 			cos = Math3D.dot(Side.LEFT.getNormal(), i_rayDirection);
 			if (inside)
 				cos *= -1;
 
 			if (cos < 0)
-				candidates.add(Side.LEFT);
+				candidates[count++] = Side.LEFT;
 			else if (cos > 0)
-				candidates.add(Side.RIGHT);
+				candidates[count++] = Side.RIGHT;
 
 			cos = Math3D.dot(Side.TOP.getNormal(), i_rayDirection);
 			if (inside)
 				cos *= -1;
 
 			if (cos < 0)
-				candidates.add(Side.TOP);
+				candidates[count++] = Side.TOP;
 			else if (cos > 0)
-				candidates.add(Side.BOTTOM);
+				candidates[count++] = Side.BOTTOM;
+
+			// intersect the ray with the planes defined by all candidates at
+			// once
+			for (int i = 0; i < count; i++) {
+				IVector3f planeNormal = candidates[i].getNormal();
+				candidates[i].getPoint(this, planePoint);
+
+				int p = i * Math3D.PLANE_SIZE;
+				planes[p] = planeNormal.getX();
+				planes[p + 1] = planeNormal.getY();
+				planes[p + 2] = planeNormal.getZ();
+				planes[p + 3] = Math3D.dot(planePoint, planeNormal);
+			}
+
+			Math3D.rayIntersectsPlanes(i_rayOrigin, i_rayDirection, planes, 0,
+				count, distances, 0);
 
 			// select last candidate by calculating front most point of
 			// intersection with planes defined by sides
-			for (Side candidate : candidates) {
-				IVector3f planeNormal = candidate.getNormal();
-				candidate.getPoint(this, planePoint);
-
-				float d =
-					Math3D.rayIntersectsPlane(i_rayOrigin, i_rayDirection,
-						planePoint, planeNormal);
+			for (int i = 0; i < count; i++) {
+				float d = distances[i];
 
 				if (!Float.isNaN(d) && d > 0f) {
 					intersection.set(i_rayDirection);
 					intersection.scale(d);
 					Math3D.add(i_rayOrigin, intersection, intersection);
 
-					if (candidate.contains(this, intersection))
+					if (candidates[i].contains(this, intersection))
 						return d;
 				}
 			}
@@ -293,6 +266,7 @@ public class ParaxialBoundingBoxImpl extends BoundingBoxImpl implements
 			return Float.NaN;
 		} finally {
 			Math3DCache.returnVector3f(start, end, planePoint, intersection);
+			Math3DCache.returnFloatArray(planes, distances);
 		}
 	}
 
@@ -331,14 +305,6 @@ public class ParaxialBoundingBoxImpl extends BoundingBoxImpl implements
 		}
 	}
 
-	private void updatePs(Vector3f io_tmp, IMatrix4f i_modelMatrix,
-		Vector3f io_p0, Vector3f io_p1) {
-
-		io_tmp.transform(i_modelMatrix);
-		Math3D.min(io_p0, io_tmp, io_p0);
-		Math3D.max(io_p1, io_tmp, io_p1);
-	}
-
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry;
+
+/**
+ * A thread-local pool of objects that have a size, e.g. buffers. The pool of
+ * each thread is kept sorted by size, and {@link #get(int)} returns the
+ * smallest pooled object that is at least as large as requested.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @param <T> the type of the pooled objects
+ * @since 16.10.2026
+ */
+public abstract class SizedObjectPool<T> extends ObjectPool<T> {
+
+	/**
+	 * Creates a new pool.
+	 *
+	 * @param i_name the name of the pool, used in warnings and statistics
+	 * @param i_maxSize the maximum number of objects kept in the pool of each
+	 *            thread, further returned objects are discarded
+	 * @param i_leakThreshold if a thread has more instances in use than this
+	 *            number, a warning is logged
+	 * @see ObjectPool#ObjectPool(String, int, int)
+	 */
+	protected SizedObjectPool(String i_name, int i_maxSize, int i_leakThreshold) {
+
+		super(i_name, i_maxSize, i_leakThreshold);
+	}
+
+	/**
+	 * {@inheritDoc} This creates an object of size 0.
+	 *
+	 * @see org.eclipse.draw3d.geometry.ObjectPool#create()
+	 */
+	@Override
+	protected T create() {
+
+		return create(0);
+	}
+
+	/**
+	 * Creates a new instance with the given size.
+	 *
+	 * @param i_size the size
+	 * @return the new instance
+	 */
+	protected abstract T create(int i_size);
+
+	/**
+	 * Returns an object whose size is at least the given size from the pool of
+	 * the current thread. If there is no such object, a new one is created.
+	 *
+	 * @param i_size the minimum size
+	 * @return the object
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int i_size) {
+
+		ThreadStack stack = getStack();
+		taken(stack);
+
+		int index = indexOf(stack, i_size);
+		if (index < stack.m_size)
+			return (T) stack.remove(index);
+
+		stack.m_created++;
+		return create(i_size);
+	}
+
+	/**
+	 * Returns the size of the given object.
+	 *
+	 * @param i_object the object
+	 * @return the size of the given object
+	 */
+	protected abstract int getSize(T i_object);
+
+	/**
+	 * Returns the index of the first pooled object whose size is at least the
+	 * given size.
+	 */
+	@SuppressWarnings("unchecked")
+	private int indexOf(ThreadStack i_stack, int i_size) {
+
+		int low = 0;
+		int high = i_stack.m_size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (getSize((T) i_stack.m_elements[mid]) < i_size)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+
+		return low;
+	}
+
+	/**
+	 * {@inheritDoc} The object is inserted so that the pool remains sorted by
+	 * size.
+	 *
+	 * @see org.eclipse.draw3d.geometry.ObjectPool#put(java.lang.Object)
+	 */
+	@Override
+	public void put(T i_object) {
+
+		if (i_object == null)
+			return;
+
+		ThreadStack stack = getStack();
+		if (returned(stack))
+			stack.insert(indexOf(stack, getSize(i_object)), i_object);
+	}
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics3d;
+
+/**
+ * A render image whose data is prepared in the background. The preparation
+ * does not require the GL context and starts when the image is created.
+ * {@link #initialize(Graphics3D)} uploads the prepared data and blocks until
+ * the preparation is finished, so clients that want to avoid waiting can keep
+ * rendering a previous image until {@link #isPrepared()} returns
+ * <code>true</code>.
+ * 
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public interface AsyncRenderImage extends RenderImage {
+
+	/**
+	 * Indicates whether the background preparation of this image is finished,
+	 * i.e. whether {@link #initialize(Graphics3D)} can be called without
+	 * blocking.
+	 * 
+	 * @return <code>true</code> if this image is prepared and
+	 *         <code>false</code> otherwise
+	 */
+	public boolean isPrepared();
+}
@@ -14,16 +14,26 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manages display lists during a render operation in the current GL context.
+ * <p>
+ * If a display list is executed while another display list is created, the
+ * created list depends on the executed one, since it calls the executed list
+ * by its ID. When a display list is deleted or created again, all display
+ * lists that depend on it are deleted as well, so that clients which compile
+ * other display lists into their own lists notice that they must create them
+ * again (see {@link #isDisplayList(Object...)}).
+ * </p>
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -70,9 +80,14 @@ public class DisplayListManager {
 
 	private List<Integer> m_baseIds = new ArrayList<Integer>();
 
+	private LinkedList<Object> m_creationKeys = new LinkedList<Object>();
+
 	private LinkedList<LinkedList<Integer>> m_creationStack =
 		new LinkedList<LinkedList<Integer>>();
 
+	private Map<Object, Set<Object>> m_dependents =
+		new HashMap<Object, Set<Object>>();
+
 	private Map<Object, DisplayList> m_displayLists =
 		new HashMap<Object, DisplayList>();
 
@@ -114,7 +129,9 @@ public class DisplayListManager {
 		m_baseIds.clear();
 		m_displayLists.clear();
 		m_freeIds.clear();
+		m_creationKeys.clear();
 		m_creationStack.clear();
+		m_dependents.clear();
 		m_active = false;
 
 		// log.fine("display list manager cleared");
@@ -192,7 +209,9 @@ public class DisplayListManager {
 		clear();
 		m_baseIds = null;
 		m_displayLists = null;
+		m_creationKeys = null;
 		m_creationStack = null;
+		m_dependents = null;
 	}
 
 	private DisplayList doCreateDisplayList(Object i_key, Runnable i_runnable) {
@@ -205,6 +224,7 @@ public class DisplayListManager {
 		LinkedList<Integer> subListIds = new LinkedList<Integer>();
 		subListIds.add(id);
 		m_creationStack.addLast(subListIds);
+		m_creationKeys.addLast(i_key);
 
 		m_active = true;
 		m_graphics3D.glNewList(id, Graphics3DDraw.GL_COMPILE);
@@ -229,6 +249,7 @@ public class DisplayListManager {
 		DisplayList list = new DisplayList(id, subListIds);
 		m_displayLists.put(i_key, list);
 		m_creationStack.removeLast();
+		m_creationKeys.removeLast();
 
 		return list;
 	}
@@ -239,6 +260,14 @@ public class DisplayListManager {
 		m_freeIds.offer(id);
 	}
 
+	/**
+	 * Deletes the display lists with the given keys and all display lists that
+	 * depend on them.
+	 * 
+	 * @param i_keys the keys of the display lists to delete
+	 * @throws IllegalArgumentException if there is no display list with one
+	 *             of the given keys
+	 */
 	public void deleteDisplayLists(Object... i_keys) {
 
 		for (Object key : i_keys) {
@@ -257,9 +286,27 @@ public class DisplayListManager {
 					deleteDisplayList(subIds[i]);
 
 			m_displayLists.remove(key);
+			deleteDependents(key);
 		}
 	}
 
+	/**
+	 * Deletes the display lists that executed the display list with the given
+	 * key while they were created. A list that was created again without
+	 * executing the given list is deleted needlessly, its client creates it
+	 * again.
+	 * 
+	 * @param i_key the key of the deleted display list
+	 */
+	private void deleteDependents(Object i_key) {
+
+		Set<Object> dependents = m_dependents.remove(i_key);
+		if (dependents != null)
+			for (Object dependent : dependents)
+				if (m_displayLists.containsKey(dependent))
+					deleteDisplayLists(dependent);
+	}
+
 	/**
 	 * Executes the display list with the given key.
 	 * 
@@ -283,6 +330,15 @@ public class DisplayListManager {
 		if (list == null)
 			throw new IllegalArgumentException("unknown display list: " + i_key);
 
+		if (!m_creationKeys.isEmpty()) {
+			Set<Object> dependents = m_dependents.get(i_key);
+			if (dependents == null) {
+				dependents = new HashSet<Object>();
+				m_dependents.put(i_key, dependents);
+			}
+			dependents.add(m_creationKeys.getLast());
+		}
+
 		m_graphics3D.glCallList(list.getId());
 	}
 
@@ -48,6 +48,22 @@ public interface Graphics3D extends Graphics3DDraw, Graphics3DUtil {
 	 */
 	public static final String PROP_FONT_AA = "fontAntialias";
 
+	/**
+	 * Property name for the signed distance field font property. Possible
+	 * values are:
+	 * <ul>
+	 * <li><code>Boolean.toString(true)</code> to render text with signed
+	 * distance field fonts, which stay sharp at any distance and use a single
+	 * texture per glyph page</li>
+	 * <li><code>Boolean.toString(false)</code> or <code>null</code> to switch
+	 * between vector and texture fonts depending on the distance of the
+	 * text</li>
+	 * </ul>
+	 * The property is evaluated when 2D content is rendered, so it affects
+	 * text that is rendered after it was changed.
+	 */
+	public static final String PROP_FONT_SDF = "fontSdf";
+
 	/**
 	 * Activates a 2D graphics object that can be used to render 2D content. If
 	 * a graphics object was already created for the given key object (which can
@@ -74,6 +90,18 @@ public interface Graphics3D extends Graphics3DDraw, Graphics3DUtil {
 	 */
 	public RenderImage deactivateGraphics2D();
 
+	/**
+	 * Deactivates the currently active graphics object like
+	 * {@link #deactivateGraphics2D()}. A dynamic image replaces an image that
+	 * was recorded before and is likely to be replaced again, so an
+	 * implementation may store it in memory that is suited for frequent
+	 * updates.
+	 * 
+	 * @param i_dynamic whether the image replaces a previously recorded image
+	 * @return the image created by the active graphics object
+	 */
+	public RenderImage deactivateGraphics2D(boolean i_dynamic);
+
 	/**
 	 * Cleans up the ressources, instance is not usable afterwards any more.
 	 */
@@ -337,6 +337,28 @@ public interface Graphics3DConst {
 
 	public static final int GL_POINTS = 0x0; // org.lwjgl.opengl.GL11.GL_POINTS;
 
+	public static final int GL_FOG = 0xb60; // org.lwjgl.opengl.GL11.GL_FOG;
+
+	public static final int GL_FOG_COLOR = 0xb66; // org.lwjgl.opengl.GL11.
+
+	// GL_FOG_COLOR;
+
+	public static final int GL_FOG_END = 0xb64; // org.lwjgl.opengl.GL11.
+
+	// GL_FOG_END;
+
+	public static final int GL_FOG_MODE = 0xb65; // org.lwjgl.opengl.GL11.
+
+	// GL_FOG_MODE;
+
+	public static final int GL_FOG_START = 0xb63; // org.lwjgl.opengl.GL11.
+
+	// GL_FOG_START;
+
+	public static final int GL_LINEAR = 0x2601; // org.lwjgl.opengl.GL11.
+
+	// GL_LINEAR;
+
 	public static final int GL_QUAD_STRIP = 0x8; // org.lwjgl.opengl.GL11.
 
 	// GL_QUAD_STRIP;
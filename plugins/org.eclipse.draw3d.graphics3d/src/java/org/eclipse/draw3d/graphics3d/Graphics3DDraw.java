@@ -51,6 +51,30 @@ public interface Graphics3DDraw extends Graphics3DConst {
 	 */
 	void setPosition(IPosition3D position);
 
+	/**
+	 * Sets the origin relative to which the positions passed to
+	 * {@link #setPosition(IPosition3D)} are set. If an origin is set, it is
+	 * subtracted from the translation of a position in double precision before
+	 * the matrix is passed to OpenGL, so that figures which are far away from
+	 * the world origin can be rendered precisely. In this case, the view
+	 * transformation must be relative to the same origin.
+	 * 
+	 * @param i_origin the origin, or <code>null</code> if positions are set
+	 *            in world coordinates
+	 * @see IPosition3D#getTransformationMatrix(IVector3f,
+	 *      org.eclipse.draw3d.geometry.Matrix4f)
+	 */
+	void setRenderOrigin(IVector3f i_origin);
+
+	/**
+	 * Returns the origin relative to which positions are set.
+	 * 
+	 * @return the origin, or <code>null</code> if positions are set in world
+	 *         coordinates
+	 * @see #setRenderOrigin(IVector3f)
+	 */
+	IVector3f getRenderOrigin();
+
 	
 	/**
 	 * 
@@ -130,6 +154,27 @@ public interface Graphics3DDraw extends Graphics3DConst {
 	 */
 	public abstract void glEnable(int cap);
 
+	/**
+	 * @param pname
+	 * @param param
+	 * @see <a href="http://www.opengl.org/sdk/docs/man/xhtml/glFog.xml">http://www.opengl.org/sdk/docs/man/xhtml/glFog.xml</a>
+	 */
+	public abstract void glFogf(int pname, float param);
+
+	/**
+	 * @param pname
+	 * @param param
+	 * @see <a href="http://www.opengl.org/sdk/docs/man/xhtml/glFog.xml">http://www.opengl.org/sdk/docs/man/xhtml/glFog.xml</a>
+	 */
+	public abstract void glFogi(int pname, int param);
+
+	/**
+	 * @param pname
+	 * @param params
+	 * @see <a href="http://www.opengl.org/sdk/docs/man/xhtml/glFog.xml">http://www.opengl.org/sdk/docs/man/xhtml/glFog.xml</a>
+	 */
+	public abstract void glFog(int pname, float[] params);
+
 	/**
 	 * 
 	 * @see <a href="http://www.opengl.org/sdk/docs/man/xhtml/glEnd.xml">http://www.opengl.org/sdk/docs/man/xhtml/glEnd.xml</a>
@@ -183,6 +228,20 @@ public interface Graphics3DDraw extends Graphics3DConst {
 	 */
 	public abstract void glMatrixMode(int mode);
 
+	/**
+	 * Multiplies the current matrix with the matrix stored in the given array,
+	 * starting at the given offset. The matrix must be stored in the same
+	 * format that is used by {@link #setPosition(IPosition3D)}, i.e. as
+	 * written by
+	 * {@link org.eclipse.draw3d.geometry.IMatrix#toArrayRowMajor(float[], int)}
+	 * .
+	 * 
+	 * @param m the array containing the matrix
+	 * @param offset the index of the first matrix element in the array
+	 * @see <a href="http://www.opengl.org/sdk/docs/man/xhtml/glMultMatrix.xml">http://www.opengl.org/sdk/docs/man/xhtml/glMultMatrix.xml</a>
+	 */
+	public abstract void glMultMatrix(float[] m, int offset);
+
 	/**
 	 * 
 	 * @see <a href="http://www.opengl.org/sdk/docs/man/xhtml/glPushMatrix.xml">http://www.opengl.org/sdk/docs/man/xhtml/glPushMatrix.xml</a>
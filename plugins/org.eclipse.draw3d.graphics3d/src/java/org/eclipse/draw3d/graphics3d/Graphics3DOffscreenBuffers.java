@@ -52,11 +52,33 @@ public interface Graphics3DOffscreenBuffers {
 	 * Called immediately after rendering has completed. Must copy the offscreen
 	 * buffers into the given local buffers.
 	 * 
-	 * @param i_colorBuffer the local color buffer
-	 * @param i_depthBuffer the local depth buffer
+	 * @param i_colorBuffer the local color buffer, if <code>null</code>, the
+	 *            color buffer is not copied
+	 * @param i_depthBuffer the local depth buffer, if <code>null</code>, the
+	 *            depth buffer is not copied
 	 */
 	public void postRender(ByteBuffer i_colorBuffer, FloatBuffer i_depthBuffer);
 
+	/**
+	 * Copies a region of the offscreen buffers into the given local buffers.
+	 * This can be called at any time after rendering has completed, as long as
+	 * the offscreen buffers retain their contents, which is not the case for
+	 * back buffers (see {@link #isBackBuffer()}).
+	 * 
+	 * @param i_x the X coordinate of the lower left corner of the region
+	 * @param i_y the Y coordinate of the lower left corner of the region
+	 * @param i_width the width of the region
+	 * @param i_height the height of the region
+	 * @param o_colorBuffer the local color buffer, if <code>null</code>, the
+	 *            color buffer is not copied
+	 * @param o_depthBuffer the local depth buffer, if <code>null</code>, the
+	 *            depth buffer is not copied
+	 * @throws UnsupportedOperationException if the offscreen buffers do not
+	 *             retain their contents
+	 */
+	public void readPixels(int i_x, int i_y, int i_width, int i_height,
+		ByteBuffer o_colorBuffer, FloatBuffer o_depthBuffer);
+
 	/**
 	 * Called immediately before rendering begins.
 	 */
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics3d;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces displayed render images with newly recorded ones. New images are
+ * pending until they are swapped in by {@link #swap(Graphics3D)}, which
+ * initializes them and disposes the images they replace. Until then, the
+ * replaced images are retired, but they are not disposed, so that they can be
+ * displayed while the pending images are prepared in the background (see
+ * {@link AsyncRenderImage}).
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class RenderImageSwap {
+
+	private final List<RenderImage> m_pending = new ArrayList<RenderImage>();
+
+	private final List<RenderImage> m_retired = new ArrayList<RenderImage>();
+
+	/**
+	 * Adds a newly recorded image, which is pending until the next swap.
+	 *
+	 * @param i_image the image to add
+	 * @throws NullPointerException if the given image is <code>null</code>
+	 */
+	public void add(RenderImage i_image) {
+
+		if (i_image == null)
+			throw new NullPointerException("i_image must not be null");
+
+		m_pending.add(i_image);
+	}
+
+	/**
+	 * Disposes the retired images and forgets the pending images without
+	 * disposing them. The caller is responsible for disposing the pending and
+	 * the displayed images.
+	 */
+	public void clear() {
+
+		for (RenderImage image : m_retired)
+			image.dispose();
+
+		m_retired.clear();
+		m_pending.clear();
+	}
+
+	/**
+	 * Indicates whether there are neither pending nor retired images, i.e.
+	 * whether a swap would not change anything.
+	 *
+	 * @return <code>true</code> if there is nothing to swap
+	 */
+	public boolean isEmpty() {
+
+		return m_pending.isEmpty() && m_retired.isEmpty();
+	}
+
+	/**
+	 * Indicates whether all pending images are prepared, so that they can be
+	 * swapped in without blocking.
+	 *
+	 * @return <code>true</code> if no pending image is an
+	 *         {@link AsyncRenderImage} that is still being prepared
+	 */
+	public boolean isPrepared() {
+
+		for (RenderImage image : m_pending)
+			if (image instanceof AsyncRenderImage
+				&& !((AsyncRenderImage) image).isPrepared())
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Removes the given image from the displayed images. A pending image was
+	 * never displayed and is disposed immediately, all other images are
+	 * disposed by the next swap.
+	 *
+	 * @param i_image the image to remove
+	 */
+	public void retire(RenderImage i_image) {
+
+		if (m_pending.remove(i_image))
+			i_image.dispose();
+		else
+			m_retired.add(i_image);
+	}
+
+	/**
+	 * Initializes the pending images and disposes the retired images. This
+	 * blocks until all pending images are prepared, see {@link #isPrepared()}.
+	 *
+	 * @param i_g3d the graphics object that initializes the images
+	 */
+	public void swap(Graphics3D i_g3d) {
+
+		for (RenderImage image : m_pending)
+			image.initialize(i_g3d);
+		m_pending.clear();
+
+		for (RenderImage image : m_retired)
+			image.dispose();
+		m_retired.clear();
+	}
+}
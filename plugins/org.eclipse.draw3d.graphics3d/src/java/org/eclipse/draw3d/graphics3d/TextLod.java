@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics3d;
+
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Vector2f;
+import org.eclipse.draw3d.geometry.Vector2fImpl;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+
+/**
+ * Selects the level of detail (LOD) of a batch of texts that is rendered as a
+ * whole, e.g. all text of a surface that uses the same font. The level is
+ * determined by the text that is closest to the camera, so that no text of
+ * the batch is rendered with less detail than it needs. The texts are stored
+ * in a float array, so selecting the level does not create any objects.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class TextLod {
+
+	/**
+	 * The levels of detail of a text batch.
+	 */
+	public static enum Level {
+		/**
+		 * The text is not rendered at all.
+		 */
+		NONE,
+		/**
+		 * The text is rendered with a texture font.
+		 */
+		TEXTURE,
+		/**
+		 * The text is rendered as geometry with a vector font.
+		 */
+		VECTOR
+	}
+
+	/**
+	 * If the normalized distance of the closest text to the camera is less
+	 * than this value (but greater than {@link #VECTOR_DISTANCE}), the texts
+	 * are rendered with a texture font. If it is greater, the texts are not
+	 * rendered at all.
+	 */
+	public static final float TEXTURE_DISTANCE = 10000f;
+
+	/**
+	 * If the normalized distance of the closest text to the camera is less
+	 * than this value, the texts are rendered with a vector font.
+	 */
+	public static final float VECTOR_DISTANCE = 1200f;
+
+	/**
+	 * The number of floats per text: the absolute position and the size of
+	 * the text.
+	 */
+	private static final int TEXT_SIZE = 5;
+
+	private int m_count;
+
+	private final Vector3f m_normal;
+
+	private final Vector3f m_position = new Vector3fImpl();
+
+	private final Vector2f m_size = new Vector2fImpl();
+
+	private final float[] m_texts;
+
+	/**
+	 * Creates a new LOD selector for the given number of texts.
+	 *
+	 * @param i_capacity the number of texts
+	 * @param i_normal the absolute normal of the surface that contains the
+	 *            texts
+	 * @throws NullPointerException if the given normal is <code>null</code>
+	 */
+	public TextLod(int i_capacity, IVector3f i_normal) {
+
+		if (i_normal == null)
+			throw new NullPointerException("i_normal must not be null");
+
+		m_texts = new float[TEXT_SIZE * i_capacity];
+		m_normal = new Vector3fImpl(i_normal);
+	}
+
+	/**
+	 * Adds a text.
+	 *
+	 * @param i_position the absolute position of the text origin
+	 * @param i_width the width of the text
+	 * @param i_height the height of the text
+	 * @throws IllegalStateException if the capacity is exhausted
+	 */
+	public void add(IVector3f i_position, float i_width, float i_height) {
+
+		int offset = TEXT_SIZE * m_count;
+		if (offset == m_texts.length)
+			throw new IllegalStateException("capacity exhausted: " + m_count);
+
+		i_position.toArray(m_texts, offset);
+		m_texts[offset + 3] = i_width;
+		m_texts[offset + 4] = i_height;
+		m_count++;
+	}
+
+	/**
+	 * Returns the number of texts.
+	 *
+	 * @return the number of texts
+	 */
+	public int getCount() {
+
+		return m_count;
+	}
+
+	/**
+	 * Returns the level of detail for the texts. The distances are computed
+	 * until a text is found that requires the highest level.
+	 *
+	 * @param i_lodHelper the LOD helper that computes the normalized distances
+	 * @return the level of detail
+	 */
+	public Level getLevel(ILodHelper i_lodHelper) {
+
+		float min = Float.MAX_VALUE;
+		int end = TEXT_SIZE * m_count;
+		for (int i = 0; i < end && min > VECTOR_DISTANCE; i += TEXT_SIZE) {
+			m_position.set(m_texts[i], m_texts[i + 1], m_texts[i + 2]);
+			m_size.set(m_texts[i + 3], m_texts[i + 4]);
+
+			float nd =
+				i_lodHelper.getNormalizedDistance(m_position, m_size,
+					m_normal);
+			min = Math.min(min, nd);
+		}
+
+		if (min <= VECTOR_DISTANCE)
+			return Level.VECTOR;
+
+		if (min <= TEXTURE_DISTANCE)
+			return Level.TEXTURE;
+
+		return Level.NONE;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "TextLod[texts: " + m_count + "]";
+	}
+}
@@ -24,6 +24,8 @@ import javax.media.opengl.glu.GLU;
 
 import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw3d.geometry.IPosition3D;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Matrix4f;
 import org.eclipse.draw3d.graphics3d.AbstractGraphics3DDraw;
 import org.eclipse.draw3d.graphics3d.Graphics3D;
 import org.eclipse.draw3d.graphics3d.Graphics3DDescriptor;
@@ -84,6 +86,12 @@ public class Graphics3DJogl extends AbstractGraphics3DDraw implements
 
 	private boolean m_log2D;
 
+	/**
+	 * The origin relative to which positions are set, may be
+	 * <code>null</code>.
+	 */
+	private IVector3f m_renderOrigin;
+
 	/**
 	 * The texture manager handles OpenGL texture as GL's mechanism to render 2D
 	 * content. It is lazily created in
@@ -232,6 +240,16 @@ public class Graphics3DJogl extends AbstractGraphics3DDraw implements
 	public String getProperty(String i_key) {
 		return properties.getProperty(i_key);
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#getRenderOrigin()
+	 */
+	public IVector3f getRenderOrigin() {
+
+		return m_renderOrigin;
+	}
 	
 	private JoglTextureManager getTextureManager() {
 
@@ -381,6 +399,33 @@ public class Graphics3DJogl extends AbstractGraphics3DDraw implements
 		gl.glFinish();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#glFog(int, float[])
+	 */
+	public void glFog(int pname, float[] params) {
+		gl.glFogfv(pname, params, 0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#glFogf(int, float)
+	 */
+	public void glFogf(int pname, float param) {
+		gl.glFogf(pname, param);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#glFogi(int, int)
+	 */
+	public void glFogi(int pname, int param) {
+		gl.glFogi(pname, param);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -492,6 +537,16 @@ public class Graphics3DJogl extends AbstractGraphics3DDraw implements
 		gl.glMatrixMode(mode);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#glMultMatrix(float[],
+	 *      int)
+	 */
+	public void glMultMatrix(float[] m, int offset) {
+		gl.glMultMatrixf(m, offset);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -746,13 +801,19 @@ public class Graphics3DJogl extends AbstractGraphics3DDraw implements
 	public void setPosition(IPosition3D i_position) {
 
 		FloatBuffer buffer = Draw3DCache.getFloatBuffer(16);
+		Matrix4f matrix = Draw3DCache.getMatrix4f();
 		try {
 			buffer.rewind();
-			i_position.getTransformationMatrix().toBufferRowMajor(buffer);
+			if (m_renderOrigin == null)
+				i_position.getTransformationMatrix().toBufferRowMajor(buffer);
+			else
+				i_position.getTransformationMatrix(m_renderOrigin, matrix)
+					.toBufferRowMajor(buffer);
 			buffer.rewind();
 			gl.glMultMatrixf(buffer);
 		} finally {
 			Draw3DCache.returnFloatBuffer(buffer);
+			Draw3DCache.returnMatrix4f(matrix);
 		}
 	}
 
@@ -767,6 +828,16 @@ public class Graphics3DJogl extends AbstractGraphics3DDraw implements
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#setRenderOrigin(org.eclipse.draw3d.geometry.IVector3f)
+	 */
+	public void setRenderOrigin(IVector3f i_origin) {
+
+		m_renderOrigin = i_origin;
+	}
+
 	/**
 	 * Creates the context.
 	 * {@inheritDoc}
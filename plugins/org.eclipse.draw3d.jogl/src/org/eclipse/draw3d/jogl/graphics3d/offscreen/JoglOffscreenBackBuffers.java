@@ -122,14 +122,16 @@ public class JoglOffscreenBackBuffers implements
 
 		Graphics3DOffscreenBufferConfig bufferConfig = m_bufferConfig;
 
-		if (bufferConfig.isEnabled(GL.GL_COLOR_BUFFER_BIT)) {
+		if (i_colorBuffer != null
+			&& bufferConfig.isEnabled(GL.GL_COLOR_BUFFER_BIT)) {
 			int format = bufferConfig.getColorPixelFormat();
 			int type = bufferConfig.getColorDataType();
 
 			gl.glReadPixels(0, 0, width, height, format, type, i_colorBuffer);
 		}
 
-		if (bufferConfig.isEnabled(GL.GL_DEPTH_BUFFER_BIT)) {
+		if (i_depthBuffer != null
+			&& bufferConfig.isEnabled(GL.GL_DEPTH_BUFFER_BIT)) {
 			int type = bufferConfig.getDepthDataType();
 
 			gl.glReadPixels(0, 0, width, height, GL.GL_DEPTH_COMPONENT,
@@ -137,6 +139,20 @@ public class JoglOffscreenBackBuffers implements
 		}
 	}
 
+	/**
+	 * {@inheritDoc} The back buffer is overwritten when the scene is rendered,
+	 * so it does not retain the offscreen image.
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DOffscreenBuffers#readPixels(int,
+	 *      int, int, int, java.nio.ByteBuffer, java.nio.FloatBuffer)
+	 */
+	public void readPixels(int i_x, int i_y, int i_width, int i_height,
+		ByteBuffer o_colorBuffer, FloatBuffer o_depthBuffer) {
+
+		throw new UnsupportedOperationException(
+			"back buffers do not retain their contents");
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -263,29 +263,53 @@ public class JoglOffscreenBuffersFbo implements Graphics3DOffscreenBuffers {
 	 */
 	public void postRender(ByteBuffer i_colorBuffer, FloatBuffer i_depthBuffer) {
 
-		int width = m_width;
-		int height = m_height;
+		readBoundPixels(0, 0, m_width, m_height, i_colorBuffer, i_depthBuffer);
+
+		gl.glBindFramebufferEXT(
+				GL.GL_FRAMEBUFFER_EXT, 0);
+	}
+
+	private void readBoundPixels(int i_x, int i_y, int i_width,
+		int i_height, ByteBuffer o_colorBuffer, FloatBuffer o_depthBuffer) {
 
 		Graphics3DOffscreenBufferConfig bufferConfig = m_bufferConfig;
 
-		if (bufferConfig.isEnabled(GL.GL_COLOR_BUFFER_BIT)) {
+		if (o_colorBuffer != null
+			&& bufferConfig.isEnabled(GL.GL_COLOR_BUFFER_BIT)) {
 			int format = bufferConfig.getColorPixelFormat();
 			int type = bufferConfig.getColorDataType();
 
-			i_colorBuffer.rewind();
-			gl.glReadPixels(0, 0, width, height, format, type, i_colorBuffer);
+			o_colorBuffer.rewind();
+			gl.glReadPixels(i_x, i_y, i_width, i_height, format, type,
+				o_colorBuffer);
 		}
 
-		if (bufferConfig.isEnabled(GL.GL_DEPTH_BUFFER_BIT)) {
+		if (o_depthBuffer != null
+			&& bufferConfig.isEnabled(GL.GL_DEPTH_BUFFER_BIT)) {
 			int type = bufferConfig.getDepthDataType();
 
-			i_depthBuffer.rewind();
-			gl.glReadPixels(0, 0, width, height, GL.GL_DEPTH_COMPONENT,
-				type, i_depthBuffer);
+			o_depthBuffer.rewind();
+			gl.glReadPixels(i_x, i_y, i_width, i_height,
+				GL.GL_DEPTH_COMPONENT, type, o_depthBuffer);
 		}
+	}
 
-		gl.glBindFramebufferEXT(
-				GL.GL_FRAMEBUFFER_EXT, 0);
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DOffscreenBuffers#readPixels(int,
+	 *      int, int, int, java.nio.ByteBuffer, java.nio.FloatBuffer)
+	 */
+	public void readPixels(int i_x, int i_y, int i_width, int i_height,
+		ByteBuffer o_colorBuffer, FloatBuffer o_depthBuffer) {
+
+		gl.glBindFramebufferEXT(GL.GL_FRAMEBUFFER_EXT, m_glFrameBuffer);
+		try {
+			readBoundPixels(i_x, i_y, i_width, i_height, o_colorBuffer,
+				o_depthBuffer);
+		} finally {
+			gl.glBindFramebufferEXT(GL.GL_FRAMEBUFFER_EXT, 0);
+		}
 	}
 
 	/**
@@ -13,10 +13,14 @@ package org.eclipse.draw3d.graphics3d.lwjgl;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,6 +28,8 @@ import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw3d.geometry.IMatrix4f;
 import org.eclipse.draw3d.geometry.IPosition3D;
 import org.eclipse.draw3d.geometry.IVector2f;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Matrix4f;
 import org.eclipse.draw3d.geometry.Vector2fImpl;
 import org.eclipse.draw3d.graphics.optimizer.PrimitiveSet;
 import org.eclipse.draw3d.graphics.optimizer.RecordingGraphics;
@@ -32,28 +38,26 @@ import org.eclipse.draw3d.graphics.optimizer.primitive.PolygonPrimitive;
 import org.eclipse.draw3d.graphics.optimizer.primitive.Primitive;
 import org.eclipse.draw3d.graphics.optimizer.primitive.RenderRule;
 import org.eclipse.draw3d.graphics.optimizer.primitive.SolidRenderRule;
-import org.eclipse.draw3d.graphics.optimizer.primitive.TextPrimitive;
 import org.eclipse.draw3d.graphics.optimizer.primitive.TextRenderRule;
 import org.eclipse.draw3d.graphics3d.AbstractGraphics3DDraw;
+import org.eclipse.draw3d.graphics3d.AsyncRenderImage;
 import org.eclipse.draw3d.graphics3d.DisplayListManager;
 import org.eclipse.draw3d.graphics3d.Graphics3D;
 import org.eclipse.draw3d.graphics3d.Graphics3DDescriptor;
 import org.eclipse.draw3d.graphics3d.Graphics3DException;
 import org.eclipse.draw3d.graphics3d.Graphics3DOffscreenBufferConfig;
 import org.eclipse.draw3d.graphics3d.Graphics3DOffscreenBuffers;
-import org.eclipse.draw3d.graphics3d.ILodHelper;
 import org.eclipse.draw3d.graphics3d.RenderImage;
 import org.eclipse.draw3d.graphics3d.lwjgl.font.GLFontKey;
 import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglFont;
 import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglFontManager;
+import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglSdfFont;
 import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglVectorFont;
-import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglGradientQuadVBO;
-import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglImageVBO;
-import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglLineVBO;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglImageAtlas;
 import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglPolygonVBO;
-import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglPolylineVBO;
 import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglPrimitiveClassifier;
-import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglQuadVBO;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglTextVBO;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVertexArena;
 import org.eclipse.draw3d.graphics3d.lwjgl.offscreen.LwjglOffscreenBackBuffers;
 import org.eclipse.draw3d.graphics3d.lwjgl.offscreen.LwjglOffscreenBufferConfig;
 import org.eclipse.draw3d.graphics3d.lwjgl.offscreen.LwjglOffscreenBuffersFbo;
@@ -67,6 +71,7 @@ import org.eclipse.swt.opengl.GLCanvas;
 import org.lwjgl.LWJGLException;
 import org.lwjgl.opengl.ContextCapabilities;
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
 import org.lwjgl.opengl.GLContext;
 import org.lwjgl.util.glu.GLU;
 import org.lwjgl.util.glu.GLUtessellator;
@@ -308,6 +313,19 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 	private static final Logger log =
 		Logger.getLogger(Graphics3DLwjgl.class.getName());
 
+	/**
+	 * The executor that performs the CPU stage of the render images created
+	 * by {@link #deactivateGraphics2D()}. It is shared by all instances,
+	 * created lazily and shut down when the last instance that uses it is
+	 * disposed.
+	 */
+	private static ExecutorService m_preparationExecutor;
+
+	/**
+	 * The number of instances that use the preparation executor.
+	 */
+	private static int m_preparationExecutorUsers = 0;
+
 	/**
 	 * Translation offset for 2D rendering of non-polygon shapes.
 	 */
@@ -332,9 +350,24 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 
 	private LwjglFontManager m_fontManager;
 
+	/**
+	 * Indicates whether this instance uses the preparation executor.
+	 */
+	private boolean m_preparing = false;
+
+	/**
+	 * Stores the images of all 2D surfaces. It is lazily created in
+	 * {@link #deactivateGraphics2D()}.
+	 */
+	private LwjglImageAtlas m_imageAtlas = null;
+
 	private boolean m_log2D;
 
-	private GLUtessellator m_tesselator;
+	/**
+	 * The origin relative to which positions are set, may be
+	 * <code>null</code>.
+	 */
+	private IVector3f m_renderOrigin;
 
 	/**
 	 * The texture manager handles OpenGL texture as GL's mechanism to render 2D
@@ -343,9 +376,23 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 	 */
 	private LwjglTextureManager m_textureManager = null;
 
+	/**
+	 * Stores the vertex data of the VBOs that render 2D content. It is lazily
+	 * created in {@link #deactivateGraphics2D()}.
+	 */
+	private LwjglVertexArena m_vertexArena = null;
+
 	private Map<GLFontKey, LwjglVectorFont> m_vectorFonts =
 		new HashMap<GLFontKey, LwjglVectorFont>();
 
+	/**
+	 * The distance field fonts by the family and style of their AWT fonts.
+	 * Since distance fields can be scaled, all sizes of a font share one
+	 * distance field font.
+	 */
+	private Map<String, LwjglSdfFont> m_sdfFonts =
+		new HashMap<String, LwjglSdfFont>();
+
 	Properties properties = new Properties();
 
 	static Boolean checked = null;
@@ -484,18 +531,25 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 		return m_activeGraphics;
 	}
 
+	private LwjglSdfFont getSdfFont(java.awt.Font i_awtFont) {
+
+		String key = i_awtFont.getName() + "-" + i_awtFont.getStyle();
+		LwjglSdfFont sdfFont = m_sdfFonts.get(key);
+		if (sdfFont == null) {
+			sdfFont = new LwjglSdfFont(i_awtFont, getDisplayListManager());
+			m_sdfFonts.put(key, sdfFont);
+		}
+
+		return sdfFont;
+	}
+
 	private LwjglVectorFont getVectorFont(
-		org.eclipse.swt.graphics.Font i_swtFont, char i_startChar,
-		char i_endChar, boolean i_antialias) {
+		org.eclipse.swt.graphics.Font i_swtFont, boolean i_antialias) {
 
-		GLFontKey key =
-			new GLFontKey(i_swtFont, i_startChar, i_endChar, i_antialias);
+		GLFontKey key = new GLFontKey(i_swtFont, i_antialias);
 		LwjglVectorFont vectorFont = m_vectorFonts.get(key);
 		if (vectorFont == null) {
-			vectorFont =
-				new LwjglVectorFont(i_swtFont, i_startChar, i_endChar,
-					i_antialias);
-			vectorFont.initialize();
+			vectorFont = new LwjglVectorFont(i_swtFont, i_antialias);
 			m_vectorFonts.put(key, vectorFont);
 		}
 
@@ -503,109 +557,134 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Returns the executor that performs the CPU stage of 2D render images.
+	 * It uses one daemon thread per available processor, so that several
+	 * surfaces can be prepared in parallel. This instance is registered as a
+	 * user of the executor until it is disposed.
 	 * 
-	 * @see org.eclipse.draw3d.graphics3d.Graphics3D#deactivateGraphics2D()
+	 * @return the executor
 	 */
-	public RenderImage deactivateGraphics2D() {
-		if (m_activeGraphics instanceof RecordingGraphics) {
-			RecordingGraphics og = (RecordingGraphics) m_activeGraphics;
-			List<PrimitiveSet> primiveSets = og.getPrimiveSets();
-			final List<RenderImage> vbos = new LinkedList<RenderImage>();
+	private ExecutorService getPreparationExecutor() {
 
-			for (PrimitiveSet set : primiveSets) {
-				PrimitiveClass clazz = set.getPrimitiveClass();
-				if (clazz.isPolygon()) {
-					tesselate(set, vbos);
-				} else if (clazz.isQuad()) {
-					if (clazz.isGradient())
-						vbos.add(new LwjglGradientQuadVBO(set));
-					else if (clazz.isImage())
-						vbos.add(new LwjglImageVBO(set));
-					else
-						vbos.add(new LwjglQuadVBO(set));
-				} else if (clazz.isPolyline()) {
-					vbos.add(new LwjglPolylineVBO(set));
-				} else if (clazz.isLine()) {
-					vbos.add(new LwjglLineVBO(set));
-				} else if (clazz.isText()) {
-					TextRenderRule textRule = clazz.getRenderRule().asText();
-					LwjglVectorFont vectorFont =
-						getVectorFont(textRule.getFont(), (char) 32,
-							(char) 127, true);
-					LwjglFont textureFont =
-						getFontManager().getFont(textRule.getFont(), (char) 32,
-							(char) 127, true);
-
-					final List<TextRenderImage> textImages =
-						new LinkedList<TextRenderImage>();
-
-					for (Primitive primitive : set.getPrimitives()) {
-						TextPrimitive text = (TextPrimitive) primitive;
-						textImages.add(new TextRenderImage(text, vectorFont,
-							textureFont, m_current2DPosition));
-					}
+		synchronized (Graphics3DLwjgl.class) {
+			if (!m_preparing) {
+				m_preparing = true;
+				m_preparationExecutorUsers++;
+			}
+
+			if (m_preparationExecutor == null) {
+				int threads = Runtime.getRuntime().availableProcessors();
+				m_preparationExecutor =
+					Executors.newFixedThreadPool(threads, new ThreadFactory() {
 
-					vbos.add(new RenderImage() {
-						public void dispose() {
+						private int m_count = 0;
 
-							for (TextRenderImage image : textImages)
-								image.dispose();
+						public synchronized Thread newThread(
+							Runnable i_runnable) {
 
-							textImages.clear();
+							Thread thread =
+								new Thread(i_runnable,
+									"Draw3D 2D preparation " + ++m_count);
+							thread.setDaemon(true);
+							return thread;
 						}
+					});
+			}
 
-						public void initialize(Graphics3D i_g3d) {
+			return m_preparationExecutor;
+		}
+	}
 
-							for (TextRenderImage image : textImages)
-								image.initialize(i_g3d);
-						}
+	/**
+	 * Unregisters this instance as a user of the preparation executor and
+	 * shuts the executor down if no other instance uses it. Images whose
+	 * preparation was already submitted are still prepared.
+	 */
+	private void releasePreparationExecutor() {
 
-						public void render(Graphics3D i_g3d,
-							ILodHelper i_lodHelper) {
+		synchronized (Graphics3DLwjgl.class) {
+			if (!m_preparing)
+				return;
 
-							for (TextRenderImage image : textImages)
-								image.render(i_g3d, i_lodHelper);
-						}
-					});
-					// vbos.add(new LwjglTextVBO(set, getFontManager()));
-					// generateVectorText(set, vbos);
-				} else {
-					throw new AssertionError("unknown primitive class: "
-						+ clazz);
-				}
+			m_preparing = false;
+			m_preparationExecutorUsers--;
+
+			if (m_preparationExecutorUsers == 0
+				&& m_preparationExecutor != null) {
+				m_preparationExecutor.shutdown();
+				m_preparationExecutor = null;
 			}
+		}
+	}
 
-			m_current2DPosition = null;
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3D#deactivateGraphics2D()
+	 */
+	public RenderImage deactivateGraphics2D() {
 
-			return new RenderImage() {
+		return deactivateGraphics2D(false);
+	}
 
-				public void dispose() {
+	/**
+	 * {@inheritDoc} The returned image is an {@link AsyncRenderImage}: the
+	 * primitive sets are turned into VBOs on a worker thread, and
+	 * {@link RenderImage#initialize(Graphics3D)} uploads them into a range of
+	 * the vertex arena. The range of a dynamic image is allocated from a
+	 * {@link GL15#GL_DYNAMIC_DRAW} buffer object, all other images are written
+	 * once and use {@link GL15#GL_STATIC_DRAW} buffer objects.
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3D#deactivateGraphics2D(boolean)
+	 */
+	public RenderImage deactivateGraphics2D(boolean i_dynamic) {
+		if (m_activeGraphics instanceof RecordingGraphics) {
+			RecordingGraphics og = (RecordingGraphics) m_activeGraphics;
+			List<PrimitiveSet> primiveSets = og.getPrimiveSets();
 
-					for (RenderImage vbo : vbos)
-						vbo.dispose();
-				}
+			// fonts require the GL context, so text images are created here
+			Map<PrimitiveSet, RenderImage> textImages =
+				new IdentityHashMap<PrimitiveSet, RenderImage>();
 
-				public void initialize(Graphics3D i_g3d) {
+			boolean sdf = Boolean.parseBoolean(getProperty(PROP_FONT_SDF));
+			for (PrimitiveSet set : primiveSets) {
+				PrimitiveClass clazz = set.getPrimitiveClass();
+				if (clazz.isText()) {
+					TextRenderRule textRule = clazz.getRenderRule().asText();
+					LwjglVectorFont vectorFont =
+						getVectorFont(textRule.getFont(), true);
+
+					LwjglTextVBO textVBO;
+					if (sdf) {
+						// the distance field glyphs are created from the
+						// outlines of the vector font
+						java.awt.Font awtFont = vectorFont.getAwtFont();
+						textVBO =
+							new LwjglTextVBO(set, getSdfFont(awtFont), awtFont
+								.getSize2D());
+					} else {
+						LwjglFont textureFont =
+							getFontManager().getFont(textRule.getFont(), true);
+						textVBO =
+							new LwjglTextVBO(set, vectorFont, textureFont,
+								m_current2DPosition);
+					}
 
-					for (RenderImage vbo : vbos)
-						vbo.initialize(i_g3d);
+					if (textVBO.isEmpty())
+						textVBO.dispose();
+					else
+						textImages.put(set, textVBO);
 				}
+			}
 
-				public void render(Graphics3D i_g3d, ILodHelper i_lodContext) {
+			m_current2DPosition = null;
 
-					GL11.glMatrixMode(GL11.GL_MODELVIEW);
-					GL11.glPushMatrix();
-					try {
-						for (RenderImage vbo : vbos) {
-							glTranslatef(0, 0, OFFSET_2DCONTENT_SURFACE);
-							vbo.render(i_g3d, i_lodContext);
-						}
-					} finally {
-						GL11.glPopMatrix();
-					}
-				}
-			};
+			int usage =
+				i_dynamic ? GL15.GL_DYNAMIC_DRAW : GL15.GL_STATIC_DRAW;
+
+			return new PrimitiveRenderImage(primiveSets, textImages,
+				OFFSET_2DCONTENT_SURFACE, getVertexArena(), usage,
+				getImageAtlas(), getPreparationExecutor());
 		}
 
 		return null;
@@ -628,16 +707,30 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 				m_fontManager.dispose();
 			if (m_displayListManager != null)
 				m_displayListManager.dispose();
-			if (m_tesselator != null)
-				m_tesselator.gluDeleteTess();
+			if (m_imageAtlas != null) {
+				m_imageAtlas.dispose();
+				m_imageAtlas = null;
+			}
+			if (m_vertexArena != null) {
+				m_vertexArena.dispose();
+				m_vertexArena = null;
+			}
 			if (m_vectorFonts != null) {
 				for (LwjglVectorFont font : m_vectorFonts.values())
 					font.dispose();
 				m_vectorFonts.clear();
 				m_vectorFonts = null;
 			}
+			if (m_sdfFonts != null) {
+				for (LwjglSdfFont font : m_sdfFonts.values())
+					font.dispose();
+				m_sdfFonts.clear();
+				m_sdfFonts = null;
+			}
 		} catch (Exception ex) {
 			log.warning("Error disposing texture manager: " + ex);
+		} finally {
+			releasePreparationExecutor();
 		}
 	}
 
@@ -712,6 +805,14 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 		return new LwjglOffscreenBufferConfig(this, i_buffers, i_args);
 	}
 
+	private LwjglImageAtlas getImageAtlas() {
+
+		if (m_imageAtlas == null)
+			m_imageAtlas = new LwjglImageAtlas();
+
+		return m_imageAtlas;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -739,6 +840,16 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 		return properties.getProperty(i_key);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#getRenderOrigin()
+	 */
+	public IVector3f getRenderOrigin() {
+
+		return m_renderOrigin;
+	}
+
 	private LwjglTextureManager getTextureManager() {
 
 		if (m_textureManager == null)
@@ -751,6 +862,14 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 		return m_textureManager;
 	}
 
+	private LwjglVertexArena getVertexArena() {
+
+		if (m_vertexArena == null)
+			m_vertexArena = new LwjglVertexArena();
+
+		return m_vertexArena;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -889,6 +1008,42 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 		org.lwjgl.opengl.GL11.glFinish();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#glFog(int, float[])
+	 */
+	public void glFog(int pname, float[] params) {
+
+		FloatBuffer buffer = Draw3DCache.getFloatBuffer(params.length);
+		try {
+			buffer.rewind();
+			buffer.put(params);
+			buffer.rewind();
+			org.lwjgl.opengl.GL11.glFog(pname, buffer);
+		} finally {
+			Draw3DCache.returnFloatBuffer(buffer);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#glFogf(int, float)
+	 */
+	public void glFogf(int pname, float param) {
+		org.lwjgl.opengl.GL11.glFogf(pname, param);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#glFogi(int, int)
+	 */
+	public void glFogi(int pname, int param) {
+		org.lwjgl.opengl.GL11.glFogi(pname, param);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -991,6 +1146,25 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 		org.lwjgl.opengl.GL11.glMatrixMode(mode);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#glMultMatrix(float[],
+	 *      int)
+	 */
+	public void glMultMatrix(float[] m, int offset) {
+
+		FloatBuffer buffer = Draw3DCache.getFloatBuffer(16);
+		try {
+			buffer.rewind();
+			buffer.put(m, offset, 16);
+			buffer.rewind();
+			org.lwjgl.opengl.GL11.glMultMatrix(buffer);
+		} finally {
+			Draw3DCache.returnFloatBuffer(buffer);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -1256,7 +1430,17 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 	 */
 	public void setPosition(IPosition3D i_position) {
 
-		setMatrix(i_position.getTransformationMatrix());
+		if (m_renderOrigin == null) {
+			setMatrix(i_position.getTransformationMatrix());
+		} else {
+			Matrix4f matrix = Draw3DCache.getMatrix4f();
+			try {
+				setMatrix(i_position.getTransformationMatrix(m_renderOrigin,
+					matrix));
+			} finally {
+				Draw3DCache.returnMatrix4f(matrix);
+			}
+		}
 	}
 
 	/**
@@ -1273,11 +1457,22 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 			properties.remove(key);
 	}
 
-	private void tesselate(float[] i_vertices) {
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#setRenderOrigin(org.eclipse.draw3d.geometry.IVector3f)
+	 */
+	public void setRenderOrigin(IVector3f i_origin) {
 
-		m_tesselator.gluTessBeginPolygon(i_vertices);
-		m_tesselator.gluTessNormal(0, 0, -1);
-		m_tesselator.gluTessBeginContour();
+		m_renderOrigin = i_origin;
+	}
+
+	private static void tesselate(GLUtessellator i_tesselator,
+		float[] i_vertices) {
+
+		i_tesselator.gluTessBeginPolygon(i_vertices);
+		i_tesselator.gluTessNormal(0, 0, -1);
+		i_tesselator.gluTessBeginContour();
 
 		double[] coords = new double[3];
 		coords[2] = 0;
@@ -1292,58 +1487,62 @@ public class Graphics3DLwjgl extends AbstractGraphics3DDraw implements
 			coords[1] = y;
 
 			IVector2f v = new Vector2fImpl(x, y);
-			m_tesselator.gluTessVertex(coords, 0, v);
+			i_tesselator.gluTessVertex(coords, 0, v);
 		}
 
-		m_tesselator.gluTessEndContour();
-		m_tesselator.gluTessEndPolygon();
+		i_tesselator.gluTessEndContour();
+		i_tesselator.gluTessEndPolygon();
 	}
 
 	/**
-	 * @param i_set
-	 * @param i_vbos
+	 * Tessellates the polygons in the given primitive set and adds the
+	 * resulting VBOs to the given list. This method does not require the GL
+	 * context, so it can be called from any thread, but the given tessellator
+	 * must not be used by more than one thread at a time.
+	 * 
+	 * @param i_tesselator the tessellator to use
+	 * @param i_set the primitive set containing the polygons
+	 * @param i_vbos the list to add the VBOs to
 	 */
-	private void tesselate(PrimitiveSet i_set, List<RenderImage> i_vbos) {
-
-		if (m_tesselator == null)
-			m_tesselator = GLU.gluNewTess();
+	static void tesselate(GLUtessellator i_tesselator, PrimitiveSet i_set,
+		List<RenderImage> i_vbos) {
 
 		RenderRule renderRule = i_set.getPrimitiveClass().getRenderRule();
 		PolygonTesselator callback = new PolygonTesselator(renderRule);
 
 		// bug in LWJGL, must set edge flag callback to null before setting
 		// begin callback
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_EDGE_FLAG, null);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_EDGE_FLAG_DATA, null);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_BEGIN, callback);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_BEGIN_DATA, null);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_VERTEX, callback);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_VERTEX_DATA, null);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_COMBINE, callback);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_COMBINE_DATA, null);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_END, callback);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_END_DATA, null);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_ERROR, null);
-		m_tesselator.gluTessCallback(GLU.GLU_TESS_ERROR_DATA, callback);
-
-		m_tesselator.gluTessProperty(GLU.GLU_TESS_TOLERANCE, 0);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_EDGE_FLAG, null);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_EDGE_FLAG_DATA, null);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_BEGIN, callback);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_BEGIN_DATA, null);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_VERTEX, callback);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_VERTEX_DATA, null);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_COMBINE, callback);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_COMBINE_DATA, null);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_END, callback);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_END_DATA, null);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_ERROR, null);
+		i_tesselator.gluTessCallback(GLU.GLU_TESS_ERROR_DATA, callback);
+
+		i_tesselator.gluTessProperty(GLU.GLU_TESS_TOLERANCE, 0);
 
 		if (renderRule.isOutline()) {
-			m_tesselator.gluTessProperty(GLU.GLU_TESS_BOUNDARY_ONLY, 1);
-			m_tesselator.gluTessProperty(GLU.GLU_TESS_WINDING_RULE,
+			i_tesselator.gluTessProperty(GLU.GLU_TESS_BOUNDARY_ONLY, 1);
+			i_tesselator.gluTessProperty(GLU.GLU_TESS_WINDING_RULE,
 				GLU.GLU_TESS_WINDING_ODD);
 		} else if (renderRule.isSolid()) {
 			SolidRenderRule solid = renderRule.asSolid();
 
-			m_tesselator.gluTessProperty(GLU.GLU_TESS_BOUNDARY_ONLY, 0);
-			m_tesselator.gluTessProperty(GLU.GLU_TESS_WINDING_RULE, solid
+			i_tesselator.gluTessProperty(GLU.GLU_TESS_BOUNDARY_ONLY, 0);
+			i_tesselator.gluTessProperty(GLU.GLU_TESS_WINDING_RULE, solid
 				.getFillRule() == SWT.FILL_EVEN_ODD ? GLU.GLU_TESS_WINDING_ODD
 				: GLU.GLU_TESS_WINDING_NONZERO);
 		}
 
 		for (Primitive primitive : i_set.getPrimitives()) {
 			PolygonPrimitive polygon = (PolygonPrimitive) primitive;
-			tesselate(polygon.getVertices());
+			tesselate(i_tesselator, polygon.getVertices());
 		}
 
 		callback.addVBOs(i_vbos);
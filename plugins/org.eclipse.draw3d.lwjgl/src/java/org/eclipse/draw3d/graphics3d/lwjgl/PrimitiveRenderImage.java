@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics3d.lwjgl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.eclipse.draw3d.graphics.optimizer.PrimitiveSet;
+import org.eclipse.draw3d.graphics.optimizer.classification.PrimitiveClass;
+import org.eclipse.draw3d.graphics3d.AsyncRenderImage;
+import org.eclipse.draw3d.graphics3d.Graphics3D;
+import org.eclipse.draw3d.graphics3d.Graphics3DException;
+import org.eclipse.draw3d.graphics3d.ILodHelper;
+import org.eclipse.draw3d.graphics3d.RenderImage;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglGradientQuadVBO;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglImageAtlas;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglImageVBO;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglLineVBO;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglPolylineVBO;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglQuadVBO;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVertexArena;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVertexArena.Range;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.util.glu.GLU;
+import org.lwjgl.util.glu.GLUtessellator;
+
+/**
+ * Renders the primitive sets that were recorded by a 2D graphics object. The
+ * image is built in two stages: The CPU stage creates the VBOs for the
+ * primitive sets, tessellates polygons and fills the vertex, color and texture
+ * coordinate buffers. It does not require the GL context and is executed by a
+ * worker thread as soon as the image is created. The GL stage is performed by
+ * {@link #initialize(Graphics3D)} and uploads the prepared buffers.
+ * <p>
+ * The data of all VBOs is stored in a single range of a vertex arena, so the
+ * VBOs are usually rendered with a single bind of the buffer object.
+ * </p>
+ * 
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+class PrimitiveRenderImage implements AsyncRenderImage {
+
+	private final LwjglVertexArena m_arena;
+
+	private final Future<List<RenderImage>> m_future;
+
+	private final float m_offset;
+
+	private Range m_range;
+
+	private final Map<PrimitiveSet, RenderImage> m_textImages;
+
+	private final int m_usage;
+
+	private List<RenderImage> m_vbos;
+
+	/**
+	 * Creates a new image and submits its CPU stage to the given executor.
+	 * 
+	 * @param i_primitiveSets the recorded primitive sets
+	 * @param i_textImages the render images for the text primitive sets,
+	 *            which must be created on the UI thread; primitive sets
+	 *            without a text image are skipped
+	 * @param i_offset the Z offset between two VBOs
+	 * @param i_arena the arena that stores the vertex data of the VBOs
+	 * @param i_usage the usage of the arena range, either
+	 *            {@link GL15#GL_STATIC_DRAW} for images that are rendered
+	 *            until the 2D content changes or {@link GL15#GL_DYNAMIC_DRAW}
+	 *            for images that replace images that were recorded before
+	 * @param i_atlas the atlas that stores the images
+	 * @param i_executor the executor that performs the CPU stage
+	 */
+	public PrimitiveRenderImage(final List<PrimitiveSet> i_primitiveSets,
+			final Map<PrimitiveSet, RenderImage> i_textImages, float i_offset,
+			LwjglVertexArena i_arena, int i_usage,
+			final LwjglImageAtlas i_atlas, ExecutorService i_executor) {
+
+		m_offset = i_offset;
+		m_arena = i_arena;
+		m_usage = i_usage;
+		m_textImages = i_textImages;
+		m_future = i_executor.submit(new Callable<List<RenderImage>>() {
+
+			public List<RenderImage> call() throws Exception {
+
+				return prepare(i_primitiveSets, i_textImages, i_atlas);
+			}
+		});
+	}
+
+	/**
+	 * {@inheritDoc} If the CPU stage is not finished yet, it is cancelled and
+	 * only the text images are disposed.
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.RenderImage#dispose()
+	 */
+	public void dispose() {
+
+		if (m_vbos == null) {
+			if (m_future.cancel(false) || !m_future.isDone()) {
+				for (RenderImage textImage : m_textImages.values())
+					textImage.dispose();
+
+				m_textImages.clear();
+				return;
+			}
+
+			m_vbos = getVBOs();
+		}
+
+		for (RenderImage vbo : m_vbos)
+			vbo.dispose();
+
+		m_vbos.clear();
+
+		if (m_range != null) {
+			m_arena.release(m_range);
+			m_range = null;
+		}
+	}
+
+	private List<RenderImage> getVBOs() {
+
+		try {
+			return m_future.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new Graphics3DException(ex);
+		} catch (ExecutionException ex) {
+			throw new Graphics3DException(ex.getCause());
+		}
+	}
+
+	/**
+	 * {@inheritDoc} Blocks until the CPU stage is finished and uploads the
+	 * prepared buffers.
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.RenderImage#initialize(org.eclipse.draw3d.graphics3d.Graphics3D)
+	 */
+	public void initialize(Graphics3D i_g3d) {
+
+		m_vbos = getVBOs();
+
+		int size = 0;
+		for (RenderImage vbo : m_vbos)
+			if (vbo instanceof LwjglVBO)
+				size += align(((LwjglVBO) vbo).getDataSize());
+
+		if (size > 0) {
+			m_range = m_arena.allocate(size, m_usage);
+
+			int offset = 0;
+			for (RenderImage vbo : m_vbos) {
+				if (vbo instanceof LwjglVBO) {
+					LwjglVBO lwjglVBO = (LwjglVBO) vbo;
+					lwjglVBO.setVertexRange(m_range, offset);
+					offset += align(lwjglVBO.getDataSize());
+				}
+			}
+		}
+
+		for (RenderImage vbo : m_vbos)
+			vbo.initialize(i_g3d);
+	}
+
+	private static int align(int i_size) {
+
+		int alignment = LwjglVertexArena.ALIGNMENT;
+		return (i_size + alignment - 1) & ~(alignment - 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.AsyncRenderImage#isPrepared()
+	 */
+	public boolean isPrepared() {
+
+		return m_future.isDone();
+	}
+
+	/**
+	 * Performs the CPU stage.
+	 * 
+	 * @param i_primitiveSets the primitive sets
+	 * @param i_textImages the render images for the text primitive sets
+	 * @param i_atlas the atlas that stores the images
+	 * @return the VBOs and text images in render order
+	 */
+	private static List<RenderImage> prepare(List<PrimitiveSet> i_primitiveSets,
+		Map<PrimitiveSet, RenderImage> i_textImages, LwjglImageAtlas i_atlas) {
+
+		List<RenderImage> vbos = new ArrayList<RenderImage>();
+		GLUtessellator tesselator = null;
+		try {
+			for (PrimitiveSet set : i_primitiveSets) {
+				PrimitiveClass clazz = set.getPrimitiveClass();
+				if (clazz.isPolygon()) {
+					if (tesselator == null)
+						tesselator = GLU.gluNewTess();
+					Graphics3DLwjgl.tesselate(tesselator, set, vbos);
+				} else if (clazz.isQuad()) {
+					if (clazz.isGradient())
+						vbos.add(new LwjglGradientQuadVBO(set));
+					else if (clazz.isImage())
+						vbos.add(new LwjglImageVBO(set, i_atlas));
+					else
+						vbos.add(new LwjglQuadVBO(set));
+				} else if (clazz.isPolyline()) {
+					vbos.add(new LwjglPolylineVBO(set));
+				} else if (clazz.isLine()) {
+					vbos.add(new LwjglLineVBO(set));
+				} else if (clazz.isText()) {
+					RenderImage textImage = i_textImages.get(set);
+					if (textImage != null)
+						vbos.add(textImage);
+				} else {
+					throw new AssertionError("unknown primitive class: "
+						+ clazz);
+				}
+			}
+		} finally {
+			if (tesselator != null)
+				tesselator.gluDeleteTess();
+		}
+
+		for (RenderImage vbo : vbos)
+			if (vbo instanceof LwjglVBO)
+				((LwjglVBO) vbo).prepareBuffers();
+
+		return vbos;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.RenderImage#render(org.eclipse.draw3d.graphics3d.Graphics3D,
+	 *      org.eclipse.draw3d.graphics3d.ILodHelper)
+	 */
+	public void render(Graphics3D i_g3d, ILodHelper i_lodContext) {
+
+		if (m_vbos == null)
+			throw new IllegalStateException(this + " is not initialized");
+
+		int boundBufferId = 0;
+
+		GL11.glMatrixMode(GL11.GL_MODELVIEW);
+		GL11.glPushMatrix();
+		try {
+			for (RenderImage vbo : m_vbos) {
+				GL11.glTranslatef(0, 0, m_offset);
+
+				if (vbo instanceof LwjglVBO) {
+					LwjglVBO lwjglVBO = (LwjglVBO) vbo;
+					int bufferId = lwjglVBO.getBufferId();
+					if (bufferId != boundBufferId) {
+						GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, bufferId);
+						boundBufferId = bufferId;
+					}
+
+					lwjglVBO.renderBound(i_g3d, i_lodContext);
+				} else {
+					vbo.render(i_g3d, i_lodContext);
+
+					// other images may bind their own buffers
+					boundBufferId = 0;
+				}
+			}
+		} finally {
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+			GL11.glPopMatrix();
+		}
+	}
+}
@@ -15,20 +15,15 @@ public class GLFontKey {
 	private int m_hashCode;
 
 	/**
-	 * Creates a new key for a given font and character range.
+	 * Creates a new key for a given font.
 	 * 
 	 * @param i_font the font
-	 * @param i_startChar the start character
-	 * @param i_endChar the end character
 	 * @param i_antiAliased whether or not the font is antialiased
 	 */
-	public GLFontKey(Font i_font, char i_startChar, char i_endChar,
-			boolean i_antiAliased) {
+	public GLFontKey(Font i_font, boolean i_antiAliased) {
 
 		m_hashCode = 17;
 		m_hashCode = 37 * getFontHashCode(i_font);
-		m_hashCode = 37 * m_hashCode + i_startChar;
-		m_hashCode = 37 * m_hashCode + i_endChar;
 		m_hashCode = 37 * m_hashCode + (i_antiAliased ? 1231 : 1237);
 	}
 
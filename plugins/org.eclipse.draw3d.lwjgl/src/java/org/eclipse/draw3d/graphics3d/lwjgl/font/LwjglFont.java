@@ -12,17 +12,17 @@
 package org.eclipse.draw3d.graphics3d.lwjgl.font;
 
 import java.nio.ByteBuffer;
-import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.eclipse.draw3d.geometry.IMatrix4f;
-import org.eclipse.draw3d.geometry.Vector3f;
 import org.eclipse.draw3d.graphics3d.DisplayListManager;
 import org.eclipse.draw3d.util.Draw3DCache;
+import org.eclipse.draw3d.util.GlyphPageCache;
 import org.eclipse.draw3d.util.converter.ColorBufferInfo;
 import org.eclipse.draw3d.util.converter.ImageConverter;
 import org.eclipse.swt.SWT;
@@ -36,8 +36,16 @@ import org.eclipse.swt.graphics.Point;
 import org.lwjgl.opengl.GL11;
 
 /**
- * Allows rendering an SWT font in GL using textures. Expects the following
- * OpenGL state:
+ * Allows rendering an SWT font in GL using textures. The characters are
+ * organized in glyph pages of {@value #PAGE_SIZE} consecutive code points. A
+ * page is rasterized into a texture of its own when one of its characters is
+ * used for the first time, and the least recently used pages are deleted when
+ * more than {@value #MAX_PAGES} pages are loaded. This way, text can contain
+ * any Unicode character, but only the pages that are actually displayed take
+ * up texture memory. Pages that are {@link #acquirePage(int) acquired} by
+ * buffers that store texture coordinates are not deleted (see
+ * {@link GlyphPageCache}). Expects the
+ * following OpenGL state:
  * <ul>
  * <li>{@link GL11#GL_TEXTURE_2D} enabled</li>
  * <li>{@value GL11#GL_BLEND} enabled</li>
@@ -55,52 +63,131 @@ import org.lwjgl.opengl.GL11;
  */
 public class LwjglFont {
 
+	private static class GlyphPage {
+
+		private final LwjglFontChar[] m_chars;
+
+		private final int m_page;
+
+		private final int m_textureId;
+
+		public GlyphPage(int i_page, LwjglFontChar[] i_chars, int i_textureId) {
+
+			m_page = i_page;
+			m_chars = i_chars;
+			m_textureId = i_textureId;
+		}
+	}
+
 	// @SuppressWarnings("unused")
 	private static final Logger log =
 		Logger.getLogger(LwjglFont.class.getName());
 
-	private LwjglFontChar[] m_chars;
+	/**
+	 * The maximum number of glyph pages that are loaded at the same time.
+	 */
+	public static final int MAX_PAGES = 16;
+
+	/**
+	 * The number of bits of a code point that select the character within its
+	 * glyph page.
+	 */
+	static final int PAGE_BITS = 8;
+
+	/**
+	 * The number of code points in a glyph page.
+	 */
+	public static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+	/**
+	 * Indicates whether the given code point is a character that can be
+	 * rasterized. Control characters, surrogates and unassigned code points
+	 * are not rendered.
+	 * 
+	 * @param i_codePoint the code point
+	 * @return <code>true</code> if the given code point can be rendered
+	 */
+	static boolean isRenderable(int i_codePoint) {
+
+		if (!Character.isDefined(i_codePoint)
+			|| Character.isISOControl(i_codePoint))
+			return false;
+
+		return Character.getType(i_codePoint) != Character.SURROGATE;
+	}
+
+	private static boolean pack(LwjglFontChar[] i_chars, int i_height,
+		int i_size, int[] o_positions) {
+
+		int x = 0;
+		int y = 0;
+		for (int i = 0; i < i_chars.length; i++) {
+			if (i_chars[i] != null) {
+				int w = i_chars[i].getWidth() + 1;
+				if (w > i_size)
+					return false;
+
+				if (x + w > i_size) {
+					x = 0;
+					y += i_height + 1;
+				}
+
+				o_positions[2 * i] = x;
+				o_positions[2 * i + 1] = y;
+				x += w;
+			}
+		}
+
+		return y + i_height <= i_size;
+	}
+
+	private final boolean m_antiAliased;
 
 	private final String m_description;
 
+	private final Device m_device;
+
+	private DisplayListManager m_displayListManager;
+
 	private boolean m_disposed = false;
 
-	private final char m_endChar;
+	private final FontData[] m_fontData;
 
 	private FontMetrics m_fontMetrics;
 
-	private DisplayListManager m_displayListManager;
-
 	/**
-	 * The height of the character texture.
+	 * The loaded glyph pages, which are created and deleted by this font.
 	 */
-	private int m_height;
+	private final GlyphPageCache<GlyphPage> m_pages =
+		new GlyphPageCache<GlyphPage>(PAGE_BITS, MAX_PAGES) {
 
-	private final char m_startChar;
+			@Override
+			protected GlyphPage createPage(int i_page) {
 
-	private int m_tabWidth;
+				return LwjglFont.this.createPage(i_page);
+			}
 
-	private int m_textureId = -1;
+			@Override
+			protected void deletePage(GlyphPage i_page) {
 
-	/**
-	 * The width of the character texture.
-	 */
-	private int m_width;
+				LwjglFont.this.deletePage(i_page);
+			}
+		};
+
+	private int m_tabWidth;
 
 	/**
-	 * Creates a new GL font for the given SWT font that can render the
-	 * characters defined by the given character range.
+	 * Creates a new GL font for the given SWT font. The glyph pages are
+	 * created when they are used for the first time.
 	 * 
 	 * @param i_font the SWT font to render
-	 * @param i_startChar the first available character
-	 * @param i_endChar the last available character
 	 * @param i_antiAliased whether or not the font should be rendered with
 	 *            antialiasing
 	 * @param i_displayListManager the display list manager
 	 * @throws NullPointerException if the given font is <code>null</code>
 	 */
-	public LwjglFont(Font i_font, char i_startChar, char i_endChar,
-			boolean i_antiAliased, DisplayListManager i_displayListManager) {
+	public LwjglFont(Font i_font, boolean i_antiAliased,
+			DisplayListManager i_displayListManager) {
 
 		if (i_font == null)
 			throw new NullPointerException("i_font must not be null");
@@ -110,178 +197,236 @@ public class LwjglFont {
 				"i_displayListManager must not be null");
 
 		m_displayListManager = i_displayListManager;
+		m_antiAliased = i_antiAliased;
 
-		m_displayListManager.interruptDisplayList();
+		// the SWT font may be disposed before pages are created, so we keep
+		// its description to create a font of our own for every page
+		m_device = i_font.getDevice();
+		m_fontData = i_font.getFontData();
+
+		Image image = null;
+		GC gc = null;
 		try {
-			m_startChar = i_startChar;
-			m_endChar = i_endChar;
+			image = new Image(m_device, 1, 1);
+			gc = new GC(image);
 
-			int numChars = m_endChar - m_startChar + 1;
-			m_chars = new LwjglFontChar[numChars];
+			gc.setFont(i_font);
+			m_fontMetrics = gc.getFontMetrics();
+			m_tabWidth = gc.textExtent("\t").x;
+		} finally {
+			if (gc != null && !gc.isDisposed())
+				gc.dispose();
+			if (image != null && !image.isDisposed())
+				image.dispose();
+		}
 
-			Device device = i_font.getDevice();
-			Image image = null;
-			GC gc = null;
-			try {
-				image = new Image(device, 1, 1);
-				gc = new GC(image);
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < m_fontData.length; i++) {
+			builder.append(m_fontData[i].getName());
 
-				gc.setFont(i_font);
-				m_fontMetrics = gc.getFontMetrics();
+			int style = m_fontData[i].getStyle();
+			if ((style & SWT.NORMAL) != 0)
+				builder.append(" Normal");
+			if ((style & SWT.ITALIC) != 0)
+				builder.append(" Italic");
+			if ((style & SWT.BOLD) != 0)
+				builder.append(" Bold");
 
-				m_tabWidth = gc.textExtent("\t").x;
-				int height = m_fontMetrics.getHeight();
+			builder.append(" ");
+			builder.append(m_fontData[i].getHeight());
 
-				// calculate the area needed to render all available characters
-				long area = 0;
-				for (int i = 0; i < numChars; i++) {
+			if (i < m_fontData.length - 1)
+				builder.append(", ");
+		}
 
-					char c = (char) (m_startChar + i);
-					String s = Character.toString(c);
-					Point cExtent = gc.stringExtent(s);
+		builder.append(", Antialiasing: ");
+		builder.append(i_antiAliased);
 
-					m_chars[i] = new LwjglFontChar(c, cExtent.x, height);
-					area += (cExtent.x + 1) * (height + 1);
-				}
+		m_description = builder.toString();
+	}
 
-				// calculate the texture dimensions needed to hold all
-				// characters
-				int sideLength = 64; // minimum texture size
-				int textureArea = 0;
-				while (textureArea < area) {
-					sideLength *= 2;
-					textureArea = sideLength * sideLength;
+	/**
+	 * Acquires the glyph page that contains the given code point, which loads
+	 * the page if necessary. An acquired page is not deleted until it is
+	 * {@link #releasePage(int) released} as often as it was acquired, so the
+	 * texture IDs and texture coordinates of its characters remain valid.
+	 * 
+	 * @param i_codePoint the code point
+	 * @throws IllegalStateException if this font is disposed
+	 */
+	public void acquirePage(int i_codePoint) {
+
+		if (m_disposed)
+			throw new IllegalStateException("font is disposed");
+
+		m_pages.acquire(i_codePoint);
+	}
+
+	private GlyphPage createPage(int i_page) {
+
+		m_displayListManager.interruptDisplayList();
+		try {
+			int firstCodePoint = i_page << PAGE_BITS;
+			int height = m_fontMetrics.getHeight();
+
+			LwjglFontChar[] chars = new LwjglFontChar[PAGE_SIZE];
+			String[] strings = new String[PAGE_SIZE];
+
+			Font font = null;
+			Image image = null;
+			GC gc = null;
+			try {
+				font = new Font(m_device, m_fontData);
+				image = new Image(m_device, 1, 1);
+				gc = new GC(image);
+				gc.setFont(font);
+
+				for (int i = 0; i < PAGE_SIZE; i++) {
+					int codePoint = firstCodePoint + i;
+					if (isRenderable(codePoint)) {
+						strings[i] = new String(Character.toChars(codePoint));
+						Point extent = gc.stringExtent(strings[i]);
+						chars[i] =
+							new LwjglFontChar(codePoint, extent.x, height);
+					}
 				}
 
-				m_width = sideLength;
-				m_height = sideLength;
+				// find the smallest texture that can hold all characters
+				int[] positions = new int[2 * PAGE_SIZE];
+				int size = 64; // minimum texture size
+				while (!pack(chars, height, size, positions))
+					size *= 2;
 
 				gc.dispose();
 				image.dispose();
 
 				// create and initialize the image and GC to draw the characters
-				image = new Image(device, m_width, m_height);
+				image = new Image(m_device, size, size);
 				gc = new GC(image);
 
-				gc.setTextAntialias(i_antiAliased ? SWT.ON : SWT.OFF);
-				gc.setFont(i_font);
-				gc.setForeground(device.getSystemColor(SWT.COLOR_BLACK));
-				gc.setBackground(device.getSystemColor(SWT.COLOR_WHITE));
+				gc.setTextAntialias(m_antiAliased ? SWT.ON : SWT.OFF);
+				gc.setFont(font);
+				gc.setForeground(m_device.getSystemColor(SWT.COLOR_BLACK));
+				gc.setBackground(m_device.getSystemColor(SWT.COLOR_WHITE));
 				gc.fillRectangle(image.getBounds());
 
-				// fill the image with the available characters
-				int x = 0;
-				int y = 0;
-				for (int i = 0; i < numChars; i++) {
-
-					LwjglFontChar fontChar = m_chars[i];
-					int w = fontChar.getWidth() + 1;
-
-					if (x + w > m_width) {
-						x = 0;
-						y += height + 1;
+				for (int i = 0; i < PAGE_SIZE; i++) {
+					LwjglFontChar fontChar = chars[i];
+					if (fontChar != null) {
+						int x = positions[2 * i];
+						int y = positions[2 * i + 1];
+						gc.drawString(strings[i], x, y, true);
+
+						float s1 = (float) x / size;
+						float t1 = (float) y / size;
+						float s2 = (float) (x + fontChar.getWidth()) / size;
+						float t2 = (float) (y + height) / size;
+						fontChar.setTextureCoords(s1, t1, s2, t2);
 					}
-
-					char c = (char) (m_startChar + i);
-					String s = Character.toString(c);
-					gc.drawString(s, x, y);
-
-					float s1 = (float) x / m_width;
-					float t1 = (float) y / m_height;
-					float s2 = (float) (x + fontChar.getWidth()) / m_width;
-					float t2 = (float) (y + height) / m_height;
-					fontChar.setTextureCoords(s1, t1, s2, t2);
-
-					x += w;
 				}
 
 				// create a luminance alpha texture from the image
 				ColorBufferInfo info =
-					new ColorBufferInfo(m_width, m_height, GL11.GL_LUMINANCE_ALPHA,
+					new ColorBufferInfo(size, size, GL11.GL_LUMINANCE_ALPHA,
 						GL11.GL_UNSIGNED_BYTE, 1);
 
 				ImageConverter converter = ImageConverter.getInstance();
 				ByteBuffer buffer =
 					converter.imageToBuffer(image, info, null, false);
 
-				GL11.glPushAttrib(GL11.GL_TEXTURE_BIT);
-				try {
-					IntBuffer intBuf = Draw3DCache.getIntBuffer(1);
-					try {
-						GL11.glGenTextures(intBuf);
-						m_textureId = intBuf.get(0);
-
-						GL11.glBindTexture(GL11.GL_TEXTURE_2D, m_textureId);
-						GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
-							GL11.GL_TEXTURE_WRAP_S, GL11.GL_REPEAT);
-						GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
-							GL11.GL_TEXTURE_WRAP_T, GL11.GL_REPEAT);
-						GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
-							GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
-						GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
-							GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
-						GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0,
-							GL11.GL_LUMINANCE_ALPHA, m_width, m_height, 0,
-							GL11.GL_LUMINANCE_ALPHA, GL11.GL_UNSIGNED_BYTE,
-							buffer);
-
-						// GLU.gluBuild2DMipmaps(m_textureId, 2, m_width,
-						// m_height,
-						// GL11.GL_LUMINANCE_ALPHA, GL11.GL_UNSIGNED_BYTE,
-						// buffer);
-
-						// generate a display list for each available character
-						Map<Object, Runnable> requests =
-							new HashMap<Object, Runnable>(m_chars.length);
-						for (final LwjglFontChar c : m_chars) {
-							requests.put(c, new Runnable() {
-								public void run() {
-									c.render();
-								}
-							});
-						}
-
-						m_displayListManager.createDisplayLists(requests);
-					} finally {
-						Draw3DCache.returnIntBuffer(intBuf);
+				int textureId = createTexture(size, buffer);
+				for (LwjglFontChar c : chars)
+					if (c != null)
+						c.setTextureId(textureId);
+
+				// generate a display list for each available character
+				Map<Object, Runnable> requests =
+					new HashMap<Object, Runnable>(PAGE_SIZE);
+				for (final LwjglFontChar c : chars) {
+					if (c != null) {
+						requests.put(c, new Runnable() {
+							public void run() {
+								c.render();
+							}
+						});
 					}
-				} finally {
-					GL11.glPopAttrib();
 				}
+
+				if (!requests.isEmpty())
+					m_displayListManager.createDisplayLists(requests);
+
+				if (log.isLoggable(Level.FINE))
+					log.fine("created glyph page " + i_page + " of font "
+						+ this);
+
+				return new GlyphPage(i_page, chars, textureId);
 			} finally {
 				if (gc != null && !gc.isDisposed())
 					gc.dispose();
 				if (image != null && !image.isDisposed())
 					image.dispose();
+				if (font != null && !font.isDisposed())
+					font.dispose();
 			}
+		} finally {
+			m_displayListManager.resumeDisplayList();
+		}
+	}
 
-			FontData[] fontData = i_font.getFontData();
-			StringBuilder builder = new StringBuilder();
-			for (int i = 0; i < fontData.length; i++) {
-				builder.append(fontData[i].getName());
+	private int createTexture(int i_size, ByteBuffer i_buffer) {
+
+		GL11.glPushAttrib(GL11.GL_TEXTURE_BIT);
+		try {
+			IntBuffer intBuf = Draw3DCache.getIntBuffer(1);
+			try {
+				GL11.glGenTextures(intBuf);
+				int textureId = intBuf.get(0);
+
+				GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+				GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
+					GL11.GL_TEXTURE_WRAP_S, GL11.GL_REPEAT);
+				GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
+					GL11.GL_TEXTURE_WRAP_T, GL11.GL_REPEAT);
+				GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
+					GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+				GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
+					GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+				GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0,
+					GL11.GL_LUMINANCE_ALPHA, i_size, i_size, 0,
+					GL11.GL_LUMINANCE_ALPHA, GL11.GL_UNSIGNED_BYTE, i_buffer);
+
+				return textureId;
+			} finally {
+				Draw3DCache.returnIntBuffer(intBuf);
+			}
+		} finally {
+			GL11.glPopAttrib();
+		}
+	}
 
-				int style = fontData[i].getStyle();
-				if ((style & SWT.NORMAL) != 0)
-					builder.append(" Normal");
-				if ((style & SWT.ITALIC) != 0)
-					builder.append(" Italic");
-				if ((style & SWT.BOLD) != 0)
-					builder.append(" Bold");
+	private void deletePage(GlyphPage i_page) {
 
-				builder.append(" ");
-				builder.append(fontData[i].getHeight());
+		List<Object> keys = new ArrayList<Object>(PAGE_SIZE);
+		for (LwjglFontChar c : i_page.m_chars)
+			if (c != null)
+				keys.add(c);
 
-				if (i < fontData.length - 1)
-					builder.append(", ");
-			}
+		if (!keys.isEmpty())
+			m_displayListManager.deleteDisplayLists(keys.toArray());
 
-			builder.append(", Antialiasing: ");
-			builder.append(i_antiAliased);
+		IntBuffer intBuf = Draw3DCache.getIntBuffer(1);
+		try {
+			intBuf.put(0, i_page.m_textureId);
+			intBuf.rewind();
 
-			m_description = builder.toString();
+			GL11.glDeleteTextures(intBuf);
 		} finally {
-			m_displayListManager.resumeDisplayList();
+			Draw3DCache.returnIntBuffer(intBuf);
 		}
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("deleted glyph page " + i_page.m_page + " of font "
+				+ this);
 	}
 
 	/**
@@ -295,21 +440,28 @@ public class LwjglFont {
 		if (log.isLoggable(Level.FINE))
 			log.fine("disposing font " + this);
 
-		if (m_textureId != -1) {
-			IntBuffer intBuf = Draw3DCache.getIntBuffer(1);
-			try {
-				intBuf.put(0, m_textureId);
-				intBuf.rewind();
+		m_pages.clear();
+		m_disposed = true;
+	}
 
-				GL11.glDeleteTextures(intBuf);
-				m_textureId = -1;
-			} finally {
-				Draw3DCache.returnIntBuffer(intBuf);
-			}
-		}
+	/**
+	 * Returns the character with the given code point and loads its glyph
+	 * page if necessary. Unless the page is {@link #acquirePage(int)
+	 * acquired}, the character may become invalid as soon as another page is
+	 * loaded.
+	 * 
+	 * @param i_codePoint the code point
+	 * @return the character or <code>null</code> if the given code point
+	 *         cannot be rendered
+	 */
+	public LwjglFontChar getChar(int i_codePoint) {
 
-		m_chars = null;
-		m_disposed = true;
+		// don't load a page for characters that it would not contain anyway
+		if (!isRenderable(i_codePoint))
+			return null;
+
+		GlyphPage page = m_pages.get(i_codePoint);
+		return page.m_chars[m_pages.getGlyphIndex(i_codePoint)];
 	}
 
 	/**
@@ -333,8 +485,10 @@ public class LwjglFont {
 		int height = m_fontMetrics.getHeight();
 		Point extent = new Point(0, height);
 
-		for (int i = 0; i < i_string.length(); i++) {
-			char c = i_string.charAt(i);
+		int i = 0;
+		while (i < i_string.length()) {
+			int c = i_string.codePointAt(i);
+			i += Character.charCount(c);
 
 			switch (c) {
 			case '\t':
@@ -347,11 +501,9 @@ public class LwjglFont {
 					extent.y += height;
 				break;
 			default:
-				int index = c - m_startChar;
-				if (index >= 0 && index < m_chars.length) {
-					LwjglFontChar fontChar = m_chars[index];
+				LwjglFontChar fontChar = getChar(c);
+				if (fontChar != null)
 					extent.x += fontChar.getWidth();
-				}
 				break;
 			}
 		}
@@ -359,19 +511,6 @@ public class LwjglFont {
 		return extent;
 	}
 
-	/**
-	 * Returns the texture ID of this font.
-	 * 
-	 * @return the texture ID
-	 */
-	public int getTextureId() {
-
-		if (m_disposed)
-			throw new IllegalStateException("font is disposed");
-
-		return m_textureId;
-	}
-
 	/**
 	 * Returns the font metrics of this font.
 	 * 
@@ -387,95 +526,24 @@ public class LwjglFont {
 	}
 
 	/**
-	 * Returns the number characters that are actually rendered in the given
-	 * string.
+	 * Releases a glyph page that was acquired by {@link #acquirePage(int)}.
+	 * Has no effect if this font is disposed.
 	 * 
-	 * @param i_string the string to measure
-	 * @return the length of the string
-	 * @throws NullPointerException if the given string is <code>null</code>
+	 * @param i_codePoint the code point that was passed to
+	 *            {@link #acquirePage(int)}
+	 * @throws IllegalStateException if the page is not acquired
 	 */
-	public int getLength(String i_string) {
-
-		if (i_string == null)
-			throw new NullPointerException("i_string must not be null");
-
-		int length = 0;
-		for (int i = 0; i < i_string.length(); i++) {
-			char c = i_string.charAt(i);
-
-			int index = c - m_startChar;
-			if (index >= 0 && index < m_chars.length)
-				length++;
-		}
-
-		return length;
-	}
-
-	/**
-	 * Render the given string at the given coordinates. The characters are not
-	 * rendered directly, but their vertex and texture coordinates are put into
-	 * the given buffers.
-	 * 
-	 * @param i_string the string to render
-	 * @param i_transformation the transformation to apply to the vertices, can
-	 *            be <code>null</code>
-	 * @param i_x the X coordinate
-	 * @param i_y the Y coordinate
-	 * @param i_expand specifies whether newline and tab characters should be
-	 *            expanded
-	 * @param i_vertexBuffer the vertex buffer
-	 * @param i_coordBuffer the texture coordinate buffer
-	 * @throws IllegalStateException if this GL font is disposed
-	 * @throws NullPointerException if the given string is <code>null</code>
-	 */
-	public void renderString(String i_string, IMatrix4f i_transformation,
-		int i_x, int i_y, boolean i_expand, FloatBuffer i_vertexBuffer,
-		FloatBuffer i_coordBuffer) {
+	public void releasePage(int i_codePoint) {
 
 		if (m_disposed)
-			throw new IllegalStateException("font is disposed");
-
-		if (i_string == null)
-			throw new NullPointerException("i_string must not be null");
-
-		Vector3f p = Draw3DCache.getVector3f();
-		try {
-			int x = i_x, y = i_y;
-			int height = m_fontMetrics.getHeight();
+			return;
 
-			int line = 0;
-			for (int i = 0; i < i_string.length(); i++) {
-				char c = i_string.charAt(i);
-
-				switch (c) {
-				case '\t':
-					if (i_expand)
-						x += m_tabWidth;
-					break;
-
-				case '\n':
-					if (i_expand)
-						y += ++line * height;
-					break;
-				default:
-					int index = c - m_startChar;
-					if (index >= 0 && index < m_chars.length) {
-						LwjglFontChar fontChar = m_chars[index];
-						fontChar.render(i_transformation, x, y, i_vertexBuffer,
-							i_coordBuffer);
-
-						x += fontChar.getWidth();
-					}
-					break;
-				}
-			}
-		} finally {
-			Draw3DCache.returnVector3f(p);
-		}
+		m_pages.release(i_codePoint);
 	}
 
 	/**
-	 * Render the given string at the given coordinates.
+	 * Render the given string at the given coordinates. The glyph pages of
+	 * the characters are loaded if necessary.
 	 * 
 	 * @param i_string the string to render
 	 * @param i_x the coordinate
@@ -495,7 +563,6 @@ public class LwjglFont {
 
 		GL11.glPushAttrib(GL11.GL_TEXTURE_BIT | GL11.GL_COLOR_BUFFER_BIT);
 		try {
-			GL11.glBindTexture(GL11.GL_TEXTURE_2D, m_textureId);
 			GL11.glTexEnvi(GL11.GL_TEXTURE_ENV, GL11.GL_TEXTURE_ENV_MODE,
 				GL11.GL_BLEND);
 			GL11.glPolygonMode(GL11.GL_FRONT_AND_BACK, GL11.GL_FILL);
@@ -511,8 +578,12 @@ public class LwjglFont {
 
 				int height = m_fontMetrics.getHeight();
 				int line = 0;
-				for (int i = 0; i < i_string.length(); i++) {
-					char c = i_string.charAt(i);
+				int boundTexture = 0;
+
+				int i = 0;
+				while (i < i_string.length()) {
+					int c = i_string.codePointAt(i);
+					i += Character.charCount(c);
 
 					switch (c) {
 					case '\t':
@@ -528,9 +599,14 @@ public class LwjglFont {
 						}
 						break;
 					default:
-						int index = c - m_startChar;
-						if (index >= 0 && index < m_chars.length) {
-							LwjglFontChar fontChar = m_chars[index];
+						LwjglFontChar fontChar = getChar(c);
+						if (fontChar != null) {
+							if (fontChar.getTextureId() != boundTexture) {
+								boundTexture = fontChar.getTextureId();
+								GL11.glBindTexture(GL11.GL_TEXTURE_2D,
+									boundTexture);
+							}
+
 							m_displayListManager.executeDisplayList(fontChar);
 							GL11.glTranslatef(fontChar.getWidth(), 0, 0);
 						}
@@ -11,12 +11,6 @@
 
 package org.eclipse.draw3d.graphics3d.lwjgl.font;
 
-import java.nio.FloatBuffer;
-
-import org.eclipse.draw3d.geometry.IMatrix4f;
-import org.eclipse.draw3d.geometry.Math3D;
-import org.eclipse.draw3d.geometry.Vector3f;
-import org.eclipse.draw3d.util.Draw3DCache;
 import org.lwjgl.opengl.GL11;
 
 /**
@@ -28,7 +22,7 @@ import org.lwjgl.opengl.GL11;
  */
 public class LwjglFontChar {
 
-	private char m_char;
+	private final int m_codePoint;
 
 	/**
 	 * The font height.
@@ -55,6 +49,11 @@ public class LwjglFontChar {
 	 */
 	private float m_t2;
 
+	/**
+	 * The texture that contains this character.
+	 */
+	private int m_textureId;
+
 	/**
 	 * The width of this character.
 	 */
@@ -63,96 +62,102 @@ public class LwjglFontChar {
 	/**
 	 * Creates a new character with the given width and height.
 	 * 
-	 * @param i_char the character
+	 * @param i_codePoint the code point of the character
 	 * @param i_width the width of this character
 	 * @param i_height the height of the font this character belongs to
 	 */
-	public LwjglFontChar(char i_char, int i_width, int i_height) {
+	public LwjglFontChar(int i_codePoint, int i_width, int i_height) {
 
-		m_char = i_char;
+		m_codePoint = i_codePoint;
 		m_width = i_width;
 		m_height = i_height;
 	}
 
 	/**
-	 * Returns the width of this character.
+	 * Returns the code point of this character.
 	 * 
-	 * @return the width of this character
+	 * @return the code point
 	 */
-	public int getWidth() {
+	public int getCodePoint() {
 
-		return m_width;
+		return m_codePoint;
+	}
+
+	/**
+	 * Returns the height of this character.
+	 * 
+	 * @return the height of the font this character belongs to
+	 */
+	public int getHeight() {
+
+		return m_height;
+	}
+
+	/**
+	 * Returns the S texture coordinate of the upper left corner of this
+	 * character.
+	 * 
+	 * @return the S coordinate of the upper left corner
+	 */
+	public float getS1() {
+
+		return m_s1;
+	}
+
+	/**
+	 * Returns the S texture coordinate of the lower right corner of this
+	 * character.
+	 * 
+	 * @return the S coordinate of the lower right corner
+	 */
+	public float getS2() {
+
+		return m_s2;
+	}
+
+	/**
+	 * Returns the T texture coordinate of the upper left corner of this
+	 * character.
+	 * 
+	 * @return the T coordinate of the upper left corner
+	 */
+	public float getT1() {
+
+		return m_t1;
+	}
+
+	/**
+	 * Returns the T texture coordinate of the lower right corner of this
+	 * character.
+	 * 
+	 * @return the T coordinate of the lower right corner
+	 */
+	public float getT2() {
+
+		return m_t2;
+	}
+
+	/**
+	 * Returns the ID of the texture that contains this character. The
+	 * texture is only valid as long as the glyph page of this character is
+	 * loaded.
+	 * 
+	 * @return the texture ID
+	 * @see LwjglFont#acquirePage(int)
+	 */
+	public int getTextureId() {
+
+		return m_textureId;
 	}
 
 	/**
-	 * Renders this character at the given coordinates by adding the vertices
-	 * and texture coordinates to the given buffers.
+	 * Returns the width of this character.
 	 * 
-	 * @param i_transformation the transformation to apply to the vertices - can
-	 *            be <code>null</code>
-	 * @param i_x the X coordinate
-	 * @param i_y the Y coordinate
-	 * @param i_vertexBuffer the vertex buffer
-	 * @param i_coordBuffer the texture coordinate buffer
-	 */
-	public void render(IMatrix4f i_transformation, float i_x, float i_y,
-		FloatBuffer i_vertexBuffer, FloatBuffer i_coordBuffer) {
-
-		if (i_transformation == null
-			|| IMatrix4f.IDENTITY.equals(i_transformation)) {
-			i_vertexBuffer.put(i_x);
-			i_vertexBuffer.put(i_y);
-			i_coordBuffer.put(m_s1);
-			i_coordBuffer.put(m_t1);
-
-			i_vertexBuffer.put(i_x);
-			i_vertexBuffer.put(i_y + m_height);
-			i_coordBuffer.put(m_s1);
-			i_coordBuffer.put(m_t2);
-
-			i_vertexBuffer.put(i_x + m_width);
-			i_vertexBuffer.put(i_y + m_height);
-			i_coordBuffer.put(m_s2);
-			i_coordBuffer.put(m_t2);
-
-			i_vertexBuffer.put(i_x + m_width);
-			i_vertexBuffer.put(i_y);
-			i_coordBuffer.put(m_s2);
-			i_coordBuffer.put(m_t1);
-		} else {
-			Vector3f v = Draw3DCache.getVector3f();
-			try {
-				v.set(i_x, i_y, 0);
-				Math3D.transform(v, i_transformation, v);
-				i_vertexBuffer.put(v.getX());
-				i_vertexBuffer.put(v.getY());
-				i_coordBuffer.put(m_s1);
-				i_coordBuffer.put(m_t1);
-
-				v.set(i_x, i_y + m_height, 0);
-				Math3D.transform(v, i_transformation, v);
-				i_vertexBuffer.put(v.getX());
-				i_vertexBuffer.put(v.getY());
-				i_coordBuffer.put(m_s1);
-				i_coordBuffer.put(m_t2);
-
-				v.set(i_x + m_width, i_y + m_height, 0);
-				Math3D.transform(v, i_transformation, v);
-				i_vertexBuffer.put(v.getX());
-				i_vertexBuffer.put(v.getY());
-				i_coordBuffer.put(m_s2);
-				i_coordBuffer.put(m_t2);
-
-				v.set(i_x + m_width, i_y, 0);
-				Math3D.transform(v, i_transformation, v);
-				i_vertexBuffer.put(v.getX());
-				i_vertexBuffer.put(v.getY());
-				i_coordBuffer.put(m_s2);
-				i_coordBuffer.put(m_t1);
-			} finally {
-				Draw3DCache.returnVector3f(v);
-			}
-		}
+	 * @return the width of this character
+	 */
+	public int getWidth() {
+
+		return m_width;
 	}
 
 	/**
@@ -190,6 +195,16 @@ public class LwjglFontChar {
 		m_t2 = i_t2;
 	}
 
+	/**
+	 * Sets the ID of the texture that contains this character.
+	 * 
+	 * @param i_textureId the texture ID
+	 */
+	void setTextureId(int i_textureId) {
+
+		m_textureId = i_textureId;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -198,6 +213,6 @@ public class LwjglFontChar {
 	@Override
 	public String toString() {
 
-		return Character.toString(m_char);
+		return new String(Character.toChars(m_codePoint));
 	}
 }
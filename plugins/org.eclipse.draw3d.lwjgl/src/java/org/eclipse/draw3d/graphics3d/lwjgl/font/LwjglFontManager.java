@@ -72,18 +72,15 @@ public class LwjglFontManager {
 	}
 
 	/**
-	 * Returns a GL font for the given SWT font and character range.
+	 * Returns a GL font for the given SWT font.
 	 * 
 	 * @param i_font the SWT font
-	 * @param i_startChar the start character
-	 * @param i_endChar the end character
 	 * @param i_antiAliased whether or not the font should be rendered with
 	 *            antialiasing
 	 * @return the GL font
 	 * @throws NullPointerException if the given SWT font is <code>null</code>
 	 */
-	public LwjglFont getFont(Font i_font, char i_startChar, char i_endChar,
-		boolean i_antiAliased) {
+	public LwjglFont getFont(Font i_font, boolean i_antiAliased) {
 
 		if (m_disposed)
 			throw new IllegalStateException("font manager is disposed");
@@ -91,14 +88,12 @@ public class LwjglFontManager {
 		if (i_font == null)
 			throw new NullPointerException("i_font must not be null");
 
-		GLFontKey key =
-			new GLFontKey(i_font, i_startChar, i_endChar, i_antiAliased);
+		GLFontKey key = new GLFontKey(i_font, i_antiAliased);
 
 		LwjglFont glFont = m_fonts.get(key);
 		if (glFont == null) {
 			glFont =
-				new LwjglFont(i_font, i_startChar, i_endChar, i_antiAliased,
-					m_displayListManager);
+				new LwjglFont(i_font, i_antiAliased, m_displayListManager);
 			m_fonts.put(key, glFont);
 
 			if (log.isLoggable(Level.FINE))
@@ -0,0 +1,530 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics3d.lwjgl.font;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.draw3d.graphics3d.DisplayListManager;
+import org.eclipse.draw3d.util.Draw3DCache;
+import org.eclipse.draw3d.util.GlyphPageCache;
+import org.eclipse.draw3d.util.SignedDistanceField;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * Provides the glyphs of an AWT font as signed distance fields, so that text
+ * stays sharp at any distance with a single texture per glyph page. The
+ * distance fields are computed from the glyph outlines of the font at
+ * {@value #BASE_SIZE} pixels, and since they can be scaled arbitrarily, one
+ * instance serves all sizes of a font family and style.
+ * <p>
+ * Like {@link LwjglFont}, the glyphs are organized in pages of
+ * {@value LwjglFont#PAGE_SIZE} consecutive code points that are created when
+ * one of their characters is used for the first time. The least recently used
+ * pages that are not {@link #acquirePage(int) acquired} are deleted when more
+ * than {@value #MAX_PAGES} pages are loaded (see {@link GlyphPageCache}). The
+ * textures are alpha textures
+ * with the edge of the glyphs at {@link SignedDistanceField#EDGE}, so they
+ * are rendered with an alpha test instead of blending.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class LwjglSdfFont {
+
+	/**
+	 * A glyph of a distance field font. The position and size of a glyph are
+	 * given in pixels of the base size relative to the pen position, with the
+	 * baseline at {@value LwjglSdfFont#BASE_SIZE}, which matches the glyphs of
+	 * {@link LwjglVectorFont}.
+	 */
+	public static class Glyph {
+
+		private final float m_advance;
+
+		private final int m_height;
+
+		private float m_s1, m_s2, m_t1, m_t2;
+
+		private int m_textureId;
+
+		private final int m_width;
+
+		private final int m_x;
+
+		private final int m_y;
+
+		private Glyph(float i_advance, int i_x, int i_y, int i_width,
+				int i_height) {
+
+			m_advance = i_advance;
+			m_x = i_x;
+			m_y = i_y;
+			m_width = i_width;
+			m_height = i_height;
+		}
+
+		/**
+		 * Returns the distance between the pen position of this glyph and the
+		 * pen position of the next glyph.
+		 *
+		 * @return the advance
+		 */
+		public float getAdvance() {
+
+			return m_advance;
+		}
+
+		/**
+		 * Returns the height of the quad of this glyph, which includes the
+		 * spread of the distance field.
+		 *
+		 * @return the height
+		 */
+		public int getHeight() {
+
+			return m_height;
+		}
+
+		public float getS1() {
+
+			return m_s1;
+		}
+
+		public float getS2() {
+
+			return m_s2;
+		}
+
+		public float getT1() {
+
+			return m_t1;
+		}
+
+		public float getT2() {
+
+			return m_t2;
+		}
+
+		/**
+		 * Returns the ID of the texture that contains this glyph.
+		 *
+		 * @return the texture ID
+		 */
+		public int getTextureId() {
+
+			return m_textureId;
+		}
+
+		/**
+		 * Returns the width of the quad of this glyph, which includes the
+		 * spread of the distance field. Glyphs without an outline, e.g.
+		 * spaces, have a width of 0 and are not rendered.
+		 *
+		 * @return the width
+		 */
+		public int getWidth() {
+
+			return m_width;
+		}
+
+		/**
+		 * Returns the X coordinate of the quad of this glyph relative to the
+		 * pen position.
+		 *
+		 * @return the X coordinate
+		 */
+		public int getX() {
+
+			return m_x;
+		}
+
+		/**
+		 * Returns the Y coordinate of the quad of this glyph relative to the
+		 * top of the line.
+		 *
+		 * @return the Y coordinate
+		 */
+		public int getY() {
+
+			return m_y;
+		}
+	}
+
+	private static class GlyphPage {
+
+		private final Glyph[] m_glyphs;
+
+		private final int m_page;
+
+		private final int m_textureId;
+
+		public GlyphPage(int i_page, Glyph[] i_glyphs, int i_textureId) {
+
+			m_page = i_page;
+			m_glyphs = i_glyphs;
+			m_textureId = i_textureId;
+		}
+	}
+
+	private static final Logger log =
+		Logger.getLogger(LwjglSdfFont.class.getName());
+
+	/**
+	 * The size of the font in pixels that the distance fields are computed
+	 * for.
+	 */
+	public static final int BASE_SIZE = 32;
+
+	/**
+	 * The maximum number of glyph pages that are loaded at the same time.
+	 */
+	public static final int MAX_PAGES = 16;
+
+	/**
+	 * The largest distance from the glyph outlines that is stored in the
+	 * distance fields, in pixels of the base size.
+	 */
+	public static final int SPREAD = 4;
+
+	/**
+	 * The number of mask pixels per distance field pixel in each direction.
+	 */
+	private static final int SUPERSAMPLING = 4;
+
+	private static boolean pack(Glyph[] i_glyphs, int i_size,
+		int[] o_positions) {
+
+		int x = 0;
+		int y = 0;
+		int rowHeight = 0;
+		for (int i = 0; i < i_glyphs.length; i++) {
+			Glyph glyph = i_glyphs[i];
+			if (glyph != null && glyph.m_width > 0) {
+				int w = glyph.m_width + 1;
+				if (w > i_size)
+					return false;
+
+				if (x + w > i_size) {
+					x = 0;
+					y += rowHeight;
+					rowHeight = 0;
+				}
+
+				o_positions[2 * i] = x;
+				o_positions[2 * i + 1] = y;
+				x += w;
+				rowHeight = Math.max(rowHeight, glyph.m_height + 1);
+			}
+		}
+
+		return y + rowHeight <= i_size;
+	}
+
+	private final DisplayListManager m_displayListManager;
+
+	private boolean m_disposed = false;
+
+	private final Font m_font;
+
+	/**
+	 * The loaded glyph pages, which are created and deleted by this font.
+	 */
+	private final GlyphPageCache<GlyphPage> m_pages =
+		new GlyphPageCache<GlyphPage>(LwjglFont.PAGE_BITS, MAX_PAGES) {
+
+			@Override
+			protected GlyphPage createPage(int i_page) {
+
+				return LwjglSdfFont.this.createPage(i_page);
+			}
+
+			@Override
+			protected void deletePage(GlyphPage i_page) {
+
+				LwjglSdfFont.this.deletePage(i_page);
+			}
+		};
+
+	/**
+	 * Creates a new distance field font for the family and style of the given
+	 * AWT font. The size of the given font is ignored.
+	 *
+	 * @param i_font the AWT font
+	 * @param i_displayListManager the display list manager
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 */
+	public LwjglSdfFont(Font i_font, DisplayListManager i_displayListManager) {
+
+		if (i_font == null)
+			throw new NullPointerException("i_font must not be null");
+
+		if (i_displayListManager == null)
+			throw new NullPointerException(
+				"i_displayListManager must not be null");
+
+		m_font = i_font.deriveFont((float) BASE_SIZE);
+		m_displayListManager = i_displayListManager;
+	}
+
+	/**
+	 * Acquires the glyph page that contains the given code point, which loads
+	 * the page if necessary. An acquired page is not deleted until it is
+	 * {@link #releasePage(int) released} as often as it was acquired.
+	 *
+	 * @param i_codePoint the code point
+	 * @throws IllegalStateException if this font is disposed
+	 */
+	public void acquirePage(int i_codePoint) {
+
+		if (m_disposed)
+			throw new IllegalStateException("font is disposed");
+
+		m_pages.acquire(i_codePoint);
+	}
+
+	private GlyphPage createPage(int i_page) {
+
+		int pageSize = LwjglFont.PAGE_SIZE;
+		int firstCodePoint = i_page * pageSize;
+
+		Glyph[] glyphs = new Glyph[pageSize];
+		Shape[] outlines = new Shape[pageSize];
+
+		FontRenderContext ctx = new FontRenderContext(null, true, true);
+		AffineTransform af = AffineTransform.getTranslateInstance(0, BASE_SIZE);
+
+		for (int i = 0; i < pageSize; i++) {
+			int codePoint = firstCodePoint + i;
+			if (!LwjglFont.isRenderable(codePoint))
+				continue;
+
+			String s = new String(Character.toChars(codePoint));
+			GlyphVector glyphVector = m_font.createGlyphVector(ctx, s);
+			float advance =
+				(float) glyphVector.getGlyphPosition(
+					glyphVector.getNumGlyphs()).getX();
+
+			Shape outline = af.createTransformedShape(glyphVector.getOutline());
+			Rectangle2D bounds = outline.getBounds2D();
+			if (bounds.isEmpty()) {
+				glyphs[i] = new Glyph(advance, 0, 0, 0, 0);
+			} else {
+				int x1 = (int) Math.floor(bounds.getMinX()) - SPREAD;
+				int y1 = (int) Math.floor(bounds.getMinY()) - SPREAD;
+				int x2 = (int) Math.ceil(bounds.getMaxX()) + SPREAD;
+				int y2 = (int) Math.ceil(bounds.getMaxY()) + SPREAD;
+
+				glyphs[i] = new Glyph(advance, x1, y1, x2 - x1, y2 - y1);
+				outlines[i] = outline;
+			}
+		}
+
+		// find the smallest texture that can hold all glyphs
+		int[] positions = new int[2 * pageSize];
+		int size = 64; // minimum texture size
+		while (!pack(glyphs, size, positions))
+			size *= 2;
+
+		byte[] field = new byte[size * size];
+		for (int i = 0; i < pageSize; i++) {
+			Glyph glyph = glyphs[i];
+			if (glyph != null && glyph.m_width > 0) {
+				int x = positions[2 * i];
+				int y = positions[2 * i + 1];
+				createField(outlines[i], glyph, field, y * size + x, size);
+
+				glyph.m_s1 = (float) x / size;
+				glyph.m_t1 = (float) y / size;
+				glyph.m_s2 = (float) (x + glyph.m_width) / size;
+				glyph.m_t2 = (float) (y + glyph.m_height) / size;
+			}
+		}
+
+		ByteBuffer buffer = BufferUtils.createByteBuffer(field.length);
+		buffer.put(field);
+		buffer.rewind();
+
+		int textureId = createTexture(size, buffer);
+		for (Glyph glyph : glyphs)
+			if (glyph != null)
+				glyph.m_textureId = textureId;
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("created glyph page " + i_page + " of font " + this);
+
+		return new GlyphPage(i_page, glyphs, textureId);
+	}
+
+	/**
+	 * Rasterizes the given outline into a supersampled mask and stores its
+	 * distance field in the given field.
+	 */
+	private void createField(Shape i_outline, Glyph i_glyph, byte[] o_field,
+		int i_offset, int i_stride) {
+
+		int width = i_glyph.m_width * SUPERSAMPLING;
+		int height = i_glyph.m_height * SUPERSAMPLING;
+
+		BufferedImage image =
+			new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D g = image.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_OFF);
+			g.scale(SUPERSAMPLING, SUPERSAMPLING);
+			g.translate(-i_glyph.m_x, -i_glyph.m_y);
+			g.fill(i_outline);
+		} finally {
+			g.dispose();
+		}
+
+		byte[] pixels =
+			((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+		boolean[] mask = new boolean[pixels.length];
+		for (int i = 0; i < pixels.length; i++)
+			mask[i] = pixels[i] != 0;
+
+		SignedDistanceField.create(mask, width, height, SUPERSAMPLING, SPREAD,
+			o_field, i_offset, i_stride);
+	}
+
+	private int createTexture(int i_size, ByteBuffer i_buffer) {
+
+		m_displayListManager.interruptDisplayList();
+		GL11.glPushAttrib(GL11.GL_TEXTURE_BIT);
+		try {
+			IntBuffer intBuf = Draw3DCache.getIntBuffer(1);
+			try {
+				GL11.glGenTextures(intBuf);
+				int textureId = intBuf.get(0);
+
+				GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+				GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
+					GL11.GL_TEXTURE_WRAP_S, GL11.GL_CLAMP);
+				GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
+					GL11.GL_TEXTURE_WRAP_T, GL11.GL_CLAMP);
+				GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
+					GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+				GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
+					GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+				GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_ALPHA,
+					i_size, i_size, 0, GL11.GL_ALPHA, GL11.GL_UNSIGNED_BYTE,
+					i_buffer);
+
+				return textureId;
+			} finally {
+				Draw3DCache.returnIntBuffer(intBuf);
+			}
+		} finally {
+			GL11.glPopAttrib();
+			m_displayListManager.resumeDisplayList();
+		}
+	}
+
+	private void deletePage(GlyphPage i_page) {
+
+		IntBuffer intBuf = Draw3DCache.getIntBuffer(1);
+		try {
+			intBuf.put(0, i_page.m_textureId);
+			intBuf.rewind();
+
+			GL11.glDeleteTextures(intBuf);
+		} finally {
+			Draw3DCache.returnIntBuffer(intBuf);
+		}
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("deleted glyph page " + i_page.m_page + " of font "
+				+ this);
+	}
+
+	/**
+	 * Disposes all ressources associated with this font.
+	 */
+	public void dispose() {
+
+		if (m_disposed)
+			return;
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("disposing font " + this);
+
+		m_pages.clear();
+		m_disposed = true;
+	}
+
+	/**
+	 * Returns the glyph of the given code point and loads its glyph page if
+	 * necessary. Unless the page is {@link #acquirePage(int) acquired}, the
+	 * texture of the glyph may be deleted as soon as another page is loaded.
+	 *
+	 * @param i_codePoint the code point
+	 * @return the glyph or <code>null</code> if the given code point cannot
+	 *         be rendered
+	 * @throws IllegalStateException if this font is disposed
+	 */
+	public Glyph getGlyph(int i_codePoint) {
+
+		if (m_disposed)
+			throw new IllegalStateException("font is disposed");
+
+		// don't load a page for characters that it would not contain anyway
+		if (!LwjglFont.isRenderable(i_codePoint))
+			return null;
+
+		GlyphPage page = m_pages.get(i_codePoint);
+		return page.m_glyphs[m_pages.getGlyphIndex(i_codePoint)];
+	}
+
+	/**
+	 * Releases a glyph page that was acquired by {@link #acquirePage(int)}.
+	 * Has no effect if this font is disposed.
+	 *
+	 * @param i_codePoint the code point that was passed to
+	 *            {@link #acquirePage(int)}
+	 * @throws IllegalStateException if the page is not acquired
+	 */
+	public void releasePage(int i_codePoint) {
+
+		if (m_disposed)
+			return;
+
+		m_pages.release(i_codePoint);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "LwjglSdfFont[" + m_font.getFontName() + "]";
+	}
+}
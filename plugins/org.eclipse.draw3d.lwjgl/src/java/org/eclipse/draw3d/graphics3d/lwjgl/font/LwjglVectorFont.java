@@ -17,30 +17,30 @@ import static java.awt.geom.PathIterator.SEG_MOVETO;
 import java.awt.Font;
 import java.awt.Shape;
 import java.awt.font.FontRenderContext;
-import java.awt.font.GlyphMetrics;
 import java.awt.font.GlyphVector;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.PathIterator;
-import java.nio.FloatBuffer;
-import java.nio.IntBuffer;
+import java.awt.geom.Point2D;
 import java.util.logging.Logger;
 
 import org.eclipse.draw3d.geometry.IVector2f;
 import org.eclipse.draw3d.geometry.Vector2fImpl;
-import org.eclipse.draw3d.util.Draw3DCache;
+import org.eclipse.draw3d.util.GlyphPageCache;
 import org.eclipse.swt.SWT;
-import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
-import org.lwjgl.opengl.GL15;
 import org.lwjgl.util.glu.GLU;
 import org.lwjgl.util.glu.GLUtessellator;
 import org.lwjgl.util.glu.GLUtessellatorCallbackAdapter;
 
 /**
- * VectorFont There should really be more documentation here.
+ * Provides the tesselated outlines of the glyphs of an AWT font as triangles,
+ * so that text can be rendered as geometry.
  * 
- * Here, at least OpenGL 1.5 is required due to call to 
- * {@link GL15#glGenBuffers()} and others.
+ * The glyphs are tesselated in pages of {@value LwjglFont#PAGE_SIZE}
+ * consecutive code points. A page is created when one of its characters is
+ * used for the first time, and the least recently used pages are discarded
+ * when more than {@value #MAX_PAGES} pages are loaded. This class does not
+ * require a GL context.
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -188,6 +188,26 @@ public class LwjglVectorFont {
 		}
 	}
 
+	private static class GlyphPage {
+
+		private final float[] m_advances;
+
+		private final float[][] m_triangles;
+
+		public GlyphPage(float[][] i_triangles, float[] i_advances) {
+
+			m_triangles = i_triangles;
+			m_advances = i_advances;
+		}
+	}
+
+	private static final float[] EMPTY = new float[0];
+
+	/**
+	 * The maximum number of glyph pages that are loaded at the same time.
+	 */
+	public static final int MAX_PAGES = 16;
+
 	private static int getAwtStyle(boolean i_bold, boolean i_italic) {
 
 		int awtStyle = 0;
@@ -199,99 +219,117 @@ public class LwjglVectorFont {
 		return awtStyle;
 	}
 
+	/**
+	 * Appends the triangles of the given primitive to the given array.
+	 * 
+	 * @param i_type the primitive type, one of {@link GL11#GL_TRIANGLES},
+	 *            {@link GL11#GL_TRIANGLE_STRIP} and
+	 *            {@link GL11#GL_TRIANGLE_FAN}
+	 * @param i_vertices the vertices of the primitive
+	 * @param o_triangles the array to append the triangles to
+	 * @param i_offset the index of the first float to set
+	 * @return the index behind the last float that was set
+	 */
+	private static int toTriangles(int i_type, float[] i_vertices,
+		float[] o_triangles, int i_offset) {
+
+		int count = i_vertices.length / 2;
+		int offset = i_offset;
+
+		if (i_type == GL11.GL_TRIANGLES) {
+			System.arraycopy(i_vertices, 0, o_triangles, offset, 2 * count);
+			return offset + 2 * count;
+		}
+
+		for (int i = 2; i < count; i++) {
+			int a, b;
+			if (i_type == GL11.GL_TRIANGLE_FAN) {
+				a = 0;
+				b = i - 1;
+			} else if (i % 2 == 0) {
+				a = i - 2;
+				b = i - 1;
+			} else {
+				// keep the orientation of every other strip triangle
+				a = i - 1;
+				b = i - 2;
+			}
+
+			o_triangles[offset++] = i_vertices[2 * a];
+			o_triangles[offset++] = i_vertices[2 * a + 1];
+			o_triangles[offset++] = i_vertices[2 * b];
+			o_triangles[offset++] = i_vertices[2 * b + 1];
+			o_triangles[offset++] = i_vertices[2 * i];
+			o_triangles[offset++] = i_vertices[2 * i + 1];
+		}
+
+		return offset;
+	}
+
+	private static int getTriangleVertexCount(int i_type, int i_count) {
+
+		if (i_type == GL11.GL_TRIANGLES)
+			return i_count;
+
+		return i_count < 3 ? 0 : 3 * (i_count - 2);
+	}
+
 	private boolean m_antialias;
 
 	private Font m_awtFont;
 
-	private int m_bufferId;
+	/**
+	 * The loaded glyph pages, which are discarded by the garbage collector.
+	 */
+	private final GlyphPageCache<GlyphPage> m_pages =
+		new GlyphPageCache<GlyphPage>(LwjglFont.PAGE_BITS, MAX_PAGES) {
+
+			@Override
+			protected GlyphPage createPage(int i_page) {
+
+				return LwjglVectorFont.this.createPage(i_page);
+			}
 
-	private char m_endChar;
+			@Override
+			protected void deletePage(GlyphPage i_page) {
 
-	private char m_startChar;
+				// nothing to free
+			}
+		};
 
 	public LwjglVectorFont(org.eclipse.swt.graphics.Font i_swtFont,
-			char i_startChar, char i_endChar, boolean i_antialias) {
+			boolean i_antialias) {
 
 		this(i_swtFont.getFontData()[0].getName(),
 			i_swtFont.getFontData()[0].getHeight(),
 			(i_swtFont.getFontData()[0].getStyle() & SWT.BOLD) != 0,
 			(i_swtFont.getFontData()[0].getStyle() & SWT.ITALIC) != 0,
-			i_startChar, i_endChar, i_antialias);
+			i_antialias);
 	}
 
 	public LwjglVectorFont(String i_name, int i_height, boolean i_bold,
-			boolean i_italic, char i_startChar, char i_endChar,
-			boolean i_antialias) {
+			boolean i_italic, boolean i_antialias) {
 
-		this(i_name, i_height, getAwtStyle(i_bold, i_italic), i_startChar,
-			i_endChar, i_antialias);
+		this(i_name, i_height, getAwtStyle(i_bold, i_italic), i_antialias);
 	}
 
 	public LwjglVectorFont(String i_name, int i_height, int i_awtStyle,
-			char i_startChar, char i_endChar, boolean i_antialias) {
+			boolean i_antialias) {
 
 		if (i_name == null)
 			throw new NullPointerException("i_name must not be null");
 
 		m_awtFont = new Font(i_name, i_awtStyle, i_height);
-		m_startChar = i_startChar;
-		m_endChar = i_endChar;
 		m_antialias = i_antialias;
 	}
 
-	public void dispose() {
-		IntBuffer idBuffer = Draw3DCache.getIntBuffer(1);
-		try {
-			
-			idBuffer.put(m_bufferId);
-			idBuffer.rewind();
+	private GlyphPage createPage(int i_page) {
 
-//			if (log.isLoggable(Level.INFO)) {
-//				log.info("Delete Bufffer  - id=" + m_bufferId); //$NON-NLS-1$
-//			}
-			
-			GL15.glDeleteBuffers(idBuffer);
+		int pageSize = LwjglFont.PAGE_SIZE;
+		int firstCodePoint = i_page << LwjglFont.PAGE_BITS;
 
-			m_bufferId = 0;
-		} finally {
-			Draw3DCache.returnIntBuffer(idBuffer);
-		}
-	}
-
-	/**
-	 * 
-	 * @return
-	 */
-	private int generateBufferId() {
-
-		IntBuffer idBuffer = Draw3DCache.getIntBuffer(1);
-		try {
-			idBuffer.rewind();
-			GL15.glGenBuffers(idBuffer);
-			
-			int id = idBuffer.get(0); 
-			
-//
-//
-//			if (log.isLoggable(Level.INFO)) {
-//				log.info("Generate Buffer  - id=" + id); //$NON-NLS-1$
-//			}
-			
-			return id;
-		} finally {
-			Draw3DCache.returnIntBuffer(idBuffer);
-		}
-	}
-
-	public Font getAwtFont() {
-
-		return m_awtFont;
-	}
-
-	private int m_listBaseId;
-	private int m_offsetBaseId_StartChar;
-
-	public void initialize() {
+		float[][] triangles = new float[pageSize][];
+		float[] advances = new float[pageSize];
 
 		GLUtessellator tesselator = GLU.gluNewTess();
 		try {
@@ -317,29 +355,25 @@ public class LwjglVectorFont {
 
 			tesselator.gluTessNormal(0, 0, -1);
 
-			int charCount = m_endChar - m_startChar + 1;
-			char[] chars = new char[charCount];
-			for (int i = 0; i < charCount; i++)
-				chars[i] = (char) (m_startChar + i);
-
-			float[][][] vertices = new float[charCount][][];
-			int[][] indices = new int[charCount][];
-			int[][] lengths = new int[charCount][];
-			int[][] types = new int[charCount][];
-			float[] advances = new float[charCount];
-
 			FontRenderContext ctx =
 				new FontRenderContext(null, m_antialias, true);
-			GlyphVector glyphs = m_awtFont.createGlyphVector(ctx, chars);
 
-			int totalVertexCount = 0;
 			double[] coords = new double[] { 0, 0, 0 };
 
 			AffineTransform af = new AffineTransform();
 			af.translate(0, m_awtFont.getSize());
 
-			for (int i = 0; i < charCount; i++) {
-				Shape outline = glyphs.getGlyphOutline(i);
+			for (int i = 0; i < pageSize; i++) {
+				int codePoint = firstCodePoint + i;
+				if (!LwjglFont.isRenderable(codePoint))
+					continue;
+
+				// a glyph vector per character, since a code point outside
+				// of the BMP consists of two chars
+				String s = new String(Character.toChars(codePoint));
+				GlyphVector glyphs = m_awtFont.createGlyphVector(ctx, s);
+
+				Shape outline = glyphs.getOutline();
 				PathIterator path = outline.getPathIterator(af, 0.01d);
 
 				if (!path.isDone()) {
@@ -350,7 +384,7 @@ public class LwjglVectorFont {
 						tesselator.gluTessProperty(GLU.GLU_TESS_WINDING_RULE,
 							GLU.GLU_TESS_WINDING_NONZERO);
 
-					tesselator.gluTessBeginPolygon(chars[i]);
+					tesselator.gluTessBeginPolygon(s);
 					while (!path.isDone()) {
 						int segmentType = path.currentSegment(coords);
 
@@ -375,122 +409,78 @@ public class LwjglVectorFont {
 					tesselator.gluTessEndPolygon();
 
 					int count = callback.getCount();
-					vertices[i] = new float[count][];
-					types[i] = new int[count];
-					lengths[i] = new int[count];
-					indices[i] = new int[count];
-
-					for (int j = 0; j < count; j++) {
-						vertices[i][j] = callback.getVertices(j);
-						types[i][j] = callback.getType(j);
-						indices[i][j] = totalVertexCount;
-						lengths[i][j] = vertices[i][j].length / 2;
-
-						totalVertexCount += lengths[i][j];
-					}
+					int vertexCount = 0;
+					for (int j = 0; j < count; j++)
+						vertexCount +=
+							getTriangleVertexCount(callback.getType(j),
+								callback.getVertices(j).length / 2);
+
+					triangles[i] = new float[2 * vertexCount];
+					int offset = 0;
+					for (int j = 0; j < count; j++)
+						offset =
+							toTriangles(callback.getType(j), callback
+								.getVertices(j), triangles[i], offset);
+
 					callback.reset();
 				}
 
-				GlyphMetrics metrics = glyphs.getGlyphMetrics(i);
-				advances[i] = metrics.getAdvanceX();
-
-				af.translate(-advances[i], 0);
-			}
-
-			FloatBuffer buffer =
-				BufferUtils.createFloatBuffer(2 * totalVertexCount);
-			for (int i = 0; i < vertices.length; i++)
-				if (vertices[i] != null)
-					for (int j = 0; j < vertices[i].length; j++)
-						buffer.put(vertices[i][j]);
-
-			m_bufferId = generateBufferId();
-			uploadBuffer(m_bufferId, buffer);
-
-			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, m_bufferId);
-			GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
-			try {
-				GL11.glVertexPointer(2, GL11.GL_FLOAT, 0, 0);
-				// TODO possible creates marginally more lists than need (e.g.
-				// for space char)
-				m_listBaseId = GL11.glGenLists(charCount);
-				m_offsetBaseId_StartChar = m_listBaseId - m_startChar;
-				for (int i = 0; i < charCount; i++) {
-					int listId = m_listBaseId + i;
-					GL11.glNewList(listId, GL11.GL_COMPILE);
-
-					float advance = advances[i];
-					int[] indicesPerChar = indices[i];
-					if (indicesPerChar != null) {
-						int[] typesPerChar = types[i];
-						int[] lengthsPerChar = lengths[i];
-
-						for (int j = 0; j < indicesPerChar.length; j++) {
-							int length = lengthsPerChar[j];
-							if (length > 0) {
-								int index = indicesPerChar[j];
-								int type = typesPerChar[j];
-								GL11.glDrawArrays(type, index, length);
-							}
-						}
-					}
-
-					GL11.glTranslatef(advance, 0, 0);
-					GL11.glEndList();
-				}
-			} finally {
-				GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+				Point2D end = glyphs.getGlyphPosition(glyphs.getNumGlyphs());
+				advances[i] = (float) end.getX();
 			}
 		} finally {
 			tesselator.gluDeleteTess();
 		}
+
+		return new GlyphPage(triangles, advances);
 	}
 
-	public void render(String i_string) {
+	/**
+	 * Discards all glyph pages of this font.
+	 */
+	public void dispose() {
 
-		if (i_string == null)
-			throw new NullPointerException("i_string must not be null");
+		m_pages.clear();
+	}
 
-		GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, m_bufferId);
-		GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
-		try {
-			GL11.glVertexPointer(2, GL11.GL_FLOAT, 0, 0);
-
-			IntBuffer listIdBuffer =
-				Draw3DCache.getIntBuffer(i_string.length());
-
-			try {
-				listIdBuffer.rewind();
-				final int l = i_string.length();
-				char c;
-				// final int offset = m_listBaseId - m_startChar;
-				for (int i = 0; i < l; i++) {
-					c = i_string.charAt(i);
-					// TODO: what if c cannot be rendered
-					if (c >= m_startChar && c <= m_endChar)
-						listIdBuffer.put(m_offsetBaseId_StartChar + c);
-					else
-						listIdBuffer.put(m_offsetBaseId_StartChar + '_');
-				}
+	/**
+	 * Returns the horizontal advance of the character with the given code
+	 * point.
+	 * 
+	 * @param i_codePoint the code point
+	 * @return the advance or 0 if the character cannot be rendered
+	 */
+	public float getAdvance(int i_codePoint) {
 
-				listIdBuffer.limit(listIdBuffer.position());
-				listIdBuffer.rewind();
+		if (!LwjglFont.isRenderable(i_codePoint))
+			return 0;
 
-				GL11.glPolygonMode(GL11.GL_FRONT_AND_BACK, GL11.GL_FILL);
-				GL11.glCallLists(listIdBuffer);
-			} finally {
-				Draw3DCache.returnIntBuffer(listIdBuffer);
-			}
-		} finally {
-			GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
-		}
+		GlyphPage page = m_pages.get(i_codePoint);
+		return page.m_advances[m_pages.getGlyphIndex(i_codePoint)];
 	}
 
-	private void uploadBuffer(int i_bufferId, FloatBuffer i_buffer) {
+	public Font getAwtFont() {
 
-		i_buffer.rewind();
-		GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, i_bufferId);
-		GL15.glBufferData(GL15.GL_ARRAY_BUFFER, i_buffer, GL15.GL_STREAM_READ);
+		return m_awtFont;
 	}
 
+	/**
+	 * Returns the triangles of the character with the given code point. The
+	 * vertices are given as pairs of X and Y coordinates, with the origin
+	 * being the upper left corner of the character. The returned array belongs
+	 * to this font and must not be modified.
+	 * 
+	 * @param i_codePoint the code point
+	 * @return the triangle vertices, which may be empty
+	 */
+	public float[] getTriangles(int i_codePoint) {
+
+		if (!LwjglFont.isRenderable(i_codePoint))
+			return EMPTY;
+
+		GlyphPage page = m_pages.get(i_codePoint);
+		float[] triangles = page.m_triangles[m_pages.getGlyphIndex(i_codePoint)];
+
+		return triangles != null ? triangles : EMPTY;
+	}
 }
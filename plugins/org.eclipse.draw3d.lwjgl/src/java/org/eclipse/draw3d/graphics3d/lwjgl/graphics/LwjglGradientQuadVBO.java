@@ -125,7 +125,7 @@ public class LwjglGradientQuadVBO extends LwjglVertexPrimitiveVBO {
 	protected BufferInfo getBufferInfo(BufferType i_type) {
 
 		if (i_type == BufferType.COLOR)
-			return new BufferInfo(GL11.GL_UNSIGNED_BYTE, GL15.GL_STREAM_READ,
+			return new BufferInfo(GL11.GL_UNSIGNED_BYTE, GL15.GL_STATIC_DRAW,
 				4, 0, 0);
 
 		return super.getBufferInfo(i_type);
@@ -0,0 +1,501 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics3d.lwjgl.graphics;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw3d.util.Draw3DCache;
+import org.eclipse.draw3d.util.LruCache;
+import org.eclipse.draw3d.util.ShelfPacker;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * A texture atlas that stores the images of all 2D surfaces of a scene. Every
+ * distinct image is converted and uploaded only once and all image VBOs that
+ * render it refer to its {@link Region region} of an atlas page. Images are
+ * found by their identity and source rectangle first. If an image is not known
+ * yet, it is converted and its content hash is used to find an identical
+ * image that was uploaded from a different {@link Image} instance.
+ * <p>
+ * The atlas consists of pages of {@link #PAGE_SIZE} pixels square, images
+ * that are larger than a page get a page of their own. The images are packed
+ * into the pages by a {@link ShelfPacker}. A page is acquired as long as any
+ * of its regions is in use. If a new page is needed and the atlas already
+ * contains {@link #MAX_PAGES} pages, the least recently used page that is not
+ * acquired is evicted (see {@link LruCache}).
+ * </p>
+ * <p>
+ * An atlas belongs to a GL context and all methods must be called on the UI
+ * thread with that context being current.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class LwjglImageAtlas {
+
+	private static class ImageRegions {
+
+		private final Image m_image;
+
+		private final Map<Rectangle, Region> m_regions =
+			new HashMap<Rectangle, Region>();
+
+		public ImageRegions(Image i_image) {
+
+			m_image = i_image;
+		}
+	}
+
+	private static class Page {
+
+		private final ShelfPacker m_packer;
+
+		private final int m_size;
+
+		private int m_textureId;
+
+		public Page(int i_textureId, int i_size) {
+
+			m_textureId = i_textureId;
+			m_size = i_size;
+			m_packer = new ShelfPacker(i_size);
+		}
+
+		/**
+		 * Finds a free place for the given region. The region is surrounded
+		 * by a transparent border of one pixel so that filtering does not
+		 * blend it with its neighbours.
+		 */
+		public boolean place(Region i_region, int[] o_position) {
+
+			if (!m_packer.place(i_region.m_width + 2, i_region.m_height + 2,
+				o_position))
+				return false;
+
+			i_region.m_x = o_position[0] + 1;
+			i_region.m_y = o_position[1] + 1;
+
+			return true;
+		}
+	}
+
+	/**
+	 * The part of an atlas page that contains an image.
+	 */
+	public static class Region {
+
+		private final int m_height;
+
+		private Page m_page;
+
+		private final int m_width;
+
+		private int m_x;
+
+		private int m_y;
+
+		private Region(int i_width, int i_height) {
+
+			m_width = i_width;
+			m_height = i_height;
+		}
+
+		/**
+		 * Returns the horizontal texture coordinate of the left edge of this
+		 * region.
+		 *
+		 * @return the left texture coordinate
+		 */
+		public float getS1() {
+
+			return m_x / (float) m_page.m_size;
+		}
+
+		/**
+		 * Returns the horizontal texture coordinate of the right edge of this
+		 * region.
+		 *
+		 * @return the right texture coordinate
+		 */
+		public float getS2() {
+
+			return (m_x + m_width) / (float) m_page.m_size;
+		}
+
+		/**
+		 * Returns the vertical texture coordinate of the top edge of this
+		 * region.
+		 *
+		 * @return the top texture coordinate
+		 */
+		public float getT1() {
+
+			return m_y / (float) m_page.m_size;
+		}
+
+		/**
+		 * Returns the vertical texture coordinate of the bottom edge of this
+		 * region.
+		 *
+		 * @return the bottom texture coordinate
+		 */
+		public float getT2() {
+
+			return (m_y + m_height) / (float) m_page.m_size;
+		}
+
+		/**
+		 * Returns the name of the texture of the page that contains this
+		 * region.
+		 *
+		 * @return the texture name
+		 */
+		public int getTextureId() {
+
+			return m_page.m_textureId;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+
+			return "Region[" + m_x + ", " + m_y + ", " + m_width + ", "
+				+ m_height + "]";
+		}
+	}
+
+	/**
+	 * The number of pages up to which no page is evicted. The atlas may
+	 * contain more pages if all pages are referenced.
+	 */
+	public static final int MAX_PAGES = 8;
+
+	/**
+	 * The width and height of an atlas page in pixels.
+	 */
+	public static final int PAGE_SIZE = 1024;
+
+	private final Map<Long, Region> m_contents = new HashMap<Long, Region>();
+
+	private final Map<Image, ImageRegions> m_images =
+		new HashMap<Image, ImageRegions>();
+
+	/**
+	 * The pages by their texture names.
+	 */
+	private final LruCache<Integer, Page> m_pages =
+		new LruCache<Integer, Page>(MAX_PAGES);
+
+	private final int[] m_position = new int[2];
+
+	private Page allocate(Region i_region) {
+
+		for (Page page : m_pages.values())
+			if (page.place(i_region, m_position))
+				return page;
+
+		int size = PAGE_SIZE;
+		while (size < i_region.m_width + 2 || size < i_region.m_height + 2)
+			size *= 2;
+
+		if (m_pages.isFull())
+			evict();
+
+		Page page = new Page(createTexture(size), size);
+		m_pages.put(Integer.valueOf(page.m_textureId), page);
+
+		page.place(i_region, m_position);
+		return page;
+	}
+
+	private int createTexture(int i_size) {
+
+		IntBuffer idBuffer = Draw3DCache.getIntBuffer(1);
+		GL11.glPushAttrib(GL11.GL_TEXTURE_BIT);
+		try {
+			idBuffer.rewind();
+			GL11.glGenTextures(idBuffer);
+
+			int id = idBuffer.get(0);
+
+			// a new buffer is filled with zeros, which makes the unused parts
+			// of the page transparent
+			ByteBuffer pixels =
+				BufferUtils.createByteBuffer(i_size * i_size * 4);
+
+			GL11.glBindTexture(GL11.GL_TEXTURE_2D, id);
+			GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, i_size,
+				i_size, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, pixels);
+
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D,
+				GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S,
+				GL11.GL_CLAMP);
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T,
+				GL11.GL_CLAMP);
+
+			return id;
+		} finally {
+			GL11.glPopAttrib();
+			Draw3DCache.returnIntBuffer(idBuffer);
+		}
+	}
+
+	private void deleteTexture(Page i_page) {
+
+		IntBuffer idBuffer = Draw3DCache.getIntBuffer(1);
+		try {
+			idBuffer.put(0, i_page.m_textureId);
+			idBuffer.rewind();
+			GL11.glDeleteTextures(idBuffer);
+
+			i_page.m_textureId = 0;
+		} finally {
+			Draw3DCache.returnIntBuffer(idBuffer);
+		}
+	}
+
+	/**
+	 * Deletes all pages of this atlas.
+	 */
+	public void dispose() {
+
+		for (Page page : m_pages.values())
+			deleteTexture(page);
+
+		m_pages.clear();
+		m_images.clear();
+		m_contents.clear();
+	}
+
+	/**
+	 * Evicts the least recently used page that is not acquired, if any.
+	 */
+	private void evict() {
+
+		Page lru = m_pages.evict();
+		if (lru == null)
+			return;
+
+		deleteTexture(lru);
+
+		Iterator<Region> contents = m_contents.values().iterator();
+		while (contents.hasNext())
+			if (contents.next().m_page == lru)
+				contents.remove();
+
+		// also forget the images that were disposed in the meantime
+		Iterator<ImageRegions> images = m_images.values().iterator();
+		while (images.hasNext()) {
+			ImageRegions regions = images.next();
+			if (regions.m_image.isDisposed()) {
+				images.remove();
+			} else {
+				Iterator<Region> it = regions.m_regions.values().iterator();
+				while (it.hasNext())
+					if (it.next().m_page == lru)
+						it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns the region that contains the given part of the given image and
+	 * references its page. If the image is not in the atlas yet, it is
+	 * uploaded. Every region returned by this method must be
+	 * {@link #release(Region) released} when it is not used anymore.
+	 *
+	 * @param i_image the image
+	 * @param i_source the part of the image
+	 * @return the region that contains the given part of the image
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 */
+	public Region getRegion(Image i_image, Rectangle i_source) {
+
+		if (i_image == null)
+			throw new NullPointerException("i_image must not be null");
+
+		if (i_source == null)
+			throw new NullPointerException("i_source must not be null");
+
+		// SWT images are equal if their handles are equal, so an entry may
+		// belong to a disposed image whose handle was reused
+		ImageRegions regions = m_images.get(i_image);
+		if (regions != null && regions.m_image != i_image) {
+			m_images.remove(i_image);
+			regions = null;
+		}
+
+		if (regions == null) {
+			regions = new ImageRegions(i_image);
+			m_images.put(i_image, regions);
+		}
+
+		Region region = regions.m_regions.get(i_source);
+		if (region == null) {
+			region = lookup(i_image, i_source);
+			regions.m_regions.put(i_source.getCopy(), region);
+		}
+
+		m_pages.acquire(Integer.valueOf(region.getTextureId()));
+		return region;
+	}
+
+	private Region lookup(Image i_image, Rectangle i_source) {
+
+		int w = i_source.width;
+		int h = i_source.height;
+
+		ByteBuffer pixels = Draw3DCache.getByteBuffer(w * h * 4);
+		try {
+			toRGBA(i_image.getImageData(), i_source, pixels);
+
+			// FNV-1a
+			long hash = 0xcbf29ce484222325L;
+			hash = (hash ^ w) * 0x100000001b3L;
+			hash = (hash ^ h) * 0x100000001b3L;
+			for (int i = 0; i < w * h * 4; i++)
+				hash = (hash ^ (pixels.get(i) & 0xFF)) * 0x100000001b3L;
+
+			Region region = m_contents.get(hash);
+			if (region != null && region.m_width == w && region.m_height == h)
+				return region;
+
+			region = new Region(w, h);
+			region.m_page = allocate(region);
+
+			GL11.glPushAttrib(GL11.GL_TEXTURE_BIT);
+			try {
+				pixels.rewind();
+				GL11.glBindTexture(GL11.GL_TEXTURE_2D, region.getTextureId());
+				GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, region.m_x,
+					region.m_y, w, h, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE,
+					pixels);
+			} finally {
+				GL11.glPopAttrib();
+			}
+
+			m_contents.put(hash, region);
+			return region;
+		} finally {
+			Draw3DCache.returnByteBuffer(pixels);
+		}
+	}
+
+	/**
+	 * Releases the given region, which was returned by
+	 * {@link #getRegion(Image, Rectangle)}. The region stays in the atlas, but
+	 * its page may be evicted if none of its regions is in use anymore.
+	 *
+	 * @param i_region the region to release
+	 * @throws NullPointerException if the given region is <code>null</code>
+	 */
+	public void release(Region i_region) {
+
+		if (i_region == null)
+			throw new NullPointerException("i_region must not be null");
+
+		// the pages are forgotten when the atlas is disposed
+		Integer key = Integer.valueOf(i_region.getTextureId());
+		if (m_pages.getReferences(key) > 0)
+			m_pages.release(key);
+	}
+
+	private void toRGBA(ImageData i_data, Rectangle i_source,
+		ByteBuffer o_pixels) {
+
+		PaletteData palette = i_data.palette;
+		ImageData mask = null;
+		if (i_data.getTransparencyType() == SWT.TRANSPARENCY_MASK)
+			mask = i_data.getTransparencyMask();
+
+		int w = i_source.width;
+		int[] row = new int[w];
+		int[] maskRow = mask != null ? new int[w] : null;
+		byte[] alphaRow = i_data.alphaData != null ? new byte[w] : null;
+
+		int index = 0;
+		for (int y = i_source.y; y < i_source.y + i_source.height; y++) {
+			i_data.getPixels(i_source.x, y, w, row, 0);
+			if (maskRow != null)
+				mask.getPixels(i_source.x, y, w, maskRow, 0);
+			if (alphaRow != null)
+				i_data.getAlphas(i_source.x, y, w, alphaRow, 0);
+
+			for (int x = 0; x < w; x++) {
+				int pixel = row[x];
+				int r, g, b;
+				if (palette.isDirect) {
+					r = shift(pixel & palette.redMask, palette.redShift);
+					g = shift(pixel & palette.greenMask, palette.greenShift);
+					b = shift(pixel & palette.blueMask, palette.blueShift);
+				} else {
+					RGB rgb = palette.colors[pixel];
+					r = rgb.red;
+					g = rgb.green;
+					b = rgb.blue;
+				}
+
+				int a;
+				if (pixel == i_data.transparentPixel)
+					a = 0;
+				else if (maskRow != null)
+					a = maskRow[x] == 0 ? 0 : 255;
+				else if (alphaRow != null)
+					a = alphaRow[x] & 0xFF;
+				else if (i_data.alpha != -1)
+					a = i_data.alpha;
+				else
+					a = 255;
+
+				o_pixels.put(index++, (byte) r);
+				o_pixels.put(index++, (byte) g);
+				o_pixels.put(index++, (byte) b);
+				o_pixels.put(index++, (byte) a);
+			}
+		}
+	}
+
+	private static int shift(int i_value, int i_shift) {
+
+		return i_shift < 0 ? i_value >>> -i_shift : i_value << i_shift;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "LwjglImageAtlas[pages: " + m_pages.size() + ", images: "
+			+ m_contents.size() + "]";
+	}
+}
@@ -189,7 +189,7 @@ public class LwjglPolygonVBO extends LwjglVBO {
 	protected BufferInfo getBufferInfo(BufferType i_type) {
 
 		if (i_type == BufferType.VERTEX)
-			return new BufferInfo(GL11.GL_FLOAT, GL15.GL_STREAM_READ, 2, 0, 0);
+			return new BufferInfo(GL11.GL_FLOAT, GL15.GL_STATIC_DRAW, 2, 0, 0);
 
 		return null;
 	}
@@ -13,67 +13,209 @@ package org.eclipse.draw3d.graphics3d.lwjgl.graphics;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
-
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw3d.geometry.IMatrix3f;
+import org.eclipse.draw3d.geometry.IPosition3D;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Math3D;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
 import org.eclipse.draw3d.graphics.optimizer.PrimitiveSet;
 import org.eclipse.draw3d.graphics.optimizer.classification.PrimitiveClass;
-import org.eclipse.draw3d.graphics.optimizer.primitive.Primitive;
 import org.eclipse.draw3d.graphics.optimizer.primitive.TextPrimitive;
 import org.eclipse.draw3d.graphics.optimizer.primitive.TextRenderRule;
 import org.eclipse.draw3d.graphics3d.Graphics3D;
 import org.eclipse.draw3d.graphics3d.ILodHelper;
+import org.eclipse.draw3d.graphics3d.TextLod;
 import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglFont;
-import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglFontManager;
+import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglFontChar;
+import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglSdfFont;
+import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglSdfFont.Glyph;
+import org.eclipse.draw3d.graphics3d.lwjgl.font.LwjglVectorFont;
 import org.eclipse.draw3d.util.ColorConverter;
-import org.eclipse.swt.graphics.Color;
-import org.eclipse.swt.graphics.Font;
+import org.eclipse.draw3d.util.Draw3DCache;
+import org.eclipse.draw3d.util.SignedDistanceField;
+import org.eclipse.draw3d.util.TextureRuns;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL15;
 
 /**
- * Vertex buffer object that renders text primitives.
- * 
+ * Vertex buffer object that renders all text primitives of a primitive set,
+ * i.e. all text of a surface that uses the same font. The vertices are
+ * transformed into surface space and carry the text colors. The text is
+ * rendered in one of two modes:
+ * <p>
+ * With a vector font and a texture font, a simple level of detail (LOD)
+ * technique is used. The text is stored twice in the buffer: as textured quads
+ * of the texture font and as triangles of the vector font. Depending on the
+ * (normalized) distance of the camera to the closest text (see
+ * {@link TextLod}), all text is
+ * <ul>
+ * <li>rendered with the vector font (distance <
+ * {@link TextLod#VECTOR_DISTANCE}) with a single draw call,</li>
+ * <li>rendered with the texture font (distance <
+ * {@link TextLod#TEXTURE_DISTANCE}) with a draw call per glyph page (see
+ * {@link TextureRuns}), or
+ * <li>isn't rendered at all.
+ * </ul>
+ * </p>
+ * <p>
+ * With a {@link LwjglSdfFont distance field font}, the text is stored once as
+ * textured quads and rendered with an alpha test at any distance, which
+ * requires a draw call per glyph page. The alpha of the text color is ignored
+ * in this mode.
+ * </p>
+ * <p>
+ * The vertex data is created by the constructor, which must be called with
+ * the GL context being current since the glyph pages of the fonts may have to
+ * be loaded. The glyph pages that are used by this VBO are acquired until this
+ * VBO is disposed.
+ * </p>
+ *
  * @author Kristian Duske
  * @version $Revision$
  * @since 05.01.2010
  */
 public class LwjglTextVBO extends LwjglVBO {
 
-	private boolean m_buffersInitialized = false;
+	private int[] m_acquiredCodePoints;
 
-	private float[] m_color;
+	private int m_acquiredCount;
 
 	private ByteBuffer m_colorBuffer;
 
-	private LwjglFont m_glFont;
+	/**
+	 * Selects the LOD from the absolute positions and sizes of the texts, or
+	 * <code>null</code> if a distance field font is used.
+	 */
+	private final TextLod m_lod;
+
+	/**
+	 * The quads of the texture font or the distance field font, stored in one
+	 * run per glyph page texture.
+	 */
+	private final TextureRuns m_runs = new TextureRuns();
+
+	private float[] m_scratch = new float[64];
 
-	private PrimitiveSet m_primitives;
+	private final LwjglSdfFont m_sdfFont;
 
 	private FloatBuffer m_texCoordBuffer;
 
+	private final LwjglFont m_textureFont;
+
+	private int m_textureVertexCount;
+
+	private final LwjglVectorFont m_vectorFont;
+
 	private FloatBuffer m_vertexBuffer;
 
 	private int m_vertexCount;
 
 	/**
-	 * Creates a new VBO that renders the given text primitives.
-	 * 
+	 * Creates a new VBO that renders the given text primitives with the given
+	 * distance field font.
+	 *
+	 * @param i_primitives the primitives to render
+	 * @param i_sdfFont the distance field font to use
+	 * @param i_size the size of the font in pixels, i.e. the size of the font
+	 *            that {@link LwjglVectorFont} would use
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 * @throws IllegalArgumentException if the given primitive set is empty or
+	 *             does not contain text primitives
+	 */
+	public LwjglTextVBO(PrimitiveSet i_primitives, LwjglSdfFont i_sdfFont,
+			float i_size) {
+
+		checkPrimitives(i_primitives);
+
+		if (i_sdfFont == null)
+			throw new NullPointerException("i_sdfFont must not be null");
+
+		m_sdfFont = i_sdfFont;
+		m_vectorFont = null;
+		m_textureFont = null;
+		m_lod = null;
+
+		List<TextPrimitive> primitives = i_primitives.getPrimitives();
+		createSdfBuffers(primitives, i_size / LwjglSdfFont.BASE_SIZE);
+	}
+
+	/**
+	 * Creates a new VBO that renders the given text primitives with the given
+	 * vector and texture fonts.
+	 *
 	 * @param i_primitives the primitives to render
-	 * @param i_fontManager the font manager to use
+	 * @param i_vectorFont the vector font to use
+	 * @param i_textureFont the texture font to use
+	 * @param i_position the position of the surface that contains the text
 	 * @throws NullPointerException if any of the given arguments is
 	 *             <code>null</code>
 	 * @throws IllegalArgumentException if the given primitive set is empty or
 	 *             does not contain text primitives
 	 */
 	public LwjglTextVBO(PrimitiveSet i_primitives,
-			LwjglFontManager i_fontManager) {
+			LwjglVectorFont i_vectorFont, LwjglFont i_textureFont,
+			IPosition3D i_position) {
+
+		checkPrimitives(i_primitives);
+
+		if (i_vectorFont == null)
+			throw new NullPointerException("i_vectorFont must not be null");
+
+		if (i_textureFont == null)
+			throw new NullPointerException("i_textureFont must not be null");
+
+		if (i_position == null)
+			throw new NullPointerException("i_position must not be null");
+
+		m_sdfFont = null;
+		m_vectorFont = i_vectorFont;
+		m_textureFont = i_textureFont;
+
+		List<TextPrimitive> primitives = i_primitives.getPrimitives();
+
+		Vector3f normal = new Vector3fImpl(IVector3f.Z_AXIS_NEG);
+		Math3D.transform(normal, i_position.getAbsoluteRotationMatrix(),
+			normal);
+		m_lod = new TextLod(primitives.size(), normal);
+
+		createBuffers(primitives, i_position);
+	}
+
+	private void acquirePage(int i_codePoint) {
+
+		int page = i_codePoint / LwjglFont.PAGE_SIZE;
+		for (int i = 0; i < m_acquiredCount; i++)
+			if (m_acquiredCodePoints[i] / LwjglFont.PAGE_SIZE == page)
+				return;
+
+		if (m_acquiredCodePoints == null) {
+			m_acquiredCodePoints = new int[4];
+		} else if (m_acquiredCount == m_acquiredCodePoints.length) {
+			int[] temp = m_acquiredCodePoints;
+			m_acquiredCodePoints = new int[2 * temp.length];
+			System.arraycopy(temp, 0, m_acquiredCodePoints, 0, temp.length);
+		}
+
+		if (m_sdfFont != null)
+			m_sdfFont.acquirePage(i_codePoint);
+		else
+			m_textureFont.acquirePage(i_codePoint);
+
+		m_acquiredCodePoints[m_acquiredCount++] = i_codePoint;
+	}
+
+	private static void checkPrimitives(PrimitiveSet i_primitives) {
 
 		if (i_primitives == null)
 			throw new NullPointerException("i_primitives must not be null");
 
-		if (i_fontManager == null)
-			throw new NullPointerException("i_fontManager must not be null");
-
 		if (i_primitives.getSize() == 0)
 			throw new IllegalArgumentException(i_primitives + " is empty");
 
@@ -81,87 +223,272 @@ public class LwjglTextVBO extends LwjglVBO {
 		if (!primitiveClass.isText())
 			throw new IllegalArgumentException(i_primitives
 				+ " does not contain text primitives");
+	}
 
-		m_primitives = i_primitives;
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#cleanup(Graphics3D,
+	 *      org.eclipse.draw3d.graphics3d.ILodHelper)
+	 */
+	@Override
+	protected void cleanup(Graphics3D i_g3d, ILodHelper i_lodContext) {
 
-		PrimitiveClass clazz = m_primitives.getPrimitiveClass();
-		TextRenderRule renderRule = clazz.getRenderRule().asText();
+		GL11.glPopAttrib();
+	}
 
-		Font font = renderRule.getFont();
-		boolean fontAntialias = renderRule.isFontAntialias();
+	/**
+	 * Creates the vertex, texture coordinate and color buffers. The first
+	 * pass counts the texture font quads per texture and the vector font
+	 * vertices, the second pass puts the vertices into the buffers so that the
+	 * quads that use the same texture are stored in one run.
+	 */
+	private void createBuffers(List<TextPrimitive> i_primitives,
+		IPosition3D i_position) {
+
+		int vectorVertexCount = 0;
+		for (TextPrimitive primitive : i_primitives) {
+			String text = primitive.getText();
+			int i = 0;
+			while (i < text.length()) {
+				int c = text.codePointAt(i);
+				i += Character.charCount(c);
+
+				LwjglFontChar fontChar = m_textureFont.getChar(c);
+				if (fontChar != null) {
+					acquirePage(c);
+					m_runs.count(fontChar.getTextureId());
+				}
+
+				vectorVertexCount += m_vectorFont.getTriangles(c).length / 2;
+			}
+		}
 
-		m_glFont =
-			i_fontManager.getFont(font, (char) 32, (char) 127, fontAntialias);
+		allocateBuffers(vectorVertexCount);
+		int nextVector = m_textureVertexCount;
+
+		byte[] color = new byte[4];
+		Vector3f v = Draw3DCache.getVector3f();
+		try {
+			for (TextPrimitive primitive : i_primitives) {
+				TextRenderRule textRule = primitive.getRenderRule().asText();
+				ColorConverter.toByteArray(textRule.getTextColor(), textRule
+					.getAlpha(), color);
+
+				IMatrix3f t = getTransformation(primitive);
+				Point p = primitive.getPosition();
+				String text = primitive.getText();
+
+				float x = 0;
+				int i = 0;
+				while (i < text.length()) {
+					int c = text.codePointAt(i);
+					i += Character.charCount(c);
+
+					LwjglFontChar fontChar = m_textureFont.getChar(c);
+					if (fontChar != null) {
+						int first = m_runs.next(fontChar.getTextureId());
+						float x1 = p.x + x;
+						float x2 = x1 + fontChar.getWidth();
+						float y2 = p.y + fontChar.getHeight();
+
+						putQuad(x1, p.y, x2, y2, fontChar.getS1(), fontChar
+							.getT1(), fontChar.getS2(), fontChar.getT2(), t,
+							color, first);
+						x += fontChar.getWidth();
+					}
+				}
+
+				x = 0;
+				i = 0;
+				while (i < text.length()) {
+					int c = text.codePointAt(i);
+					i += Character.charCount(c);
+
+					float[] triangles = m_vectorFont.getTriangles(c);
+					putTriangles(triangles, p.x + x, p.y, t, color, nextVector);
+					nextVector += triangles.length / 2;
+					x += m_vectorFont.getAdvance(c);
+				}
+
+				// the text origin is used to determine the LOD
+				float[] origin = m_scratch;
+				origin[0] = p.x;
+				origin[1] = p.y;
+				if (t != null)
+					Math3D.transformPoints(origin, 0, 1, t, origin, 0);
+
+				v.set(origin[0], origin[1], 0);
+				Math3D.transform(v, i_position.getTransformationMatrix(), v);
+
+				Dimension extent = primitive.getExtent();
+				m_lod.add(v, extent.width, extent.height);
+			}
+		} finally {
+			Draw3DCache.returnVector3f(v);
+		}
 
-		boolean first = true;
-		Color constColor = null;
-		int constAlpha = -1;
+		m_scratch = null;
+	}
 
-		m_vertexCount = 0;
-		for (Primitive primitive : m_primitives.getPrimitives()) {
-			TextPrimitive textPrimitive = (TextPrimitive) primitive;
-			TextRenderRule textRenderRule =
-				textPrimitive.getRenderRule().asText();
+	/**
+	 * Lays out the runs and creates the buffers after all quads were counted.
+	 *
+	 * @param i_vectorVertexCount the number of vector font vertices that
+	 *            follow the quads
+	 */
+	private void allocateBuffers(int i_vectorVertexCount) {
+
+		m_textureVertexCount = m_runs.layout(0);
 
-			String text = textPrimitive.getText();
-			Color color = textRenderRule.getTextColor();
-			int alpha = textRenderRule.getAlpha();
+		m_vertexCount = m_textureVertexCount + i_vectorVertexCount;
+		m_vertexBuffer = BufferUtils.createFloatBuffer(2 * m_vertexCount);
+		m_texCoordBuffer = BufferUtils.createFloatBuffer(2 * m_vertexCount);
+		m_colorBuffer = BufferUtils.createByteBuffer(4 * m_vertexCount);
+	}
 
-			if (first) {
-				constColor = color;
-				constAlpha = alpha;
-				first = false;
-			} else if (constColor != null
-				&& (!constColor.equals(color) || constAlpha != alpha)) {
-				constColor = null;
-				constAlpha = -1;
+	/**
+	 * Creates the buffers for a distance field font, which consist of quads
+	 * only.
+	 *
+	 * @param i_primitives the primitives
+	 * @param i_scale the ratio of the font size and the base size of the
+	 *            distance field font
+	 */
+	private void createSdfBuffers(List<TextPrimitive> i_primitives,
+		float i_scale) {
+
+		for (TextPrimitive primitive : i_primitives) {
+			String text = primitive.getText();
+			int i = 0;
+			while (i < text.length()) {
+				int c = text.codePointAt(i);
+				i += Character.charCount(c);
+
+				Glyph glyph = m_sdfFont.getGlyph(c);
+				if (glyph != null) {
+					acquirePage(c);
+					if (glyph.getWidth() > 0)
+						m_runs.count(glyph.getTextureId());
+				}
 			}
+		}
 
-			m_vertexCount += 4 * m_glFont.getLength(text);
+		allocateBuffers(0);
+
+		byte[] color = new byte[4];
+		for (TextPrimitive primitive : i_primitives) {
+			TextRenderRule textRule = primitive.getRenderRule().asText();
+			ColorConverter.toByteArray(textRule.getTextColor(), textRule
+				.getAlpha(), color);
+
+			IMatrix3f t = getTransformation(primitive);
+			Point p = primitive.getPosition();
+			String text = primitive.getText();
+
+			float x = p.x;
+			int i = 0;
+			while (i < text.length()) {
+				int c = text.codePointAt(i);
+				i += Character.charCount(c);
+
+				Glyph glyph = m_sdfFont.getGlyph(c);
+				if (glyph != null) {
+					if (glyph.getWidth() > 0) {
+						int first = m_runs.next(glyph.getTextureId());
+						float x1 = x + i_scale * glyph.getX();
+						float y1 = p.y + i_scale * glyph.getY();
+						float x2 = x1 + i_scale * glyph.getWidth();
+						float y2 = y1 + i_scale * glyph.getHeight();
+
+						putQuad(x1, y1, x2, y2, glyph.getS1(), glyph.getT1(),
+							glyph.getS2(), glyph.getT2(), t, color, first);
+					}
+
+					x += i_scale * glyph.getAdvance();
+				}
+			}
 		}
 
-		if (constColor != null)
-			m_color = ColorConverter.toFloatArray(constColor, constAlpha, null);
+		m_scratch = null;
 	}
 
 	/**
-	 * {@inheritDoc}
-	 * 
-	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#cleanup(Graphics3D,
-	 *      org.eclipse.draw3d.graphics3d.ILodHelper)
+	 * {@inheritDoc} The acquired glyph pages are released.
+	 *
+	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#dispose()
 	 */
 	@Override
-	protected void cleanup(Graphics3D i_g3d, ILodHelper i_lodContext) {
+	public void dispose() {
 
-		GL11.glPopAttrib();
+		super.dispose();
+
+		for (int i = 0; i < m_acquiredCount; i++) {
+			if (m_sdfFont != null)
+				m_sdfFont.releasePage(m_acquiredCodePoints[i]);
+			else
+				m_textureFont.releasePage(m_acquiredCodePoints[i]);
+		}
+
+		m_acquiredCount = 0;
 	}
 
 	/**
 	 * {@inheritDoc}
-	 * 
+	 *
 	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#doRender(Graphics3D,
 	 *      ILodHelper)
 	 */
 	@Override
 	protected void doRender(Graphics3D i_g3d, ILodHelper i_lodContext) {
 
-		if (m_color != null)
-			i_g3d.glColor4f(m_color);
-
 		GL11.glPolygonMode(GL11.GL_FRONT_AND_BACK, GL11.GL_FILL);
-		GL11.glDrawArrays(GL11.GL_QUADS, 0, m_vertexCount);
+		if (m_sdfFont != null) {
+			// the distance field is an alpha texture, so the fragments get
+			// the vertex color and the distance as alpha, which is tested
+			// against the edge
+			GL11.glEnable(GL11.GL_TEXTURE_2D);
+			GL11.glTexEnvi(GL11.GL_TEXTURE_ENV, GL11.GL_TEXTURE_ENV_MODE,
+				GL11.GL_REPLACE);
+
+			GL11.glDisable(GL11.GL_BLEND);
+			GL11.glEnable(GL11.GL_ALPHA_TEST);
+			GL11.glAlphaFunc(GL11.GL_GEQUAL, (SignedDistanceField.EDGE - 0.5f)
+				/ 255f);
+
+			renderRuns();
+			return;
+		}
+
+		TextLod.Level level = m_lod.getLevel(i_lodContext);
+		if (level == TextLod.Level.NONE)
+			return;
+
+		if (level == TextLod.Level.VECTOR) {
+			GL11.glDisable(GL11.GL_TEXTURE_2D);
+			if (m_vertexCount > m_textureVertexCount)
+				GL11.glDrawArrays(GL11.GL_TRIANGLES, m_textureVertexCount,
+					m_vertexCount - m_textureVertexCount);
+		} else {
+			GL11.glEnable(GL11.GL_TEXTURE_2D);
+			GL11.glTexEnvi(GL11.GL_TEXTURE_ENV, GL11.GL_TEXTURE_ENV_MODE,
+				GL11.GL_BLEND);
+
+			GL11.glEnable(GL11.GL_BLEND);
+			GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+
+			renderRuns();
+		}
 	}
 
 	/**
 	 * {@inheritDoc}
-	 * 
+	 *
 	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#getBuffer(org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO.BufferType)
 	 */
 	@Override
 	protected Buffer getBuffer(BufferType i_type) {
 
-		initBuffers();
-
 		switch (i_type) {
 		case VERTEX:
 			return m_vertexBuffer;
@@ -176,7 +503,7 @@ public class LwjglTextVBO extends LwjglVBO {
 
 	/**
 	 * {@inheritDoc}
-	 * 
+	 *
 	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#getBufferInfo(org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO.BufferType)
 	 */
 	@Override
@@ -184,81 +511,144 @@ public class LwjglTextVBO extends LwjglVBO {
 
 		switch (i_type) {
 		case VERTEX:
-			return new BufferInfo(GL11.GL_FLOAT, GL15.GL_STREAM_READ, 2, 0, 0);
+			return new BufferInfo(GL11.GL_FLOAT, GL15.GL_STATIC_DRAW, 2, 0, 0);
 		case COLOR:
-			return new BufferInfo(GL11.GL_BYTE, GL15.GL_STREAM_READ, 4, 0, 0);
+			return new BufferInfo(GL11.GL_UNSIGNED_BYTE, GL15.GL_STATIC_DRAW,
+				4, 0, 0);
 		case TEXTURE_COORDINATES:
-			return new BufferInfo(GL11.GL_FLOAT, GL15.GL_STREAM_READ, 2, 0, 0);
+			return new BufferInfo(GL11.GL_FLOAT, GL15.GL_STATIC_DRAW, 2, 0, 0);
 		}
 
 		return null;
 	}
 
+	private static IMatrix3f getTransformation(TextPrimitive i_primitive) {
+
+		IMatrix3f t = i_primitive.getTransformation();
+		if (t != null && IMatrix3f.IDENTITY.equals(t))
+			return null;
+
+		return t;
+	}
+
 	/**
 	 * {@inheritDoc}
-	 * 
+	 *
 	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#hasBuffer(org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO.BufferType)
 	 */
 	@Override
 	protected boolean hasBuffer(BufferType i_type) {
 
-		switch (i_type) {
-		case VERTEX:
-		case TEXTURE_COORDINATES:
-			return true;
-		case COLOR:
-			return m_color == null;
-		}
+		return true;
+	}
+
+	/**
+	 * Indicates whether this VBO contains no vertices, e.g. because its texts
+	 * consist of control characters only. An empty VBO must not be rendered.
+	 *
+	 * @return <code>true</code> if this VBO is empty
+	 */
+	public boolean isEmpty() {
 
-		return false;
+		return m_vertexCount == 0;
 	}
 
-	private void initBuffers() {
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#prepare(Graphics3D,
+	 *      ILodHelper)
+	 */
+	@Override
+	protected void prepare(Graphics3D i_g3d, ILodHelper i_lodContext) {
 
-		if (m_buffersInitialized)
-			return;
+		GL11.glPushAttrib(GL11.GL_TEXTURE_BIT | GL11.GL_COLOR_BUFFER_BIT);
+	}
 
-		m_vertexBuffer = BufferUtils.createFloatBuffer(2 * m_vertexCount);
-		m_texCoordBuffer = BufferUtils.createFloatBuffer(2 * m_vertexCount);
+	private void putColors(byte[] i_color, int i_first, int i_count) {
 
-		if (m_color == null)
-			m_colorBuffer = BufferUtils.createByteBuffer(4 * m_vertexCount);
+		for (int i = 0; i < i_count; i++)
+			for (int j = 0; j < 4; j++)
+				m_colorBuffer.put(4 * (i_first + i) + j, i_color[j]);
+	}
 
-		byte[] c = new byte[4];
-		for (Primitive primitive : m_primitives.getPrimitives()) {
-			TextPrimitive textPrimitive = (TextPrimitive) primitive;
-			
-			if (m_color == null) {
-				TextRenderRule textRenderRule =
-					textPrimitive.getRenderRule().asText();
+	private void putQuad(float i_x1, float i_y1, float i_x2, float i_y2,
+		float i_s1, float i_t1, float i_s2, float i_t2,
+		IMatrix3f i_transformation, byte[] i_color, int i_first) {
+
+		float[] q = m_scratch;
+		q[0] = i_x1;
+		q[1] = i_y1;
+		q[2] = i_x1;
+		q[3] = i_y2;
+		q[4] = i_x2;
+		q[5] = i_y2;
+		q[6] = i_x2;
+		q[7] = i_y1;
+
+		putVertices(q, 4, i_transformation, i_first);
+
+		int index = 2 * i_first;
+		m_texCoordBuffer.put(index++, i_s1);
+		m_texCoordBuffer.put(index++, i_t1);
+		m_texCoordBuffer.put(index++, i_s1);
+		m_texCoordBuffer.put(index++, i_t2);
+		m_texCoordBuffer.put(index++, i_s2);
+		m_texCoordBuffer.put(index++, i_t2);
+		m_texCoordBuffer.put(index++, i_s2);
+		m_texCoordBuffer.put(index++, i_t1);
+
+		putColors(i_color, i_first, 4);
+	}
 
-				Color color = textRenderRule.getTextColor();
-				int alpha = textRenderRule.getAlpha();
+	private void putTriangles(float[] i_triangles, float i_x, float i_y,
+		IMatrix3f i_transformation, byte[] i_color, int i_first) {
 
-				m_colorBuffer.put(ColorConverter.toByteArray(color, alpha, c));
-			}
+		int count = i_triangles.length / 2;
+		if (count == 0)
+			return;
+
+		if (m_scratch.length < i_triangles.length)
+			m_scratch =
+				new float[Math.max(i_triangles.length, 2 * m_scratch.length)];
+
+		float[] t = m_scratch;
+		for (int i = 0; i < count; i++) {
+			t[2 * i] = i_triangles[2 * i] + i_x;
+			t[2 * i + 1] = i_triangles[2 * i + 1] + i_y;
 		}
 
-		m_buffersInitialized = true;
+		// the texture coordinates remain 0 since texturing is disabled
+		putVertices(t, count, i_transformation, i_first);
+		putColors(i_color, i_first, count);
+	}
+
+	private void putVertices(float[] i_vertices, int i_count,
+		IMatrix3f i_transformation, int i_first) {
+
+		if (i_transformation != null)
+			Math3D.transformPoints(i_vertices, 0, i_count, i_transformation,
+				m_vertexBuffer, 2 * i_first);
+		else
+			for (int i = 0; i < 2 * i_count; i++)
+				m_vertexBuffer.put(2 * i_first + i, i_vertices[i]);
 	}
 
 	/**
-	 * {@inheritDoc}
-	 * 
-	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#prepare(Graphics3D,
-	 *      ILodHelper)
+	 * Renders the quads with a draw call per texture.
 	 */
-	@Override
-	protected void prepare(Graphics3D i_g3d, ILodHelper i_lodContext) {
+	private void renderRuns() {
 
-		GL11.glPushAttrib(GL11.GL_TEXTURE_BIT);
-		GL11.glEnable(GL11.GL_TEXTURE_2D);
-		GL11.glBindTexture(GL11.GL_TEXTURE_2D, m_glFont.getTextureId());
+		for (int i = 0; i < m_runs.getRunCount(); i++) {
+			GL11.glBindTexture(GL11.GL_TEXTURE_2D, m_runs.getTextureId(i));
+			GL11.glDrawArrays(GL11.GL_QUADS, m_runs.getFirst(i), m_runs
+				.getVertexCount(i));
+		}
 	}
 
 	/**
 	 * {@inheritDoc}
-	 * 
+	 *
 	 * @see org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO#stateChanged(org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO.State,
 	 *      org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVBO.State)
 	 */
@@ -268,7 +658,6 @@ public class LwjglTextVBO extends LwjglVBO {
 		super.stateChanged(i_oldState, i_newState);
 
 		if (i_newState == State.READY) {
-			m_primitives = null;
 			m_vertexBuffer = null;
 			m_texCoordBuffer = null;
 			m_colorBuffer = null;
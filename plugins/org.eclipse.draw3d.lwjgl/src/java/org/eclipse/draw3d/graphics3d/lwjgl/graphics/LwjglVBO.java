@@ -20,12 +20,18 @@ import java.nio.ShortBuffer;
 import org.eclipse.draw3d.graphics3d.Graphics3D;
 import org.eclipse.draw3d.graphics3d.ILodHelper;
 import org.eclipse.draw3d.graphics3d.RenderImage;
-import org.eclipse.draw3d.util.Draw3DCache;
+import org.eclipse.draw3d.graphics3d.lwjgl.graphics.LwjglVertexArena.Range;
+import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL15;
 
 /**
- * Abstract base class for vertex buffer objects.
+ * Abstract base class for vertex buffer objects. The vertex, color and texture
+ * coordinate buffers of a VBO are interleaved into a single buffer, so that
+ * all attributes of a vertex are stored next to each other. The interleaved
+ * data is stored in a range of a buffer object that is shared with other VBOs
+ * and must be {@link #setVertexRange(Range, int) assigned} before this VBO is
+ * initialized.
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -33,6 +39,12 @@ import org.lwjgl.opengl.GL15;
  */
 public abstract class LwjglVBO implements RenderImage {
 
+	/**
+	 * Describes the data of a buffer. The stride and offset are ignored since
+	 * the buffers are interleaved, the buffer returned by
+	 * {@link LwjglVBO#getBuffer(BufferType)} must contain the data of all
+	 * vertices without gaps.
+	 */
 	protected static class BufferInfo {
 		private int m_dataType;
 
@@ -83,19 +95,44 @@ public abstract class LwjglVBO implements RenderImage {
 		DISPOSED, INITIAL, READY
 	}
 
-	private int m_bufferCount;
+	private static int getTypeSize(int i_dataType) {
+
+		switch (i_dataType) {
+		case GL11.GL_BYTE:
+		case GL11.GL_UNSIGNED_BYTE:
+			return 1;
+		case GL11.GL_SHORT:
+		case GL11.GL_UNSIGNED_SHORT:
+			return 2;
+		case GL11.GL_INT:
+		case GL11.GL_UNSIGNED_INT:
+		case GL11.GL_FLOAT:
+			return 4;
+		case GL11.GL_DOUBLE:
+			return 8;
+		default:
+			throw new IllegalArgumentException("unknown buffer data type: "
+				+ i_dataType);
+		}
+	}
 
-	private int m_colorBufferId;
+	private int m_colorOffset;
 
 	private BufferInfo m_colorBufferInfo;
 
+	private ByteBuffer m_preparedData;
+
+	private Range m_range;
+
+	private int m_rangeOffset;
+
 	private State m_state = State.INITIAL;
 
-	private int m_texCoordBufferId;
+	private int m_stride;
 
-	private BufferInfo m_texCoordBufferInfo;
+	private int m_texCoordOffset;
 
-	private int m_vertexBufferId;
+	private BufferInfo m_texCoordBufferInfo;
 
 	private BufferInfo m_vertexBufferInfo;
 
@@ -106,37 +143,63 @@ public abstract class LwjglVBO implements RenderImage {
 	 */
 	protected abstract void cleanup(Graphics3D i_g3d, ILodHelper i_lodContext);
 
+	private void copyAttribute(Buffer i_source, BufferInfo i_info,
+		int i_count, ByteBuffer i_target, int i_offset) {
+
+		int size = i_info.getSize();
+		if (i_source.limit() < i_count * size)
+			throw new IllegalStateException("buffer of " + this
+				+ " contains less than " + i_count + " elements");
+
+		int typeSize = getTypeSize(i_info.getDataType());
+		for (int i = 0; i < i_count; i++) {
+			int index = i * m_stride + i_offset;
+			for (int j = 0; j < size; j++) {
+				int element = i * size + j;
+				int position = index + j * typeSize;
+
+				switch (i_info.getDataType()) {
+				case GL11.GL_BYTE:
+				case GL11.GL_UNSIGNED_BYTE:
+					i_target.put(position,
+						((ByteBuffer) i_source).get(element));
+					break;
+				case GL11.GL_SHORT:
+				case GL11.GL_UNSIGNED_SHORT:
+					i_target.putShort(position,
+						((ShortBuffer) i_source).get(element));
+					break;
+				case GL11.GL_INT:
+				case GL11.GL_UNSIGNED_INT:
+					i_target.putInt(position,
+						((IntBuffer) i_source).get(element));
+					break;
+				case GL11.GL_FLOAT:
+					i_target.putFloat(position,
+						((FloatBuffer) i_source).get(element));
+					break;
+				default:
+					i_target.putDouble(position,
+						((DoubleBuffer) i_source).get(element));
+					break;
+				}
+			}
+		}
+	}
+
 	/**
-	 * Disposes the ressources associated with this VBO.
+	 * Disposes the ressources associated with this VBO. The vertex range is
+	 * not released since it belongs to the owner of this VBO.
 	 */
 	public void dispose() {
 
 		if (getState() == State.DISPOSED)
 			throw new IllegalStateException(this + " is already disposed");
 
+		m_preparedData = null;
 		if (m_state == State.READY) {
-			IntBuffer idBuffer = Draw3DCache.getIntBuffer(m_bufferCount);
-			try {
-				idBuffer.rewind();
-				idBuffer.put(m_vertexBufferId);
-
-				if (hasBuffer(BufferType.COLOR))
-					idBuffer.put(m_colorBufferId);
-
-				if (hasBuffer(BufferType.TEXTURE_COORDINATES))
-					idBuffer.put(m_texCoordBufferId);
-
-				idBuffer.rewind();
-				GL15.glDeleteBuffers(idBuffer);
-
-				m_vertexBufferId = 0;
-				m_colorBufferId = 0;
-				m_texCoordBufferId = 0;
-
-				setState(State.DISPOSED);
-			} finally {
-				Draw3DCache.returnIntBuffer(idBuffer);
-			}
+			m_range = null;
+			setState(State.DISPOSED);
 		}
 	}
 
@@ -151,6 +214,39 @@ public abstract class LwjglVBO implements RenderImage {
 
 	protected abstract BufferInfo getBufferInfo(BufferType i_type);
 
+	/**
+	 * Returns the name of the buffer object that contains the data of this
+	 * VBO.
+	 * 
+	 * @return the buffer object name
+	 * @throws IllegalStateException if this VBO is not ready
+	 */
+	public int getBufferId() {
+
+		if (getState() != State.READY)
+			throw new IllegalStateException(this + " is not ready");
+
+		return m_range.getBufferId();
+	}
+
+	/**
+	 * Returns the size of the interleaved data of this VBO. If the data was
+	 * not {@link #prepareBuffers() prepared} yet, it is created by this method.
+	 * 
+	 * @return the size of the data in bytes
+	 * @throws IllegalStateException if this VBO was already initialized
+	 */
+	public int getDataSize() {
+
+		if (getState() != State.INITIAL)
+			throw new IllegalStateException(this + " was already initialized");
+
+		if (m_preparedData == null)
+			m_preparedData = interleave();
+
+		return m_preparedData.capacity();
+	}
+
 	protected State getState() {
 
 		return m_state;
@@ -169,66 +265,121 @@ public abstract class LwjglVBO implements RenderImage {
 		stateChanged(oldState, i_newState);
 	}
 
+	/**
+	 * Sets the range that the data of this VBO is uploaded to. The range may
+	 * be shared with other VBOs, each of which uses the part of the range that
+	 * starts at its offset.
+	 * 
+	 * @param i_range the range
+	 * @param i_offset the offset of the data of this VBO in the given range,
+	 *            which must be a multiple of {@link LwjglVertexArena#ALIGNMENT}
+	 * @throws NullPointerException if the given range is <code>null</code>
+	 * @throws IllegalStateException if this VBO was already initialized
+	 */
+	public void setVertexRange(Range i_range, int i_offset) {
+
+		if (i_range == null)
+			throw new NullPointerException("i_range must not be null");
+
+		if (getState() != State.INITIAL)
+			throw new IllegalStateException(this + " was already initialized");
+
+		m_range = i_range;
+		m_rangeOffset = i_offset;
+	}
+
 	protected abstract boolean hasBuffer(BufferType i_type);
 
 	/**
-	 * Initializes this VBO.
-	 * 
-	 * @param i_g3d the Graphics3D instance
+	 * Creates the interleaved data of this VBO without uploading it. This
+	 * method does not require the GL context and may be called from any
+	 * thread before this VBO is {@link #initialize(Graphics3D) initialized}.
 	 */
-	public void initialize(Graphics3D i_g3d) {
+	public void prepareBuffers() {
 
 		if (getState() != State.INITIAL)
 			throw new IllegalStateException(this + " was already initialized");
 
+		m_preparedData = interleave();
+	}
+
+	private ByteBuffer interleave() {
+
 		Buffer vertexBuffer = getBuffer(BufferType.VERTEX);
 		m_vertexBufferInfo = getBufferInfo(BufferType.VERTEX);
-		m_bufferCount = 1;
 
-		if (hasBuffer(BufferType.COLOR))
-			m_bufferCount++;
+		int vertexSize = m_vertexBufferInfo.getSize();
+		int count = vertexBuffer.limit() / vertexSize;
 
-		if (hasBuffer(BufferType.TEXTURE_COORDINATES))
-			m_bufferCount++;
+		m_stride =
+			vertexSize * getTypeSize(m_vertexBufferInfo.getDataType());
 
-		IntBuffer idBuffer = Draw3DCache.getIntBuffer(m_bufferCount);
-		try {
-			idBuffer.rewind();
-			GL15.glGenBuffers(idBuffer);
+		Buffer texCoordBuffer = null;
+		if (hasBuffer(BufferType.TEXTURE_COORDINATES)) {
+			texCoordBuffer = getBuffer(BufferType.TEXTURE_COORDINATES);
+			m_texCoordBufferInfo =
+				getBufferInfo(BufferType.TEXTURE_COORDINATES);
+
+			m_texCoordOffset = m_stride;
+			m_stride +=
+				m_texCoordBufferInfo.getSize()
+					* getTypeSize(m_texCoordBufferInfo.getDataType());
+		}
 
-			idBuffer.rewind();
-			m_vertexBufferId = idBuffer.get();
+		Buffer colorBuffer = null;
+		if (hasBuffer(BufferType.COLOR)) {
+			colorBuffer = getBuffer(BufferType.COLOR);
+			m_colorBufferInfo = getBufferInfo(BufferType.COLOR);
 
-			uploadBuffer(m_vertexBufferId, m_vertexBufferInfo, vertexBuffer);
-			vertexBuffer = null;
+			m_colorOffset = m_stride;
+			m_stride +=
+				m_colorBufferInfo.getSize()
+					* getTypeSize(m_colorBufferInfo.getDataType());
+		}
 
-			if (hasBuffer(BufferType.COLOR)) {
-				m_colorBufferId = idBuffer.get();
+		// keep every vertex word aligned
+		m_stride = (m_stride + 3) & ~3;
 
-				Buffer colorBuffer = getBuffer(BufferType.COLOR);
-				m_colorBufferInfo = getBufferInfo(BufferType.COLOR);
+		ByteBuffer data = BufferUtils.createByteBuffer(count * m_stride);
+		copyAttribute(vertexBuffer, m_vertexBufferInfo, count, data, 0);
 
-				uploadBuffer(m_colorBufferId, m_colorBufferInfo, colorBuffer);
-				colorBuffer = null;
-			}
+		if (texCoordBuffer != null)
+			copyAttribute(texCoordBuffer, m_texCoordBufferInfo, count, data,
+				m_texCoordOffset);
 
-			if (hasBuffer(BufferType.TEXTURE_COORDINATES)) {
-				m_texCoordBufferId = idBuffer.get();
+		if (colorBuffer != null)
+			copyAttribute(colorBuffer, m_colorBufferInfo, count, data,
+				m_colorOffset);
 
-				Buffer texCoordBuffer =
-					getBuffer(BufferType.TEXTURE_COORDINATES);
-				m_texCoordBufferInfo =
-					getBufferInfo(BufferType.TEXTURE_COORDINATES);
+		return data;
+	}
 
-				uploadBuffer(m_texCoordBufferId, m_texCoordBufferInfo,
-					texCoordBuffer);
-				texCoordBuffer = null;
-			}
+	/**
+	 * Initializes this VBO. If the data was already created by
+	 * {@link #prepareBuffers()}, it is uploaded directly.
+	 * 
+	 * @param i_g3d the Graphics3D instance
+	 * @throws IllegalStateException if this VBO was already initialized or if
+	 *             no vertex range was set
+	 */
+	public void initialize(Graphics3D i_g3d) {
 
-			setState(State.READY);
-		} finally {
-			Draw3DCache.returnIntBuffer(idBuffer);
-		}
+		if (getState() != State.INITIAL)
+			throw new IllegalStateException(this + " was already initialized");
+
+		if (m_range == null)
+			throw new IllegalStateException(this + " has no vertex range");
+
+		ByteBuffer data = m_preparedData;
+		m_preparedData = null;
+
+		if (data == null)
+			data = interleave();
+
+		data.rewind();
+		m_range.upload(m_rangeOffset, data);
+
+		setState(State.READY);
 	}
 
 	/**
@@ -245,34 +396,42 @@ public abstract class LwjglVBO implements RenderImage {
 	 */
 	public void render(Graphics3D i_g3d, ILodHelper i_lodContext) {
 
+		GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, getBufferId());
+		renderBound(i_g3d, i_lodContext);
+	}
+
+	/**
+	 * Renders this VBO assuming that its {@link #getBufferId() buffer object}
+	 * is already bound to {@link GL15#GL_ARRAY_BUFFER}. This allows VBOs that
+	 * share a buffer object to be rendered with a single bind.
+	 * 
+	 * @param i_g3d the Graphics3D instance
+	 * @param i_lodContext the LOD helper
+	 */
+	public void renderBound(Graphics3D i_g3d, ILodHelper i_lodContext) {
+
 		if (getState() != State.READY)
 			throw new IllegalStateException(this + " is not ready");
 
+		long offset = m_range.getOffset() + m_rangeOffset;
+
 		if (hasBuffer(BufferType.COLOR)) {
-			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, m_colorBufferId);
 			GL11.glEnableClientState(GL11.GL_COLOR_ARRAY);
-
 			GL11.glColorPointer(m_colorBufferInfo.getSize(),
-				m_colorBufferInfo.getDataType(), m_colorBufferInfo.getStride(),
-				m_colorBufferInfo.getOffset());
+				m_colorBufferInfo.getDataType(), m_stride, offset
+					+ m_colorOffset);
 		}
 
 		if (hasBuffer(BufferType.TEXTURE_COORDINATES)) {
-			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, m_texCoordBufferId);
 			GL11.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
-
 			GL11.glTexCoordPointer(m_texCoordBufferInfo.getSize(),
-				m_texCoordBufferInfo.getDataType(),
-				m_texCoordBufferInfo.getStride(),
-				m_texCoordBufferInfo.getOffset());
+				m_texCoordBufferInfo.getDataType(), m_stride, offset
+					+ m_texCoordOffset);
 		}
 
-		GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, m_vertexBufferId);
 		GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
-
 		GL11.glVertexPointer(m_vertexBufferInfo.getSize(),
-			m_vertexBufferInfo.getDataType(), m_vertexBufferInfo.getStride(),
-			m_vertexBufferInfo.getOffset());
+			m_vertexBufferInfo.getDataType(), m_stride, offset);
 
 		try {
 			prepare(i_g3d, i_lodContext);
@@ -291,41 +450,4 @@ public abstract class LwjglVBO implements RenderImage {
 				GL11.glDisableClientState(GL11.GL_COLOR_ARRAY);
 		}
 	}
-
-	private void uploadBuffer(int i_id, BufferInfo i_info, Buffer i_buffer) {
-
-		i_buffer.rewind();
-		GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, i_id);
-
-		switch (i_info.getDataType()) {
-		case GL11.GL_BYTE:
-		case GL11.GL_UNSIGNED_BYTE:
-			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (ByteBuffer) i_buffer,
-				i_info.getUsage());
-			break;
-		case GL11.GL_SHORT:
-		case GL11.GL_UNSIGNED_SHORT:
-			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (ShortBuffer) i_buffer,
-				i_info.getUsage());
-			break;
-		case GL11.GL_INT:
-		case GL11.GL_UNSIGNED_INT:
-			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (IntBuffer) i_buffer,
-				i_info.getUsage());
-			break;
-		case GL11.GL_FLOAT:
-			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (FloatBuffer) i_buffer,
-				i_info.getUsage());
-			break;
-		case GL11.GL_DOUBLE:
-			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (DoubleBuffer) i_buffer,
-				i_info.getUsage());
-			break;
-
-		default:
-			throw new IllegalArgumentException("unknown buffer data type: "
-				+ i_info.getDataType());
-		}
-
-	}
 }
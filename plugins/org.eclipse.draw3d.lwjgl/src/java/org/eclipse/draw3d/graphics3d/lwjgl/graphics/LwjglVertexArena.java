@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics3d.lwjgl.graphics;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw3d.util.Draw3DCache;
+import org.eclipse.draw3d.util.RangeAllocator;
+import org.lwjgl.opengl.GL15;
+
+/**
+ * Sub-allocates vertex data ranges from a few large buffer objects. Creating a
+ * buffer object for every VBO is expensive and leads to a bind for every
+ * draw call, so the VBOs share the buffer objects of this arena instead. The
+ * buffer objects are grouped by their usage hint (e.g.
+ * {@link GL15#GL_STATIC_DRAW} for data that is written once and
+ * {@link GL15#GL_DYNAMIC_DRAW} for data that is rewritten frequently), and a
+ * range is always allocated from a buffer object with the requested hint.
+ * Released ranges are returned to the free list of their buffer object and
+ * reused by later allocations.
+ * <p>
+ * An arena belongs to a GL context and all methods must be called with that
+ * context being current.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class LwjglVertexArena {
+
+	private static class Block {
+
+		private final RangeAllocator m_allocator;
+
+		private int m_bufferId;
+
+		private final int m_usage;
+
+		public Block(int i_bufferId, int i_size, int i_usage) {
+
+			m_bufferId = i_bufferId;
+			m_usage = i_usage;
+			m_allocator = new RangeAllocator(i_size, ALIGNMENT);
+		}
+	}
+
+	/**
+	 * A range of a buffer object that was allocated from an arena.
+	 */
+	public static class Range {
+
+		private Block m_block;
+
+		private final int m_offset;
+
+		private final int m_size;
+
+		private Range(Block i_block, int i_offset, int i_size) {
+
+			m_block = i_block;
+			m_offset = i_offset;
+			m_size = i_size;
+		}
+
+		/**
+		 * Returns the name of the buffer object that contains this range.
+		 *
+		 * @return the buffer object name
+		 * @throws IllegalStateException if this range was released
+		 */
+		public int getBufferId() {
+
+			if (m_block == null)
+				throw new IllegalStateException(this + " was released");
+
+			return m_block.m_bufferId;
+		}
+
+		/**
+		 * Returns the offset of this range in its buffer object.
+		 *
+		 * @return the offset in bytes
+		 */
+		public int getOffset() {
+
+			return m_offset;
+		}
+
+		/**
+		 * Returns the size of this range.
+		 *
+		 * @return the size in bytes
+		 */
+		public int getSize() {
+
+			return m_size;
+		}
+
+		/**
+		 * Uploads the given data into this range. The buffer object of this
+		 * range remains bound to {@link GL15#GL_ARRAY_BUFFER}.
+		 *
+		 * @param i_offset the offset of the data relative to the start of
+		 *            this range
+		 * @param i_data the data, from its position to its limit
+		 * @throws IllegalArgumentException if the data does not fit into
+		 *             this range
+		 * @throws IllegalStateException if this range was released
+		 */
+		public void upload(int i_offset, ByteBuffer i_data) {
+
+			if (i_offset < 0 || i_offset + i_data.remaining() > m_size)
+				throw new IllegalArgumentException(i_data.remaining()
+					+ " bytes at offset " + i_offset + " do not fit into "
+					+ this);
+
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, getBufferId());
+			GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, m_offset + i_offset,
+				i_data);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+
+			return "Range[buffer: "
+				+ (m_block != null ? m_block.m_bufferId : 0) + ", offset: "
+				+ m_offset + ", size: " + m_size + "]";
+		}
+	}
+
+	/**
+	 * The alignment of all ranges in bytes. It is large enough for any vertex
+	 * attribute type.
+	 */
+	public static final int ALIGNMENT = 16;
+
+	/**
+	 * The size of a buffer object in bytes. Larger ranges get a buffer object
+	 * of their own.
+	 */
+	public static final int BLOCK_SIZE = 1 << 20;
+
+	private final List<Block> m_blocks = new ArrayList<Block>();
+
+	private boolean m_disposed = false;
+
+	/**
+	 * Allocates a range of the given size from a buffer object with the given
+	 * usage hint. If no buffer object has enough free space, a new buffer
+	 * object is created.
+	 *
+	 * @param i_size the size of the range in bytes
+	 * @param i_usage the usage hint, e.g. {@link GL15#GL_STATIC_DRAW}
+	 * @return the allocated range
+	 * @throws IllegalArgumentException if the given size is not positive
+	 * @throws IllegalStateException if this arena is disposed
+	 */
+	public Range allocate(int i_size, int i_usage) {
+
+		if (m_disposed)
+			throw new IllegalStateException(this + " is disposed");
+
+		if (i_size <= 0)
+			throw new IllegalArgumentException("size must be positive: "
+				+ i_size);
+
+		for (int i = 0; i < m_blocks.size(); i++) {
+			Block block = m_blocks.get(i);
+			if (block.m_usage == i_usage
+				&& block.m_allocator.getFreeSize() >= i_size) {
+				int offset = block.m_allocator.allocate(i_size);
+				if (offset >= 0)
+					return new Range(block, offset, i_size);
+			}
+		}
+
+		int blockSize = BLOCK_SIZE;
+		if (i_size > blockSize)
+			blockSize = (i_size + ALIGNMENT - 1) & ~(ALIGNMENT - 1);
+
+		Block block = createBlock(blockSize, i_usage);
+		return new Range(block, block.m_allocator.allocate(i_size), i_size);
+	}
+
+	private Block createBlock(int i_size, int i_usage) {
+
+		IntBuffer idBuffer = Draw3DCache.getIntBuffer(1);
+		try {
+			idBuffer.rewind();
+			GL15.glGenBuffers(idBuffer);
+
+			int bufferId = idBuffer.get(0);
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, bufferId);
+			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, i_size, i_usage);
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+
+			Block block = new Block(bufferId, i_size, i_usage);
+			m_blocks.add(block);
+
+			return block;
+		} finally {
+			Draw3DCache.returnIntBuffer(idBuffer);
+		}
+	}
+
+	private void deleteBlock(Block i_block) {
+
+		IntBuffer idBuffer = Draw3DCache.getIntBuffer(1);
+		try {
+			idBuffer.put(0, i_block.m_bufferId);
+			idBuffer.rewind();
+			GL15.glDeleteBuffers(idBuffer);
+
+			i_block.m_bufferId = 0;
+		} finally {
+			Draw3DCache.returnIntBuffer(idBuffer);
+		}
+	}
+
+	/**
+	 * Deletes all buffer objects of this arena. Ranges that were not released
+	 * yet become invalid, releasing them later has no effect.
+	 */
+	public void dispose() {
+
+		if (m_disposed)
+			return;
+
+		for (int i = 0; i < m_blocks.size(); i++)
+			deleteBlock(m_blocks.get(i));
+
+		m_blocks.clear();
+		m_disposed = true;
+	}
+
+	/**
+	 * Releases the given range so that it can be reused. If the buffer object
+	 * of the range becomes empty, it is deleted unless it is the only empty
+	 * buffer object with its usage hint.
+	 *
+	 * @param i_range the range to release
+	 * @throws NullPointerException if the given range is <code>null</code>
+	 * @throws IllegalStateException if the given range was already released
+	 */
+	public void release(Range i_range) {
+
+		if (i_range == null)
+			throw new NullPointerException("i_range must not be null");
+
+		Block block = i_range.m_block;
+		if (block == null)
+			throw new IllegalStateException(i_range + " was already released");
+
+		i_range.m_block = null;
+		if (m_disposed)
+			return;
+
+		block.m_allocator.free(i_range.m_offset, i_range.m_size);
+		if (!block.m_allocator.isEmpty())
+			return;
+
+		// keep one empty block per usage so that a surface that is rebuilt
+		// does not delete and recreate its buffer object
+		boolean keep = block.m_allocator.getCapacity() == BLOCK_SIZE;
+		for (int i = 0; i < m_blocks.size() && keep; i++) {
+			Block other = m_blocks.get(i);
+			keep =
+				other == block || other.m_usage != block.m_usage
+					|| !other.m_allocator.isEmpty();
+		}
+
+		if (!keep) {
+			m_blocks.remove(block);
+			deleteBlock(block);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "LwjglVertexArena[buffers: " + m_blocks.size() + "]";
+	}
+}
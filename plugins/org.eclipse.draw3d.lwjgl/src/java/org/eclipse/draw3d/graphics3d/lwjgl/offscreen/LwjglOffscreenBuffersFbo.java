@@ -253,29 +253,55 @@ public class LwjglOffscreenBuffersFbo implements Graphics3DOffscreenBuffers {
 	 */
 	public void postRender(ByteBuffer i_colorBuffer, FloatBuffer i_depthBuffer) {
 
-		int width = m_width;
-		int height = m_height;
+		readBoundPixels(0, 0, m_width, m_height, i_colorBuffer, i_depthBuffer);
+
+		EXTFramebufferObject.glBindFramebufferEXT(
+			EXTFramebufferObject.GL_FRAMEBUFFER_EXT, 0);
+	}
+
+	private void readBoundPixels(int i_x, int i_y, int i_width,
+		int i_height, ByteBuffer o_colorBuffer, FloatBuffer o_depthBuffer) {
 
 		Graphics3DOffscreenBufferConfig bufferConfig = m_bufferConfig;
 
-		if (bufferConfig.isEnabled(GL11.GL_COLOR_BUFFER_BIT)) {
+		if (o_colorBuffer != null
+			&& bufferConfig.isEnabled(GL11.GL_COLOR_BUFFER_BIT)) {
 			int format = bufferConfig.getColorPixelFormat();
 			int type = bufferConfig.getColorDataType();
 
-			i_colorBuffer.rewind();
-			GL11.glReadPixels(0, 0, width, height, format, type, i_colorBuffer);
+			o_colorBuffer.rewind();
+			GL11.glReadPixels(i_x, i_y, i_width, i_height, format, type,
+				o_colorBuffer);
 		}
 
-		if (bufferConfig.isEnabled(GL11.GL_DEPTH_BUFFER_BIT)) {
+		if (o_depthBuffer != null
+			&& bufferConfig.isEnabled(GL11.GL_DEPTH_BUFFER_BIT)) {
 			int type = bufferConfig.getDepthDataType();
 
-			i_depthBuffer.rewind();
-			GL11.glReadPixels(0, 0, width, height, GL11.GL_DEPTH_COMPONENT,
-				type, i_depthBuffer);
+			o_depthBuffer.rewind();
+			GL11.glReadPixels(i_x, i_y, i_width, i_height,
+				GL11.GL_DEPTH_COMPONENT, type, o_depthBuffer);
 		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DOffscreenBuffers#readPixels(int,
+	 *      int, int, int, java.nio.ByteBuffer, java.nio.FloatBuffer)
+	 */
+	public void readPixels(int i_x, int i_y, int i_width, int i_height,
+		ByteBuffer o_colorBuffer, FloatBuffer o_depthBuffer) {
 
 		EXTFramebufferObject.glBindFramebufferEXT(
-			EXTFramebufferObject.GL_FRAMEBUFFER_EXT, 0);
+			EXTFramebufferObject.GL_FRAMEBUFFER_EXT, m_glFrameBuffer);
+		try {
+			readBoundPixels(i_x, i_y, i_width, i_height, o_colorBuffer,
+				o_depthBuffer);
+		} finally {
+			EXTFramebufferObject.glBindFramebufferEXT(
+				EXTFramebufferObject.GL_FRAMEBUFFER_EXT, 0);
+		}
 	}
 
 	/**
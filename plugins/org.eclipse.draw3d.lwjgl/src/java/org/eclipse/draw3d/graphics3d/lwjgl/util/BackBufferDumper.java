@@ -18,6 +18,7 @@ import java.nio.IntBuffer;
 import org.eclipse.draw3d.ISceneListener;
 import org.eclipse.draw3d.RenderContext;
 import org.eclipse.draw3d.camera.ICamera;
+import org.eclipse.draw3d.util.AllocationProfiler;
 import org.eclipse.draw3d.util.ImageConverter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.ImageData;
@@ -39,6 +40,18 @@ public class BackBufferDumper implements ISceneListener {
 
     private IntBuffer m_vpBuffer = BufferUtils.createIntBuffer(16);
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.eclipse.draw3d.ISceneListener#allocationsMeasured(org.eclipse.draw3d.RenderContext,
+     *      org.eclipse.draw3d.util.AllocationProfiler)
+     */
+    public void allocationsMeasured(RenderContext i_renderContext,
+        AllocationProfiler i_profiler) {
+
+        // nothing to do
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -50,6 +63,18 @@ public class BackBufferDumper implements ISceneListener {
         // nothing to do
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.eclipse.draw3d.ISceneListener#figuresCulled(org.eclipse.draw3d.RenderContext,
+     *      int, int)
+     */
+    public void figuresCulled(RenderContext i_renderContext, int i_culledCount,
+        int i_visibleCount) {
+
+        // nothing to do
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Splits the 2D children of a figure into batches of consecutive children,
+ * each of which is recorded into a single image. When the children are
+ * updated, only the batches that contain children which were invalidated,
+ * moved, resized, hidden or shown, or whose children have changed, are
+ * recorded again.
+ * <p>
+ * This class does not record anything itself, so it does not depend on an
+ * OpenGL context. The images are recorded and retired by a {@link Recorder}.
+ * </p>
+ *
+ * @param <I> the type of the recorded images
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class ChildBatches<I> {
+
+	/**
+	 * A batch of consecutive 2D children whose primitives are recorded into a
+	 * single image. The children's bounds and visibility at recording time are
+	 * stored so that changes can be detected.
+	 *
+	 * @param <I> the type of the recorded image
+	 */
+	private static class Batch<I> {
+
+		private final Rectangle[] m_bounds;
+
+		private final IFigure[] m_children;
+
+		private I m_image;
+
+		private final boolean[] m_visible;
+
+		public Batch(IFigure[] i_children, int i_offset, int i_length) {
+
+			m_children = new IFigure[i_length];
+			m_bounds = new Rectangle[i_length];
+			m_visible = new boolean[i_length];
+
+			for (int i = 0; i < i_length; i++) {
+				IFigure child = i_children[i_offset + i];
+				m_children[i] = child;
+				m_bounds[i] = child.getBounds().getCopy();
+				m_visible[i] = child.isVisible();
+			}
+		}
+
+		/**
+		 * Indicates whether the recorded image of this batch can be reused for
+		 * the given children.
+		 *
+		 * @param i_children the current 2D children
+		 * @param i_offset the index of the first child of this batch
+		 * @param i_length the number of children in this batch
+		 * @param i_dirty the children that were invalidated since the last
+		 *            recording
+		 * @return <code>true</code> if the image is still valid and
+		 *         <code>false</code> if it must be recorded again
+		 */
+		public boolean isValid(IFigure[] i_children, int i_offset,
+			int i_length, Set<IFigure> i_dirty) {
+
+			if (m_children.length != i_length)
+				return false;
+
+			for (int i = 0; i < i_length; i++) {
+				IFigure child = i_children[i_offset + i];
+				if (m_children[i] != child || i_dirty.contains(child)
+					|| m_visible[i] != child.isVisible()
+					|| !m_bounds[i].equals(child.getBounds()))
+					return false;
+			}
+
+			return true;
+		}
+	}
+
+	/**
+	 * Records the images of the batches.
+	 *
+	 * @param <I> the type of the recorded images
+	 * @author Jens von Pilgrim
+	 * @version $Revision$
+	 * @since 17.10.2026
+	 */
+	public interface Recorder<I> {
+
+		/**
+		 * Records the given children into a new image.
+		 *
+		 * @param i_children the children of a batch
+		 * @return the recorded image
+		 */
+		public I record(List<IFigure> i_children);
+
+		/**
+		 * Called when the given image was replaced by a new one or when its
+		 * batch was removed.
+		 *
+		 * @param i_image the image that is no longer used
+		 */
+		public void retire(I i_image);
+	}
+
+	private List<Batch<I>> m_batches = new ArrayList<Batch<I>>();
+
+	private final int m_batchSize;
+
+	private final Set<IFigure> m_dirty = new HashSet<IFigure>();
+
+	private final Recorder<I> m_recorder;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param i_batchSize the maximum number of children in a batch
+	 * @param i_recorder the recorder of the images
+	 * @throws NullPointerException if the given recorder is <code>null</code>
+	 * @throws IllegalArgumentException if the given batch size is less than 1
+	 */
+	public ChildBatches(int i_batchSize, Recorder<I> i_recorder) {
+
+		if (i_recorder == null)
+			throw new NullPointerException("i_recorder must not be null");
+
+		if (i_batchSize < 1)
+			throw new IllegalArgumentException(
+				"batch size must be at least 1: " + i_batchSize);
+
+		m_batchSize = i_batchSize;
+		m_recorder = i_recorder;
+	}
+
+	/**
+	 * Removes all batches without retiring their images. The caller is
+	 * responsible for disposing the images, which can be obtained from
+	 * {@link #getImages(Collection)} before this method is called.
+	 */
+	public void clear() {
+
+		m_batches.clear();
+		m_dirty.clear();
+	}
+
+	/**
+	 * Returns the number of batches.
+	 *
+	 * @return the number of batches
+	 */
+	public int getBatchCount() {
+
+		return m_batches.size();
+	}
+
+	/**
+	 * Adds the images of all batches to the given collection, in the order of
+	 * the children.
+	 *
+	 * @param o_result the collection to add the images to
+	 * @return the given collection
+	 */
+	public <C extends Collection<? super I>> C getImages(C o_result) {
+
+		for (Batch<I> batch : m_batches)
+			o_result.add(batch.m_image);
+
+		return o_result;
+	}
+
+	/**
+	 * Marks the given child as dirty, so that its batch is recorded again on
+	 * the next update.
+	 *
+	 * @param i_child the child that was repainted
+	 */
+	public void invalidate(IFigure i_child) {
+
+		m_dirty.add(i_child);
+	}
+
+	/**
+	 * Updates the batches for the given children and records the images of
+	 * all batches that have changed. The images of the replaced and removed
+	 * batches are retired.
+	 *
+	 * @param i_children the current 2D children
+	 * @param i_redraw whether all batches must be recorded again
+	 * @return <code>true</code> if any batch was recorded, replaced or removed
+	 */
+	public boolean update(IFigure[] i_children, boolean i_redraw) {
+
+		List<Batch<I>> batches =
+			new ArrayList<Batch<I>>(i_children.length / m_batchSize + 1);
+		boolean changed = false;
+
+		for (int offset = 0; offset < i_children.length; offset +=
+			m_batchSize) {
+			int length = Math.min(m_batchSize, i_children.length - offset);
+			int index = batches.size();
+
+			Batch<I> batch = null;
+			if (index < m_batches.size())
+				batch = m_batches.get(index);
+
+			if (i_redraw || batch == null
+				|| !batch.isValid(i_children, offset, length, m_dirty)) {
+				if (batch != null)
+					m_recorder.retire(batch.m_image);
+
+				batch = new Batch<I>(i_children, offset, length);
+				batch.m_image =
+					m_recorder.record(Arrays.asList(batch.m_children));
+				changed = true;
+			}
+
+			batches.add(batch);
+		}
+
+		for (int i = batches.size(); i < m_batches.size(); i++) {
+			m_recorder.retire(m_batches.get(i).m_image);
+			changed = true;
+		}
+
+		m_batches = batches;
+		m_dirty.clear();
+
+		return changed;
+	}
+}
@@ -14,10 +14,24 @@ import java.util.logging.Logger;
 
 import org.eclipse.draw2d.DeferredUpdateManager;
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw3d.util.AllocationProfiler;
+import org.eclipse.draw3d.util.FrameScheduler;
+import org.eclipse.draw3d.util.AllocationProfiler.Phase;
 import org.eclipse.swt.opengl.GLCanvas;
+import org.eclipse.swt.widgets.Display;
 
 /**
  * Calls the figures render method.
+ * <p>
+ * Render requests are coalesced: camera changes and queued figure updates
+ * schedule a render pass using {@link #scheduleRender()}, and all requests
+ * that arrive before the scheduled pass is executed are handled by that single
+ * pass. Render passes are delayed so that the target frame rate (see
+ * {@link #setTargetFps(int)}) is not exceeded. If a frame has to be rendered
+ * synchronously, e.g. before the scene is exported, {@link #renderNow()} can
+ * be used. The requests and frame times are tracked by a
+ * {@link FrameScheduler}.
+ * </p>
  * 
  * @author Jens von Pilgrim
  * @version $Revision$
@@ -25,6 +39,11 @@ import org.eclipse.swt.opengl.GLCanvas;
  */
 public class DeferredUpdateManager3D extends DeferredUpdateManager {
 
+	/**
+	 * The default target frame rate.
+	 */
+	public static final int DEFAULT_TARGET_FPS = 60;
+
 	private static Logger log =
 		Logger.getLogger(DeferredUpdateManager3D.class.getName());
 
@@ -41,6 +60,21 @@ public class DeferredUpdateManager3D extends DeferredUpdateManager {
 	 */
 	protected IFigure3D root3D;
 
+	private final Runnable m_renderRequest = new Runnable() {
+
+		public void run() {
+
+			if (!m_scheduler.take())
+				return;
+
+			if (canvas != null && !canvas.isDisposed())
+				performUpdate();
+		}
+	};
+
+	private final FrameScheduler m_scheduler =
+		new FrameScheduler(DEFAULT_TARGET_FPS);
+
 	public void dumpTree(IFigure fig, StringBuffer o_out, String level) {
 		o_out.append("\n").append(level).append("+" + fig);
 		String indentLevel = level + "  ";
@@ -49,6 +83,47 @@ public class DeferredUpdateManager3D extends DeferredUpdateManager {
 		}
 	}
 
+	/**
+	 * {@inheritDoc} The retained render fragments of the figure's 3D host are
+	 * invalidated, and the host is notified so that only the affected 2D
+	 * content is recorded again.
+	 * 
+	 * @see org.eclipse.draw2d.DeferredUpdateManager#addDirtyRegion(org.eclipse.draw2d.IFigure,
+	 *      int, int, int, int)
+	 * @see RenderContext#invalidateFragments(IFigure3D)
+	 */
+	@Override
+	public synchronized void addDirtyRegion(IFigure i_figure, int i_x,
+		int i_y, int i_w, int i_h) {
+
+		super.addDirtyRegion(i_figure, i_x, i_y, i_w, i_h);
+
+		IFigure3D host = Figure3DHelper.getAncestor3D(i_figure);
+		if (host != null && host != i_figure)
+			host.invalidate2DContent(i_figure);
+
+		RenderContext renderContext = getRenderContext();
+		if (renderContext != null)
+			renderContext.invalidateFragments(host);
+	}
+
+	/**
+	 * {@inheritDoc} All retained render fragments are invalidated, since the
+	 * structure or layout of the figure tree may have changed.
+	 * 
+	 * @see org.eclipse.draw2d.DeferredUpdateManager#addInvalidFigure(org.eclipse.draw2d.IFigure)
+	 * @see RenderContext#invalidateFragments()
+	 */
+	@Override
+	public synchronized void addInvalidFigure(IFigure i_figure) {
+
+		super.addInvalidFigure(i_figure);
+
+		RenderContext renderContext = getRenderContext();
+		if (renderContext != null)
+			renderContext.invalidateFragments();
+	}
+
 	/**
 	 * @return the canvas
 	 */
@@ -56,6 +131,36 @@ public class DeferredUpdateManager3D extends DeferredUpdateManager {
 		return canvas;
 	}
 
+	/**
+	 * Returns the target frame rate.
+	 * 
+	 * @return the maximum number of frames per second, a value less than or
+	 *         equal to 0 indicates that the frame rate is not limited
+	 */
+	public int getTargetFps() {
+
+		return m_scheduler.getTargetFps();
+	}
+
+	/**
+	 * Cancels a scheduled render pass and renders the scene immediately. This
+	 * method must be called from the UI thread. Use it if a frame must be
+	 * complete when this method returns, e.g. before the scene is exported.
+	 */
+	public void renderNow() {
+
+		m_scheduler.cancel();
+		performUpdate();
+	}
+
+	private RenderContext getRenderContext() {
+
+		if (root3D == null)
+			return null;
+
+		return root3D.getRenderContext();
+	}
+
 	/**
 	 * {@inheritDoc} Draw regions are ignored here. If |{@link #isSwapBuffers()}
 	 * is true, buffers are swapped.
@@ -72,6 +177,8 @@ public class DeferredUpdateManager3D extends DeferredUpdateManager {
 			// log.info(strb.toString()); //$NON-NLS-1$
 			// }
 
+			m_scheduler.frameStarted(System.nanoTime());
+
 			// in 3D, we render everything anyway
 			root3D.paint(null);
 			repairDamageFinish();
@@ -101,7 +208,79 @@ public class DeferredUpdateManager3D extends DeferredUpdateManager {
 		if (canvas.isDisposed())
 			return;
 
-		canvas.swapBuffers();
+		RenderContext renderContext = getRenderContext();
+		AllocationProfiler profiler = null;
+		if (renderContext != null)
+			profiler = renderContext.getAllocationProfiler();
+
+		if (profiler == null) {
+			canvas.swapBuffers();
+		} else {
+			long mark = profiler.mark();
+			canvas.swapBuffers();
+			profiler.record(Phase.SWAP, mark);
+		}
+	}
+
+	/**
+	 * Schedules a render pass. If a render pass is already scheduled, this
+	 * method does nothing, so that all requests are handled by a single pass.
+	 * The render pass is executed asynchronously on the UI thread and is
+	 * delayed if necessary to keep the target frame rate. This method may be
+	 * called from any thread.
+	 */
+	public void scheduleRender() {
+
+		final Display display;
+		synchronized (this) {
+			if (canvas == null || canvas.isDisposed()
+				|| !m_scheduler.request())
+				return;
+
+			display = canvas.getDisplay();
+		}
+
+		if (display.getThread() == Thread.currentThread()) {
+			scheduleRender(display);
+		} else {
+			display.asyncExec(new Runnable() {
+
+				public void run() {
+
+					scheduleRender(display);
+				}
+			});
+		}
+	}
+
+	private void scheduleRender(Display i_display) {
+
+		if (i_display.isDisposed()) {
+			m_scheduler.cancel();
+			return;
+		}
+
+		int delay = m_scheduler.getDelay(System.nanoTime());
+		if (delay > 0)
+			i_display.timerExec(delay, m_renderRequest);
+		else
+			i_display.asyncExec(m_renderRequest);
+	}
+
+	/**
+	 * {@inheritDoc} Update requests are scheduled using
+	 * {@link #scheduleRender()} so that they are coalesced with camera changes
+	 * and do not exceed the target frame rate.
+	 * 
+	 * @see org.eclipse.draw2d.DeferredUpdateManager#sendUpdateRequest()
+	 */
+	@Override
+	protected void sendUpdateRequest() {
+
+		if (canvas == null || canvas.isDisposed())
+			super.sendUpdateRequest();
+		else
+			scheduleRender();
 	}
 
 	/**
@@ -122,6 +301,19 @@ public class DeferredUpdateManager3D extends DeferredUpdateManager {
 		super.setRoot(i_figure);
 	}
 
+	/**
+	 * Sets the target frame rate. Render passes that are scheduled using
+	 * {@link #scheduleRender()} are delayed so that this frame rate is not
+	 * exceeded.
+	 * 
+	 * @param i_targetFps the maximum number of frames per second, a value less
+	 *            than or equal to 0 disables the limit
+	 */
+	public void setTargetFps(int i_targetFps) {
+
+		m_scheduler.setTargetFps(i_targetFps);
+	}
+
 	// /**
 	// * {@inheritDoc}
 	// *
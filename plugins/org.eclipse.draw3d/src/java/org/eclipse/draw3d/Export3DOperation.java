@@ -58,6 +58,11 @@ public class Export3DOperation {
 	 * renderer to a file.
 	 */
 	public void run() {
+		// process pending updates first so that the exported scene is current
+		IScene scene = rootFigure.getScene();
+		if (scene != null)
+			scene.getUpdateManager3D().renderNow();
+
 		RenderContext renderContext = rootFigure.getRenderContext();
 		Graphics3D g3dSave = renderContext.getGraphics3D();
 
@@ -72,6 +77,7 @@ public class Export3DOperation {
 
 			Graphics dummy = createDummyGraphics();
 			rootFigure.invalidateTree(); // invalidate everything
+			renderContext.invalidateFragments();
 			rootFigure.paint(dummy);
 		} finally {
 			renderContext.setGraphics3D(g3dSave);
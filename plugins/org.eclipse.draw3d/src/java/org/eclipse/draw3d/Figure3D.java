@@ -410,11 +410,12 @@ public class Figure3D extends Figure implements IFigure3D {
 		Vector3f location = Draw3DCache.getVector3f();
 		Vector3f size = Draw3DCache.getVector3f();
 		try {
-			if (m_paraxialBounds == null) {
+			if (m_paraxialBounds == null || !helper.isParaxialBoundsValid()) {
 				Math3D.getCuboidParaxialBoundingBox(getPosition3D(), location,
 					size);
 
-				m_paraxialBounds = new ParaxialBoundingBoxImpl();
+				if (m_paraxialBounds == null)
+					m_paraxialBounds = new ParaxialBoundingBoxImpl();
 				m_paraxialBounds.setLocation(location);
 				m_paraxialBounds.setSize(size);
 				helper.unionWithChildParaxialBounds(m_paraxialBounds);
@@ -542,7 +543,9 @@ public class Figure3D extends Figure implements IFigure3D {
 	}
 
 	/**
-	 * 
+	 * Invalidates the paraxial bounds of all 3D ancestors, which have to unite
+	 * the changed bounds of this figure with the cached bounds of their other
+	 * children when they are requested next.
 	 */
 	private void invalidateAncestorParaxialBounds() {
 		IFigure parent = getParent();
@@ -564,6 +567,17 @@ public class Figure3D extends Figure implements IFigure3D {
 		m_paraxialBounds = null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.IFigure2DHost3D#invalidate2DContent(org.eclipse.draw2d.IFigure)
+	 */
+	public void invalidate2DContent(IFigure i_figure) {
+
+		helper.invalidate2DContent(i_figure);
+		repaint2DComponents = true;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -597,15 +611,31 @@ public class Figure3D extends Figure implements IFigure3D {
 	 * figure itself is painted, because otherwise the texture will not have
 	 * been painted yet before it needs to be rendered.
 	 * </p>
+	 * <p>
+	 * If frustum culling is enabled and this figure is not visible, neither
+	 * this figure nor its children are painted. All render fragments collected
+	 * while painting this figure are attributed to it, see
+	 * {@link RenderContext#beginFigure(IFigure3D)}.
+	 * </p>
 	 * 
 	 * @see org.eclipse.draw2d.Figure#paint(org.eclipse.draw2d.Graphics)
+	 * @see Figure3DHelper#isCulled()
 	 */
 	@Override
 	public void paint(Graphics i_graphics) {
 
-		paintBorder(i_graphics);
-		paintClientArea(i_graphics);
-		paintFigure(i_graphics);
+		if (helper.isCulled())
+			return;
+
+		RenderContext renderContext = getRenderContext();
+		IFigure3D previous = renderContext.beginFigure(this);
+		try {
+			paintBorder(i_graphics);
+			paintClientArea(i_graphics);
+			paintFigure(i_graphics);
+		} finally {
+			renderContext.endFigure(previous);
+		}
 	}
 
 	/**
@@ -674,6 +704,11 @@ public class Figure3D extends Figure implements IFigure3D {
 		if (bFigureMoved) {
 			fireFigureMoved();
 			repaint();
+		} else {
+			// changing the depth only does not move the 2D figure, but it
+			// changes the paraxial bounds of this figure and its ancestors
+			invalidateAncestorParaxialBounds();
+			invalidateParaxialBoundsTree();
 		}
 
 	}
@@ -11,6 +11,7 @@
  ******************************************************************************/
 package org.eclipse.draw3d;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -28,6 +29,7 @@ import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw3d.camera.CameraLodHelper;
 import org.eclipse.draw3d.camera.ICamera;
+import org.eclipse.draw3d.geometry.AbstractPosition3D;
 import org.eclipse.draw3d.geometry.BoundingBox;
 import org.eclipse.draw3d.geometry.BoundingBoxImpl;
 import org.eclipse.draw3d.geometry.IBoundingBox;
@@ -36,15 +38,20 @@ import org.eclipse.draw3d.geometry.Math3D;
 import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
 import org.eclipse.draw3d.geometry.Position3D;
 import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometryext.Frustum;
+import org.eclipse.draw3d.graphics3d.AsyncRenderImage;
+import org.eclipse.draw3d.graphics3d.CompoundRenderImage;
 import org.eclipse.draw3d.graphics3d.Graphics3D;
 import org.eclipse.draw3d.graphics3d.Graphics3DDraw;
 import org.eclipse.draw3d.graphics3d.ILodHelper;
 import org.eclipse.draw3d.graphics3d.RenderImage;
+import org.eclipse.draw3d.graphics3d.RenderImageSwap;
 import org.eclipse.draw3d.picking.Picker;
 import org.eclipse.draw3d.shapes.ParaxialBoundsFigureShape;
 import org.eclipse.draw3d.util.Draw3DCache;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.widgets.Display;
 
 /**
  * This helper class is used here as a delegator, since not all IFigure3D
@@ -182,6 +189,13 @@ public class Figure3DHelper {
 		}
 	}
 
+	/**
+	 * The maximum number of 2D children that are recorded into a single render
+	 * image. Smaller batches make re-recording a single dirty child cheaper,
+	 * larger batches reduce the number of render images.
+	 */
+	private static final int BATCH_SIZE = 16;
+
 	/**
 	 * Logger for this class
 	 */
@@ -333,13 +347,83 @@ public class Figure3DHelper {
 	 */
 	protected final Figure3DFriend m_figuresFriend;
 
+	private final ChildBatches<RenderImage> m_batches =
+		new ChildBatches<RenderImage>(BATCH_SIZE,
+			new ChildBatches.Recorder<RenderImage>() {
+
+				public RenderImage record(List<IFigure> i_children) {
+
+					return record2DImage(i_children, null);
+				}
+
+				public void retire(RenderImage i_image) {
+
+					m_imageSwap.retire(i_image);
+				}
+			});
+
+	private RenderImage m_connectionImage;
+
+	private boolean m_connectionsDirty;
+
 	private ImageRenderFragment m_fragment;
 
+	/**
+	 * Keeps the displayed images on screen until the recorded images that
+	 * replace them are prepared.
+	 */
+	private final RenderImageSwap m_imageSwap = new RenderImageSwap();
+
+	private boolean m_imageUpdateRequested;
+
+	private final List<RenderImage> m_images = new ArrayList<RenderImage>();
+
 	// TODO: dispose render image when figure is deleted
-	private RenderImage m_image;
+	private final RenderImage m_image = new CompoundRenderImage(m_images);
+
+	private Color m_recordedBackgroundColor;
+
+	private Font m_recordedFont;
+
+	private Color m_recordedForegroundColor;
+
+	private Font m_recordedLocalFont;
 
 	private boolean m_decendants3DCacheValid;
 
+	private List<IFigure> m_children2D = Collections.emptyList();
+
+	private List<IFigure3D> m_children3D = Collections.emptyList();
+
+	/**
+	 * The revision of the children, which is incremented by
+	 * {@link #revalidate()}. Draw2D revalidates a figure whenever a child is
+	 * added or removed.
+	 */
+	private int m_childrenRevision = 0;
+
+	/**
+	 * The revision of the children when the cached child lists were created.
+	 */
+	private int m_childrenCacheRevision = -1;
+
+	private int m_childrenCacheSize;
+
+	/**
+	 * The generation of the figure's position when its paraxial bounds were
+	 * calculated.
+	 * 
+	 * @see #isParaxialBoundsValid()
+	 */
+	private int m_paraxialBoundsGeneration;
+
+	/**
+	 * Indicates whether a 3D descendant of this figure has no paraxial bounds,
+	 * in which case the paraxial bounds of this figure do not contain its whole
+	 * subtree. Updated by {@link #unionWithChildParaxialBounds(ParaxialBoundingBox)}.
+	 */
+	private boolean m_unboundedDescendants;
+
 	/**
 	 * Creates a new helper. The given friend provides access to the figure.
 	 * 
@@ -400,11 +484,27 @@ public class Figure3DHelper {
 	 */
 	private void doPaintChildrenAndConnections2D(IFigure3D host,
 		Collection<IFigure> children2D, Graphics graphics) {
+
+		doPaintChildrenAndConnections2D(host, children2D, host
+			.getConnectionLayer(null), graphics);
+	}
+
+	/**
+	 * Paints the given 2D children and the given connection layer.
+	 * 
+	 * @param host the 3D ancestor (parent) of the children
+	 * @param children2D the 2D children to be painted
+	 * @param connectionLayer the connection layer to paint, may be
+	 *            <code>null</code>
+	 * @param graphics the graphics object used for rendering
+	 */
+	private void doPaintChildrenAndConnections2D(IFigure3D host,
+		Collection<IFigure> children2D, ConnectionLayer connectionLayer,
+		Graphics graphics) {
 		graphics.pushState();
 		try {
 			doPaintChildren2D(host, children2D, graphics);
 
-			ConnectionLayer connectionLayer = host.getConnectionLayer(null);
 			// paint the connections
 			if (connectionLayer != null) {
 				connectionLayer.paint(graphics);
@@ -472,45 +572,29 @@ public class Figure3DHelper {
 	}
 
 	/**
-	 * Returns the figure's 2D children.
+	 * Returns the figure's 2D children. The list is cached until the children
+	 * of the figure change, see {@link #revalidate()}.
 	 * 
 	 * @return a list containing the figure's 2D children
 	 * @see IFigure2DHost3D#getChildren2D()
 	 */
 	public List<IFigure> getChildren2D() {
 
-		List<?> allChildren = m_figuresFriend.figure.getChildren();
-		if (allChildren.isEmpty())
-			return Collections.emptyList();
-
-		List<IFigure> children2D = new LinkedList<IFigure>();
-		for (Object child : allChildren) {
-			if (!(child instanceof Figure3D))
-				children2D.add((IFigure) child);
-		}
-
-		return Collections.unmodifiableList(children2D);
+		validateChildren();
+		return m_children2D;
 	}
 
 	/**
-	 * Returns the figure's 3D children.
+	 * Returns the figure's 3D children. The list is cached until the children
+	 * of the figure change, see {@link #revalidate()}.
 	 * 
 	 * @return a list containing the figure's 3D children
 	 * @see IFigure3D#getChildren3D()
 	 */
 	public List<IFigure3D> getChildren3D() {
 
-		List<?> allChildren = m_figuresFriend.figure.getChildren();
-		if (allChildren.isEmpty())
-			return Collections.emptyList();
-
-		List<IFigure3D> children3D = new LinkedList<IFigure3D>();
-		for (Object child : allChildren) {
-			if (child instanceof Figure3D)
-				children3D.add((IFigure3D) child);
-		}
-
-		return Collections.unmodifiableList(children3D);
+		validateChildren();
+		return m_children3D;
 	}
 
 	/**
@@ -521,8 +605,11 @@ public class Figure3DHelper {
 	 */
 	public List<IFigure3D> getDescendants3D(boolean i_updateCache) {
 
-		if (!m_decendants3DCacheValid && i_updateCache)
+		if (!m_decendants3DCacheValid && i_updateCache) {
+			m_decendants3DCache.clear();
 			doGetDescendants3D(m_decendants3DCache, m_figuresFriend.figure);
+			m_decendants3DCacheValid = true;
+		}
 
 		return m_decendants3DCache;
 	}
@@ -540,14 +627,81 @@ public class Figure3DHelper {
 
 	/**
 	 * Invalidates the paraxial bounds of the figure and of all 3D figures in
-	 * its subtree.
+	 * its subtree. Only the bounds of the figure itself are invalidated here,
+	 * the 3D descendants notice that their bounds are out of date when they
+	 * are requested next, because their positions have been recalculated
+	 * since (see {@link #isParaxialBoundsValid()}). This way, only the 3D
+	 * descendants whose bounds are actually requested are updated.
 	 */
 	public void invalidateParaxialBoundsTree() {
 
 		m_figuresFriend.figure.invalidateParaxialBounds();
-		List<IFigure3D> descendants3D = getDescendants3D(false);
-		for (IFigure3D descendant3D : descendants3D)
-			descendant3D.invalidateParaxialBounds();
+	}
+
+	/**
+	 * Indicates whether the cached paraxial bounds of the figure are still up
+	 * to date with its position. The bounds are out of date if the position
+	 * has been recalculated since {@link
+	 * #unionWithChildParaxialBounds(ParaxialBoundingBox)} was called last,
+	 * which is the case if the figure or one of its 3D ancestors was moved,
+	 * resized or rotated. A figure must recalculate its cached bounds if this
+	 * method returns <code>false</code>.
+	 * <p>
+	 * Only changes of positions that extend {@link AbstractPosition3D} can be
+	 * detected, for any other position this method always returns
+	 * <code>false</code>.
+	 * </p>
+	 * 
+	 * @return <code>true</code> if the cached paraxial bounds are up to date
+	 *         or <code>false</code> if they must be recalculated
+	 */
+	public boolean isParaxialBoundsValid() {
+
+		Position3D position = m_figuresFriend.figure.getPosition3D();
+		if (!(position instanceof AbstractPosition3D))
+			return false;
+
+		int generation = ((AbstractPosition3D) position).getGeneration();
+		return generation == m_paraxialBoundsGeneration;
+	}
+
+	/**
+	 * Tests the paraxial bounding box of the figure against the culling
+	 * frustum of the current render pass. If the figure is culled, neither the
+	 * figure nor any of its descendants need to be painted. Figures without
+	 * paraxial bounds and figures with 3D descendants that do not have
+	 * paraxial bounds are never culled. The result of the test is recorded in
+	 * the render context. In retained mode, figures are never culled here
+	 * because all fragments must be retained, the fragments are culled by the
+	 * render context instead.
+	 * 
+	 * @return <code>true</code> if the figure is entirely outside of the view
+	 *         frustum and <code>false</code> otherwise
+	 * @see RenderContext#getFrustum()
+	 */
+	public boolean isCulled() {
+
+		IFigure3D figure = m_figuresFriend.figure;
+		RenderContext renderContext = figure.getRenderContext();
+		if (renderContext == null || renderContext.isRetainedMode())
+			return false;
+
+		Frustum frustum = renderContext.getFrustum();
+		if (!frustum.isValid())
+			return false;
+
+		ParaxialBoundingBox tmp = Draw3DCache.getParaxialBoundingBox();
+		try {
+			ParaxialBoundingBox bounds = figure.getParaxialBoundingBox(tmp);
+			boolean culled =
+				bounds != null && !m_unboundedDescendants
+					&& !frustum.intersects(bounds);
+
+			renderContext.countCulling(culled);
+			return culled;
+		} finally {
+			Draw3DCache.returnParaxialBoundingBox(tmp);
+		}
 	}
 
 	/**
@@ -574,10 +728,50 @@ public class Figure3DHelper {
 	}
 	
 	public void disposeImage() {
-		if (m_image != null) {
-			m_image.dispose();
-			m_image = null;
+		for (RenderImage image : m_batches
+			.getImages(new ArrayList<RenderImage>()))
+			image.dispose();
+		m_batches.clear();
+
+		if (m_connectionImage != null) {
+			m_connectionImage.dispose();
+			m_connectionImage = null;
+		}
+
+		m_imageSwap.clear();
+		m_images.clear();
+	}
+
+	/**
+	 * Marks the 2D child of this figure that contains the given figure as
+	 * dirty, so that it is recorded again the next time the 2D content is
+	 * painted. If the given figure is a connection, the connections are
+	 * recorded again.
+	 * 
+	 * @param i_figure the figure that was repainted
+	 * @see IFigure2DHost3D#invalidate2DContent(IFigure)
+	 */
+	public void invalidate2DContent(IFigure i_figure) {
+
+		IFigure3D host = m_figuresFriend.figure;
+		ConnectionLayer connectionLayer = host.getConnectionLayer(null);
+
+		IFigure current = i_figure;
+		while (current != null && current != host) {
+			IFigure parent = current.getParent();
+			if (parent == host) {
+				m_batches.invalidate(current);
+				return;
+			}
+
+			if (parent != null && parent == connectionLayer)
+				break;
+
+			current = parent;
 		}
+
+		if (current != host)
+			m_connectionsDirty = true;
 	}
 
 	/**
@@ -600,6 +794,11 @@ public class Figure3DHelper {
 	 * Note that not only the direct 2D children are painted, but connections as
 	 * well.
 	 * </p>
+	 * <p>
+	 * The children are recorded in batches, and only the batches that contain
+	 * changed children are recorded again, see
+	 * {@link #invalidate2DContent(IFigure)}.
+	 * </p>
 	 * 
 	 * @param i_graphics the graphics object to paint on
 	 */
@@ -611,36 +810,21 @@ public class Figure3DHelper {
 			ISurface surface = figure.getSurface();
 
 			RenderContext renderContext = figure.getRenderContext();
-			Graphics3D g3d = renderContext.getGraphics3D();
 
 			if (surface != null && surface.is2DHost()) {
 				if ((renderContext.isRedraw2DContent() || m_figuresFriend
 					.is2DContentDirty())) {
 
-					if (m_image != null) {
-						m_image.dispose();
-						m_image = null;
-					}
-
-					Rectangle bounds = figure.getBounds();
-					Graphics graphics =
-						g3d.begin2DRendering(figure, figure.getPosition3D(),
-							bounds.width, bounds.height);
-
-					try {
-						graphics.setFont(i_graphics.getFont());
-						configureGraphics(graphics);
-						doPaintChildrenAndConnections2D(figure, children2D,
-							graphics);
-					} finally {
-						m_image = g3d.deactivateGraphics2D();
-						m_image.initialize(g3d);
-
-						if (m_fragment == null)
-							m_fragment = new ImageRenderFragment(figure);
-
-						m_fragment.setImage(m_image);
-					}
+					record2DContent(children2D, i_graphics.getFont(),
+						renderContext.isRedraw2DContent());
+				}
+
+				updateImages(renderContext.isRedraw2DContent()
+					|| m_images.isEmpty());
+
+				if (m_fragment == null && !m_images.isEmpty()) {
+					m_fragment = new ImageRenderFragment(figure);
+					m_fragment.setImage(m_image);
 				}
 
 				if (m_fragment != null)
@@ -654,6 +838,157 @@ public class Figure3DHelper {
 		}
 	}
 
+	/**
+	 * Records the given 2D children and the connections of this figure. The
+	 * children are recorded in batches of {@link #BATCH_SIZE} children, and a
+	 * batch is only recorded again if one of its children was repainted (see
+	 * {@link #invalidate2DContent(IFigure)}), moved, resized, hidden or shown,
+	 * or if the children of this figure have changed. The connections are
+	 * recorded again if any batch or any connection has changed.
+	 * 
+	 * @param i_children2D the 2D children
+	 * @param i_font the font of the incoming graphics object
+	 * @param i_redraw whether all 2D content must be recorded again
+	 */
+	private void record2DContent(Collection<IFigure> i_children2D,
+		Font i_font, boolean i_redraw) {
+
+		IFigure3D figure = m_figuresFriend.figure;
+		boolean redraw = i_redraw;
+
+		Color foregroundColor = figure.getLocalForegroundColor();
+		Color backgroundColor = figure.getLocalBackgroundColor();
+		Font localFont = m_figuresFriend.getLocalFont();
+		if (!equals(m_recordedFont, i_font)
+			|| !equals(m_recordedForegroundColor, foregroundColor)
+			|| !equals(m_recordedBackgroundColor, backgroundColor)
+			|| !equals(m_recordedLocalFont, localFont)) {
+			m_recordedFont = i_font;
+			m_recordedForegroundColor = foregroundColor;
+			m_recordedBackgroundColor = backgroundColor;
+			m_recordedLocalFont = localFont;
+			redraw = true;
+		}
+
+		IFigure[] children =
+			i_children2D.toArray(new IFigure[i_children2D.size()]);
+
+		boolean changed = m_batches.update(children, redraw);
+
+		ConnectionLayer connectionLayer = figure.getConnectionLayer(null);
+		if (redraw || changed || m_connectionsDirty
+			|| (connectionLayer == null) != (m_connectionImage == null)) {
+			if (m_connectionImage != null) {
+				m_imageSwap.retire(m_connectionImage);
+				m_connectionImage = null;
+			}
+
+			if (connectionLayer != null) {
+				List<IFigure> noChildren = Collections.emptyList();
+				m_connectionImage =
+					record2DImage(noChildren, connectionLayer);
+			}
+		}
+
+		m_connectionsDirty = false;
+	}
+
+	/**
+	 * Records the given 2D children and the given connection layer into a new
+	 * render image. Once images of this figure are displayed, the recorded
+	 * image replaces a displayed one, so it is created as a dynamic image
+	 * (see {@link Graphics3D#deactivateGraphics2D(boolean)}).
+	 * 
+	 * @param i_children2D the children to record
+	 * @param i_connectionLayer the connection layer to record, may be
+	 *            <code>null</code>
+	 * @return the render image, which is not initialized yet
+	 */
+	private RenderImage record2DImage(Collection<IFigure> i_children2D,
+		ConnectionLayer i_connectionLayer) {
+
+		IFigure3D figure = m_figuresFriend.figure;
+		Graphics3D g3d = figure.getRenderContext().getGraphics3D();
+
+		Rectangle bounds = figure.getBounds();
+		Graphics graphics =
+			g3d.begin2DRendering(figure, figure.getPosition3D(), bounds.width,
+				bounds.height);
+
+		RenderImage image;
+		try {
+			if (m_recordedFont != null)
+				graphics.setFont(m_recordedFont);
+			configureGraphics(graphics);
+			doPaintChildrenAndConnections2D(figure, i_children2D,
+				i_connectionLayer, graphics);
+		} finally {
+			image = g3d.deactivateGraphics2D(!m_images.isEmpty());
+		}
+
+		m_imageSwap.add(image);
+		return image;
+	}
+
+	/**
+	 * Requests a render pass in which this figure is painted again, so that
+	 * pending images that are prepared in the meantime are displayed.
+	 */
+	private void requestImageUpdate() {
+
+		if (m_imageUpdateRequested)
+			return;
+
+		Display display = Display.getCurrent();
+		if (display == null)
+			return;
+
+		m_imageUpdateRequested = true;
+		display.asyncExec(new Runnable() {
+
+			public void run() {
+
+				m_imageUpdateRequested = false;
+				m_figuresFriend.figure.repaint();
+			}
+		});
+	}
+
+	/**
+	 * Displays the recorded images once all of them are prepared. Render
+	 * images may be prepared in the background (see {@link AsyncRenderImage}
+	 * ), and until all of them are prepared, the previously displayed images
+	 * are kept on screen and another render pass is requested.
+	 * 
+	 * @param i_wait whether to wait for the preparation of the pending images
+	 */
+	private void updateImages(boolean i_wait) {
+
+		if (m_imageSwap.isEmpty())
+			return;
+
+		if (!i_wait && !m_imageSwap.isPrepared()) {
+			requestImageUpdate();
+			return;
+		}
+
+		m_imageSwap.swap(m_figuresFriend.figure.getRenderContext()
+			.getGraphics3D());
+
+		m_images.clear();
+		m_batches.getImages(m_images);
+		if (m_connectionImage != null)
+			m_images.add(m_connectionImage);
+	}
+
+	private static boolean equals(Object i_o1, Object i_o2) {
+
+		if (i_o1 == null)
+			return i_o2 == null;
+
+		return i_o1.equals(i_o2);
+	}
+
 	/**
 	 * Paints the 3D children. The given graphics object is passed to the 3D
 	 * figures. This method was extracted from {@link #paintChildren(Graphics)}
@@ -665,9 +1000,8 @@ public class Figure3DHelper {
 	private void paintChildren3D(Graphics i_graphics) {
 
 		List<IFigure3D> children3D = getChildren3D();
-		if (!children3D.isEmpty())
-			for (IFigure3D child3D : children3D)
-				child3D.paint(i_graphics);
+		for (int i = 0; i < children3D.size(); i++)
+			children3D.get(i).paint(i_graphics);
 	}
 
 	/**
@@ -697,6 +1031,7 @@ public class Figure3DHelper {
 
 		m_decendants3DCache.clear();
 		m_decendants3DCacheValid = false;
+		m_childrenRevision++;
 	}
 
 	/**
@@ -710,23 +1045,68 @@ public class Figure3DHelper {
 		return super.toString() + " with " + this.m_figuresFriend;
 	}
 
+	/**
+	 * Updates the cached lists of 2D and 3D children if the children have
+	 * changed. New lists are created so that lists returned before are not
+	 * modified while they are iterated.
+	 */
+	private void validateChildren() {
+
+		List<?> allChildren = m_figuresFriend.figure.getChildren();
+		if (m_childrenCacheRevision == m_childrenRevision
+			&& m_childrenCacheSize == allChildren.size())
+			return;
+
+		List<IFigure> children2D = new ArrayList<IFigure>();
+		List<IFigure3D> children3D = new ArrayList<IFigure3D>();
+		for (Object child : allChildren) {
+			if (child instanceof Figure3D)
+				children3D.add((IFigure3D) child);
+			else
+				children2D.add((IFigure) child);
+		}
+
+		if (children2D.isEmpty())
+			m_children2D = Collections.emptyList();
+		else
+			m_children2D = Collections.unmodifiableList(children2D);
+
+		if (children3D.isEmpty())
+			m_children3D = Collections.emptyList();
+		else
+			m_children3D = Collections.unmodifiableList(children3D);
+
+		m_childrenCacheRevision = m_childrenRevision;
+		m_childrenCacheSize = allChildren.size();
+	}
+
 	/**
 	 * Unites the given paraxial bounding box with the paraxial bounding boxes
-	 * of all 3D descendents of this figure.
+	 * of all 3D descendents of this figure. The descendants return their
+	 * cached bounds unless they are out of date, so that only the changed
+	 * branches of the subtree are recalculated. The current generation of the
+	 * figure's position is recorded, see {@link #isParaxialBoundsValid()}.
 	 * 
 	 * @param i_figureBounds the paraxial bounding box of this figure
 	 */
 	public void unionWithChildParaxialBounds(ParaxialBoundingBox i_figureBounds) {
 
+		Position3D position = m_figuresFriend.figure.getPosition3D();
+		if (position instanceof AbstractPosition3D)
+			m_paraxialBoundsGeneration =
+				((AbstractPosition3D) position).getGeneration();
+
 		ParaxialBoundingBox tmp = Draw3DCache.getParaxialBoundingBox();
 		try {
+			m_unboundedDescendants = false;
 			List<IFigure3D> descendants3D = getDescendants3D(true);
 			for (IFigure3D descendant3D : descendants3D) {
 				ParaxialBoundingBox descBounds =
 					descendant3D.getParaxialBoundingBox(tmp);
 				if (descBounds != null)
 					i_figureBounds.union(descBounds);
-
+				else
+					m_unboundedDescendants = true;
 			}
 		} finally {
 			Draw3DCache.returnParaxialBoundingBox(tmp);
@@ -52,6 +52,16 @@ public interface IFigure2DHost3D {
 	 */
 	public ConnectionLayer getConnectionLayer(ConnectionLayerFactory i_clfactory);
 
+	/**
+	 * Notifies this host that the given figure, which is either a 2D
+	 * descendant or a connection of this host, was repainted. Only the 2D
+	 * content that is affected by the given figure is recorded again the next
+	 * time this host is painted.
+	 * 
+	 * @param i_figure the repainted figure
+	 */
+	public void invalidate2DContent(IFigure i_figure);
+
 	/**
 	 * Returns the surface of this host figure.
 	 * 
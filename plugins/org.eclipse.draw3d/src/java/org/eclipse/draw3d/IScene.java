@@ -84,6 +84,25 @@ public interface IScene {
 	 */
 	public boolean isDebug();
 
+	/**
+	 * Indicates whether frustum culling is enabled for this scene.
+	 * 
+	 * @return <code>true</code> if 3D figures outside of the camera's view
+	 *         frustum are skipped during rendering and <code>false</code>
+	 *         otherwise
+	 * @see #setFrustumCulling(boolean)
+	 */
+	public boolean isFrustumCulling();
+
+	/**
+	 * Indicates whether retained mode is enabled for this scene.
+	 * 
+	 * @return <code>true</code> if the render fragments are retained between
+	 *         render passes and <code>false</code> otherwise
+	 * @see #setRetainedMode(boolean)
+	 */
+	public boolean isRetainedMode();
+
 	/**
 	 * Removes the given listener from this scene. If the given listener is not
 	 * registered with this scene, it is ignored.
@@ -129,6 +148,20 @@ public interface IScene {
 	 */
 	public void setDrawAxes(boolean i_drawAxes);
 
+	/**
+	 * Specifies whether frustum culling is enabled for this scene. If enabled,
+	 * the paraxial bounding box of every 3D figure is tested against the view
+	 * frustum of the camera before the figure is painted, and figures which
+	 * are entirely outside of the frustum are skipped together with their
+	 * descendants. The number of culled and visible figures is available from
+	 * the render context during
+	 * {@link ISceneListener#renderPassFinished(RenderContext)}.
+	 * 
+	 * @param i_frustumCulling <code>true</code> to enable frustum culling or
+	 *            <code>false</code> to disable it
+	 */
+	public void setFrustumCulling(boolean i_frustumCulling);
+
 	/**
 	 * Specifies how 2D font antialiasing should be handled in this scene.
 	 * 
@@ -136,4 +169,17 @@ public interface IScene {
 	 * @see FontAntialias
 	 */
 	public void setFontAntialias(FontAntialias i_antialias);
+
+	/**
+	 * Specifies whether retained mode is enabled for this scene. If enabled,
+	 * the render fragments that were collected from the figure tree are kept
+	 * between render passes, and only the subtrees of repainted figures are
+	 * collected again. If only the camera changed, the figure tree is not
+	 * traversed at all. Retained mode is disabled by default.
+	 * 
+	 * @param i_retainedMode <code>true</code> to enable retained mode or
+	 *            <code>false</code> to disable it
+	 * @see RenderContext#setRetainedMode(boolean)
+	 */
+	public void setRetainedMode(boolean i_retainedMode);
 }
\ No newline at end of file
@@ -12,6 +12,7 @@
 package org.eclipse.draw3d;
 
 import org.eclipse.draw3d.camera.ICamera;
+import org.eclipse.draw3d.util.AllocationProfiler;
 
 /**
  * Listens to certain events and changes in a scene.
@@ -22,6 +23,21 @@ import org.eclipse.draw3d.camera.ICamera;
  */
 public interface ISceneListener {
 
+    /**
+     * Called once per render pass if an allocation profiler is set on the
+     * render context. At this point, the profiler has completed the previous
+     * frame, including the buffer swap, so its statistics refer to that frame.
+     * This method is not called for color picking passes.
+     * 
+     * @param renderContext
+     *            the render context
+     * @param profiler
+     *            the allocation profiler of the render context
+     * @see RenderContext#setAllocationProfiler(AllocationProfiler)
+     */
+    public void allocationsMeasured(RenderContext renderContext,
+            AllocationProfiler profiler);
+
     /**
      * Called when the camera in this scene changes.
      * 
@@ -32,6 +48,24 @@ public interface ISceneListener {
      */
     public void cameraChanged(ICamera i_oldCamera, ICamera i_newCamera);
 
+    /**
+     * Called once the figures of a render pass were collected if the figures
+     * were tested against the view frustum of the camera. The descendants of
+     * a culled figure are not tested and therefore not counted. This method
+     * is not called for color picking passes or if frustum culling is
+     * disabled.
+     * 
+     * @param renderContext
+     *            the render context
+     * @param culledCount
+     *            the number of 3D figures that were culled
+     * @param visibleCount
+     *            the number of 3D figures that passed the culling test
+     * @see IScene#setFrustumCulling(boolean)
+     */
+    public void figuresCulled(RenderContext renderContext, int culledCount,
+            int visibleCount);
+
     /**
      * Called once a render pass was finished. It is guaranteed that the render
      * context is still valid when this method is called.
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw3d.graphics3d.DisplayListManager;
+import org.eclipse.draw3d.graphics3d.Graphics3D;
+
+/**
+ * Renders all instances of a shared geometry that were collected during a
+ * render pass. The instance data of the fragments is written into a buffer
+ * which is compared with the buffer of the previous render pass. If the data
+ * did not change, the batch is compiled into a display list that draws all
+ * instances, so that the whole batch is rendered with a single call. Batches
+ * whose data changes in every render pass (e.g. during an animation) are
+ * rendered directly from the buffer.
+ * <p>
+ * The compiled display list calls the display lists of the instances. If one
+ * of them is created again, the {@link DisplayListManager} deletes the
+ * compiled list as well, and the batch is compiled again the next time its
+ * data is unchanged.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+class InstanceBatch {
+
+	private static final int SIZE = InstancedRenderFragment.INSTANCE_DATA_SIZE;
+
+	private boolean m_compiled = false;
+
+	private int m_count = 0;
+
+	private float[] m_data = new float[SIZE * 16];
+
+	private final List<InstancedRenderFragment> m_fragments =
+		new ArrayList<InstancedRenderFragment>();
+
+	private final Object m_key;
+
+	private float[] m_previousData = new float[SIZE * 16];
+
+	private int m_previousCount = -1;
+
+	private RenderContext m_renderContext;
+
+	private final Runnable m_renderInstances = new Runnable() {
+
+		public void run() {
+
+			renderInstances();
+		}
+	};
+
+	/**
+	 * Creates a new batch for the given instance key.
+	 *
+	 * @param i_key the instance key
+	 */
+	InstanceBatch(Object i_key) {
+
+		m_key = i_key;
+	}
+
+	/**
+	 * Adds the given fragment to this batch.
+	 *
+	 * @param i_fragment the fragment to add
+	 */
+	void add(InstancedRenderFragment i_fragment) {
+
+		m_fragments.add(i_fragment);
+	}
+
+	/**
+	 * Deletes the display list of this batch.
+	 *
+	 * @param i_displayListManager the display list manager
+	 */
+	void dispose(DisplayListManager i_displayListManager) {
+
+		if (i_displayListManager.isDisplayList(this))
+			i_displayListManager.deleteDisplayLists(this);
+
+		m_compiled = false;
+		m_previousCount = -1;
+	}
+
+	/**
+	 * Returns the instance key of this batch.
+	 *
+	 * @return the instance key
+	 */
+	Object getKey() {
+
+		return m_key;
+	}
+
+	/**
+	 * Indicates whether any fragments were added to this batch since it was
+	 * rendered the last time.
+	 *
+	 * @return <code>true</code> if this batch is empty and <code>false</code>
+	 *         otherwise
+	 */
+	boolean isEmpty() {
+
+		return m_fragments.isEmpty();
+	}
+
+	/**
+	 * Renders all fragments that were added to this batch and removes them.
+	 *
+	 * @param i_renderContext the current render context
+	 */
+	void render(RenderContext i_renderContext) {
+
+		m_renderContext = i_renderContext;
+		try {
+			if (m_fragments.size() == 1) {
+				m_fragments.get(0).render(i_renderContext);
+				return;
+			}
+
+			DisplayListManager displayListManager =
+				i_renderContext.getGraphics3D().getDisplayListManager();
+
+			if (updateData()) {
+				m_compiled = false;
+				renderInstances();
+				return;
+			}
+
+			if (!m_compiled || !displayListManager.isDisplayList(this)) {
+				displayListManager.createDisplayList(this, m_renderInstances);
+				m_compiled = true;
+			}
+
+			displayListManager.executeDisplayList(this);
+		} finally {
+			m_fragments.clear();
+			m_renderContext = null;
+		}
+	}
+
+	private void renderInstances() {
+
+		Graphics3D g3d = m_renderContext.getGraphics3D();
+		for (int i = 0; i < m_count; i++) {
+			int offset = i * SIZE;
+
+			g3d.glPushMatrix();
+			try {
+				g3d.glMultMatrix(m_data, offset);
+				m_fragments.get(i).renderInstance(m_renderContext, m_data,
+					offset);
+			} finally {
+				g3d.glPopMatrix();
+			}
+		}
+	}
+
+	/**
+	 * Writes the instance data of the current fragments into the buffer.
+	 *
+	 * @return <code>true</code> if the data differs from the data of the
+	 *         previous render pass and <code>false</code> otherwise
+	 */
+	private boolean updateData() {
+
+		float[] previous = m_data;
+		m_data = m_previousData;
+		m_previousData = previous;
+
+		m_count = m_fragments.size();
+		if (m_data.length < m_count * SIZE) {
+			int length = m_data.length;
+			while (length < m_count * SIZE)
+				length *= 2;
+			m_data = new float[length];
+		}
+
+		for (int i = 0; i < m_count; i++)
+			m_fragments.get(i).getInstanceData(m_renderContext, m_data,
+				i * SIZE);
+
+		boolean changed = m_count != m_previousCount;
+		for (int i = 0; i < m_count * SIZE && !changed; i++)
+			changed = m_data[i] != m_previousData[i];
+
+		m_previousCount = m_count;
+		return changed;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "InstanceBatch[key: " + m_key + ", instances: "
+			+ m_fragments.size() + ", compiled: " + m_compiled + "]";
+	}
+}
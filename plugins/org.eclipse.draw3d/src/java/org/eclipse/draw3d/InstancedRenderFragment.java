@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d;
+
+/**
+ * A render fragment that can be rendered as an instance of a shared geometry.
+ * Opaque fragments that return equal instance keys are collected in an
+ * instance batch by the {@link RenderContext}. The per-instance data of all
+ * fragments in a batch, i.e. their transformation and colors, is written into
+ * a buffer, and the batch is rendered with a single call as long as this data
+ * does not change.
+ * <p>
+ * The instance data of a fragment consists of {@link #INSTANCE_DATA_SIZE}
+ * floats: the transformation matrix in the format written by
+ * {@link org.eclipse.draw3d.geometry.IMatrix#toArrayRowMajor(float[], int)},
+ * followed by two RGBA colors, usually the fill and the outline color. If a
+ * render origin is set (see
+ * {@link org.eclipse.draw3d.graphics3d.Graphics3DDraw#setRenderOrigin(org.eclipse.draw3d.geometry.IVector3f)}
+ * ), the transformation matrix must be relative to it.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ * @see RenderContext#setInstancing(boolean)
+ */
+public interface InstancedRenderFragment extends RenderFragment {
+
+	/**
+	 * The number of floats in the instance data of a fragment.
+	 */
+	public static final int INSTANCE_DATA_SIZE = 24;
+
+	/**
+	 * Writes the instance data of this fragment into the given array.
+	 *
+	 * @param i_renderContext the current render context
+	 * @param o_data the array to write to
+	 * @param i_offset the index at which the data of this fragment starts
+	 */
+	public void getInstanceData(RenderContext i_renderContext,
+		float[] o_data, int i_offset);
+
+	/**
+	 * Returns the key of the geometry and render state shared by all instances
+	 * that can be rendered together with this fragment. Two fragments whose
+	 * keys are equal must render the same geometry if their instance data is
+	 * equal. This method is called during every render pass before the
+	 * instance data is requested, so it may also prepare resources like
+	 * display lists.
+	 *
+	 * @param i_renderContext the current render context
+	 * @return the instance key or <code>null</code> if this fragment cannot be
+	 *         rendered as an instance in its current state
+	 */
+	public Object getInstanceKey(RenderContext i_renderContext);
+
+	/**
+	 * Renders the shared geometry of this fragment. The transformation of the
+	 * instance is already applied when this method is called, the colors must
+	 * be taken from the given instance data, which may be recorded for later
+	 * use.
+	 *
+	 * @param i_renderContext the current render context
+	 * @param i_data the instance data
+	 * @param i_offset the index at which the data of this instance starts
+	 */
+	public void renderInstance(RenderContext i_renderContext, float[] i_data,
+		int i_offset);
+}
@@ -47,6 +47,7 @@ import org.eclipse.draw3d.graphics3d.DisplayListManager;
 import org.eclipse.draw3d.graphics3d.Graphics3D;
 import org.eclipse.draw3d.graphics3d.Graphics3DDraw;
 import org.eclipse.draw3d.picking.Picker;
+import org.eclipse.draw3d.util.AllocationProfiler;
 import org.eclipse.draw3d.util.ColorConverter;
 import org.eclipse.draw3d.util.DebugPrimitives;
 import org.eclipse.draw3d.util.Draw3DCache;
@@ -88,7 +89,20 @@ public class LightweightSystem3D extends LightweightSystem implements
 
 		private final Figure3DHelper helper;
 
-		private ParaxialBoundingBox m_paraxialBounds;
+		/**
+		 * The graphics object that is passed to the figures if the incoming
+		 * graphics object is not a dummy. It is reused for all render passes.
+		 */
+		private DummyGraphics m_graphics;
+
+		/**
+		 * The cached paraxial bounds of all children. The box is allocated
+		 * once and recalculated in place if it is invalid.
+		 */
+		private final ParaxialBoundingBox m_paraxialBounds =
+			new ParaxialBoundingBoxImpl();
+
+		private boolean m_paraxialBoundsValid = false;
 
 		private ISurface m_surface = new VoidSurface(this,
 			LightweightSystem3D.this, 0.1f);
@@ -179,7 +193,21 @@ public class LightweightSystem3D extends LightweightSystem implements
 					}
 				});
 
-			displayListManager.executeDisplayList(DL_AXES);
+			// the axes are drawn in world coordinates
+			Graphics3D g3d = renderContext.getGraphics3D();
+			IVector3f origin = g3d.getRenderOrigin();
+			if (origin == null) {
+				displayListManager.executeDisplayList(DL_AXES);
+			} else {
+				g3d.glPushMatrix();
+				try {
+					g3d.glTranslatef(-origin.getX(), -origin.getY(), -origin
+						.getZ());
+					displayListManager.executeDisplayList(DL_AXES);
+				} finally {
+					g3d.glPopMatrix();
+				}
+			}
 		}
 
 		/**
@@ -324,9 +352,11 @@ public class LightweightSystem3D extends LightweightSystem implements
 			Vector3f location = Draw3DCache.getVector3f();
 			Vector3f size = Draw3DCache.getVector3f();
 			try {
-				if (m_paraxialBounds == null) {
-					m_paraxialBounds = new ParaxialBoundingBoxImpl();
+				if (!m_paraxialBoundsValid || !helper.isParaxialBoundsValid()) {
+					m_paraxialBounds.setLocation(IVector3f.NULLVEC3f);
+					m_paraxialBounds.setSize(IVector3f.NULLVEC3f);
 					helper.unionWithChildParaxialBounds(m_paraxialBounds);
+					m_paraxialBoundsValid = true;
 				}
 
 				m_paraxialBounds.getLocation(location);
@@ -420,7 +450,7 @@ public class LightweightSystem3D extends LightweightSystem implements
 		 */
 		public void invalidateParaxialBounds() {
 
-			m_paraxialBounds = null;
+			m_paraxialBoundsValid = false;
 		}
 
 		/**
@@ -446,22 +476,49 @@ public class LightweightSystem3D extends LightweightSystem implements
 
 			// ignore the incoming graphics object if it is not a dummy
 			Graphics graphics = i_graphics;
-			if (!(graphics instanceof DummyGraphics))
-				graphics = new DummyGraphics();
+			if (!(graphics instanceof DummyGraphics)) {
+				if (m_graphics == null)
+					m_graphics = new DummyGraphics();
+				graphics = m_graphics;
+			}
 
+			// listeners are not interested in color picking passes
+			boolean notify = !renderContext.isColorPicking();
 			try {
-				for (ISceneListener listener : m_listeners)
-					listener.renderPassStarted(getRenderContext());
+				if (notify)
+					for (int i = 0; i < m_listeners.size(); i++)
+						m_listeners.get(i).renderPassStarted(renderContext);
 
 				// the root figure needs to paint itself first
 				prepareRender(renderContext);
-				paintBorder(graphics);
-				paintClientArea(graphics);
+				if (renderContext.beginCollection(this)) {
+					paintBorder(graphics);
+					paintClientArea(graphics);
+				} else {
+					renderContext.collectInvalidFigures(graphics);
+				}
+				renderContext.endCollection();
+
+				AllocationProfiler profiler =
+					renderContext.getAllocationProfiler();
+				if (notify && profiler != null)
+					for (int i = 0; i < m_listeners.size(); i++)
+						m_listeners.get(i).allocationsMeasured(renderContext,
+							profiler);
+
+				if (notify && renderContext.getFrustum().isValid()) {
+					int culled = renderContext.getCulledFigureCount();
+					int visible = renderContext.getVisibleFigureCount();
+					for (int i = 0; i < m_listeners.size(); i++)
+						m_listeners.get(i).figuresCulled(renderContext, culled,
+							visible);
+				}
 
 				renderContext.renderFragments();
 			} finally {
-				for (ISceneListener listener : m_listeners)
-					listener.renderPassFinished(getRenderContext());
+				if (notify)
+					for (int i = 0; i < m_listeners.size(); i++)
+						m_listeners.get(i).renderPassFinished(renderContext);
 
 				renderContext.clear();
 			}
@@ -530,14 +587,25 @@ public class LightweightSystem3D extends LightweightSystem implements
 			i_renderContext.activate();
 			Graphics3D g3d = getRenderContext().getGraphics3D();
 
-			g3d.glClearColor(m_clearColor[0], m_clearColor[1], m_clearColor[2],
-				m_clearColor[3]);
+			// the ID image is cleared to ID 0, i.e. no figure
+			if (i_renderContext.isColorPicking())
+				g3d.glClearColor(0, 0, 0, 0);
+			else
+				g3d.glClearColor(m_clearColor[0], m_clearColor[1],
+					m_clearColor[2], m_clearColor[3]);
 
 			g3d.glClear(Graphics3DDraw.GL_COLOR_BUFFER_BIT
 				| Graphics3DDraw.GL_DEPTH_BUFFER_BIT);
 
 			m_camera.render(i_renderContext);
 
+			// all 2D content must be redrawn, so nothing can be skipped
+			if (m_frustumCulling && !i_renderContext.isRedraw2DContent())
+				m_camera.getFrustum(i_renderContext.getFrustum());
+
+			if (i_renderContext.isColorPicking())
+				return;
+
 			if (m_drawAxes)
 				drawCoordinateAxes();
 
@@ -653,6 +721,8 @@ public class LightweightSystem3D extends LightweightSystem implements
 
 	boolean m_drawAxes;
 
+	boolean m_frustumCulling = true;
+
 	List<ISceneListener> m_listeners;
 
 	RenderContext m_renderContext;
@@ -688,7 +758,10 @@ public class LightweightSystem3D extends LightweightSystem implements
 		// updateManager.addDirtyRegion(getRootFigure(), 0, 0, 1000, 10000);
 		// updateManager.performUpdate();
 
-		render(false);
+		// the root figure is not invalidated here, so that retained render
+		// fragments can be reused, and the render pass is coalesced with
+		// subsequent camera changes
+		getUpdateManager3D().scheduleRender();
 	}
 
 	/**
@@ -818,6 +891,26 @@ public class LightweightSystem3D extends LightweightSystem implements
 		return m_debug;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.IScene#isFrustumCulling()
+	 */
+	public boolean isFrustumCulling() {
+
+		return m_frustumCulling;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.IScene#isRetainedMode()
+	 */
+	public boolean isRetainedMode() {
+
+		return m_renderContext.isRetainedMode();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -840,7 +933,7 @@ public class LightweightSystem3D extends LightweightSystem implements
 			m_renderContext.setRedraw2DContent();
 
 		getUpdateManager().addInvalidFigure(getRootFigure());
-		getUpdateManager().performUpdate();
+		getUpdateManager3D().renderNow();
 	}
 
 	/**
@@ -924,6 +1017,7 @@ public class LightweightSystem3D extends LightweightSystem implements
 	public void setDebug(boolean i_debug) {
 
 		m_debug = i_debug;
+		m_renderContext.invalidateFragments();
 	}
 
 	/**
@@ -937,6 +1031,16 @@ public class LightweightSystem3D extends LightweightSystem implements
 		m_drawAxes = i_drawAxes;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.IScene#setFrustumCulling(boolean)
+	 */
+	public void setFrustumCulling(boolean i_frustumCulling) {
+
+		m_frustumCulling = i_frustumCulling;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -975,6 +1079,16 @@ public class LightweightSystem3D extends LightweightSystem implements
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.IScene#setRetainedMode(boolean)
+	 */
+	public void setRetainedMode(boolean i_retainedMode) {
+
+		m_renderContext.setRetainedMode(i_retainedMode);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -14,12 +14,16 @@ package org.eclipse.draw3d;
 import java.util.logging.Logger;
 
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw3d.picking.ColorPicker;
 import org.eclipse.draw3d.picking.GeometryPicker;
 import org.eclipse.draw3d.picking.Picker;
 
 /**
- * Does the actual picking for 3D figures by using a color picker, see
- * {@link ColorPicker}.
+ * Does the actual picking for 3D figures. By default, picking is done by a
+ * {@link GeometryPicker}, which intersects the pick ray with the figures'
+ * geometry. If color picking is enabled (see {@link #setColorPicking(boolean)}
+ * ), a {@link ColorPicker} is used instead, which reads figure IDs from an
+ * offscreen image and falls back to geometry picking if necessary.
  * 
  * @author Jens von Pilgrim
  * @version $Revision$
@@ -31,8 +35,14 @@ public class PickingUpdateManager3D extends DeferredUpdateManager3D {
 	private static final Logger log =
 		Logger.getLogger(PickingUpdateManager3D.class.getName());
 
+	private ColorPicker m_colorPicker;
+
+	private boolean m_colorPicking = false;
+
 	private GeometryPicker m_picker;
 
+	private final IScene m_scene;
+
 	/**
 	 * Creates a new picking update manager for the given scene.
 	 * 
@@ -44,9 +54,53 @@ public class PickingUpdateManager3D extends DeferredUpdateManager3D {
 		if (i_scene == null)
 			throw new NullPointerException("i_scene must not be null");
 
+		m_scene = i_scene;
 		m_picker = new GeometryPicker(i_scene);
 	}
 
+	/**
+	 * {@inheritDoc} The bounds of the figure's 3D host are invalidated in the
+	 * picker's bounding volume hierarchy. The picker ignores hosts that were
+	 * neither moved nor resized, so that cosmetic repaints keep its cached
+	 * hits. If a 2D figure is repainted, the cached hits are cleared anyway,
+	 * because they contain the 2D figures found on the surface of the host.
+	 * 
+	 * @see org.eclipse.draw3d.DeferredUpdateManager3D#addDirtyRegion(org.eclipse.draw2d.IFigure,
+	 *      int, int, int, int)
+	 */
+	@Override
+	public synchronized void addDirtyRegion(IFigure i_figure, int i_x,
+		int i_y, int i_w, int i_h) {
+
+		super.addDirtyRegion(i_figure, i_x, i_y, i_w, i_h);
+
+		IFigure3D host = Figure3DHelper.getAncestor3D(i_figure);
+		if (m_colorPicking)
+			m_colorPicker.invalidate(host);
+		else
+			m_picker.invalidate(host);
+
+		if (host != i_figure)
+			m_picker.clearCache();
+	}
+
+	/**
+	 * {@inheritDoc} The picker's bounding volume hierarchy is invalidated,
+	 * since the structure of the figure tree may have changed.
+	 * 
+	 * @see org.eclipse.draw3d.DeferredUpdateManager3D#addInvalidFigure(org.eclipse.draw2d.IFigure)
+	 */
+	@Override
+	public synchronized void addInvalidFigure(IFigure i_figure) {
+
+		super.addInvalidFigure(i_figure);
+
+		if (m_colorPicking)
+			m_colorPicker.invalidate();
+		else
+			m_picker.invalidate();
+	}
+
 	/**
 	 * Indicates whether picking is enabled.
 	 */
@@ -55,13 +109,30 @@ public class PickingUpdateManager3D extends DeferredUpdateManager3D {
 	/**
 	 * Returns the picker.
 	 * 
-	 * @return the picker
+	 * @return the color picker if color picking is enabled and the geometry
+	 *         picker otherwise
+	 * @see #setColorPicking(boolean)
 	 */
 	public Picker getPicker() {
 
+		if (m_colorPicking)
+			return m_colorPicker;
+
 		return m_picker;
 	}
 
+	/**
+	 * Indicates whether color picking is enabled.
+	 * 
+	 * @return <code>true</code> if color picking is enabled and
+	 *         <code>false</code> otherwise
+	 * @see #setColorPicking(boolean)
+	 */
+	public boolean isColorPicking() {
+
+		return m_colorPicking;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -84,6 +155,37 @@ public class PickingUpdateManager3D extends DeferredUpdateManager3D {
 	public void setRoot(IFigure i_figure) {
 
 		super.setRoot(i_figure);
-		m_picker.setRootFigure(Figure3DHelper.getAncestor3D(i_figure));
+
+		IFigure3D rootFigure = Figure3DHelper.getAncestor3D(i_figure);
+		m_picker.setRootFigure(rootFigure);
+		if (m_colorPicker != null)
+			m_colorPicker.setRootFigure(rootFigure);
+	}
+
+	/**
+	 * Enables or disables color picking. Color picking renders the IDs of all
+	 * figures into an offscreen image, which is only updated if the camera or
+	 * the figure tree changes. This is faster than geometry picking for scenes
+	 * with many figures, but requires offscreen rendering support.
+	 * 
+	 * @param i_colorPicking <code>true</code> to enable color picking and
+	 *            <code>false</code> to use geometry picking
+	 */
+	public synchronized void setColorPicking(boolean i_colorPicking) {
+
+		if (m_colorPicking == i_colorPicking)
+			return;
+
+		if (i_colorPicking) {
+			if (m_colorPicker == null) {
+				m_colorPicker = new ColorPicker(m_scene, m_picker);
+				m_colorPicker.setRootFigure(root3D);
+			}
+
+			// geometry invalidations may have been missed
+			m_colorPicker.invalidate();
+		}
+
+		m_colorPicking = i_colorPicking;
 	}
 }
@@ -13,14 +13,26 @@ package org.eclipse.draw3d;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw3d.RenderFragment.RenderType;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.eclipse.draw3d.geometryext.Frustum;
 import org.eclipse.draw3d.graphics3d.DisplayListManager;
 import org.eclipse.draw3d.graphics3d.Graphics3D;
 import org.eclipse.draw3d.graphics3d.Graphics3DDraw;
+import org.eclipse.draw3d.util.AllocationProfiler;
+import org.eclipse.draw3d.util.Draw3DCache;
+import org.eclipse.draw3d.util.RadixSorter;
+import org.eclipse.draw3d.util.AllocationProfiler.Phase;
 import org.eclipse.swt.opengl.GLCanvas;
 
 /**
@@ -30,6 +42,42 @@ import org.eclipse.swt.opengl.GLCanvas;
  * functions as a container for some objects that figures may need when they
  * render themselves, for example the {@link Graphics3D} instance, the
  * {@link DisplayListManager} and the {@link IScene}.
+ * <p>
+ * In retained mode (see {@link IScene#setRetainedMode(boolean)}), the
+ * collected fragments are kept between render passes, grouped by the 3D
+ * figure that contributed them. The figure tree is only traversed again if
+ * the update manager reports changes: invalidated figures (i.e. layout or
+ * structural changes) cause a complete re-collection, while repainted figures
+ * only cause their own subtree to be collected again. If only the camera was
+ * changed, the retained fragments are just sorted and rendered again.
+ * </p>
+ * <p>
+ * In color picking mode (see {@link #setColorPicking(boolean)}), every
+ * fragment is rendered in a flat color that encodes the ID of the 3D figure
+ * that contributed it. This is used by
+ * {@link org.eclipse.draw3d.picking.ColorPicker} to render an ID image of the
+ * scene, the figure for an ID can be retrieved using
+ * {@link #getPickingFigure(int)}.
+ * </p>
+ * <p>
+ * If instancing is enabled (see {@link #setInstancing(boolean)}), opaque
+ * fragments that implement {@link InstancedRenderFragment} are grouped by
+ * their instance keys, and every group with more than one fragment is rendered
+ * as an {@link InstanceBatch}.
+ * </p>
+ * <p>
+ * In camera relative mode (see {@link #setCameraRelative(boolean)}), figures
+ * are rendered relative to a render origin close to the camera instead of the
+ * world origin. Their absolute locations are accumulated in double precision
+ * and only converted to float after the render origin has been subtracted,
+ * which avoids jitter in scenes that are far away from the world origin.
+ * </p>
+ * <p>
+ * If an {@link AllocationProfiler} is set (see
+ * {@link #setAllocationProfiler(AllocationProfiler)}), the bytes allocated
+ * while collecting, sorting and rendering the fragments are measured. Color
+ * picking passes are not measured.
+ * </p>
  * 
  * @author Jens von Pilgrim
  * @version $Revision$
@@ -37,6 +85,25 @@ import org.eclipse.swt.opengl.GLCanvas;
  */
 public class RenderContext {
 
+	/**
+	 * The fragments contributed by a single 3D figure in retained mode.
+	 * 
+	 * @author Jens von Pilgrim
+	 * @version $Revision$
+	 * @since 16.10.2026
+	 */
+	private static class FragmentGroup {
+
+		final List<RenderFragment> fragments = new ArrayList<RenderFragment>();
+
+		final IFigure3D owner;
+
+		FragmentGroup(IFigure3D i_owner) {
+
+			owner = i_owner;
+		}
+	}
+
 	/**
 	 * Logger for this class
 	 */
@@ -44,17 +111,90 @@ public class RenderContext {
 	private static final Logger log =
 		Logger.getLogger(RenderContext.class.getName());
 
+	/**
+	 * The grid to which the render origin is snapped in camera relative mode.
+	 * The snapped origin can be represented exactly in float precision, and
+	 * the relative matrices (and thus compiled instance batches) only change
+	 * if the camera moves into another grid cell.
+	 */
+	private static final float RENDER_ORIGIN_GRID = 1024;
+
+	/**
+	 * Cached since {@link RenderType#values()} returns a new array.
+	 */
+	private static final RenderType[] RENDER_TYPES = RenderType.values();
+
+	private AllocationProfiler m_allocationProfiler;
+
 	private GLCanvas m_Canvas;
 
+	private boolean m_cameraRelative = false;
+
+	private FragmentGroup m_collectingGroup;
+
+	private boolean m_colorPicking = false;
+
+	private IFigure3D m_currentFigure;
+
+	private int m_culledFigures;
+
+	private final RadixSorter<RenderFragment> m_fragmentSorter =
+		new RadixSorter<RenderFragment>();
+
+	private final Frustum m_frustum = new Frustum();
+
 	private Graphics3D m_g3d = null;
 
+	private final Map<IFigure3D, FragmentGroup> m_groupIndex =
+		new HashMap<IFigure3D, FragmentGroup>();
+
+	private final List<FragmentGroup> m_groups = new ArrayList<FragmentGroup>();
+
+	private final Map<Object, InstanceBatch> m_instanceBatches =
+		new HashMap<Object, InstanceBatch>();
+
+	private final List<InstanceBatch> m_instanceBatchList =
+		new ArrayList<InstanceBatch>();
+
+	private boolean m_instancing = true;
+
+	private final List<IFigure3D> m_invalidFigures = new ArrayList<IFigure3D>();
+
+	/**
+	 * Contains the same figures as {@link #m_invalidFigures}, for constant
+	 * time lookups. Figures are compared by identity.
+	 */
+	private final Set<IFigure3D> m_invalidFigureSet = new HashSet<IFigure3D>();
+
+	private final float[] m_pickingColor = new float[4];
+
+	private final List<IFigure3D> m_pickingFigures = new ArrayList<IFigure3D>();
+
+	private final List<RenderFragment> m_pickingFragments =
+		new ArrayList<RenderFragment>();
+
+	private final Map<IFigure3D, Integer> m_pickingIds =
+		new HashMap<IFigure3D, Integer>();
+
+	private final List<IFigure3D> m_pickingOwners = new ArrayList<IFigure3D>();
+
+	private long m_profilerMark;
+
 	private boolean m_redraw2DContent;
 
+	private final Vector3f m_renderOrigin = new Vector3fImpl();
+
+	private boolean m_retainedMode = false;
+
+	private boolean m_retainedValid = false;
+
 	private Map<RenderType, List<RenderFragment>> m_renderFragments =
 		new HashMap<RenderType, List<RenderFragment>>();
 
 	private IScene m_scene;
 
+	private int m_visibleFigures;
+
 	/**
 	 * 
 	 */
@@ -73,6 +213,24 @@ public class RenderContext {
 		if (i_fragment == null)
 			throw new NullPointerException("i_fragment must not be null");
 
+		if (m_colorPicking) {
+			if (i_fragment.getRenderType() != RenderType.IGNORE) {
+				m_pickingFragments.add(i_fragment);
+				m_pickingOwners.add(m_currentFigure);
+			}
+			return;
+		}
+
+		if (m_retainedMode && m_collectingGroup != null) {
+			m_collectingGroup.fragments.add(i_fragment);
+			return;
+		}
+
+		addToRenderType(i_fragment);
+	}
+
+	private void addToRenderType(RenderFragment i_fragment) {
+
 		RenderType renderType = i_fragment.getRenderType();
 		if (renderType == RenderType.IGNORE)
 			return;
@@ -87,14 +245,275 @@ public class RenderContext {
 	}
 
 	/**
-	 * Clears the render fragments and sets the scene to <code>null</code>.
+	 * Starts collecting the fragments of the given figure. All fragments added
+	 * until {@link #endFigure(IFigure3D)} is called are attributed to the given
+	 * figure. In retained mode, the fragments previously collected for the
+	 * given figure are discarded. This method is called by
+	 * {@link Figure3D#paint(Graphics)}, calls may be nested.
+	 * 
+	 * @param i_figure the figure that is painted
+	 * @return the figure that was collected before, must be passed to
+	 *         {@link #endFigure(IFigure3D)}
+	 */
+	public IFigure3D beginFigure(IFigure3D i_figure) {
+
+		IFigure3D previous = m_currentFigure;
+		m_currentFigure = i_figure;
+
+		if (!m_retainedMode || m_colorPicking)
+			return previous;
+
+		FragmentGroup group = m_groupIndex.get(i_figure);
+		if (group == null) {
+			group = new FragmentGroup(i_figure);
+			m_groupIndex.put(i_figure, group);
+			m_groups.add(group);
+		} else {
+			group.fragments.clear();
+		}
+
+		m_collectingGroup = group;
+		return previous;
+	}
+
+	/**
+	 * Starts the collection phase of a render pass and indicates whether the
+	 * whole figure tree has to be painted. This is always the case if retained
+	 * mode is disabled. In retained mode, the figure tree only has to be
+	 * painted if the retained fragments are invalid, in which case they are
+	 * discarded.
+	 * 
+	 * @param i_root the root figure, fragments added outside of any other
+	 *            figure are attributed to it
+	 * @return <code>true</code> if the whole figure tree has to be painted or
+	 *         <code>false</code> if only {@link #collectInvalidFigures(Graphics)}
+	 *         needs to be called
+	 */
+	public boolean beginCollection(IFigure3D i_root) {
+
+		if (m_allocationProfiler != null && !m_colorPicking) {
+			m_allocationProfiler.beginFrame();
+			m_profilerMark = m_allocationProfiler.mark();
+		}
+
+		m_currentFigure = null;
+		if (!m_retainedMode || m_colorPicking)
+			return true;
+
+		if (m_retainedValid && !m_redraw2DContent)
+			return false;
+
+		m_groups.clear();
+		m_groupIndex.clear();
+		m_invalidFigures.clear();
+		m_invalidFigureSet.clear();
+
+		beginFigure(i_root);
+		return true;
+	}
+
+	/**
+	 * Collects the fragments of all figures that were repainted since the last
+	 * render pass, by painting the topmost of these figures (and therefore,
+	 * their subtrees) again. This method must only be called if
+	 * {@link #beginCollection(IFigure3D)} returned <code>false</code>.
+	 * 
+	 * @param i_graphics the graphics object to pass to the figures
+	 */
+	public void collectInvalidFigures(Graphics i_graphics) {
+
+		if (m_invalidFigures.isEmpty())
+			return;
+
+		for (int i = 0; i < m_invalidFigures.size(); i++) {
+			IFigure3D figure = m_invalidFigures.get(i);
+			if (!figure.isShowing() || hasInvalidAncestor(figure))
+				continue;
+
+			i_graphics.setFont(figure.getFont());
+			figure.paint(i_graphics);
+		}
+
+		m_invalidFigures.clear();
+		m_invalidFigureSet.clear();
+	}
+
+	/**
+	 * Finishes the collection of the fragments of a figure.
+	 * 
+	 * @param i_previous the figure that was returned by
+	 *            {@link #beginFigure(IFigure3D)}
+	 */
+	public void endFigure(IFigure3D i_previous) {
+
+		m_currentFigure = i_previous;
+		if (!m_retainedMode || m_colorPicking)
+			return;
+
+		m_collectingGroup =
+			i_previous != null ? m_groupIndex.get(i_previous) : null;
+	}
+
+	/**
+	 * Finishes the collection phase of a render pass. In retained mode, the
+	 * collected fragments are valid afterwards until
+	 * {@link #invalidateFragments()} is called.
+	 */
+	public void endCollection() {
+
+		m_collectingGroup = null;
+		m_currentFigure = null;
+
+		if (!m_colorPicking)
+			m_retainedValid = m_retainedMode;
+
+		profile(Phase.COLLECT);
+	}
+
+	private boolean hasInvalidAncestor(IFigure3D i_figure) {
+
+		IFigure3D ancestor = i_figure.getAncestor3D();
+		while (ancestor != null) {
+			if (m_invalidFigureSet.contains(ancestor))
+				return true;
+			ancestor = ancestor.getAncestor3D();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Invalidates all retained fragments, so that the whole figure tree is
+	 * painted during the next render pass. This is called by the update
+	 * manager if a figure is invalidated, since this indicates that the tree
+	 * structure or the layout has changed.
+	 */
+	public void invalidateFragments() {
+
+		m_retainedValid = false;
+		m_invalidFigures.clear();
+		m_invalidFigureSet.clear();
+	}
+
+	/**
+	 * Invalidates the retained fragments of the given 3D figure and its
+	 * subtree, so that they are collected again during the next render pass.
+	 * This is called by the update manager if a figure is repainted. If the
+	 * given figure is <code>null</code>, all fragments are invalidated.
+	 * 
+	 * @param i_figure the figure to invalidate, may be <code>null</code>
+	 */
+	public void invalidateFragments(IFigure3D i_figure) {
+
+		if (i_figure == null || i_figure.getAncestor3D() == null) {
+			invalidateFragments();
+			return;
+		}
+
+		if (m_retainedValid && m_invalidFigureSet.add(i_figure))
+			m_invalidFigures.add(i_figure);
+	}
+
+	/**
+	 * Indicates whether this context is in camera relative mode.
+	 * 
+	 * @return <code>true</code> if figures are rendered relative to an origin
+	 *         close to the camera and <code>false</code> if they are rendered
+	 *         in world coordinates
+	 * @see #setCameraRelative(boolean)
+	 */
+	public boolean isCameraRelative() {
+
+		return m_cameraRelative;
+	}
+
+	/**
+	 * Indicates whether this context is in color picking mode.
+	 * 
+	 * @return <code>true</code> if fragments are rendered in their figure's ID
+	 *         color and <code>false</code> otherwise
+	 * @see #setColorPicking(boolean)
+	 */
+	public boolean isColorPicking() {
+
+		return m_colorPicking;
+	}
+
+	/**
+	 * Indicates whether opaque fragments are rendered in instance batches.
+	 * 
+	 * @return <code>true</code> if instancing is enabled and
+	 *         <code>false</code> otherwise
+	 * @see #setInstancing(boolean)
+	 */
+	public boolean isInstancing() {
+
+		return m_instancing;
+	}
+
+	/**
+	 * Indicates whether this context is in retained mode.
+	 * 
+	 * @return <code>true</code> if fragments are retained between render
+	 *         passes and <code>false</code> if they are collected again during
+	 *         every render pass
+	 * @see #setRetainedMode(boolean)
+	 */
+	public boolean isRetainedMode() {
+
+		return m_retainedMode;
+	}
+
+	/**
+	 * Clears the render fragments and sets the scene to <code>null</code>. The
+	 * culling frustum is invalidated and the culling statistics are reset. In
+	 * retained mode, the retained fragments are kept. In color picking mode,
+	 * only the fragments collected for the ID image are cleared.
 	 */
 	public void clear() {
 
-		m_renderFragments.clear();
+		if (m_colorPicking) {
+			m_pickingFragments.clear();
+			m_pickingOwners.clear();
+		} else {
+			if (!m_retainedMode)
+				clearRenderFragments();
+
+			m_redraw2DContent = false;
+		}
+
 		// m_displayListManagers.clear();
 		m_scene = null;
-		m_redraw2DContent = false;
+
+		m_frustum.invalidate();
+		m_culledFigures = 0;
+		m_visibleFigures = 0;
+	}
+
+	private void clearRenderFragments() {
+
+		// the lists are kept so that they don't have to be allocated again
+		for (int i = 0; i < RENDER_TYPES.length; i++) {
+			List<RenderFragment> list = m_renderFragments.get(RENDER_TYPES[i]);
+			if (list != null)
+				list.clear();
+		}
+	}
+
+	/**
+	 * Records the result of a frustum culling test of a 3D figure. This method
+	 * is called by {@link Figure3DHelper#isCulled()} for every 3D figure that
+	 * is tested against the frustum.
+	 * 
+	 * @param i_culled <code>true</code> if the figure was culled and
+	 *            <code>false</code> if it is visible
+	 */
+	public void countCulling(boolean i_culled) {
+
+		if (i_culled)
+			m_culledFigures++;
+		else
+			m_visibleFigures++;
 	}
 
 	/**
@@ -104,9 +523,62 @@ public class RenderContext {
 	 */
 	public synchronized void dispose() {
 
+		m_instanceBatches.clear();
+		m_instanceBatchList.clear();
 		m_g3d.dispose();
 	}
 
+	/**
+	 * Returns the allocation profiler of this context.
+	 * 
+	 * @return the allocation profiler or <code>null</code> if allocations are
+	 *         not measured
+	 * @see #setAllocationProfiler(AllocationProfiler)
+	 */
+	public AllocationProfiler getAllocationProfiler() {
+
+		return m_allocationProfiler;
+	}
+
+	/**
+	 * Returns the sorter that is used to order the transparent and
+	 * superimposed fragments. It is reused during every render pass.
+	 * 
+	 * @return the fragment sorter
+	 * @see RenderType#orderFragments(RenderContext, List)
+	 */
+	RadixSorter<RenderFragment> getFragmentSorter() {
+
+		return m_fragmentSorter;
+	}
+
+	/**
+	 * Returns the number of 3D figures that were culled during the current
+	 * render pass. The descendants of a culled figure are not tested and
+	 * therefore not counted. The count is valid until {@link #clear()} is
+	 * called. Scene listeners receive it with the number of visible figures
+	 * in {@link ISceneListener#figuresCulled(RenderContext, int, int)}.
+	 * 
+	 * @return the number of culled figures
+	 */
+	public int getCulledFigureCount() {
+
+		return m_culledFigures;
+	}
+
+	/**
+	 * Returns the view frustum that is used to cull figures during the current
+	 * render pass. If frustum culling is disabled, the returned frustum is
+	 * invalid, which means that it contains everything.
+	 * 
+	 * @return the culling frustum
+	 * @see IScene#setFrustumCulling(boolean)
+	 */
+	public Frustum getFrustum() {
+
+		return m_frustum;
+	}
+
 	/**
 	 * Returns the Graphics3D instance which shall be used for rendering in this
 	 * context.
@@ -117,6 +589,68 @@ public class RenderContext {
 		return this.m_g3d;
 	}
 
+	/**
+	 * Returns the number of instance batches that were rendered in the last
+	 * render pass.
+	 * 
+	 * @return the number of instance batches, which is always 0 if instancing
+	 *         is disabled
+	 * @see #setInstancing(boolean)
+	 */
+	public int getInstanceBatchCount() {
+
+		return m_instanceBatchList.size();
+	}
+
+	/**
+	 * Returns the figure that was rendered with the given ID during the last
+	 * color picking pass.
+	 * 
+	 * @param i_id the ID decoded from the color of a pixel
+	 * @return the figure or <code>null</code> if no figure was rendered with
+	 *         the given ID
+	 * @see #setColorPicking(boolean)
+	 */
+	public IFigure3D getPickingFigure(int i_id) {
+
+		if (i_id < 1 || i_id > m_pickingFigures.size())
+			return null;
+
+		return m_pickingFigures.get(i_id - 1);
+	}
+
+	private int getPickingId(IFigure3D i_figure) {
+
+		if (i_figure == null)
+			return 0;
+
+		Integer id = m_pickingIds.get(i_figure);
+		if (id == null) {
+			m_pickingFigures.add(i_figure);
+			id = Integer.valueOf(m_pickingFigures.size());
+			m_pickingIds.put(i_figure, id);
+		}
+
+		return id.intValue();
+	}
+
+	/**
+	 * Returns the number of fragments that are retained for the following
+	 * render passes.
+	 * 
+	 * @return the number of retained fragments, which is always 0 if retained
+	 *         mode is disabled
+	 * @see #setRetainedMode(boolean)
+	 */
+	public int getRetainedFragmentCount() {
+
+		int count = 0;
+		for (int i = 0; i < m_groups.size(); i++)
+			count += m_groups.get(i).fragments.size();
+
+		return count;
+	}
+
 	/**
 	 * Returns the scene
 	 * 
@@ -126,6 +660,19 @@ public class RenderContext {
 		return m_scene;
 	}
 
+	/**
+	 * Returns the number of 3D figures that passed the frustum culling test
+	 * during the current render pass. The count is valid until {@link #clear()}
+	 * is called.
+	 * 
+	 * @return the number of visible figures
+	 * @see #getCulledFigureCount()
+	 */
+	public int getVisibleFigureCount() {
+
+		return m_visibleFigures;
+	}
+
 	/**
 	 * Indicates whether 2D content should be redrawn.
 	 * 
@@ -138,10 +685,35 @@ public class RenderContext {
 	}
 
 	/**
-	 * Renders all render fragments.
+	 * Records the bytes allocated since the last mark for the given phase.
+	 * 
+	 * @param i_phase the phase
+	 */
+	private void profile(Phase i_phase) {
+
+		if (m_allocationProfiler != null && !m_colorPicking)
+			m_profilerMark =
+				m_allocationProfiler.record(i_phase, m_profilerMark);
+	}
+
+	/**
+	 * Renders all render fragments. In retained mode, the retained fragments
+	 * are distributed to their render types first. If frustum culling is
+	 * enabled, the fragments of figures whose paraxial bounds are outside of
+	 * the frustum are skipped.
 	 */
 	public void renderFragments() {
 
+		if (m_colorPicking) {
+			renderPickingFragments();
+			return;
+		}
+
+		if (m_retainedMode) {
+			prepareRetainedFragments();
+			profile(Phase.COLLECT);
+		}
+
 		Graphics3D g3d = getGraphics3D();
 
 		g3d.glEnable(Graphics3DDraw.GL_DEPTH_TEST);
@@ -161,11 +733,165 @@ public class RenderContext {
 		List<RenderFragment> fragments = m_renderFragments.get(i_type);
 		if (fragments != null) {
 			i_type.orderFragments(this, fragments);
-			for (RenderFragment fragment : fragments)
+			profile(Phase.SORT);
+
+			if (m_instancing && i_type == RenderType.OPAQUE)
+				renderInstanced(fragments);
+			else
+				for (int i = 0; i < fragments.size(); i++)
+					fragments.get(i).render(this);
+			profile(Phase.RENDER);
+		}
+	}
+
+	private void renderInstanced(List<RenderFragment> i_fragments) {
+
+		for (int i = 0; i < i_fragments.size(); i++) {
+			RenderFragment fragment = i_fragments.get(i);
+			Object key = null;
+			if (fragment instanceof InstancedRenderFragment)
+				key =
+					((InstancedRenderFragment) fragment).getInstanceKey(this);
+
+			if (key == null) {
 				fragment.render(this);
+				continue;
+			}
+
+			InstanceBatch batch = m_instanceBatches.get(key);
+			if (batch == null) {
+				batch = new InstanceBatch(key);
+				m_instanceBatches.put(key, batch);
+				m_instanceBatchList.add(batch);
+			}
+
+			batch.add((InstancedRenderFragment) fragment);
+		}
+
+		Graphics3D g3d = getGraphics3D();
+		g3d.glMatrixMode(Graphics3DDraw.GL_MODELVIEW);
+
+		DisplayListManager displayListManager = g3d.getDisplayListManager();
+		for (int i = m_instanceBatchList.size() - 1; i >= 0; i--) {
+			InstanceBatch batch = m_instanceBatchList.get(i);
+			if (batch.isEmpty()) {
+				batch.dispose(displayListManager);
+				m_instanceBatches.remove(batch.getKey());
+				m_instanceBatchList.remove(i);
+			} else {
+				batch.render(this);
+			}
 		}
 	}
 
+	private void renderPickingFragments() {
+
+		Graphics3D g3d = getGraphics3D();
+
+		boolean blend = g3d.glIsEnabled(Graphics3DDraw.GL_BLEND);
+		boolean dither = g3d.glIsEnabled(Graphics3DDraw.GL_DITHER);
+		boolean lineSmooth = g3d.glIsEnabled(Graphics3DDraw.GL_LINE_SMOOTH);
+
+		g3d.glDisable(Graphics3DDraw.GL_BLEND);
+		g3d.glDisable(Graphics3DDraw.GL_DITHER);
+		g3d.glDisable(Graphics3DDraw.GL_LINE_SMOOTH);
+		g3d.glEnable(Graphics3DDraw.GL_DEPTH_TEST);
+
+		// fog that starts behind the camera replaces the color of every
+		// fragment with the fog color, regardless of the colors and textures
+		// used by the render fragments
+		g3d.glEnable(Graphics3DDraw.GL_FOG);
+		g3d.glFogi(Graphics3DDraw.GL_FOG_MODE, Graphics3DDraw.GL_LINEAR);
+		g3d.glFogf(Graphics3DDraw.GL_FOG_START, -2);
+		g3d.glFogf(Graphics3DDraw.GL_FOG_END, -1);
+		try {
+			for (int i = 0; i < m_pickingFragments.size(); i++) {
+				int id = getPickingId(m_pickingOwners.get(i));
+
+				m_pickingColor[0] = ((id >> 16) & 0xFF) / 255f;
+				m_pickingColor[1] = ((id >> 8) & 0xFF) / 255f;
+				m_pickingColor[2] = (id & 0xFF) / 255f;
+				m_pickingColor[3] = 1;
+				g3d.glFog(Graphics3DDraw.GL_FOG_COLOR, m_pickingColor);
+
+				m_pickingFragments.get(i).render(this);
+			}
+		} finally {
+			g3d.glDisable(Graphics3DDraw.GL_FOG);
+
+			if (blend)
+				g3d.glEnable(Graphics3DDraw.GL_BLEND);
+			if (dither)
+				g3d.glEnable(Graphics3DDraw.GL_DITHER);
+			if (lineSmooth)
+				g3d.glEnable(Graphics3DDraw.GL_LINE_SMOOTH);
+		}
+	}
+
+	private void prepareRetainedFragments() {
+
+		clearRenderFragments();
+
+		boolean culling = m_frustum.isValid();
+		ParaxialBoundingBox bounds = null;
+		if (culling)
+			bounds = Draw3DCache.getParaxialBoundingBox();
+		try {
+			for (int i = 0; i < m_groups.size(); i++) {
+				FragmentGroup group = m_groups.get(i);
+				List<RenderFragment> fragments = group.fragments;
+				if (fragments.isEmpty())
+					continue;
+
+				if (culling) {
+					boolean culled =
+						group.owner.getParaxialBoundingBox(bounds) != null
+							&& !m_frustum.intersects(bounds);
+					countCulling(culled);
+					if (culled)
+						continue;
+				}
+
+				for (int j = 0; j < fragments.size(); j++)
+					addToRenderType(fragments.get(j));
+			}
+		} finally {
+			if (culling)
+				Draw3DCache.returnParaxialBoundingBox(bounds);
+		}
+	}
+
+	/**
+	 * Sets the profiler that measures the bytes allocated during the phases
+	 * of the following render passes. Scene listeners are notified of the
+	 * statistics of every completed frame (see
+	 * {@link ISceneListener#allocationsMeasured(RenderContext, AllocationProfiler)}).
+	 * 
+	 * @param i_allocationProfiler the profiler or <code>null</code> to stop
+	 *            measuring allocations
+	 */
+	public void setAllocationProfiler(AllocationProfiler i_allocationProfiler) {
+
+		m_allocationProfiler = i_allocationProfiler;
+	}
+
+	/**
+	 * Specifies whether figures are rendered relative to an origin close to
+	 * the camera. This mode should be enabled for scenes that are located far
+	 * away from the world origin, where single precision matrices cause jitter
+	 * in rendering and picking. Camera relative mode is disabled by default.
+	 * 
+	 * @param i_cameraRelative <code>true</code> to enable camera relative mode
+	 *            and <code>false</code> to render in world coordinates
+	 * @see #updateRenderOrigin(IVector3f)
+	 */
+	public void setCameraRelative(boolean i_cameraRelative) {
+
+		m_cameraRelative = i_cameraRelative;
+		if (!m_cameraRelative && m_g3d != null)
+			m_g3d.setRenderOrigin(null);
+	}
+
 	/**
 	 * @param i_canvas
 	 */
@@ -174,6 +900,62 @@ public class RenderContext {
 
 	}
 
+	/**
+	 * Specifies whether this context is in color picking mode. In color
+	 * picking mode, the whole figure tree is collected during every render
+	 * pass (retained fragments are neither used nor modified), and every
+	 * fragment is rendered in a flat color which encodes the ID of the 3D
+	 * figure it belongs to. The ID is stored in the red, green and blue
+	 * components of the color, with red holding the most significant byte. ID
+	 * 0 is used for fragments that belong to no figure. Enabling color picking
+	 * mode discards the IDs of the previous color picking pass.
+	 * 
+	 * @param i_colorPicking <code>true</code> to enable color picking mode and
+	 *            <code>false</code> to disable it
+	 * @see #getPickingFigure(int)
+	 */
+	public void setColorPicking(boolean i_colorPicking) {
+
+		if (m_colorPicking == i_colorPicking)
+			return;
+
+		m_colorPicking = i_colorPicking;
+		m_pickingFragments.clear();
+		m_pickingOwners.clear();
+
+		if (m_colorPicking) {
+			m_pickingFigures.clear();
+			m_pickingIds.clear();
+		}
+	}
+
+	/**
+	 * Specifies whether opaque fragments that implement
+	 * {@link InstancedRenderFragment} are rendered in instance batches. If
+	 * instancing is disabled, every fragment is rendered individually.
+	 * Instancing is enabled by default, but it is never used in color picking
+	 * mode, since every fragment must be rendered in its own color then.
+	 * 
+	 * @param i_instancing <code>true</code> to enable instancing and
+	 *            <code>false</code> to disable it
+	 */
+	public void setInstancing(boolean i_instancing) {
+
+		if (m_instancing == i_instancing)
+			return;
+
+		m_instancing = i_instancing;
+
+		if (!m_instancing && m_g3d != null) {
+			DisplayListManager displayListManager =
+				m_g3d.getDisplayListManager();
+			for (InstanceBatch batch : m_instanceBatchList)
+				batch.dispose(displayListManager);
+		}
+		m_instanceBatches.clear();
+		m_instanceBatchList.clear();
+	}
+
 	/**
 	 * Sets another Graphics3D instance for further rendering within this
 	 * context. The previous GRaphics3D instance has to be saved externally if
@@ -194,6 +976,27 @@ public class RenderContext {
 		m_redraw2DContent = true;
 	}
 
+	/**
+	 * Specifies whether the collected fragments are retained between render
+	 * passes. Changing the mode invalidates all retained fragments.
+	 * 
+	 * @param i_retainedMode <code>true</code> to enable retained mode or
+	 *            <code>false</code> to collect all fragments during every
+	 *            render pass
+	 */
+	public void setRetainedMode(boolean i_retainedMode) {
+
+		if (m_retainedMode == i_retainedMode)
+			return;
+
+		m_retainedMode = i_retainedMode;
+
+		m_groups.clear();
+		m_groupIndex.clear();
+		m_renderFragments.clear();
+		invalidateFragments();
+	}
+
 	/**
 	 * Sets the scene
 	 * 
@@ -204,6 +1007,39 @@ public class RenderContext {
 		m_scene = i_scene;
 	}
 
+	/**
+	 * Updates the render origin for the current render pass. This method is
+	 * called by the camera before it sets up the view transformation, which
+	 * must then be relative to the returned origin. In camera relative mode,
+	 * the render origin is the given camera position snapped to a grid, and it
+	 * is also set as the render origin of the {@link Graphics3D} instance of
+	 * this context.
+	 * 
+	 * @param i_cameraPosition the camera position in world coordinates
+	 * @return the render origin or <code>null</code> if this context is not in
+	 *         camera relative mode
+	 * @see Graphics3DDraw#setRenderOrigin(IVector3f)
+	 */
+	public IVector3f updateRenderOrigin(IVector3f i_cameraPosition) {
+
+		IVector3f origin = null;
+		if (m_cameraRelative) {
+			m_renderOrigin.set(snap(i_cameraPosition.getX()),
+				snap(i_cameraPosition.getY()), snap(i_cameraPosition.getZ()));
+			origin = m_renderOrigin;
+		}
+
+		if (m_g3d != null)
+			m_g3d.setRenderOrigin(origin);
+
+		return origin;
+	}
+
+	private static float snap(float i_value) {
+
+		return Math.round(i_value / RENDER_ORIGIN_GRID) * RENDER_ORIGIN_GRID;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -216,6 +1052,18 @@ public class RenderContext {
 
 		builder.append("RenderContext[render fragments: ");
 		builder.append(m_renderFragments.size());
+		if (m_retainedMode) {
+			builder.append(", retained groups: ");
+			builder.append(m_groups.size());
+		}
+		if (m_instancing) {
+			builder.append(", instance batches: ");
+			builder.append(m_instanceBatches.size());
+		}
+		builder.append(", culled figures: ");
+		builder.append(m_culledFigures);
+		builder.append(", visible figures: ");
+		builder.append(m_visibleFigures);
 		builder.append("]");
 
 		return builder.toString();
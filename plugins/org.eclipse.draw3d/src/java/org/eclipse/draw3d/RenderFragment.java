@@ -10,11 +10,9 @@
  ******************************************************************************/
 package org.eclipse.draw3d;
 
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+
+import org.eclipse.draw3d.util.RadixSorter;
 
 /**
  * A render fragment is an object that can render itself. Render fragments are
@@ -60,48 +58,6 @@ public interface RenderFragment {
 		 */
 		TRANSPARENT;
 
-		/**
-		 * Sorts render fragments by their depth measure. The depth measure is
-		 * cached because calculating it may be expensive, so do not reuse
-		 * instances of this.
-		 * 
-		 * @author Kristian Duske
-		 * @version $Revision$
-		 * @since 16.08.2009
-		 */
-		private static class FragmentComparator implements
-				Comparator<RenderFragment> {
-
-			private Map<RenderFragment, Float> m_cache =
-				new HashMap<RenderFragment, Float>();
-
-			private RenderContext m_renderContext;
-
-			public FragmentComparator(RenderContext i_renderContext) {
-
-				m_renderContext = i_renderContext;
-			}
-
-			public int compare(RenderFragment i_f1, RenderFragment i_f2) {
-
-				float d1 = getDistanceMeasure(i_f1);
-				float d2 = getDistanceMeasure(i_f2);
-
-				return Float.compare(d2, d1);
-			}
-
-			private float getDistanceMeasure(RenderFragment i_f) {
-
-				if (m_cache.containsKey(i_f))
-					return m_cache.get(i_f);
-
-				float d = i_f.getDistanceMeasure(m_renderContext);
-				m_cache.put(i_f, d);
-
-				return d;
-			}
-		}
-
 		/**
 		 * Returns the render type for a fragment with the given attributes.
 		 * 
@@ -128,7 +84,10 @@ public interface RenderFragment {
 		 * <li>Fragments of type {@link #OPAQUE} or {@link #IGNORE} are not
 		 * ordered at all.</li>
 		 * <li>Fragments of type {@link #TRANSPARENT} or {@link #SUPERIMPOSED}
-		 * are ordered by their depth measure, ascending.</li>
+		 * are ordered by their depth measure, descending. Fragments with equal
+		 * depth measures keep their order. The fragments are sorted with the
+		 * reusable sorter of the given render context, so no memory is
+		 * allocated.</li>
 		 * </ol>
 		 * 
 		 * @param i_renderContext the current render context
@@ -152,8 +111,25 @@ public interface RenderFragment {
 				return;
 			case TRANSPARENT:
 			case SUPERIMPOSED:
-				Collections.sort(i_fragments, new FragmentComparator(
-					i_renderContext));
+				int size = i_fragments.size();
+				if (size < 2)
+					return;
+
+				RadixSorter<RenderFragment> sorter =
+					i_renderContext.getFragmentSorter();
+				try {
+					for (int i = 0; i < size; i++) {
+						RenderFragment fragment = i_fragments.get(i);
+						sorter.add(fragment, fragment
+							.getDistanceMeasure(i_renderContext));
+					}
+
+					sorter.sortDescending();
+					for (int i = 0; i < size; i++)
+						i_fragments.set(i, sorter.get(i));
+				} finally {
+					sorter.clear();
+				}
 			}
 		}
 	}
@@ -71,7 +71,7 @@ public abstract class ShapeFigure3D extends Figure3D {
 		Vector3f location = Draw3DCache.getVector3f();
 		Vector3f size = Draw3DCache.getVector3f();
 		try {
-			if (m_paraxialBounds == null) {
+			if (m_paraxialBounds == null || !helper.isParaxialBoundsValid()) {
 				m_paraxialBounds = getShape().getParaxialBoundingBox(null);
 
 				if (m_paraxialBounds == null)
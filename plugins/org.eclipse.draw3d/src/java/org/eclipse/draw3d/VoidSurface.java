@@ -20,6 +20,7 @@ import org.eclipse.draw3d.geometry.Math3D;
 import org.eclipse.draw3d.geometry.Vector3f;
 import org.eclipse.draw3d.picking.Hit;
 import org.eclipse.draw3d.picking.Picker;
+import org.eclipse.draw3d.util.AllocationProfiler;
 import org.eclipse.draw3d.util.Draw3DCache;
 
 /**
@@ -80,6 +81,18 @@ public class VoidSurface extends AbstractSurface implements ISceneListener {
 		io_normal.set(IVector3f.NULLVEC3f);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.ISceneListener#allocationsMeasured(org.eclipse.draw3d.RenderContext,
+	 *      org.eclipse.draw3d.util.AllocationProfiler)
+	 */
+	public void allocationsMeasured(RenderContext i_renderContext,
+		AllocationProfiler i_profiler) {
+
+		// nothing to do
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -126,6 +139,18 @@ public class VoidSurface extends AbstractSurface implements ISceneListener {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.ISceneListener#figuresCulled(org.eclipse.draw3d.RenderContext,
+	 *      int, int)
+	 */
+	public void figuresCulled(RenderContext i_renderContext, int i_culledCount,
+		int i_visibleCount) {
+
+		// nothing to do
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
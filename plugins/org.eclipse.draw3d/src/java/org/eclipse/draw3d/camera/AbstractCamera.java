@@ -28,6 +28,8 @@ public abstract class AbstractCamera implements ICamera {
 
 	private final List<ICameraListener> m_listeners;
 
+	private long m_revision = 0;
+
 	/**
 	 * @param i_lightweightSystem3D
 	 */
@@ -52,10 +54,22 @@ public abstract class AbstractCamera implements ICamera {
 	 */
 	protected void fireCameraChanged() {
 
+		m_revision++;
+
 		for (ICameraListener listener : m_listeners)
 			listener.cameraChanged();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.camera.ICamera#getRevision()
+	 */
+	public long getRevision() {
+
+		return m_revision;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
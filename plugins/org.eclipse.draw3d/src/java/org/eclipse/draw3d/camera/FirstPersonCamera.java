@@ -28,6 +28,7 @@ import org.eclipse.draw3d.geometry.Matrix4f;
 import org.eclipse.draw3d.geometry.Matrix4fImpl;
 import org.eclipse.draw3d.geometry.Vector3f;
 import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.eclipse.draw3d.geometryext.Frustum;
 import org.eclipse.draw3d.geometryext.Ray;
 import org.eclipse.draw3d.graphics3d.Graphics3D;
 import org.eclipse.draw3d.graphics3d.Graphics3DDraw;
@@ -224,6 +225,8 @@ public class FirstPersonCamera extends AbstractCamera {
 	 */
 	protected int m_fov = 45;
 
+	private final Frustum m_frustum = new Frustum();
+
 	private boolean m_matricesValid = false;
 
 	/**
@@ -304,6 +307,7 @@ public class FirstPersonCamera extends AbstractCamera {
 	protected void fireCameraChanged() {
 
 		m_matricesValid = false;
+		m_frustum.invalidate();
 		m_cachedProjection.invalidate();
 		super.fireCameraChanged();
 	}
@@ -335,6 +339,21 @@ public class FirstPersonCamera extends AbstractCamera {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.camera.ICamera#getFrustum(org.eclipse.draw3d.geometryext.Frustum)
+	 */
+	public Frustum getFrustum(Frustum o_result) {
+
+		Frustum result = o_result;
+		if (result == null)
+			result = new Frustum();
+
+		result.set(m_frustum);
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -617,10 +636,35 @@ public class FirstPersonCamera extends AbstractCamera {
 				Math3D.transpose(m_viewMatrix, m_viewMatrix);
 
 				m_matricesValid = true;
+				updateFrustum();
 			} finally {
 				Draw3DCache.returnFloatBuffer(buffer);
 			}
 		}
+
+		// the cached matrices are always in world coordinates, only the
+		// matrix used for rendering is relative to the render origin
+		IVector3f origin = renderContext.updateRenderOrigin(m_position);
+		if (origin != null) {
+			float x = m_position.x - origin.getX();
+			float y = m_position.y - origin.getY();
+			float z = m_position.z - origin.getZ();
+
+			g3d.glLoadIdentity();
+			g3d.gluLookAt(x, y, z, x + m_viewDir.x, y + m_viewDir.y, z
+				+ m_viewDir.z, m_up.x, m_up.y, m_up.z);
+		}
+	}
+
+	private void updateFrustum() {
+
+		Matrix4f viewProjection = Math3DCache.getMatrix4f();
+		try {
+			calculateMatrix(null, viewProjection);
+			m_frustum.set(viewProjection);
+		} finally {
+			Math3DCache.returnMatrix4f(viewProjection);
+		}
 	}
 
 	public void reset() {
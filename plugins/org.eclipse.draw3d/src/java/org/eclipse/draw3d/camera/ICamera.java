@@ -21,6 +21,7 @@ import org.eclipse.draw3d.geometry.IMatrix4f;
 import org.eclipse.draw3d.geometry.IVector3f;
 import org.eclipse.draw3d.geometry.Vector3f;
 import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.eclipse.draw3d.geometryext.Frustum;
 import org.eclipse.draw3d.geometryext.Ray;
 
 /**
@@ -72,6 +73,26 @@ public interface ICamera {
 	 */
 	public float getDistance(IVector3f i_point);
 
+	/**
+	 * Returns the view frustum of this camera. The frustum is only valid after
+	 * the camera has been rendered at least once with its current parameters,
+	 * otherwise an invalid frustum (which contains everything) is returned.
+	 * 
+	 * @param o_result the result frustum, if <code>null</code>, a new frustum
+	 *            will be returned
+	 * @return the view frustum
+	 */
+	public Frustum getFrustum(Frustum o_result);
+
+	/**
+	 * Returns the revision of this camera. The revision is incremented every
+	 * time the camera changes, so that clients can cache values that depend on
+	 * the camera parameters.
+	 * 
+	 * @return the revision
+	 */
+	public long getRevision();
+
 	/**
 	 * Distance of the viewing plane from the camera.
 	 * 
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometryext;
+
+import org.eclipse.draw3d.geometry.IMatrix4f;
+import org.eclipse.draw3d.geometry.IParaxialBoundingBox;
+import org.eclipse.draw3d.geometry.Math3DCache;
+import org.eclipse.draw3d.geometry.Vector3f;
+
+/**
+ * A view frustum, i.e. the volume that is visible through a camera. The
+ * frustum is stored as six planes (left, right, bottom, top, near, far) in the
+ * form <code>a*x + b*y + c*z + d = 0</code>, with the normals pointing into
+ * the frustum. The planes are extracted from the combined view and projection
+ * matrix of the camera.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ * @see "Gribb, Hartmann: Fast Extraction of Viewing Frustum Planes from the
+ *      World-View-Projection Matrix"
+ */
+public class Frustum {
+
+	private static final int PLANES = 6;
+
+	private final float[] m_matrix = new float[16];
+
+	private final float[] m_planes = new float[PLANES * 4];
+
+	private boolean m_valid = false;
+
+	/**
+	 * Creates a new, invalid frustum. An invalid frustum contains everything.
+	 */
+	public Frustum() {
+
+		// nothing to initialize
+	}
+
+	/**
+	 * Indicates whether the given paraxial bounding box intersects with or is
+	 * contained in this frustum. This test is conservative, that is, it may
+	 * return <code>true</code> for boxes that are close to but outside of the
+	 * frustum's edges, but it will never return <code>false</code> for a box
+	 * that is (partially) visible. If this frustum is invalid,
+	 * <code>true</code> is returned.
+	 *
+	 * @param i_box the box to test
+	 * @return <code>false</code> if the given box is entirely outside of this
+	 *         frustum and <code>true</code> otherwise
+	 * @throws NullPointerException if the given box is <code>null</code>
+	 */
+	public boolean intersects(IParaxialBoundingBox i_box) {
+
+		if (i_box == null)
+			throw new NullPointerException("i_box must not be null");
+
+		if (!m_valid)
+			return true;
+
+		Vector3f start = Math3DCache.getVector3f();
+		Vector3f end = Math3DCache.getVector3f();
+		try {
+			i_box.getLocation(start);
+			i_box.getEnd(end);
+
+			float x0 = Math.min(start.getX(), end.getX());
+			float y0 = Math.min(start.getY(), end.getY());
+			float z0 = Math.min(start.getZ(), end.getZ());
+			float x1 = Math.max(start.getX(), end.getX());
+			float y1 = Math.max(start.getY(), end.getY());
+			float z1 = Math.max(start.getZ(), end.getZ());
+
+			return intersects(x0, y0, z0, x1, y1, z1);
+		} finally {
+			Math3DCache.returnVector3f(start, end);
+		}
+	}
+
+	/**
+	 * Indicates whether the paraxial box given by its minimum and maximum
+	 * corner intersects with or is contained in this frustum.
+	 *
+	 * @param i_x0 the minimum X coordinate
+	 * @param i_y0 the minimum Y coordinate
+	 * @param i_z0 the minimum Z coordinate
+	 * @param i_x1 the maximum X coordinate
+	 * @param i_y1 the maximum Y coordinate
+	 * @param i_z1 the maximum Z coordinate
+	 * @return <code>false</code> if the given box is entirely outside of this
+	 *         frustum and <code>true</code> otherwise
+	 * @see #intersects(IParaxialBoundingBox)
+	 */
+	public boolean intersects(float i_x0, float i_y0, float i_z0, float i_x1,
+		float i_y1, float i_z1) {
+
+		if (!m_valid)
+			return true;
+
+		for (int i = 0; i < PLANES * 4; i += 4) {
+			float a = m_planes[i];
+			float b = m_planes[i + 1];
+			float c = m_planes[i + 2];
+			float d = m_planes[i + 3];
+
+			// the corner that is farthest along the plane normal
+			float px = a >= 0 ? i_x1 : i_x0;
+			float py = b >= 0 ? i_y1 : i_y0;
+			float pz = c >= 0 ? i_z1 : i_z0;
+
+			if (a * px + b * py + c * pz + d < 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Invalidates this frustum. An invalid frustum contains everything.
+	 */
+	public void invalidate() {
+
+		m_valid = false;
+	}
+
+	/**
+	 * Indicates whether this frustum is valid.
+	 *
+	 * @return <code>true</code> if this frustum is valid and <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isValid() {
+
+		return m_valid;
+	}
+
+	/**
+	 * Sets this frustum to the given frustum.
+	 *
+	 * @param i_frustum the frustum to copy
+	 * @throws NullPointerException if the given frustum is <code>null</code>
+	 */
+	public void set(Frustum i_frustum) {
+
+		if (i_frustum == null)
+			throw new NullPointerException("i_frustum must not be null");
+
+		System.arraycopy(i_frustum.m_planes, 0, m_planes, 0, m_planes.length);
+		m_valid = i_frustum.m_valid;
+	}
+
+	/**
+	 * Extracts the frustum planes from the given matrix. The given matrix must
+	 * transform world coordinates into clip coordinates, i.e. it must be the
+	 * product of the view and the projection matrix, using the same
+	 * conventions as {@link org.eclipse.draw3d.geometry.Math3D#transform}.
+	 *
+	 * @param i_viewProjection the combined view and projection matrix
+	 * @throws NullPointerException if the given matrix is <code>null</code>
+	 */
+	public void set(IMatrix4f i_viewProjection) {
+
+		if (i_viewProjection == null)
+			throw new NullPointerException("i_viewProjection must not be null");
+
+		i_viewProjection.toArrayRowMajor(m_matrix);
+
+		// the clip coordinates are x*row0 + y*row1 + z*row2 + row3, so each
+		// column holds the coefficients of one clip coordinate
+		setPlane(0, 3, 0, 1); // left: w + x
+		setPlane(1, 3, 0, -1); // right: w - x
+		setPlane(2, 3, 1, 1); // bottom: w + y
+		setPlane(3, 3, 1, -1); // top: w - y
+		setPlane(4, 3, 2, 1); // near: w + z
+		setPlane(5, 3, 2, -1); // far: w - z
+
+		m_valid = true;
+	}
+
+	private void setPlane(int i_plane, int i_wColumn, int i_column,
+		float i_sign) {
+
+		int offset = i_plane * 4;
+		for (int row = 0; row < 4; row++)
+			m_planes[offset + row] =
+				m_matrix[row * 4 + i_wColumn] + i_sign
+					* m_matrix[row * 4 + i_column];
+
+		float a = m_planes[offset];
+		float b = m_planes[offset + 1];
+		float c = m_planes[offset + 2];
+		float length = (float) Math.sqrt(a * a + b * b + c * c);
+		if (length > 0)
+			for (int i = 0; i < 4; i++)
+				m_planes[offset + i] /= length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		if (!m_valid)
+			return "Frustum[invalid]";
+
+		StringBuilder builder = new StringBuilder();
+		builder.append("Frustum[");
+		for (int i = 0; i < PLANES; i++) {
+			if (i > 0)
+				builder.append(", ");
+			builder.append("(");
+			builder.append(m_planes[i * 4]).append(", ");
+			builder.append(m_planes[i * 4 + 1]).append(", ");
+			builder.append(m_planes[i * 4 + 2]).append(", ");
+			builder.append(m_planes[i * 4 + 3]);
+			builder.append(")");
+		}
+		builder.append("]");
+
+		return builder.toString();
+	}
+}
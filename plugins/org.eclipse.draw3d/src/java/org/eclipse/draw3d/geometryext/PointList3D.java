@@ -4,15 +4,17 @@
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
  * http://www.eclipse.org/legal/epl-v10.html
- *
+ * 
  * Contributors:
  *    Jens von Pilgrim - initial API and implementation
  ******************************************************************************/
 package org.eclipse.draw3d.geometryext;
 
+import java.lang.reflect.Array;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -22,11 +24,24 @@ import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw3d.geometry.IVector3f;
-import org.eclipse.draw3d.geometry.Math3D;
+import org.eclipse.draw3d.geometry.Vector3f;
 import org.eclipse.draw3d.geometry.Vector3fImpl;
 
 /**
  * {@link PointList} compatible list holding 3D points, i.e. {@link IVector3f}.
+ * <p>
+ * The points are stored in a single packed float array, three floats (x, y
+ * and z) per point. The coordinates can be passed to the renderer with
+ * {@link #getBuffer()} or {@link #toBuffer(FloatBuffer)}.
+ * </p>
+ * <p>
+ * The {@link List} view of this class is a compatibility path: since there
+ * are no point objects to return, {@link #get(int)}, {@link #getPoint3D(int)}
+ * and the iterators create a new vector on <em>every</em> access. Performance
+ * critical code should use {@link #getX(int)}, {@link #getY(int)},
+ * {@link #getZ(int)} or {@link #getPoint3D(int, Vector3f)} instead, which
+ * copy the coordinates without creating new objects.
+ * </p>
  * 
  * @author Jens von Pilgrim
  * @version $Revision$
@@ -38,10 +53,18 @@ public class PointList3D extends PointList implements List<IVector3f> {
 
 		int pos = 0;
 
+		int lastRet = -1;
+
+		int expectedModCount = modCount;
+
 		/**
-		 * @param i_index
+		 * @param start the index of the first point returned by
+		 *            {@link #next()}
 		 */
 		public PointList3DIterator(int start) {
+			if (start < 0 || start > count)
+				throw new IndexOutOfBoundsException("index: " + start
+					+ ", size: " + count);
 			pos = start;
 		}
 
@@ -51,7 +74,15 @@ public class PointList3D extends PointList implements List<IVector3f> {
 		 * @see java.util.ListIterator#add(java.lang.Object)
 		 */
 		public void add(IVector3f v) {
-			PointList3D.this.add(pos, v);
+			checkForComodification();
+			PointList3D.this.add(pos++, v);
+			lastRet = -1;
+			expectedModCount = modCount;
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
 		}
 
 		/**
@@ -60,7 +91,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 		 * @see java.util.ListIterator#hasNext()
 		 */
 		public boolean hasNext() {
-			return pos < size();
+			return pos < count;
 		}
 
 		/**
@@ -78,9 +109,11 @@ public class PointList3D extends PointList implements List<IVector3f> {
 		 * @see java.util.ListIterator#next()
 		 */
 		public IVector3f next() {
-			if (pos >= size())
+			checkForComodification();
+			if (pos >= count)
 				throw new NoSuchElementException();
-			return get(pos++);
+			lastRet = pos++;
+			return get(lastRet);
 		}
 
 		/**
@@ -98,9 +131,11 @@ public class PointList3D extends PointList implements List<IVector3f> {
 		 * @see java.util.ListIterator#previous()
 		 */
 		public IVector3f previous() {
-			if (pos == 0 || isEmpty())
+			checkForComodification();
+			if (pos == 0)
 				throw new NoSuchElementException();
-			return get(--pos);
+			lastRet = --pos;
+			return get(lastRet);
 		}
 
 		/**
@@ -118,8 +153,15 @@ public class PointList3D extends PointList implements List<IVector3f> {
 		 * @see java.util.ListIterator#remove()
 		 */
 		public void remove() {
-			PointList3D.this.remove(pos);
-
+			if (lastRet < 0)
+				throw new IllegalStateException();
+			checkForComodification();
+
+			PointList3D.this.remove(lastRet);
+			if (lastRet < pos)
+				pos--;
+			lastRet = -1;
+			expectedModCount = modCount;
 		}
 
 		/**
@@ -128,7 +170,11 @@ public class PointList3D extends PointList implements List<IVector3f> {
 		 * @see java.util.ListIterator#set(java.lang.Object)
 		 */
 		public void set(IVector3f v) {
-			PointList3D.this.set(pos, v);
+			if (lastRet < 0)
+				throw new IllegalStateException();
+			checkForComodification();
+
+			PointList3D.this.set(lastRet, v);
 		}
 
 	}
@@ -138,10 +184,29 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	private static final long serialVersionUID = -8955686832232579183L;
 
-	List<Vector3fImpl> points3D;
+	/**
+	 * The number of floats stored per point.
+	 */
+	private static final int STRIDE = 3;
+
+	/**
+	 * The coordinates of the points, x, y and z of point <i>i</i> are stored
+	 * at <code>3i</code>, <code>3i+1</code> and <code>3i+2</code>.
+	 */
+	float[] coords;
+
+	/**
+	 * The number of points in this list.
+	 */
+	int count;
 
 	private float defaultZ = 0.0f;
 
+	/**
+	 * Counts structural modifications, used by the iterators.
+	 */
+	transient int modCount = 0;
+
 	/**
 	 * @see PointList#PointList()
 	 */
@@ -156,7 +221,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see PointList#PointList(int[])
 	 */
 	public PointList3D(int points[]) {
-		this(points.length);
+		this(points.length / 2);
 		for (int i = 0; i < points.length; i += 2) {
 			addPoint(points[i], points[i + 1]);
 		}
@@ -169,18 +234,18 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see PointList#PointList(int)
 	 */
 	public PointList3D(int initalCapacity) {
-		points3D = new ArrayList<Vector3fImpl>(initalCapacity);
+		coords = new float[STRIDE * Math.max(initalCapacity, 0)];
 	}
-	
+
 	/**
 	 * Constructor for {@link UnmodifiablePointList3D} super class.
 	 * @param do_not_create_list
 	 */
 	protected PointList3D(boolean do_not_create_list) {
 		if (! do_not_create_list) {
-			points3D = new ArrayList<Vector3fImpl>(2);
+			coords = new float[STRIDE * 2];
 		} else {
-			points3D = null;
+			coords = null;
 		}
 	}
 
@@ -191,13 +256,17 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 
 	/**
-	 * @param i_pointList3D
+	 * Creates a copy of the given point list, the coordinates are copied
+	 * with a single array copy.
+	 * 
+	 * @param i_pointList3D the list to copy
 	 */
 	public PointList3D(PointList3D i_pointList3D) {
-		this(i_pointList3D.size());
-		for (Vector3fImpl v : i_pointList3D.points3D) {
-			points3D.add(new Vector3fImpl(v));
-		}
+		this(i_pointList3D.count);
+		System.arraycopy(i_pointList3D.coords, 0, coords, 0, STRIDE
+			* i_pointList3D.count);
+		count = i_pointList3D.count;
+		defaultZ = i_pointList3D.defaultZ;
 	}
 
 	/**
@@ -205,9 +274,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	public PointList3D(List<IVector3f> list) {
 		this(list.size());
-		for (IVector3f v : list) {
-			points3D.add(new Vector3fImpl(v));
-		}
+		addAll(list);
 	}
 
 	/**
@@ -218,29 +285,167 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	}
 
 	/**
-	 * @param i_vector3fImpl
+	 * Adds the given point. Since the points are stored in a packed array,
+	 * the coordinates of the given vector are copied.
+	 * 
+	 * @param v the point to add
+	 * @deprecated the point is not added by reference, use
+	 *             {@link #add(IVector3f)} instead
 	 */
+	@Deprecated
 	public void addPointByRef(Vector3fImpl v) {
-		points3D.add(v);
+		add(v);
 	}
 
+	/**
+	 * Returns a copy of the point at the given index.
+	 * 
+	 * @param index the index of the point
+	 * @return a new vector containing the point
+	 * @see #getPoint3D(int, Vector3f)
+	 */
 	public IVector3f getPoint3D(int index) {
-		return points3D.get(index);
+		return getPoint3D(index, null);
+	}
+
+	/**
+	 * Copies the point at the given index into the given vector.
+	 * 
+	 * @param index the index of the point
+	 * @param o_result the result vector, if <code>null</code>, a new vector is
+	 *            created
+	 * @return the result vector
+	 */
+	public Vector3f getPoint3D(int index, Vector3f o_result) {
+		int i = offset(index);
+
+		Vector3f result = o_result;
+		if (result == null)
+			result = new Vector3fImpl();
+
+		result.set(coords[i], coords[i + 1], coords[i + 2]);
+		return result;
+	}
+
+	/**
+	 * Returns the x coordinate of the point at the given index.
+	 * 
+	 * @param index the index of the point
+	 * @return the x coordinate
+	 */
+	public float getX(int index) {
+		return coords[offset(index)];
+	}
+
+	/**
+	 * Returns the y coordinate of the point at the given index.
+	 * 
+	 * @param index the index of the point
+	 * @return the y coordinate
+	 */
+	public float getY(int index) {
+		return coords[offset(index) + 1];
+	}
+
+	/**
+	 * Returns the z coordinate of the point at the given index.
+	 * 
+	 * @param index the index of the point
+	 * @return the z coordinate
+	 */
+	public float getZ(int index) {
+		return coords[offset(index) + 2];
 	}
 
 	public IVector3f getMidpoint3D() {
-		if (size() % 2 == 0) { // even number
-			if (size() == 0)
-				return IVector3f.NULLVEC3f;
-			IVector3f v0 = getPoint3D(size() / 2 - 1);
-			IVector3f v1 = getPoint3D(size() / 2);
-			Vector3fImpl v = new Vector3fImpl();
-			Math3D.add(v0, v1, v);
-			Math3D.scale(0.5f, v, v);
-			return v;
+		if (count == 0)
+			return IVector3f.NULLVEC3f;
+
+		if (count % 2 == 0) { // even number
+			int i0 = offset(count / 2 - 1);
+			int i1 = offset(count / 2);
+			return new Vector3fImpl( //
+				(coords[i0] + coords[i1]) * 0.5f, //
+				(coords[i0 + 1] + coords[i1 + 1]) * 0.5f, //
+				(coords[i0 + 2] + coords[i1 + 2]) * 0.5f);
 		} else { // odd
-			return getPoint3D(size() / 2);
+			return getPoint3D(count / 2);
+		}
+	}
+
+	/**
+	 * Returns the buffer index of the x coordinate of the point at the given
+	 * index.
+	 * 
+	 * @param index the index of the point
+	 * @return the buffer index
+	 * @throws IndexOutOfBoundsException if the index is invalid
+	 */
+	private int offset(int index) {
+		if (index < 0 || index >= count)
+			throw new IndexOutOfBoundsException("index: " + index + ", size: "
+				+ count);
+		return STRIDE * index;
+	}
+
+	/**
+	 * Makes sure that the given number of points can be stored without
+	 * growing the coordinate array.
+	 * 
+	 * @param i_capacity the minimum capacity in points
+	 */
+	public void ensureCapacity(int i_capacity) {
+		int required = STRIDE * i_capacity;
+		if (coords.length < required) {
+			int length = Math.max(required, coords.length * 3 / 2 + STRIDE);
+			float[] newCoords = new float[length];
+			System.arraycopy(coords, 0, newCoords, 0, STRIDE * count);
+			coords = newCoords;
+		}
+	}
+
+	/**
+	 * Inserts room for the given number of points at the given index.
+	 * 
+	 * @param index the index
+	 * @param i_count the number of points to insert
+	 */
+	private void makeRoom(int index, int i_count) {
+		if (index < 0 || index > count)
+			throw new IndexOutOfBoundsException("index: " + index + ", size: "
+				+ count);
+
+		ensureCapacity(count + i_count);
+		if (index < count)
+			System.arraycopy(coords, STRIDE * index, coords, STRIDE
+				* (index + i_count), STRIDE * (count - index));
+
+		count += i_count;
+		modCount++;
+	}
+
+	private void put(int index, float x, float y, float z) {
+		int i = STRIDE * index;
+		coords[i] = x;
+		coords[i + 1] = y;
+		coords[i + 2] = z;
+	}
+
+	private void put(int index, IVector3f v) {
+		put(index, v.getX(), v.getY(), v.getZ());
+	}
+
+	private boolean equals(int index, Object i_o) {
+		int i = STRIDE * index;
+		if (i_o instanceof IVector3f) {
+			IVector3f v = (IVector3f) i_o;
+			return coords[i] == v.getX() && coords[i + 1] == v.getY()
+				&& coords[i + 2] == v.getZ();
+		} else if (i_o instanceof Point) {
+			Point p = (Point) i_o;
+			return (int) coords[i] == p.x && (int) coords[i + 1] == p.y;
 		}
+		return false;
 	}
 
 	/**
@@ -265,14 +470,84 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	}
 
 	/**
-	 * @param i_points
+	 * Replaces the points of this list with the given points.
+	 * 
+	 * @param i_points the new points
 	 */
 	public void set(List<? extends IVector3f> i_points) {
-		points3D = new ArrayList<Vector3fImpl>(i_points.size());
-		for (IVector3f v : i_points) {
-			points3D.add(new Vector3fImpl(v));
-		}
+		if (i_points == this)
+			return;
+
+		count = 0;
+		modCount++;
+		addAll(i_points);
+	}
 
+	/**
+	 * Replaces the points of this list with the points stored in the given
+	 * array, which is expected to hold x, y and z values.
+	 * 
+	 * @param i_coords the coordinates
+	 * @param i_offset the index of the first float in the given array
+	 * @param i_count the number of points to copy
+	 */
+	public void set(float[] i_coords, int i_offset, int i_count) {
+		count = 0;
+		modCount++;
+		addAll(i_coords, i_offset, i_count);
+	}
+
+	/**
+	 * Appends the points stored in the given array, which is expected to hold
+	 * x, y and z values.
+	 * 
+	 * @param i_coords the coordinates
+	 * @param i_offset the index of the first float in the given array
+	 * @param i_count the number of points to copy
+	 */
+	public void addAll(float[] i_coords, int i_offset, int i_count) {
+		if (i_coords == null)
+			throw new NullPointerException("i_coords must not be null");
+		if (i_count < 0)
+			throw new IllegalArgumentException("i_count must not be negative");
+
+		int start = count;
+		makeRoom(start, i_count);
+		System.arraycopy(i_coords, i_offset, coords, STRIDE * start, STRIDE
+			* i_count);
+	}
+
+	/**
+	 * Returns a buffer that wraps the coordinates of this list, without
+	 * copying them. The buffer contains x, y and z of each point, its limit is
+	 * set to the number of stored floats. The buffer becomes invalid if this
+	 * list is modified.
+	 * <p>
+	 * Note that the returned buffer is not a direct buffer. If the
+	 * coordinates are to be passed to OpenGL, use
+	 * {@link #toBuffer(FloatBuffer)} with a direct buffer instead.
+	 * </p>
+	 * 
+	 * @return a buffer backed by the coordinates of this list
+	 */
+	public FloatBuffer getBuffer() {
+		return FloatBuffer.wrap(coords, 0, STRIDE * count).slice();
+	}
+
+	/**
+	 * Puts the coordinates of all points into the given buffer, starting at
+	 * its current position, with a single bulk copy.
+	 * 
+	 * @param o_buffer the buffer, must have at least <code>3 * size()</code>
+	 *            floats remaining
+	 * @return the given buffer
+	 */
+	public FloatBuffer toBuffer(FloatBuffer o_buffer) {
+		if (o_buffer == null)
+			throw new NullPointerException("o_buffer must not be null");
+
+		o_buffer.put(coords, 0, STRIDE * count);
+		return o_buffer;
 	}
 
 	/*
@@ -286,14 +561,20 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * 
 	 * @see org.eclipse.draw2d.geometry.PointList#addAll(org.eclipse.draw2d.geometry.PointList)
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public void addAll(PointList source) {
 		if (source instanceof PointList3D) {
-			addAll((Collection<IVector3f>) source);
-		}
-		for (int i = 0; i < source.size(); i++) {
-			addPoint(source.getPoint(i));
+			PointList3D list = (PointList3D) source;
+			addAll(list.coords, 0, list.count);
+		} else {
+			int size = source.size();
+			ensureCapacity(count + size);
+
+			Point p = new Point();
+			for (int i = 0; i < size; i++) {
+				source.getPoint(p, i);
+				addPoint(p.x, p.y);
+			}
 		}
 	}
 
@@ -305,7 +586,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public void addPoint(Point p) {
-		addPointByRef(toVector3f(p));
+		addPoint(p.x, p.y);
 	}
 
 	/**
@@ -316,7 +597,8 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public void addPoint(int x, int y) {
-		addPointByRef(toVector3f(x, y));
+		makeRoom(count, 1);
+		put(count - 1, x, y, getDefaultZ());
 	}
 
 	/**
@@ -329,24 +611,27 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public Rectangle getBounds() {
-		if (size() == 0) {
+		if (count == 0) {
 			return new Rectangle(0, 0, 0, 0);
 		}
 
 		float minX = Float.MAX_VALUE;
 		float minY = Float.MAX_VALUE;
-		float maxX = Float.MIN_VALUE;
-		float maxY = Float.MIN_VALUE;
-
-		for (Vector3fImpl v : points3D) {
-			if (v.x < minX)
-				minX = v.getX();
-			if (v.x > maxX)
-				maxX = v.getX();
-			if (v.y < minY)
-				minY = v.getY();
-			if (v.y > maxY)
-				maxY = v.getY();
+		float maxX = -Float.MAX_VALUE;
+		float maxY = -Float.MAX_VALUE;
+
+		int length = STRIDE * count;
+		for (int i = 0; i < length; i += STRIDE) {
+			float x = coords[i];
+			float y = coords[i + 1];
+			if (x < minX)
+				minX = x;
+			if (x > maxX)
+				maxX = x;
+			if (y < minY)
+				minY = y;
+			if (y > maxY)
+				maxY = y;
 		}
 
 		return new Rectangle((int) minX, (int) minY, (int) (maxX - minX),
@@ -384,11 +669,11 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public Point getLastPoint() {
-		return getPoint(size() - 1);
+		return getPoint(count - 1);
 	}
 
 	public IVector3f getLastPoint3D() {
-		return getPoint3D(size() - 1);
+		return getPoint3D(count - 1);
 	}
 
 	/**
@@ -408,7 +693,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public Point getPoint(int index) {
-		return toPoint(getPoint3D(index));
+		return getPoint(new Point(), index);
 	}
 
 	/**
@@ -419,7 +704,9 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public Point getPoint(Point p, int index) {
-		toPoint(getPoint3D(index), p);
+		int i = offset(index);
+		p.x = (int) coords[i];
+		p.y = (int) coords[i + 1];
 		return p;
 	}
 
@@ -431,7 +718,8 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public void insertPoint(Point p, int index) {
-		points3D.add(index, toVector3f(p));
+		makeRoom(index, 1);
+		put(index, p.x, p.y, getDefaultZ());
 	}
 
 	/**
@@ -458,8 +746,10 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public void performScale(double factor) {
-		for (Vector3fImpl v : points3D) {
-			Math3D.scale((float) factor, v, v);
+		float f = (float) factor;
+		int length = STRIDE * count;
+		for (int i = 0; i < length; i++) {
+			coords[i] *= f;
 		}
 	}
 
@@ -470,8 +760,10 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public void performTranslate(int dx, int dy) {
-		for (Vector3fImpl v : points3D) {
-			Math3D.translate(v, dx, dy, 0, v);
+		int length = STRIDE * count;
+		for (int i = 0; i < length; i += STRIDE) {
+			coords[i] += dx;
+			coords[i + 1] += dy;
 		}
 	}
 
@@ -482,7 +774,8 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public void removeAllPoints() {
-		points3D.clear();
+		count = 0;
+		modCount++;
 	}
 
 	/**
@@ -492,7 +785,23 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public Point removePoint(int index) {
-		return toPoint(points3D.remove(index));
+		Point p = getPoint(index);
+		removeRange(index, index + 1);
+		return p;
+	}
+
+	/**
+	 * Removes the points from <code>fromIndex</code>, inclusive, to
+	 * <code>toIndex</code>, exclusive.
+	 * 
+	 * @param fromIndex index of the first point to remove
+	 * @param toIndex index after the last point to remove
+	 */
+	private void removeRange(int fromIndex, int toIndex) {
+		System.arraycopy(coords, STRIDE * toIndex, coords, STRIDE * fromIndex,
+			STRIDE * (count - toIndex));
+		count -= toIndex - fromIndex;
+		modCount++;
 	}
 
 	/**
@@ -502,7 +811,15 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public void reverse() {
-		Collections.reverse(points3D);
+		float t;
+		for (int i = 0, j = STRIDE * (count - 1); i < j; i += STRIDE, j -=
+			STRIDE) {
+			for (int k = 0; k < STRIDE; k++) {
+				t = coords[i + k];
+				coords[i + k] = coords[j + k];
+				coords[j + k] = t;
+			}
+		}
 	}
 
 	/**
@@ -513,7 +830,10 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public void setPoint(Point pt, int index) {
-		points3D.set(index, toVector3f(pt));
+		int i = offset(index);
+		coords[i] = pt.x;
+		coords[i + 1] = pt.y;
+		coords[i + 2] = getDefaultZ();
 	}
 
 	/**
@@ -523,15 +843,16 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public void setSize(int newSize) {
-		if (size() >= newSize) {
-			for (int i = size() - 1; i >= newSize; i--) {
-				points3D.remove(i);
-			}
+		if (count >= newSize) {
+			count = Math.max(newSize, 0);
 		} else {
-			for (int i = size(); i < newSize; i++) {
-				points3D.add(new Vector3fImpl());
+			int start = count;
+			makeRoom(start, newSize - start);
+			for (int i = STRIDE * start; i < STRIDE * newSize; i++) {
+				coords[i] = 0;
 			}
 		}
+		modCount++;
 	}
 
 	/**
@@ -541,7 +862,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public int size() {
-		return points3D.size();
+		return count;
 	}
 
 	/**
@@ -552,11 +873,12 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 */
 	@Override
 	public int[] toIntArray() {
-		int[] aint = new int[size() * 2];
-		int i = 0;
-		for (Vector3fImpl v : points3D) {
-			aint[i++] = (int) v.x;
-			aint[i++] = (int) v.y;
+		int[] aint = new int[count * 2];
+		int j = 0;
+		int length = STRIDE * count;
+		for (int i = 0; i < length; i += STRIDE) {
+			aint[j++] = (int) coords[i];
+			aint[j++] = (int) coords[i + 1];
 		}
 		return aint;
 	}
@@ -583,10 +905,11 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	@Override
 	public void transpose() {
 		float t;
-		for (Vector3fImpl v : points3D) {
-			t = v.x;
-			v.x = v.y;
-			v.y = t;
+		int length = STRIDE * count;
+		for (int i = 0; i < length; i += STRIDE) {
+			t = coords[i];
+			coords[i] = coords[i + 1];
+			coords[i + 1] = t;
 		}
 	}
 
@@ -602,7 +925,9 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#add(java.lang.Object)
 	 */
 	public boolean add(IVector3f v) {
-		return points3D.add(new Vector3fImpl(v));
+		makeRoom(count, 1);
+		put(count - 1, v);
+		return true;
 	}
 
 	/**
@@ -611,7 +936,9 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#remove(int)
 	 */
 	public IVector3f remove(int index) {
-		return points3D.remove(index);
+		IVector3f v = getPoint3D(index);
+		removeRange(index, index + 1);
+		return v;
 	}
 
 	/**
@@ -620,16 +947,21 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#set(int, java.lang.Object)
 	 */
 	public IVector3f set(int index, IVector3f v) {
-		return points3D.set(index, new Vector3fImpl(v));
+		IVector3f old = getPoint3D(index);
+		put(index, v);
+		return old;
 	}
 
 	/**
+	 * Returns a copy of the point at the given index, changing the returned
+	 * vector does not change this list.
+	 * 
 	 * @param index
 	 * @return
 	 * @see List#get(int)
 	 */
 	public IVector3f get(int index) {
-		return points3D.get(index);
+		return getPoint3D(index);
 	}
 
 	/**
@@ -648,7 +980,8 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#add(int, java.lang.Object)
 	 */
 	public void add(int index, IVector3f v) {
-		points3D.add(index, new Vector3fImpl(v));
+		makeRoom(index, 1);
+		put(index, v);
 	}
 
 	/**
@@ -657,12 +990,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#addAll(java.util.Collection)
 	 */
 	public boolean addAll(Collection<? extends IVector3f> vectors) {
-		Collection<Vector3fImpl> vimpls =
-			new ArrayList<Vector3fImpl>(vectors.size());
-		for (IVector3f v : vectors) {
-			vimpls.add(new Vector3fImpl(v));
-		}
-		return points3D.addAll(vimpls);
+		return addAll(count, vectors);
 	}
 
 	/**
@@ -671,12 +999,25 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#addAll(int, java.util.Collection)
 	 */
 	public boolean addAll(int index, Collection<? extends IVector3f> vectors) {
-		Collection<Vector3fImpl> vimpls =
-			new ArrayList<Vector3fImpl>(vectors.size());
+		if (vectors == this)
+			return addAll(index, new PointList3D(this));
+
+		if (vectors instanceof PointList3D) {
+			PointList3D list = (PointList3D) vectors;
+			int size = list.count;
+			makeRoom(index, size);
+			System.arraycopy(list.coords, 0, coords, STRIDE * index, STRIDE
+				* size);
+			return size > 0;
+		}
+
+		int size = vectors.size();
+		makeRoom(index, size);
+		int i = index;
 		for (IVector3f v : vectors) {
-			vimpls.add(new Vector3fImpl(v));
+			put(i++, v);
 		}
-		return points3D.addAll(index, vimpls);
+		return size > 0;
 	}
 
 	/**
@@ -685,10 +1026,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#contains(java.lang.Object)
 	 */
 	public boolean contains(Object i_o) {
-		if (i_o instanceof Point) {
-			return indexOf(i_o)>=0;
-		}
-		return points3D.contains(i_o);
+		return indexOf(i_o) >= 0;
 	}
 
 	/**
@@ -697,27 +1035,25 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#containsAll(java.util.Collection)
 	 */
 	public boolean containsAll(Collection<?> i_c) {
-		return points3D.containsAll(i_c);
+		for (Object o : i_c) {
+			if (!contains(o))
+				return false;
+		}
+		return true;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * {@inheritDoc} Given {@link Point} instances are compared with the
+	 * integer x and y values of the points in this list.
 	 * 
 	 * @see java.util.List#indexOf(java.lang.Object)
 	 */
 	public int indexOf(Object i_o) {
-		if (i_o instanceof Point) {
-			Point p = (Point) i_o;
-			int i = 0;
-			for (Vector3fImpl v : points3D) {
-				if ((int) v.x == p.x && (int) v.y == p.y) {
-					return i;
-				}
-				i++;
-			}
-			return -1;
+		for (int i = 0; i < count; i++) {
+			if (equals(i, i_o))
+				return i;
 		}
-		return points3D.indexOf(i_o);
+		return -1;
 	}
 
 	/**
@@ -726,7 +1062,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#isEmpty()
 	 */
 	public boolean isEmpty() {
-		return points3D.isEmpty();
+		return count == 0;
 	}
 
 	/**
@@ -735,7 +1071,11 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#lastIndexOf(java.lang.Object)
 	 */
 	public int lastIndexOf(Object i_o) {
-		return points3D.lastIndexOf(i_o);
+		for (int i = count - 1; i >= 0; i--) {
+			if (equals(i, i_o))
+				return i;
+		}
+		return -1;
 	}
 
 	/**
@@ -773,7 +1113,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	public List<IVector3f> subList(int fromIndex, int toIndex) {
 		List<IVector3f> sub = new ArrayList<IVector3f>(toIndex - fromIndex);
 		for (int i = fromIndex; i < toIndex; i++) {
-			sub.add(points3D.get(i));
+			sub.add(getPoint3D(i));
 		}
 		return sub;
 	}
@@ -784,7 +1124,12 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#remove(java.lang.Object)
 	 */
 	public boolean remove(Object o) {
-		return points3D.remove(o);
+		int index = indexOf(o);
+		if (index < 0)
+			return false;
+
+		removeRange(index, index + 1);
+		return true;
 	}
 
 	/**
@@ -793,7 +1138,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#removeAll(java.util.Collection)
 	 */
 	public boolean removeAll(Collection<?> i_c) {
-		return points3D.removeAll(i_c);
+		return retain(i_c, false);
 	}
 
 	/**
@@ -802,7 +1147,49 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#retainAll(java.util.Collection)
 	 */
 	public boolean retainAll(Collection<?> c) {
-		return points3D.retainAll(c);
+		return retain(c, true);
+	}
+
+	/**
+	 * Compacts the coordinate array, keeping only the points that are (or are
+	 * not) contained in the given collection.
+	 * 
+	 * @param c the collection
+	 * @param i_contained whether the points contained in the collection are
+	 *            kept
+	 * @return <code>true</code> if this list was changed
+	 */
+	private boolean retain(Collection<?> c, boolean i_contained) {
+		if (c == this) {
+			if (i_contained || count == 0)
+				return false;
+			removeAllPoints();
+			return true;
+		}
+
+		int j = 0;
+		for (int i = 0; i < count; i++) {
+			boolean contained = false;
+			for (Object o : c) {
+				if (equals(i, o)) {
+					contained = true;
+					break;
+				}
+			}
+			if (contained == i_contained) {
+				if (i != j)
+					System.arraycopy(coords, STRIDE * i, coords, STRIDE * j,
+						STRIDE);
+				j++;
+			}
+		}
+
+		if (j == count)
+			return false;
+
+		count = j;
+		modCount++;
+		return true;
 	}
 
 	/**
@@ -811,7 +1198,7 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * @see java.util.List#toArray()
 	 */
 	public Object[] toArray() {
-		return points3D.toArray();
+		return toArray(new IVector3f[count]);
 	}
 
 	/**
@@ -819,8 +1206,20 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	 * 
 	 * @see java.util.List#toArray(T[])
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> T[] toArray(T[] a) {
-		return points3D.toArray(a);
+		T[] result = a;
+		if (result.length < count)
+			result =
+				(T[]) Array.newInstance(a.getClass().getComponentType(), count);
+
+		for (int i = 0; i < count; i++) {
+			result[i] = (T) getPoint3D(i);
+		}
+		if (result.length > count)
+			result[count] = null;
+
+		return result;
 	}
 
 	/*
@@ -838,13 +1237,10 @@ public class PointList3D extends PointList implements List<IVector3f> {
 	public String toString() {
 		StringBuilder strb = new StringBuilder(getClass().getSimpleName());
 		strb.append(": {");
-		boolean bFirst = true;
-		for (Vector3fImpl v : points3D) {
-			if (!bFirst) {
+		for (int i = 0; i < count; i++) {
+			if (i > 0)
 				strb.append(", ");
-			} else
-				bFirst = false;
-			strb.append(v.toString());
+			strb.append(getPoint3D(i).toString());
 		}
 		strb.append("}");
 		return strb.toString();
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics.optimizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.draw3d.graphics.optimizer.primitive.Primitive;
+
+/**
+ * A spatial hash that maps the cells of a uniform grid to the primitives whose
+ * {@link PrimitiveBounds bounds} overlap them. Primitives that would occupy too
+ * many cells are kept in a separate list which is always checked.
+ * 
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+class PrimitiveGrid {
+
+	/**
+	 * The edge length of a grid cell.
+	 */
+	private static final float CELL_SIZE = 64;
+
+	/**
+	 * The maximum number of cells a primitive may occupy. Larger primitives
+	 * are not hashed.
+	 */
+	private static final int MAX_CELLS = 64;
+
+	private final Map<Long, List<Primitive>> m_cells =
+		new HashMap<Long, List<Primitive>>();
+
+	private final List<Primitive> m_hashed = new ArrayList<Primitive>();
+
+	private final List<Primitive> m_large = new ArrayList<Primitive>();
+
+	private static int cell(float i_coordinate) {
+
+		return (int) Math.floor(i_coordinate / CELL_SIZE);
+	}
+
+	private static boolean isFinite(PrimitiveBounds i_bounds) {
+
+		float x0 = i_bounds.getX();
+		float y0 = i_bounds.getY();
+		float x1 = i_bounds.getXPlusWidth();
+		float y1 = i_bounds.getYPlusHeight();
+
+		return !Float.isNaN(x0 + y0 + x1 + y1)
+			&& !Float.isInfinite(x0 + y0 + x1 + y1);
+	}
+
+	private static Long key(int i_x, int i_y) {
+
+		return Long.valueOf(((long) i_x << 32) | (i_y & 0xFFFFFFFFL));
+	}
+
+	/**
+	 * Adds the given primitive to this grid.
+	 * 
+	 * @param i_primitive the primitive to add
+	 */
+	public void add(Primitive i_primitive) {
+
+		PrimitiveBounds bounds = i_primitive.getBounds();
+		if (isLarge(bounds)) {
+			m_large.add(i_primitive);
+			return;
+		}
+
+		int x0 = cell(bounds.getX());
+		int y0 = cell(bounds.getY());
+		int x1 = cell(bounds.getXPlusWidth());
+		int y1 = cell(bounds.getYPlusHeight());
+
+		m_hashed.add(i_primitive);
+		for (int x = x0; x <= x1; x++) {
+			for (int y = y0; y <= y1; y++) {
+				Long key = key(x, y);
+				List<Primitive> cell = m_cells.get(key);
+				if (cell == null) {
+					cell = new ArrayList<Primitive>(4);
+					m_cells.put(key, cell);
+				}
+				cell.add(i_primitive);
+			}
+		}
+	}
+
+	private boolean isLarge(PrimitiveBounds i_bounds) {
+
+		if (!isFinite(i_bounds))
+			return true;
+
+		long w =
+			(long) cell(i_bounds.getXPlusWidth()) - cell(i_bounds.getX()) + 1;
+		long h =
+			(long) cell(i_bounds.getYPlusHeight()) - cell(i_bounds.getY()) + 1;
+
+		return w * h > MAX_CELLS;
+	}
+
+	/**
+	 * Indicates whether the given primitive intersects with any of the
+	 * primitives in this grid.
+	 * 
+	 * @param i_candidate the primitive to check
+	 * @return <code>true</code> if the given primitive intersects with any of
+	 *         the primitives in this grid and <code>false</code> otherwise
+	 */
+	public boolean overlaps(Primitive i_candidate) {
+
+		for (Primitive primitive : m_large)
+			if (primitive.intersects(i_candidate))
+				return true;
+
+		if (m_hashed.isEmpty())
+			return false;
+
+		PrimitiveBounds bounds = i_candidate.getBounds();
+		if (isLarge(bounds)) {
+			for (Primitive primitive : m_hashed)
+				if (primitive.intersects(i_candidate))
+					return true;
+
+			return false;
+		}
+
+		int x0 = cell(bounds.getX());
+		int y0 = cell(bounds.getY());
+		int x1 = cell(bounds.getXPlusWidth());
+		int y1 = cell(bounds.getYPlusHeight());
+
+		for (int x = x0; x <= x1; x++) {
+			for (int y = y0; y <= y1; y++) {
+				List<Primitive> cell = m_cells.get(key(x, y));
+				if (cell != null)
+					for (Primitive primitive : cell)
+						if (primitive.intersects(i_candidate))
+							return true;
+			}
+		}
+
+		return false;
+	}
+}
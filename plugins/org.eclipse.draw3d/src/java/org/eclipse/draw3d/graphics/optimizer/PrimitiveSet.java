@@ -10,8 +10,8 @@
  ******************************************************************************/
 package org.eclipse.draw3d.graphics.optimizer;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.eclipse.draw3d.graphics.optimizer.classification.PrimitiveClass;
@@ -20,7 +20,9 @@ import org.eclipse.draw3d.graphics.optimizer.primitive.VertexPrimitive;
 
 /**
  * A primitive set contains only {@link Primitive primitives} that belong to the
- * same {@link PrimitiveClass class}.
+ * same {@link PrimitiveClass class}. The primitives are indexed by a spatial
+ * hash, which is built when the first overlap test is performed, so that
+ * overlap tests only need to check the primitives close to the candidate.
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -28,11 +30,13 @@ import org.eclipse.draw3d.graphics.optimizer.primitive.VertexPrimitive;
  */
 public class PrimitiveSet {
 
+	private PrimitiveGrid m_grid;
+
 	private PrimitiveSet m_parent;
 
 	private PrimitiveClass m_primitiveClass;
 
-	private List<Primitive> m_primitives = new LinkedList<Primitive>();
+	private List<Primitive> m_primitives = new ArrayList<Primitive>();
 
 	private int m_vertexCount;
 
@@ -95,6 +99,8 @@ public class PrimitiveSet {
 				return false;
 
 		m_primitives.add(i_primitive);
+		if (m_grid != null)
+			m_grid.add(i_primitive);
 
 		if (i_primitive instanceof VertexPrimitive) {
 			VertexPrimitive vertexPrimitive = (VertexPrimitive) i_primitive;
@@ -139,7 +145,7 @@ public class PrimitiveSet {
 
 		List<PrimitiveSet> result = io_result;
 		if (result == null)
-			result = new LinkedList<PrimitiveSet>();
+			result = new ArrayList<PrimitiveSet>();
 
 		if (m_parent != null)
 			result = m_parent.getSets(result);
@@ -181,11 +187,13 @@ public class PrimitiveSet {
 		if (i_candidate == null)
 			throw new NullPointerException("i_candidate must not be null");
 
-		for (Primitive primitive : m_primitives)
-			if (primitive.intersects(i_candidate))
-				return true;
+		if (m_grid == null) {
+			m_grid = new PrimitiveGrid();
+			for (Primitive primitive : m_primitives)
+				m_grid.add(primitive);
+		}
 
-		return false;
+		return m_grid.overlaps(i_candidate);
 	}
 
 	/**
@@ -16,7 +16,6 @@ import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw3d.geometry.IMatrix3f;
 import org.eclipse.draw3d.geometry.Math3D;
-import org.eclipse.draw3d.geometry.Vector2f;
 import org.eclipse.draw3d.graphics.optimizer.PrimitiveBounds;
 import org.eclipse.draw3d.util.Draw3DCache;
 
@@ -85,20 +84,10 @@ public abstract class AbstractVertexPrimitive extends AbstractPrimitive
 		if (i_transformation != null
 			&& !IMatrix3f.IDENTITY.equals(i_transformation)) {
 
-			Vector2f v = Draw3DCache.getVector2f();
-			try {
-				int s = i_vertices.length / 2;
-				m_vertices = new float[2 * s];
-
-				for (int i = 0; i < s; i++) {
-					v.set(i_vertices[2 * i], i_vertices[2 * i + 1]);
-					Math3D.transform(v, i_transformation, v);
-					m_vertices[2 * i] = v.getX();
-					m_vertices[2 * i + 1] = v.getY();
-				}
-			} finally {
-				Draw3DCache.returnVector2f(v);
-			}
+			int s = i_vertices.length / 2;
+			m_vertices = new float[2 * s];
+			Math3D.transformPoints(i_vertices, 0, s, i_transformation,
+				m_vertices, 0);
 		} else
 			m_vertices = i_vertices;
 	}
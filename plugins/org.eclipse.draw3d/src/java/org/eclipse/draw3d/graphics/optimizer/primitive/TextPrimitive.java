@@ -14,10 +14,8 @@ import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw3d.geometry.IMatrix3f;
 import org.eclipse.draw3d.geometry.Math3D;
-import org.eclipse.draw3d.geometry.Vector2f;
 import org.eclipse.draw3d.graphics.GraphicsState;
 import org.eclipse.draw3d.graphics.optimizer.PrimitiveBounds;
-import org.eclipse.draw3d.util.Draw3DCache;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.GC;
@@ -139,41 +137,17 @@ public class TextPrimitive extends AbstractPrimitive {
 		IMatrix3f t = getTransformation();
 		float[] vertices = new float[8];
 
-		if (t != null && !IMatrix3f.IDENTITY.equals(t)) {
-			Vector2f v = Draw3DCache.getVector2f();
-			try {
-				v.set(i_x, i_y);
-				Math3D.transform(v, t, v);
-				vertices[0] = v.getX();
-				vertices[1] = v.getY();
-
-				v.set(i_x, i_y + i_h);
-				Math3D.transform(v, t, v);
-				vertices[2] = v.getX();
-				vertices[3] = v.getY();
-
-				v.set(i_x + i_w, i_y + i_h);
-				Math3D.transform(v, t, v);
-				vertices[4] = v.getX();
-				vertices[5] = v.getY();
-
-				v.set(i_x + i_w, i_y);
-				Math3D.transform(v, t, v);
-				vertices[6] = v.getX();
-				vertices[7] = v.getY();
-			} finally {
-				Draw3DCache.returnVector2f(v);
-			}
-		} else {
-			vertices[0] = i_x;
-			vertices[1] = i_y;
-			vertices[2] = i_x;
-			vertices[3] = i_y + i_h;
-			vertices[4] = i_x + i_w;
-			vertices[5] = i_y + i_h;
-			vertices[6] = i_x + i_h;
-			vertices[7] = i_y;
-		}
+		vertices[0] = i_x;
+		vertices[1] = i_y;
+		vertices[2] = i_x;
+		vertices[3] = i_y + i_h;
+		vertices[4] = i_x + i_w;
+		vertices[5] = i_y + i_h;
+		vertices[6] = i_x + i_w;
+		vertices[7] = i_y;
+
+		if (t != null && !IMatrix3f.IDENTITY.equals(t))
+			Math3D.transformPoints(vertices, 0, 4, t, vertices, 0);
 
 		return vertices;
 	}
@@ -45,6 +45,11 @@ public class OffscreenRenderer {
 		 * valid and an offscreen image has been rendered.
 		 */
 		RENDERED,
+		/**
+		 * Indicates that an offscreen image has been rendered, but it was not
+		 * copied into the local buffers.
+		 */
+		RETAINED,
 		/**
 		 * Inidicate that the renderer has not been initialized.
 		 */
@@ -185,9 +190,6 @@ public class OffscreenRenderer {
 
 	private void initBuffers() {
 
-		m_colorBuffer = null;
-		m_depthBuffer = null;
-
 		int size = m_width * m_height;
 
 		if (m_bufferConfig.isEnabled(Graphics3DDraw.GL_COLOR_BUFFER_BIT))
@@ -216,6 +218,47 @@ public class OffscreenRenderer {
 		return Graphics3DMetaData.isBackBuffer(m_offscreenBuffers);
 	}
 
+	/**
+	 * Copies a region of the offscreen image into the given buffers. This is
+	 * only possible if the back buffer is not used as the offscreen buffer,
+	 * and it allows to render an image with {@link #render(Runnable, boolean)}
+	 * without copying it and to read only the parts that are needed later.
+	 * 
+	 * @param i_x the X coordinate of the lower left corner of the region
+	 * @param i_y the Y coordinate of the lower left corner of the region
+	 * @param i_width the width of the region
+	 * @param i_height the height of the region
+	 * @param o_colorBuffer the color buffer, must have room for
+	 *            <code>width * height</code> pixels, if <code>null</code>,
+	 *            no colors are copied
+	 * @param o_depthBuffer the depth buffer, must have room for
+	 *            <code>width * height</code> values, if <code>null</code>, no
+	 *            depth values are copied
+	 * @throws IllegalArgumentException if the given region is not within the
+	 *             offscreen image
+	 * @throws IllegalStateException if no offscreen image was rendered or if
+	 *             the back buffer is used as the offscreen buffer
+	 */
+	public void readPixels(int i_x, int i_y, int i_width, int i_height,
+			ByteBuffer o_colorBuffer, FloatBuffer o_depthBuffer) {
+
+		checkState(false, State.UNINITIALZED, State.DISPOSED, State.INVALID,
+				State.VALID);
+
+		if (i_x < 0 || i_y < 0 || i_width < 1 || i_height < 1
+				|| i_x + i_width > m_width || i_y + i_height > m_height)
+			throw new IllegalArgumentException("region " + i_x + ", " + i_y
+					+ ", " + i_width + ", " + i_height
+					+ " is not within the offscreen image");
+
+		if (isBackBufferEnabled())
+			throw new IllegalStateException(
+					"the back buffer does not retain the offscreen image");
+
+		m_offscreenBuffers.readPixels(i_x, i_y, i_width, i_height,
+				o_colorBuffer, o_depthBuffer);
+	}
+
 	/**
 	 * Renders the offscreen image using the given rendering operation.
 	 * 
@@ -227,23 +270,52 @@ public class OffscreenRenderer {
 	 */
 	public void render(Runnable i_renderOperation) {
 
+		render(i_renderOperation, true);
+	}
+
+	/**
+	 * Renders the offscreen image using the given rendering operation.
+	 * 
+	 * @param i_renderOperation performs the actual rendering
+	 * @param i_copy if <code>true</code>, the offscreen image is copied into
+	 *            the buffers that are returned by {@link #getColorBuffer()}
+	 *            and {@link #getDepthBuffer()}, otherwise, the image can only
+	 *            be read with
+	 *            {@link #readPixels(int, int, int, int, ByteBuffer, FloatBuffer)}
+	 * @throws NullPointerException if the given render operation is
+	 *             <code>null</code>
+	 * @throws IllegalStateException if this renderer is not initialized or
+	 *             disposed
+	 */
+	public void render(Runnable i_renderOperation, boolean i_copy) {
+
 		if (i_renderOperation == null)
 			throw new NullPointerException("i_renderOperation must not be null");
 
 		checkState(false, State.UNINITIALZED, State.DISPOSED);
 
 		if (m_state == State.INVALID) {
-			initBuffers();
+			m_colorBuffer = null;
+			m_depthBuffer = null;
 			m_offscreenBuffers.initBuffers();
 
 			m_state = State.VALID;
 		}
 
+		// the local buffers are only allocated when they are needed
+		if (i_copy && m_colorBuffer == null && m_depthBuffer == null)
+			initBuffers();
+
 		m_offscreenBuffers.preRender();
 		i_renderOperation.run();
-		m_offscreenBuffers.postRender(m_colorBuffer, m_depthBuffer);
 
-		m_state = State.RENDERED;
+		if (i_copy) {
+			m_offscreenBuffers.postRender(m_colorBuffer, m_depthBuffer);
+			m_state = State.RENDERED;
+		} else {
+			m_offscreenBuffers.postRender(null, null);
+			m_state = State.RETAINED;
+		}
 	}
 
 	/**
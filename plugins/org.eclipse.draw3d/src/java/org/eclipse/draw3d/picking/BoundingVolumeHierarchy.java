@@ -0,0 +1,734 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.picking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw3d.IFigure3D;
+import org.eclipse.draw3d.geometry.AbstractPosition3D;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
+import org.eclipse.draw3d.geometry.Position3D;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.util.Draw3DCache;
+
+/**
+ * A binary bounding volume hierarchy over the paraxial bounding boxes of all 3D
+ * figures below a root figure. The hierarchy is used by
+ * {@link Query#execute(BoundingVolumeHierarchy)} to visit the figures that are
+ * hit by a picking ray in the order of the distance at which the ray enters
+ * their bounding boxes, so that the search can stop as soon as no bounding box
+ * is closer than the closest hit found so far.
+ * <p>
+ * The hierarchy is maintained incrementally: If the bounds of a figure change,
+ * {@link #invalidate(IFigure3D)} must be called, and the affected leaves are
+ * refitted before the next traversal. Every leaf remembers the generation of
+ * its figure's position (see {@link AbstractPosition3D#getGeneration()}), its
+ * visibility and the number of its visible 3D descendants, so that figures
+ * that were only repainted do not invalidate anything. If the structure of
+ * the figure tree changes, {@link #invalidate()} must be called, and the
+ * hierarchy is rebuilt before the next traversal. Figures that have no paraxial bounding box are
+ * not stored in the hierarchy, but returned by {@link #getUnboundedFigures()}.
+ * </p>
+ * <p>
+ * A traversal is started by calling
+ * {@link #beginTraversal(IVector3f, IVector3f)} and continued by calling
+ * {@link #nextFigure(float)} until it returns <code>null</code>. Only one
+ * traversal can be active at any time, so this class is not thread safe.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class BoundingVolumeHierarchy {
+
+	private static final Logger log =
+		Logger.getLogger(BoundingVolumeHierarchy.class.getName());
+
+	private float[] m_bounds = new float[0];
+
+	private float[] m_centers = new float[0];
+
+	private int[] m_descendantCounts = new int[0];
+
+	private final Set<IFigure3D> m_dirtyFigures = new HashSet<IFigure3D>();
+
+	private IFigure3D[] m_figures = new IFigure3D[0];
+
+	private int[] m_generations = new int[0];
+
+	private int[] m_heapNodes = new int[16];
+
+	private float[] m_heapKeys = new float[16];
+
+	private int m_heapSize = 0;
+
+	private final Map<IFigure3D, Integer> m_leafNodes =
+		new HashMap<IFigure3D, Integer>();
+
+	private int[] m_left = new int[0];
+
+	private int m_nodeCount = 0;
+
+	private int[] m_order = new int[0];
+
+	private int[] m_parent = new int[0];
+
+	private final float[] m_ray = new float[6];
+
+	private int[] m_right = new int[0];
+
+	private int m_rootDescendantCount = 0;
+
+	private IFigure3D m_rootFigure;
+
+	private final float[] m_tmpBounds = new float[6];
+
+	private final List<IFigure3D> m_unboundedFigures =
+		new ArrayList<IFigure3D>();
+
+	private final List<IFigure3D> m_unboundedFiguresView =
+		Collections.unmodifiableList(m_unboundedFigures);
+
+	private boolean m_valid = false;
+
+	private boolean[] m_visibilities = new boolean[0];
+
+	/**
+	 * Starts a new traversal with the given ray. Before the traversal starts,
+	 * the hierarchy is rebuilt or refitted if necessary.
+	 *
+	 * @param i_rayOrigin the origin of the ray
+	 * @param i_rayDirection the direction of the ray
+	 * @throws NullPointerException if any of the given vectors is
+	 *             <code>null</code>
+	 */
+	public void beginTraversal(IVector3f i_rayOrigin, IVector3f i_rayDirection) {
+
+		if (i_rayOrigin == null)
+			throw new NullPointerException("i_rayOrigin must not be null");
+
+		if (i_rayDirection == null)
+			throw new NullPointerException("i_rayDirection must not be null");
+
+		validate();
+
+		m_ray[0] = i_rayOrigin.getX();
+		m_ray[1] = i_rayOrigin.getY();
+		m_ray[2] = i_rayOrigin.getZ();
+		m_ray[3] = i_rayDirection.getX();
+		m_ray[4] = i_rayDirection.getY();
+		m_ray[5] = i_rayDirection.getZ();
+
+		m_heapSize = 0;
+		if (m_nodeCount > 0) {
+			float distance = intersectRay(0);
+			if (!Float.isNaN(distance))
+				push(0, distance);
+		}
+	}
+
+	private void build() {
+
+		m_leafNodes.clear();
+		m_unboundedFigures.clear();
+		m_dirtyFigures.clear();
+		m_nodeCount = 0;
+
+		List<IFigure3D> figures = new ArrayList<IFigure3D>();
+		List<float[]> bounds = new ArrayList<float[]>();
+		List<Integer> descendantCounts = new ArrayList<Integer>();
+		if (m_rootFigure != null)
+			collectFigures(m_rootFigure, figures, bounds, descendantCounts);
+
+		int count = figures.size();
+		m_figures = figures.toArray(new IFigure3D[count]);
+		m_order = new int[count];
+		m_centers = new float[count * 3];
+		m_generations = new int[count];
+		m_descendantCounts = new int[count];
+		m_visibilities = new boolean[count];
+
+		int capacity = Math.max(0, 2 * count - 1);
+		m_bounds = new float[capacity * 6];
+		m_left = new int[capacity];
+		m_right = new int[capacity];
+		m_parent = new int[capacity];
+
+		float[] leafBounds = new float[count * 6];
+		for (int i = 0; i < count; i++) {
+			float[] b = bounds.get(i);
+			System.arraycopy(b, 0, leafBounds, i * 6, 6);
+			m_order[i] = i;
+			m_generations[i] = getGeneration(m_figures[i]);
+			m_descendantCounts[i] = descendantCounts.get(i).intValue();
+			m_visibilities[i] = m_figures[i].isVisible();
+			for (int j = 0; j < 3; j++)
+				m_centers[i * 3 + j] = (b[j] + b[j + 3]) / 2;
+		}
+
+		if (count > 0)
+			buildNode(leafBounds, 0, count, -1);
+
+		m_valid = true;
+
+		if (log.isLoggable(Level.FINE))
+			log.fine("bounding volume hierarchy rebuilt with " + count
+				+ " leaves and " + m_unboundedFigures.size()
+				+ " unbounded figures");
+	}
+
+	private int buildNode(float[] i_leafBounds, int i_start, int i_end,
+		int i_parent) {
+
+		int node = m_nodeCount++;
+		m_parent[node] = i_parent;
+
+		if (i_end - i_start == 1) {
+			int figure = m_order[i_start];
+			m_left[node] = -1 - figure;
+			m_right[node] = -1;
+			System.arraycopy(i_leafBounds, figure * 6, m_bounds, node * 6, 6);
+			m_leafNodes.put(m_figures[figure], node);
+			return node;
+		}
+
+		// split at the median of the box centers along the longest axis
+		float[] extent = new float[6];
+		setEmpty(extent, 0);
+		for (int i = i_start; i < i_end; i++)
+			union(extent, 0, m_centers, m_order[i] * 3, m_centers,
+				m_order[i] * 3);
+
+		int axis = 0;
+		for (int j = 1; j < 3; j++)
+			if (extent[j + 3] - extent[j] > extent[axis + 3] - extent[axis])
+				axis = j;
+
+		int middle = (i_start + i_end) / 2;
+		select(i_start, i_end - 1, middle, axis);
+
+		m_left[node] = buildNode(i_leafBounds, i_start, middle, node);
+		m_right[node] = buildNode(i_leafBounds, middle, i_end, node);
+		refitNode(node);
+
+		return node;
+	}
+
+	private int collectFigures(IFigure i_figure, List<IFigure3D> o_figures,
+		List<float[]> o_bounds, List<Integer> o_descendantCounts) {
+
+		int index = -1;
+		if (i_figure instanceof IFigure3D && i_figure != m_rootFigure) {
+			IFigure3D figure3D = (IFigure3D) i_figure;
+			float[] bounds = new float[6];
+			if (getBounds(figure3D, bounds, 0)) {
+				index = o_figures.size();
+				o_figures.add(figure3D);
+				o_bounds.add(bounds);
+				o_descendantCounts.add(null);
+			} else {
+				m_unboundedFigures.add(figure3D);
+			}
+		}
+
+		int descendants = 0;
+		for (Object child : i_figure.getChildren()) {
+			IFigure childFigure = (IFigure) child;
+			int count =
+				collectFigures(childFigure, o_figures, o_bounds,
+					o_descendantCounts);
+			if (childFigure.isVisible())
+				descendants += count;
+		}
+
+		if (index >= 0)
+			o_descendantCounts.set(index, Integer.valueOf(descendants));
+		else if (i_figure == m_rootFigure)
+			m_rootDescendantCount = descendants;
+
+		return i_figure instanceof IFigure3D ? descendants + 1 : descendants;
+	}
+
+	private static int countDescendants(IFigure i_figure) {
+
+		int count = 0;
+		for (Object child : i_figure.getChildren()) {
+			IFigure childFigure = (IFigure) child;
+			if (!childFigure.isVisible())
+				continue;
+
+			if (childFigure instanceof IFigure3D)
+				count++;
+			count += countDescendants(childFigure);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the number of visible 3D descendants of the given figure at the
+	 * time it was last fitted. Hiding a figure is detected by its parent,
+	 * because it is the parent that is repainted in this case.
+	 *
+	 * @param i_figure the figure
+	 * @return the number of descendants or -1 if the figure is not stored in
+	 *         this hierarchy
+	 */
+	private int getDescendantCount(IFigure3D i_figure) {
+
+		if (i_figure == m_rootFigure)
+			return m_rootDescendantCount;
+
+		Integer node = m_leafNodes.get(i_figure);
+		if (node == null)
+			return -1;
+
+		return m_descendantCounts[-1 - m_left[node.intValue()]];
+	}
+
+	private boolean getBounds(IFigure3D i_figure, float[] o_bounds, int i_offset) {
+
+		ParaxialBoundingBox tmp = Draw3DCache.getParaxialBoundingBox();
+		Vector3f location = Draw3DCache.getVector3f();
+		Vector3f end = Draw3DCache.getVector3f();
+		try {
+			ParaxialBoundingBox bounds = i_figure.getParaxialBoundingBox(tmp);
+			if (bounds == null)
+				return false;
+
+			bounds.getLocation(location);
+			bounds.getEnd(end);
+
+			o_bounds[i_offset] = Math.min(location.getX(), end.getX());
+			o_bounds[i_offset + 1] = Math.min(location.getY(), end.getY());
+			o_bounds[i_offset + 2] = Math.min(location.getZ(), end.getZ());
+			o_bounds[i_offset + 3] = Math.max(location.getX(), end.getX());
+			o_bounds[i_offset + 4] = Math.max(location.getY(), end.getY());
+			o_bounds[i_offset + 5] = Math.max(location.getZ(), end.getZ());
+
+			return true;
+		} finally {
+			Draw3DCache.returnVector3f(location, end);
+			Draw3DCache.returnParaxialBoundingBox(tmp);
+		}
+	}
+
+	/**
+	 * Returns the generation of the position of the given figure.
+	 *
+	 * @param i_figure the figure
+	 * @return the generation or -1 if the position does not track its
+	 *         generation
+	 */
+	private static int getGeneration(IFigure3D i_figure) {
+
+		Position3D position = i_figure.getPosition3D();
+		if (position instanceof AbstractPosition3D)
+			return ((AbstractPosition3D) position).getGeneration();
+
+		return -1;
+	}
+
+	/**
+	 * Returns the number of figures stored in this hierarchy.
+	 *
+	 * @return the number of figures that have a paraxial bounding box
+	 */
+	public int getFigureCount() {
+
+		validate();
+		return m_leafNodes.size();
+	}
+
+	/**
+	 * Returns the figures that have no paraxial bounding box and that are
+	 * therefore not stored in this hierarchy. These figures must be tested
+	 * separately.
+	 *
+	 * @return an unmodifiable list of the unbounded figures
+	 */
+	public List<IFigure3D> getUnboundedFigures() {
+
+		validate();
+		return m_unboundedFiguresView;
+	}
+
+	/**
+	 * Invalidates the structure of this hierarchy. It will be rebuilt before
+	 * the next traversal.
+	 */
+	public void invalidate() {
+
+		m_valid = false;
+		m_dirtyFigures.clear();
+	}
+
+	/**
+	 * Invalidates the bounds of the given figure. The leaves of the given
+	 * figure, its 3D ancestors and its 3D descendants are refitted before the
+	 * next traversal. If neither the position nor the paraxial bounds of the
+	 * given figure were changed since its leaf was fitted, e.g. because the
+	 * figure was only repainted, nothing is invalidated.
+	 *
+	 * @param i_figure the figure whose bounds may have changed, if
+	 *            <code>null</code>, the whole hierarchy is invalidated
+	 * @return <code>true</code> if traversals may return other figures than
+	 *         before or <code>false</code> if the hierarchy was not changed
+	 */
+	public boolean invalidate(IFigure3D i_figure) {
+
+		if (i_figure == null) {
+			invalidate();
+			return true;
+		}
+
+		if (!m_valid)
+			return true;
+
+		if (!m_dirtyFigures.contains(i_figure) && !isChanged(i_figure))
+			return false;
+
+		m_dirtyFigures.add(i_figure);
+		return true;
+	}
+
+	private boolean isChanged(IFigure3D i_figure) {
+
+		int descendants = getDescendantCount(i_figure);
+		if (descendants == -1) // added or unbounded
+			return true;
+
+		if (descendants != countDescendants(i_figure))
+			return true;
+
+		if (i_figure == m_rootFigure)
+			return false;
+
+		Integer node = m_leafNodes.get(i_figure);
+
+		int figure = -1 - m_left[node.intValue()];
+		if (i_figure.isVisible() != m_visibilities[figure])
+			return true;
+
+		int generation = getGeneration(i_figure);
+		if (generation == -1 || generation != m_generations[figure])
+			return true;
+
+		if (!getBounds(i_figure, m_tmpBounds, 0))
+			return true;
+
+		int offset = node.intValue() * 6;
+		for (int j = 0; j < 6; j++)
+			if (m_tmpBounds[j] != m_bounds[offset + j])
+				return true;
+
+		return false;
+	}
+
+	private float intersectRay(int i_node) {
+
+		int offset = i_node * 6;
+		float near = 0;
+		float far = Float.MAX_VALUE;
+
+		for (int j = 0; j < 3; j++) {
+			float origin = m_ray[j];
+			float direction = m_ray[j + 3];
+			float min = m_bounds[offset + j];
+			float max = m_bounds[offset + j + 3];
+
+			if (direction == 0) {
+				if (origin < min || origin > max)
+					return Float.NaN;
+			} else {
+				float t0 = (min - origin) / direction;
+				float t1 = (max - origin) / direction;
+				if (t0 > t1) {
+					float t = t0;
+					t0 = t1;
+					t1 = t;
+				}
+
+				if (t0 > near)
+					near = t0;
+				if (t1 < far)
+					far = t1;
+				if (near > far)
+					return Float.NaN;
+			}
+		}
+
+		return near;
+	}
+
+	/**
+	 * Returns the next figure whose bounding box is hit by the ray of the
+	 * current traversal and whose bounding box distance is not greater than
+	 * the given maximum distance. The figures are returned in ascending order
+	 * of their bounding box distance. Once this method returned
+	 * <code>null</code>, the traversal is finished.
+	 *
+	 * @param i_maxDistance the maximum distance, usually the distance of the
+	 *            closest hit found so far
+	 * @return the next figure or <code>null</code> if there are no more
+	 *         figures within the given distance
+	 */
+	public IFigure3D nextFigure(float i_maxDistance) {
+
+		while (m_heapSize > 0) {
+			float distance = m_heapKeys[0];
+			if (distance > i_maxDistance) {
+				m_heapSize = 0;
+				return null;
+			}
+
+			int node = pop();
+			if (m_left[node] < 0)
+				return m_figures[-1 - m_left[node]];
+
+			pushChild(m_left[node], i_maxDistance);
+			pushChild(m_right[node], i_maxDistance);
+		}
+
+		return null;
+	}
+
+	private int pop() {
+
+		int result = m_heapNodes[0];
+		m_heapSize--;
+
+		int node = m_heapNodes[m_heapSize];
+		float key = m_heapKeys[m_heapSize];
+
+		int i = 0;
+		int child;
+		while ((child = 2 * i + 1) < m_heapSize) {
+			if (child + 1 < m_heapSize
+				&& m_heapKeys[child + 1] < m_heapKeys[child])
+				child++;
+
+			if (key <= m_heapKeys[child])
+				break;
+
+			m_heapNodes[i] = m_heapNodes[child];
+			m_heapKeys[i] = m_heapKeys[child];
+			i = child;
+		}
+
+		m_heapNodes[i] = node;
+		m_heapKeys[i] = key;
+
+		return result;
+	}
+
+	private void push(int i_node, float i_distance) {
+
+		if (m_heapSize == m_heapNodes.length) {
+			int[] nodes = new int[m_heapSize * 2];
+			float[] keys = new float[m_heapSize * 2];
+			System.arraycopy(m_heapNodes, 0, nodes, 0, m_heapSize);
+			System.arraycopy(m_heapKeys, 0, keys, 0, m_heapSize);
+			m_heapNodes = nodes;
+			m_heapKeys = keys;
+		}
+
+		int i = m_heapSize++;
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (m_heapKeys[parent] <= i_distance)
+				break;
+
+			m_heapNodes[i] = m_heapNodes[parent];
+			m_heapKeys[i] = m_heapKeys[parent];
+			i = parent;
+		}
+
+		m_heapNodes[i] = i_node;
+		m_heapKeys[i] = i_distance;
+	}
+
+	private void pushChild(int i_node, float i_maxDistance) {
+
+		float distance = intersectRay(i_node);
+		if (!Float.isNaN(distance) && distance <= i_maxDistance)
+			push(i_node, distance);
+	}
+
+	private void refit() {
+
+		for (IFigure3D figure : m_dirtyFigures) {
+			int descendants = getDescendantCount(figure);
+			if (descendants >= 0 && descendants != countDescendants(figure)) {
+				// descendants were added, removed, hidden or shown
+				build();
+				return;
+			}
+		}
+
+		Set<IFigure3D> affected = new HashSet<IFigure3D>();
+		for (IFigure3D figure : m_dirtyFigures) {
+			collectDescendants(figure, affected);
+
+			IFigure ancestor = figure.getParent();
+			while (ancestor != null) {
+				if (ancestor instanceof IFigure3D)
+					affected.add((IFigure3D) ancestor);
+				ancestor = ancestor.getParent();
+			}
+		}
+		m_dirtyFigures.clear();
+
+		for (IFigure3D figure : affected) {
+			if (figure == m_rootFigure)
+				continue;
+
+			Integer node = m_leafNodes.get(figure);
+			if (node == null) {
+				if (!m_unboundedFigures.contains(figure)
+					|| getBounds(figure, new float[6], 0)) {
+					// figure was added or got bounds
+					build();
+					return;
+				}
+			} else if (!getBounds(figure, m_bounds, node * 6)) {
+				// figure lost its bounds
+				build();
+				return;
+			} else if (figure.isVisible() != m_visibilities[-1 - m_left[node]]) {
+				// the descendant counts of the ancestors have changed
+				build();
+				return;
+			} else {
+				m_generations[-1 - m_left[node]] = getGeneration(figure);
+
+				int parent = m_parent[node];
+				while (parent >= 0) {
+					refitNode(parent);
+					parent = m_parent[parent];
+				}
+			}
+		}
+	}
+
+	private void collectDescendants(IFigure i_figure, Set<IFigure3D> o_figures) {
+
+		if (i_figure instanceof IFigure3D)
+			o_figures.add((IFigure3D) i_figure);
+
+		for (Object child : i_figure.getChildren())
+			collectDescendants((IFigure) child, o_figures);
+	}
+
+	private void refitNode(int i_node) {
+
+		int offset = i_node * 6;
+		setEmpty(m_bounds, offset);
+		union(m_bounds, offset, m_bounds, m_left[i_node] * 6, m_bounds,
+			m_left[i_node] * 6 + 3);
+		union(m_bounds, offset, m_bounds, m_right[i_node] * 6, m_bounds,
+			m_right[i_node] * 6 + 3);
+	}
+
+	private void select(int i_left, int i_right, int i_k, int i_axis) {
+
+		int left = i_left;
+		int right = i_right;
+		while (left < right) {
+			float pivot = m_centers[m_order[(left + right) / 2] * 3 + i_axis];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (m_centers[m_order[i] * 3 + i_axis] < pivot)
+					i++;
+				while (m_centers[m_order[j] * 3 + i_axis] > pivot)
+					j--;
+				if (i <= j) {
+					int t = m_order[i];
+					m_order[i] = m_order[j];
+					m_order[j] = t;
+					i++;
+					j--;
+				}
+			}
+
+			if (i_k <= j)
+				right = j;
+			else if (i_k >= i)
+				left = i;
+			else
+				return;
+		}
+	}
+
+	private void setEmpty(float[] o_bounds, int i_offset) {
+
+		for (int j = 0; j < 3; j++) {
+			o_bounds[i_offset + j] = Float.MAX_VALUE;
+			o_bounds[i_offset + j + 3] = -Float.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Sets the root figure of this hierarchy and invalidates it.
+	 *
+	 * @param i_rootFigure the root figure
+	 */
+	public void setRootFigure(IFigure3D i_rootFigure) {
+
+		m_rootFigure = i_rootFigure;
+		invalidate();
+	}
+
+	private void union(float[] io_bounds, int i_offset, float[] i_min,
+		int i_minOffset, float[] i_max, int i_maxOffset) {
+
+		for (int j = 0; j < 3; j++) {
+			io_bounds[i_offset + j] =
+				Math.min(io_bounds[i_offset + j], i_min[i_minOffset + j]);
+			io_bounds[i_offset + j + 3] =
+				Math.max(io_bounds[i_offset + j + 3], i_max[i_maxOffset + j]);
+		}
+	}
+
+	private void validate() {
+
+		if (!m_valid)
+			build();
+		else if (!m_dirtyFigures.isEmpty())
+			refit();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "BoundingVolumeHierarchy [valid=" + m_valid + ", leaves="
+			+ m_leafNodes.size() + ", nodes=" + m_nodeCount + ", unbounded="
+			+ m_unboundedFigures.size() + ", dirty=" + m_dirtyFigures.size()
+			+ "]";
+	}
+}
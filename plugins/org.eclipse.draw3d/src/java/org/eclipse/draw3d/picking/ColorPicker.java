@@ -0,0 +1,597 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.picking;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.draw2d.TreeSearch;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw3d.IFigure3D;
+import org.eclipse.draw3d.IScene;
+import org.eclipse.draw3d.ISurface;
+import org.eclipse.draw3d.RenderContext;
+import org.eclipse.draw3d.camera.ICamera;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Math3D;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.graphics3d.Graphics3D;
+import org.eclipse.draw3d.graphics3d.Graphics3DDraw;
+import org.eclipse.draw3d.graphics3d.Graphics3DOffscreenBufferConfig;
+import org.eclipse.draw3d.offscreen.OffscreenRenderer;
+import org.eclipse.draw3d.util.BufferUtils;
+import org.eclipse.draw3d.util.Draw3DCache;
+
+/**
+ * A picker that renders the IDs of all figures into an offscreen image and
+ * determines the figure at a mouse location by reading the ID of the
+ * corresponding pixel. The ID image (and a depth image, which is used to
+ * calculate the distance of a hit) is only rendered again if the camera or the
+ * geometry of the figures has changed. To tolerate thin figures such as
+ * connections, the pixels in a small square around the mouse location are
+ * examined if the pixel at the mouse location does not belong to any figure
+ * (see {@link #setTolerance(int)}).
+ * <p>
+ * The images remain in the offscreen buffers, and only the square around the
+ * mouse location is read back for each query. If the offscreen renderer uses
+ * the back buffer, which is overwritten by the next frame, the whole images
+ * are copied after rendering instead.
+ * </p>
+ * <p>
+ * Since the ID image only contains the figures that are closest to the camera,
+ * this picker delegates to a {@link GeometryPicker} if the figure at the mouse
+ * location is pruned or not accepted by a search, if no figure is found at the
+ * mouse location, or if the ID image cannot be rendered. Queries that are
+ * specified by a ray instead of mouse coordinates are always delegated.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ * @see RenderContext#setColorPicking(boolean)
+ */
+public class ColorPicker implements Picker {
+
+	private static final Logger log =
+		Logger.getLogger(ColorPicker.class.getName());
+
+	/**
+	 * The default tolerance in pixels.
+	 */
+	public static final int DEFAULT_TOLERANCE = 2;
+
+	private ICamera m_camera;
+
+	private long m_cameraRevision;
+
+	/**
+	 * The IDs of the pixels in the current region.
+	 */
+	private ByteBuffer m_colorBuffer;
+
+	private ISurface m_currentSurface;
+
+	/**
+	 * The depth values of the pixels in the current region.
+	 */
+	private FloatBuffer m_depthBuffer;
+
+	private boolean m_disabled = false;
+
+	private final GeometryPicker m_geometryPicker;
+
+	private int m_height;
+
+	private final int[] m_pixel = new int[2];
+
+	private Query m_query;
+
+	/**
+	 * The current region in mouse coordinates, i.e. its first row is the top
+	 * row. The buffers store the rows bottom up.
+	 */
+	private int m_regionHeight;
+
+	private int m_regionWidth;
+
+	private int m_regionX;
+
+	private int m_regionY;
+
+	private OffscreenRenderer m_renderer;
+
+	private final Runnable m_renderOperation = new Runnable() {
+
+		public void run() {
+
+			m_rootFigure.paint(null);
+		}
+	};
+
+	/**
+	 * Indicates whether the images are retained in the offscreen buffers, so
+	 * that regions can be read back on demand.
+	 */
+	private boolean m_retained;
+
+	private IFigure3D m_rootFigure;
+
+	private final IScene m_scene;
+
+	private TreeSearch m_surfaceSearch;
+
+	private int m_tolerance = DEFAULT_TOLERANCE;
+
+	private long m_treeRevision = 0;
+
+	private boolean m_valid = false;
+
+	private long m_validTreeRevision;
+
+	private int m_width;
+
+	/**
+	 * Creates a new picker for the given scene.
+	 *
+	 * @param i_scene the scene in which the pickable figures are displayed
+	 * @param i_geometryPicker the picker to delegate to if a query cannot be
+	 *            answered using the ID image
+	 * @throws NullPointerException if any of the given arguments is
+	 *             <code>null</code>
+	 */
+	public ColorPicker(IScene i_scene, GeometryPicker i_geometryPicker) {
+
+		if (i_scene == null)
+			throw new NullPointerException("i_scene must not be null");
+
+		if (i_geometryPicker == null)
+			throw new NullPointerException("i_geometryPicker must not be null");
+
+		m_scene = i_scene;
+		m_geometryPicker = i_geometryPicker;
+	}
+
+	/**
+	 * Disposes the offscreen buffers of this picker.
+	 */
+	public void dispose() {
+
+		if (m_renderer != null) {
+			m_renderer.dispose();
+			m_renderer = null;
+		}
+
+		m_colorBuffer = null;
+		m_depthBuffer = null;
+		m_regionWidth = 0;
+		m_regionHeight = 0;
+		m_valid = false;
+	}
+
+	/**
+	 * Finds the pixel closest to the given mouse location that contains a
+	 * figure ID.
+	 *
+	 * @param i_mx the mouse X coordinate
+	 * @param i_my the mouse Y coordinate
+	 * @return the ID, 0 if no figure was found
+	 */
+	private int findId(int i_mx, int i_my) {
+
+		int id = getId(i_mx, i_my);
+		if (id != 0) {
+			m_pixel[0] = i_mx;
+			m_pixel[1] = i_my;
+			return id;
+		}
+
+		int minDistance = Integer.MAX_VALUE;
+		for (int dy = -m_tolerance; dy <= m_tolerance; dy++) {
+			for (int dx = -m_tolerance; dx <= m_tolerance; dx++) {
+				int distance = dx * dx + dy * dy;
+				if (distance >= minDistance)
+					continue;
+
+				int pixelId = getId(i_mx + dx, i_my + dy);
+				if (pixelId != 0) {
+					id = pixelId;
+					minDistance = distance;
+					m_pixel[0] = i_mx + dx;
+					m_pixel[1] = i_my + dy;
+				}
+			}
+		}
+
+		return id;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.picking.Picker#getCurrentSurface()
+	 */
+	public ISurface getCurrentSurface() {
+
+		if (m_currentSurface == null)
+			return m_rootFigure.getSurface();
+
+		return m_currentSurface;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.picking.Picker#getHit(int, int)
+	 */
+	public Hit getHit(int i_mx, int i_my) {
+
+		return getHit(i_mx, i_my, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.picking.Picker#getHit(int, int,
+	 *      org.eclipse.draw2d.TreeSearch)
+	 */
+	public Hit getHit(int i_mx, int i_my, TreeSearch i_search) {
+
+		Hit hit = null;
+		if (validate() && readRegion(i_mx, i_my)) {
+			int id = findId(i_mx, i_my);
+			IFigure3D figure = m_rootFigure.getRenderContext()
+				.getPickingFigure(id);
+
+			if (figure != null)
+				hit = getHit(figure, m_pixel[0], m_pixel[1], i_search);
+		}
+
+		if (hit == null)
+			hit = m_geometryPicker.getHit(i_mx, i_my, i_search);
+
+		return hit;
+	}
+
+	private Hit getHit(IFigure3D i_figure, int i_px, int i_py,
+		TreeSearch i_search) {
+
+		ICamera camera = m_scene.getCamera();
+		float depth = m_depthBuffer.get(getIndex(i_px, i_py));
+
+		Vector3f rayOrigin = Draw3DCache.getVector3f();
+		Vector3f rayDirection = Draw3DCache.getVector3f();
+		Vector3f location = Draw3DCache.getVector3f();
+		try {
+			camera.getPosition(rayOrigin);
+			camera.unProject(i_px, i_py, depth, null, location);
+
+			if (rayOrigin.equals(location))
+				return null;
+
+			Math3D.getRayDirection(rayOrigin, location, rayDirection);
+			float distance = Math3D.distance(rayOrigin, location);
+
+			// the hit copies the ray, so the query can be reused
+			if (m_query == null) {
+				m_query =
+					new Query(rayOrigin, rayDirection, m_rootFigure, i_search);
+			} else {
+				m_query.setRay(rayOrigin, rayDirection);
+				m_query.setRootFigure(m_rootFigure);
+				m_query.setSearch(i_search);
+			}
+			m_query.setDebug(m_scene.isDebug());
+
+			return m_query.execute(i_figure, distance);
+		} finally {
+			Draw3DCache.returnVector3f(rayOrigin, rayDirection, location);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.picking.Picker#getHit(org.eclipse.draw3d.geometry.IVector3f)
+	 */
+	public Hit getHit(IVector3f i_rayPoint) {
+
+		return m_geometryPicker.getHit(i_rayPoint);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.picking.Picker#getHit(org.eclipse.draw3d.geometry.IVector3f,
+	 *      org.eclipse.draw3d.geometry.IVector3f)
+	 */
+	public Hit getHit(IVector3f i_rayOrigin, IVector3f i_rayDirection) {
+
+		return m_geometryPicker.getHit(i_rayOrigin, i_rayDirection);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.picking.Picker#getHit(org.eclipse.draw3d.geometry.IVector3f,
+	 *      org.eclipse.draw3d.geometry.IVector3f,
+	 *      org.eclipse.draw2d.TreeSearch)
+	 */
+	public Hit getHit(IVector3f i_rayOrigin, IVector3f i_rayDirection,
+		TreeSearch i_search) {
+
+		return m_geometryPicker.getHit(i_rayOrigin, i_rayDirection, i_search);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.picking.Picker#getHit(org.eclipse.draw3d.geometry.IVector3f,
+	 *      org.eclipse.draw2d.TreeSearch)
+	 */
+	public Hit getHit(IVector3f i_rayPoint, TreeSearch i_search) {
+
+		return m_geometryPicker.getHit(i_rayPoint, i_search);
+	}
+
+	private int getId(int i_mx, int i_my) {
+
+		if (i_mx < m_regionX || i_mx >= m_regionX + m_regionWidth
+			|| i_my < m_regionY || i_my >= m_regionY + m_regionHeight)
+			return 0;
+
+		int offset = getIndex(i_mx, i_my) * 4;
+		int r = m_colorBuffer.get(offset) & 0xFF;
+		int g = m_colorBuffer.get(offset + 1) & 0xFF;
+		int b = m_colorBuffer.get(offset + 2) & 0xFF;
+
+		return (r << 16) | (g << 8) | b;
+	}
+
+	private int getIndex(int i_mx, int i_my) {
+
+		// the rows of the region are stored bottom up
+		int row = m_regionY + m_regionHeight - 1 - i_my;
+		return row * m_regionWidth + i_mx - m_regionX;
+	}
+
+	/**
+	 * Returns the tolerance of this picker.
+	 *
+	 * @return the tolerance in pixels
+	 * @see #setTolerance(int)
+	 */
+	public int getTolerance() {
+
+		return m_tolerance;
+	}
+
+	/**
+	 * Invalidates the ID image of this picker and the bounding volume hierarchy
+	 * of the geometry picker. This must be called if the structure of the
+	 * figure tree changes.
+	 */
+	public void invalidate() {
+
+		m_treeRevision++;
+		m_geometryPicker.invalidate();
+	}
+
+	/**
+	 * Invalidates the bounds of the given figure in the geometry picker. This
+	 * must be called if the given figure is changed. The ID image is only
+	 * rendered again if the geometry picker reports that the figure was moved
+	 * or resized, so that repainting a figure is cheap.
+	 *
+	 * @param i_figure the figure, if <code>null</code>, the entire figure tree
+	 *            is invalidated
+	 * @see GeometryPicker#invalidate(IFigure3D)
+	 */
+	public void invalidate(IFigure3D i_figure) {
+
+		if (m_geometryPicker.invalidate(i_figure))
+			m_treeRevision++;
+	}
+
+	/**
+	 * Reads the square around the given mouse location from the offscreen
+	 * buffers unless it was already read.
+	 *
+	 * @param i_mx the mouse X coordinate
+	 * @param i_my the mouse Y coordinate
+	 * @return <code>false</code> if the region could not be read
+	 */
+	private boolean readRegion(int i_mx, int i_my) {
+
+		if (!m_retained)
+			return true;
+
+		int x = Math.max(0, i_mx - m_tolerance);
+		int y = Math.max(0, i_my - m_tolerance);
+		int width = Math.min(m_width, i_mx + m_tolerance + 1) - x;
+		int height = Math.min(m_height, i_my + m_tolerance + 1) - y;
+
+		if (width < 1 || height < 1) {
+			m_regionWidth = 0;
+			m_regionHeight = 0;
+			return true;
+		}
+
+		if (m_regionX == x && m_regionY == y && m_regionWidth == width
+			&& m_regionHeight == height)
+			return true;
+
+		int size = (2 * m_tolerance + 1) * (2 * m_tolerance + 1);
+		if (m_depthBuffer == null || m_depthBuffer.capacity() < size) {
+			m_colorBuffer = BufferUtils.createByteBuffer(size * 4);
+			m_depthBuffer = BufferUtils.createFloatBuffer(size);
+		}
+
+		try {
+			m_rootFigure.getRenderContext().activate();
+			m_renderer.readPixels(x, m_height - y - height, width, height,
+				m_colorBuffer, m_depthBuffer);
+		} catch (RuntimeException ex) {
+			log.log(Level.WARNING,
+				"unable to read ID image, color picking is disabled", ex);
+
+			m_disabled = true;
+			m_valid = false;
+			return false;
+		}
+
+		m_regionX = x;
+		m_regionY = y;
+		m_regionWidth = width;
+		m_regionHeight = height;
+
+		return true;
+	}
+
+	/**
+	 * Sets the root figure.
+	 *
+	 * @param i_rootFigure the root figure
+	 */
+	public void setRootFigure(IFigure3D i_rootFigure) {
+
+		m_rootFigure = i_rootFigure;
+		m_treeRevision++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.picking.Picker#setSurfaceSearch(org.eclipse.draw2d.TreeSearch)
+	 */
+	public void setSurfaceSearch(TreeSearch i_search) {
+
+		m_surfaceSearch = i_search;
+	}
+
+	/**
+	 * Sets the tolerance of this picker. If the pixel at a mouse location does
+	 * not contain a figure, the pixel closest to the mouse location within a
+	 * square of <code>2 * tolerance + 1</code> pixels is used instead.
+	 *
+	 * @param i_tolerance the tolerance in pixels
+	 * @throws IllegalArgumentException if the given tolerance is negative
+	 */
+	public void setTolerance(int i_tolerance) {
+
+		if (i_tolerance < 0)
+			throw new IllegalArgumentException(
+				"tolerance must not be negative: " + i_tolerance);
+
+		m_tolerance = i_tolerance;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.picking.Picker#updateCurrentSurface(int, int)
+	 */
+	public void updateCurrentSurface(int i_mx, int i_my) {
+
+		Hit hit = getHit(i_mx, i_my, m_surfaceSearch);
+		if (hit != null) {
+			ISurface surface = hit.getFigure3D().getSurface();
+			if (surface != null)
+				m_currentSurface = surface;
+		}
+	}
+
+	/**
+	 * Renders the ID image if the camera or the figure tree have changed since
+	 * it was rendered last.
+	 *
+	 * @return <code>true</code> if the ID image is valid and
+	 *         <code>false</code> if it could not be rendered
+	 */
+	private boolean validate() {
+
+		if (m_disabled || m_rootFigure == null)
+			return false;
+
+		ICamera camera = m_scene.getCamera();
+		if (m_valid && m_camera == camera
+			&& m_cameraRevision == camera.getRevision()
+			&& m_validTreeRevision == m_treeRevision)
+			return true;
+
+		Dimension size = camera.getViewPortSize();
+		if (size.width < 1 || size.height < 1)
+			return false;
+
+		RenderContext renderContext = m_rootFigure.getRenderContext();
+		try {
+			renderContext.activate();
+
+			if (m_renderer == null) {
+				Graphics3D g3d = renderContext.getGraphics3D();
+				Graphics3DOffscreenBufferConfig bufferConfig =
+					g3d.getGraphics3DOffscreenBufferConfig(
+						Graphics3DDraw.GL_COLOR_BUFFER_BIT
+							| Graphics3DDraw.GL_DEPTH_BUFFER_BIT,
+						Graphics3DDraw.GL_RGBA, Graphics3DDraw.GL_UNSIGNED_BYTE,
+						Graphics3DDraw.GL_FLOAT);
+
+				m_renderer = new OffscreenRenderer(bufferConfig);
+			}
+
+			m_renderer.setDimensions(size.width, size.height);
+
+			boolean backBuffer = m_renderer.isBackBufferEnabled();
+			renderContext.setColorPicking(true);
+			try {
+				m_renderer.render(m_renderOperation, backBuffer);
+			} finally {
+				renderContext.setColorPicking(false);
+			}
+
+			m_width = size.width;
+			m_height = size.height;
+			m_retained = !backBuffer;
+
+			if (backBuffer) {
+				// the region is the whole image
+				m_colorBuffer = m_renderer.getColorBuffer();
+				m_depthBuffer = m_renderer.getDepthBuffer();
+				m_regionX = 0;
+				m_regionY = 0;
+				m_regionWidth = m_width;
+				m_regionHeight = m_height;
+
+				// the back buffer now contains the ID image
+				m_scene.getUpdateManager3D().scheduleRender();
+			} else {
+				// regions are read on demand
+				m_regionWidth = 0;
+				m_regionHeight = 0;
+			}
+		} catch (RuntimeException ex) {
+			log.log(Level.WARNING,
+				"unable to render ID image, color picking is disabled", ex);
+
+			m_disabled = true;
+			m_valid = false;
+			return false;
+		}
+
+		m_camera = camera;
+		m_cameraRevision = camera.getRevision();
+		m_validTreeRevision = m_treeRevision;
+		m_valid = true;
+
+		return true;
+	}
+}
@@ -24,6 +24,21 @@ import org.eclipse.draw3d.util.Draw3DCache;
 
 /**
  * GeometryPicker There should really be more documentation here.
+ * <p>
+ * The picker maintains a {@link BoundingVolumeHierarchy} of the figures below
+ * its root figure, which must be invalidated by calling {@link #invalidate()}
+ * or {@link #invalidate(IFigure3D)} whenever the figure tree or the bounds of a
+ * figure change.
+ * </p>
+ * <p>
+ * Hits for mouse coordinates are cached, so that repeated queries for the same
+ * mouse location and tree search return immediately as long as neither the
+ * camera nor the figure tree have changed. Figures that are repainted without
+ * being moved or resized do not clear the cache. The cache statistics can be
+ * retrieved using {@link #getCacheHitCount()} and
+ * {@link #getCacheMissCount()}. The query and the hits are reused, so picking
+ * does not allocate any memory while the camera moves.
+ * </p>
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -35,14 +50,61 @@ public class GeometryPicker implements Picker {
 	private static final Logger log = Logger.getLogger(GeometryPicker.class
 		.getName());
 
+	private static class CachedHit {
+
+		/**
+		 * The cached hit is copied into this instance, because the hits
+		 * returned by queries are reused.
+		 */
+		final HitImpl copy = new HitImpl();
+
+		Hit hit;
+
+		int mx;
+
+		int my;
+
+		TreeSearch search;
+	}
+
+	/**
+	 * The number of hits that are cached.
+	 */
+	public static final int CACHE_SIZE = 8;
+
+	private final CachedHit[] m_cache = new CachedHit[CACHE_SIZE];
+
+	private ICamera m_cacheCamera;
+
+	private long m_cacheCameraRevision;
+
+	private int m_cacheHits = 0;
+
+	private int m_cacheMisses = 0;
+
+	private int m_cacheNext = 0;
+
+	private int m_cacheSize = 0;
+
+	private long m_cacheTreeRevision;
+
 	private ISurface m_currentSurface;
 
+	private final BoundingVolumeHierarchy m_hierarchy =
+		new BoundingVolumeHierarchy();
+
+	private Query m_query;
+
+	private int m_queryDepth = 0;
+
 	private IFigure3D m_rootFigure;
 
 	private IScene m_scene;
 
 	private TreeSearch m_surfaceSearch;
 
+	private long m_treeRevision = 0;
+
 	/**
 	 * Creates a new picker for the given scene.
 	 * 
@@ -57,6 +119,91 @@ public class GeometryPicker implements Picker {
 		m_scene = i_scene;
 	}
 
+	private Hit cacheHit(int i_mx, int i_my, TreeSearch i_search, Hit i_hit) {
+
+		CachedHit entry = m_cache[m_cacheNext];
+		if (entry == null) {
+			entry = new CachedHit();
+			m_cache[m_cacheNext] = entry;
+		}
+
+		entry.mx = i_mx;
+		entry.my = i_my;
+		entry.search = i_search;
+		if (i_hit == null) {
+			entry.hit = null;
+		} else {
+			entry.copy.set(i_hit);
+			entry.hit = entry.copy;
+		}
+
+		m_cacheNext = (m_cacheNext + 1) % CACHE_SIZE;
+		if (m_cacheSize < CACHE_SIZE)
+			m_cacheSize++;
+
+		return entry.hit;
+	}
+
+	/**
+	 * Clears the hit cache. This is done automatically when the camera or the
+	 * figure tree changes.
+	 */
+	public void clearCache() {
+
+		for (int i = 0; i < m_cacheSize; i++) {
+			m_cache[i].hit = null;
+			m_cache[i].search = null;
+		}
+
+		m_cacheSize = 0;
+		m_cacheNext = 0;
+	}
+
+	private CachedHit getCachedHit(int i_mx, int i_my, TreeSearch i_search,
+		ICamera i_camera) {
+
+		if (m_cacheCamera != i_camera
+			|| m_cacheCameraRevision != i_camera.getRevision()
+			|| m_cacheTreeRevision != m_treeRevision) {
+			clearCache();
+			m_cacheCamera = i_camera;
+			m_cacheCameraRevision = i_camera.getRevision();
+			m_cacheTreeRevision = m_treeRevision;
+			return null;
+		}
+
+		for (int i = 0; i < m_cacheSize; i++) {
+			CachedHit entry = m_cache[i];
+			if (entry.mx == i_mx && entry.my == i_my
+				&& entry.search == i_search)
+				return entry;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the number of mouse hit queries that were answered from the hit
+	 * cache.
+	 * 
+	 * @return the number of cache hits
+	 */
+	public int getCacheHitCount() {
+
+		return m_cacheHits;
+	}
+
+	/**
+	 * Returns the number of mouse hit queries that could not be answered from
+	 * the hit cache.
+	 * 
+	 * @return the number of cache misses
+	 */
+	public int getCacheMissCount() {
+
+		return m_cacheMisses;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -88,12 +235,21 @@ public class GeometryPicker implements Picker {
 	 */
 	public Hit getHit(int i_mx, int i_my, TreeSearch i_search) {
 
+		ICamera camera = m_scene.getCamera();
+		CachedHit cachedHit = getCachedHit(i_mx, i_my, i_search, camera);
+		if (cachedHit != null) {
+			m_cacheHits++;
+			return cachedHit.hit;
+		}
+
+		m_cacheMisses++;
+
 		Vector3f rayPoint = Draw3DCache.getVector3f();
 		try {
-			ICamera camera = m_scene.getCamera();
 			camera.unProject(i_mx, i_my, 0, null, rayPoint);
 
-			return getHit(rayPoint, i_search);
+			Hit hit = getHit(rayPoint, i_search);
+			return cacheHit(i_mx, i_my, i_search, hit);
 		} finally {
 			Draw3DCache.returnVector3f(rayPoint);
 		}
@@ -136,11 +292,27 @@ public class GeometryPicker implements Picker {
 		if (i_rayDirection == null)
 			throw new NullPointerException("i_rayDirection must not be null");
 
-		Query query =
-			new Query(i_rayOrigin, i_rayDirection, m_rootFigure, i_search);
+		// the query is reused unless this is a nested call, e.g. from a search
+		Query query;
+		if (m_queryDepth == 0 && m_query != null) {
+			query = m_query;
+			query.setRay(i_rayOrigin, i_rayDirection);
+			query.setRootFigure(m_rootFigure);
+			query.setSearch(i_search);
+		} else {
+			query =
+				new Query(i_rayOrigin, i_rayDirection, m_rootFigure, i_search);
+			if (m_queryDepth == 0)
+				m_query = query;
+		}
 		query.setDebug(m_scene.isDebug());
 
-		return query.execute();
+		m_queryDepth++;
+		try {
+			return query.execute(m_hierarchy);
+		} finally {
+			m_queryDepth--;
+		}
 	}
 
 	/**
@@ -174,6 +346,49 @@ public class GeometryPicker implements Picker {
 		}
 	}
 
+	/**
+	 * Invalidates the bounding volume hierarchy of this picker. This must be
+	 * called if the structure of the figure tree changes.
+	 */
+	public void invalidate() {
+
+		m_treeRevision++;
+		m_hierarchy.invalidate();
+	}
+
+	/**
+	 * Invalidates the bounds of the given figure in the bounding volume
+	 * hierarchy of this picker. This must be called if the given figure is
+	 * moved or resized, it may be called whenever the figure is repainted. The
+	 * cached hits are only cleared if the bounds of the figure have changed.
+	 * 
+	 * @param i_figure the figure, if <code>null</code>, the entire hierarchy is
+	 *            invalidated
+	 * @return <code>true</code> if the cached hits were cleared because the
+	 *         figure was changed or <code>false</code> otherwise
+	 * @see BoundingVolumeHierarchy#invalidate(IFigure3D)
+	 */
+	public boolean invalidate(IFigure3D i_figure) {
+
+		if (!m_hierarchy.invalidate(i_figure))
+			return false;
+
+		m_treeRevision++;
+		return true;
+	}
+
+	/**
+	 * Resets the cache statistics.
+	 * 
+	 * @see #getCacheHitCount()
+	 * @see #getCacheMissCount()
+	 */
+	public void resetCacheStatistics() {
+
+		m_cacheHits = 0;
+		m_cacheMisses = 0;
+	}
+
 	/**
 	 * Sets the root figure.
 	 * 
@@ -182,6 +397,8 @@ public class GeometryPicker implements Picker {
 	public void setRootFigure(IFigure3D i_rootFigure) {
 
 		m_rootFigure = i_rootFigure;
+		m_hierarchy.setRootFigure(i_rootFigure);
+		m_treeRevision++;
 	}
 
 	/**
@@ -16,6 +16,11 @@ import org.eclipse.draw3d.geometry.Vector3f;
 
 /**
  * A picking hit.
+ * <p>
+ * The hits returned by a {@link Picker} may be reused by the picker, so a hit
+ * is only valid until the next query of the same picker. Clients that want to
+ * keep a hit must copy it, e.g. with {@link HitImpl#set(Hit)}.
+ * </p>
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -18,7 +18,9 @@ import org.eclipse.draw3d.geometry.Vector3f;
 import org.eclipse.draw3d.geometry.Vector3fImpl;
 
 /**
- * A mutable implementation of the {@link Hit} interface.
+ * A mutable implementation of the {@link Hit} interface. Hits are reused by
+ * {@link Query} and the pickers, so the vectors of the picking ray are copied
+ * when a hit is set.
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -30,13 +32,25 @@ public class HitImpl implements Hit {
 
 	private IFigure3D m_figure;
 
-	private IVector3f m_rayDirection;
+	private final Vector3f m_rayDirection = new Vector3fImpl();
 
-	private IVector3f m_rayOrigin;
+	private final Vector3f m_rayOrigin = new Vector3fImpl();
 
 	private IFigure m_searchResult;
 
-	private Vector3f m_wLocation;
+	private final Vector3f m_wLocation = new Vector3fImpl();
+
+	private boolean m_wLocationValid;
+
+	/**
+	 * Creates a new empty hit that must be set before it is used.
+	 * 
+	 * @see #set(IFigure3D, IFigure, float, IVector3f, IVector3f)
+	 */
+	public HitImpl() {
+
+		// nothing to initialize
+	}
 
 	/**
 	 * Creates a new hit with the given figure and distance.
@@ -53,23 +67,7 @@ public class HitImpl implements Hit {
 	public HitImpl(IFigure3D i_figure, IFigure i_searchResult,
 			float i_distance, IVector3f i_rayOrigin, IVector3f i_rayDirection) {
 
-		if (i_figure == null)
-			throw new NullPointerException("i_figure must not be null");
-
-		if (i_searchResult == null)
-			throw new NullPointerException("i_searchResult must not be null");
-
-		if (i_rayOrigin == null)
-			throw new NullPointerException("i_rayOrigin must not be null");
-
-		if (i_rayDirection == null)
-			throw new NullPointerException("i_rayDirection must not be null");
-
-		m_figure = i_figure;
-		m_searchResult = i_searchResult;
-		m_distance = i_distance;
-		m_rayOrigin = i_rayOrigin;
-		m_rayDirection = i_rayDirection;
+		set(i_figure, i_searchResult, i_distance, i_rayOrigin, i_rayDirection);
 	}
 
 	/**
@@ -113,10 +111,11 @@ public class HitImpl implements Hit {
 		if (result == null)
 			result = new Vector3fImpl();
 
-		if (m_wLocation == null) {
-			m_wLocation = new Vector3fImpl(m_rayDirection);
+		if (!m_wLocationValid) {
+			m_wLocation.set(m_rayDirection);
 			m_wLocation.scale(m_distance);
 			Math3D.add(m_rayOrigin, m_wLocation, m_wLocation);
+			m_wLocationValid = true;
 		}
 
 		result.set(m_wLocation);
@@ -140,6 +139,71 @@ public class HitImpl implements Hit {
 		return m_distance < i_hit.getDistance();
 	}
 
+	/**
+	 * Sets this hit to the values of the given hit. If the given hit is a
+	 * {@link HitImpl}, its picking ray is copied as well. Other hits do not
+	 * provide their picking ray, so only their world location is copied.
+	 * 
+	 * @param i_hit the hit to copy
+	 * @throws NullPointerException if the given hit is <code>null</code>
+	 */
+	public void set(Hit i_hit) {
+
+		if (i_hit == null)
+			throw new NullPointerException("i_hit must not be null");
+
+		m_figure = i_hit.getFigure3D();
+		m_searchResult = i_hit.getSearchResult();
+		m_distance = i_hit.getDistance();
+
+		if (i_hit instanceof HitImpl) {
+			HitImpl hit = (HitImpl) i_hit;
+			m_rayOrigin.set(hit.m_rayOrigin);
+			m_rayDirection.set(hit.m_rayDirection);
+			m_wLocation.set(hit.m_wLocation);
+			m_wLocationValid = hit.m_wLocationValid;
+		} else {
+			i_hit.getWorldLocation(m_wLocation);
+			m_wLocationValid = true;
+		}
+	}
+
+	/**
+	 * Sets the figure and the distance of this hit. The given vectors are
+	 * copied.
+	 * 
+	 * @param i_figure the 3D figure that was hit
+	 * @param i_searchResult the search result
+	 * @param i_distance the distance of the hit point to the origin of the
+	 *            picking ray
+	 * @param i_rayOrigin the origin of the picking ray
+	 * @param i_rayDirection the direction of the picking ray
+	 * @throws NullPointerException if the given figure or any of the given
+	 *             vectors is <code>null</code>
+	 */
+	public void set(IFigure3D i_figure, IFigure i_searchResult,
+		float i_distance, IVector3f i_rayOrigin, IVector3f i_rayDirection) {
+
+		if (i_figure == null)
+			throw new NullPointerException("i_figure must not be null");
+
+		if (i_searchResult == null)
+			throw new NullPointerException("i_searchResult must not be null");
+
+		if (i_rayOrigin == null)
+			throw new NullPointerException("i_rayOrigin must not be null");
+
+		if (i_rayDirection == null)
+			throw new NullPointerException("i_rayDirection must not be null");
+
+		m_figure = i_figure;
+		m_searchResult = i_searchResult;
+		m_distance = i_distance;
+		m_rayOrigin.set(i_rayOrigin);
+		m_rayDirection.set(i_rayDirection);
+		m_wLocationValid = false;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -155,7 +219,7 @@ public class HitImpl implements Hit {
 		b.append(", distance: ");
 		b.append(m_distance);
 		b.append(", world: ");
-		b.append(m_wLocation);
+		b.append(m_wLocationValid ? m_wLocation : null);
 		b.append("]");
 
 		return b.toString();
@@ -16,6 +16,11 @@ import org.eclipse.draw3d.geometry.IVector3f;
 
 /**
  * A picker allows picking of 3D figures using mouse coordinates.
+ * <p>
+ * Pickers may reuse the hits they return, so a hit is only valid until the
+ * next query of the same picker. Clients must copy hits they want to keep,
+ * e.g. with {@link HitImpl#set(Hit)}.
+ * </p>
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package org.eclipse.draw3d.picking;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -24,7 +25,11 @@ import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
 import org.eclipse.draw3d.util.Draw3DCache;
 
 /**
- * Executes a search query and returns a hit.
+ * Executes a search query and returns a hit. A query can be executed
+ * repeatedly, and its ray, root figure and search can be changed between
+ * executions. The hits created during an execution are reused by the next
+ * execution, so the returned hit is only valid until this query is executed
+ * again.
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -36,6 +41,13 @@ public class Query {
 
 	private boolean m_debug = false;
 
+	private int m_hitCount;
+
+	/**
+	 * The hits created by this query, reused by every execution.
+	 */
+	private final List<HitImpl> m_hits = new ArrayList<HitImpl>();
+
 	/**
 	 * This is a simple map for storing client specific data.
 	 */
@@ -73,6 +85,33 @@ public class Query {
 		m_search = i_search;
 	}
 
+	/**
+	 * Returns a hit with the given values and the ray of this query. The hit
+	 * is taken from the hits created by previous executions if possible.
+	 * 
+	 * @param i_figure the 3D figure that was hit
+	 * @param i_searchResult the search result
+	 * @param i_distance the distance of the hit
+	 * @return the hit
+	 */
+	private HitImpl createHit(IFigure3D i_figure, IFigure i_searchResult,
+		float i_distance) {
+
+		HitImpl hit;
+		if (m_hitCount < m_hits.size()) {
+			hit = m_hits.get(m_hitCount);
+		} else {
+			hit = new HitImpl();
+			m_hits.add(hit);
+		}
+
+		m_hitCount++;
+		hit.set(i_figure, i_searchResult, i_distance, m_rayOrigin,
+			m_rayDirection);
+
+		return hit;
+	}
+
 	private boolean accept(IFigure i_figure, TreeSearch i_search) {
 
 		if (!i_figure.isVisible()) {
@@ -118,26 +157,7 @@ public class Query {
 			return i_childHit;
 		}
 
-		IFigure searchResult = null;
-		ISurface parentSurface = parentFigure3D.getSurface();
-		if (parentSurface != null) {
-			Point sLocation = Draw3DCache.getPoint();
-			try {
-				parentSurface.getSurfaceLocation2D(m_rayOrigin, m_rayDirection,
-					sLocation);
-
-				// prefer connections over figures
-				searchResult =
-					parentSurface.findFigureAt(sLocation.x, sLocation.y,
-						m_search);
-			} finally {
-				Draw3DCache.returnPoint(sLocation);
-			}
-		}
-
-		if (m_debug && searchResult != null)
-			log.info("found 2D search result " + searchResult
-				+ " on parent surface " + parentSurface);
+		IFigure searchResult = findSurfaceFigure(parentFigure3D);
 
 		HitImpl hit = i_childHit;
 		if (accept(parentFigure3D, m_search) || searchResult != null) {
@@ -149,9 +169,7 @@ public class Query {
 				if (searchResult == null)
 					searchResult = parentFigure3D;
 
-				hit =
-					new HitImpl(parentFigure3D, searchResult, realDistance,
-						m_rayOrigin, m_rayDirection);
+				hit = createHit(parentFigure3D, searchResult, realDistance);
 
 				if (m_debug) {
 					if (i_childHit == null)
@@ -176,6 +194,26 @@ public class Query {
 		return hit;
 	}
 
+	private HitImpl closerHit(HitImpl i_candidate, HitImpl i_hit) {
+
+		if (i_candidate == null)
+			return i_hit;
+
+		if (i_hit == null)
+			return i_candidate;
+
+		float distance = i_candidate.getDistance();
+		if (distance < i_hit.getDistance())
+			return i_candidate;
+
+		// children win over their parents if both are equally close
+		if (distance == i_hit.getDistance()
+			&& isAncestor(i_hit.getFigure3D(), i_candidate.getFigure3D()))
+			return i_candidate;
+
+		return i_hit;
+	}
+
 	private HitImpl combineSiblingHits(HitImpl i_hit1, HitImpl i_hit2) {
 
 		if (i_hit1 == null)
@@ -210,7 +248,8 @@ public class Query {
 
 		HitImpl hit = null;
 		List<IFigure> children = i_figure.getChildren();
-		for (IFigure child: children) {
+		for (int i = 0; i < children.size(); i++) {
+			IFigure child = children.get(i);
 			if (!prune(child, m_search)) {
 				float childDistance;
 				if (child instanceof IFigure3D)
@@ -237,6 +276,7 @@ public class Query {
 	 */
 	public Hit execute() {
 
+		m_hitCount = 0;
 		if (prune(m_rootFigure, m_search))
 			return null;
 
@@ -256,6 +296,112 @@ public class Query {
 			return doExecute(m_rootFigure, getBoundingBoxDistance(m_rootFigure));
 	}
 
+	/**
+	 * Executes this query using the given bounding volume hierarchy. The
+	 * figures are visited in the order of the distances of their bounding
+	 * boxes, and the search stops as soon as there is no bounding box which is
+	 * closer than the closest hit found so far. The result is the same as the
+	 * result of {@link #execute()}, all figures that are pruned or not accepted
+	 * by the search are ignored.
+	 * 
+	 * @param i_hierarchy the bounding volume hierarchy of the root figure of
+	 *            this query
+	 * @return a hit or <code>null</code> if no acceptable figure was hit
+	 * @throws NullPointerException if the given hierarchy is <code>null</code>
+	 */
+	public Hit execute(BoundingVolumeHierarchy i_hierarchy) {
+
+		if (i_hierarchy == null)
+			throw new NullPointerException("i_hierarchy must not be null");
+
+		m_hitCount = 0;
+		if (prune(m_rootFigure, m_search))
+			return null;
+
+		HitImpl hit = null;
+		List<IFigure3D> unboundedFigures = i_hierarchy.getUnboundedFigures();
+		for (int i = 0; i < unboundedFigures.size(); i++)
+			hit = closerHit(executeFigure(unboundedFigures.get(i)), hit);
+
+		i_hierarchy.beginTraversal(m_rayOrigin, m_rayDirection);
+
+		IFigure3D figure;
+		float maxDistance = hit == null ? Float.MAX_VALUE : hit.getDistance();
+		while ((figure = i_hierarchy.nextFigure(maxDistance)) != null) {
+			hit = closerHit(executeFigure(figure), hit);
+			if (hit != null)
+				maxDistance = hit.getDistance();
+		}
+
+		return hit;
+	}
+
+	/**
+	 * Creates a hit for the given figure at the given distance if the figure
+	 * is neither pruned nor rejected by the search of this query. This is used
+	 * by pickers which determine the figure and the distance by other means
+	 * than ray intersection tests, e.g. by {@link ColorPicker}. The ray of this
+	 * query must hit the given figure at the given distance.
+	 * 
+	 * @param i_figure the figure that was hit
+	 * @param i_distance the distance of the hit point from the ray origin
+	 * @return a hit or <code>null</code> if the given figure is not acceptable
+	 * @throws NullPointerException if the given figure is <code>null</code>
+	 */
+	public Hit execute(IFigure3D i_figure, float i_distance) {
+
+		if (i_figure == null)
+			throw new NullPointerException("i_figure must not be null");
+
+		m_hitCount = 0;
+		if (i_figure == m_rootFigure || isPruned(i_figure))
+			return null;
+
+		IFigure searchResult = findSurfaceFigure(i_figure);
+		if (searchResult == null) {
+			if (!accept(i_figure, m_search))
+				return null;
+
+			searchResult = i_figure;
+		}
+
+		return createHit(i_figure, searchResult, i_distance);
+	}
+
+	private HitImpl executeFigure(IFigure3D i_figure) {
+
+		if (i_figure == m_rootFigure || isPruned(i_figure))
+			return null;
+
+		return combineParentChildHits(i_figure, null);
+	}
+
+	private IFigure findSurfaceFigure(IFigure3D i_figure) {
+
+		ISurface surface = i_figure.getSurface();
+		if (surface == null)
+			return null;
+
+		IFigure searchResult;
+		Point sLocation = Draw3DCache.getPoint();
+		try {
+			surface.getSurfaceLocation2D(m_rayOrigin, m_rayDirection,
+				sLocation);
+
+			// prefer connections over figures
+			searchResult =
+				surface.findFigureAt(sLocation.x, sLocation.y, m_search);
+		} finally {
+			Draw3DCache.returnPoint(sLocation);
+		}
+
+		if (m_debug && searchResult != null)
+			log.info("found 2D search result " + searchResult
+				+ " on parent surface " + surface);
+
+		return searchResult;
+	}
+
 	/**
 	 * Returns a cached object. If no object with the given key was stored in
 	 * this query, <code>null</code> is returned.
@@ -309,6 +455,32 @@ public class Query {
 		return m_rayOrigin;
 	}
 
+	private boolean isAncestor(IFigure i_ancestor, IFigure i_figure) {
+
+		IFigure parent = i_figure.getParent();
+		while (parent != null) {
+			if (parent == i_ancestor)
+				return true;
+			parent = parent.getParent();
+		}
+
+		return false;
+	}
+
+	private boolean isPruned(IFigure3D i_figure) {
+
+		// the figure is ignored if it or any of its ancestors is pruned
+		IFigure figure = i_figure;
+		while (figure != m_rootFigure) {
+			if (figure == null || prune(figure, m_search))
+				return true;
+
+			figure = figure.getParent();
+		}
+
+		return prune(m_rootFigure, m_search);
+	}
+
 	/**
 	 * Indicates whether debug mode is enabled.
 	 * 
@@ -349,6 +521,32 @@ public class Query {
 		m_debug = i_debug;
 	}
 
+	/**
+	 * Sets the root figure of this query.
+	 * 
+	 * @param i_rootFigure the root figure
+	 * @throws NullPointerException if the given root figure is
+	 *             <code>null</code>
+	 */
+	public void setRootFigure(IFigure3D i_rootFigure) {
+
+		if (i_rootFigure == null)
+			throw new NullPointerException("i_rootFigure must not be null");
+
+		m_rootFigure = i_rootFigure;
+	}
+
+	/**
+	 * Sets the search of this query. All figures which are not accepted or
+	 * pruned by the given search are ignored.
+	 * 
+	 * @param i_search the search instance, may be <code>null</code>
+	 */
+	public void setSearch(TreeSearch i_search) {
+
+		m_search = i_search;
+	}
+
 	/**
 	 * Sets the picking ray of this query. The given vectors are stored by
 	 * reference and are not copied.
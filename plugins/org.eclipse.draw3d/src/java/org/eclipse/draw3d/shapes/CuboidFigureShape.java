@@ -50,9 +50,10 @@ public class CuboidFigureShape extends FigureShape<CuboidShape> {
 	/**
 	 * {@inheritDoc}
 	 * 
-	 * @see org.eclipse.draw3d.RenderFragment#render(org.eclipse.draw3d.RenderContext)
+	 * @see org.eclipse.draw3d.shapes.FigureShape#updateShape(org.eclipse.draw3d.RenderContext)
 	 */
-	public void render(RenderContext i_renderContext) {
+	@Override
+	protected void updateShape(RenderContext i_renderContext) {
 
 		getShape().setAlpha(getFigure().getAlpha());
 		getShape().setFillColor(getFigure().getBackgroundColor());
@@ -63,8 +64,6 @@ public class CuboidFigureShape extends FigureShape<CuboidShape> {
 			getShape().setTextureId(g3d.getGraphics2DId(getFigure()));
 		else
 			getShape().setTextureId(null);
-
-		getShape().render(i_renderContext);
 	}
 
 	/**
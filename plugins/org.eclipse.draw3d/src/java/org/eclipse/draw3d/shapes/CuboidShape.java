@@ -140,6 +140,8 @@ public class CuboidShape extends PositionableShape {
 	private Color m_fillColor =
 		Display.getCurrent().getSystemColor(SWT.COLOR_WHITE);
 
+	private ShapeInstanceKey m_instanceKey;
+
 	private boolean m_outline = true;
 
 	private Color m_outlineColor =
@@ -218,6 +220,45 @@ public class CuboidShape extends PositionableShape {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.shapes.PositionableShape#getInstanceData(org.eclipse.draw3d.RenderContext,
+	 *      float[], int)
+	 */
+	@Override
+	public void getInstanceData(RenderContext i_renderContext,
+		float[] o_data, int i_offset) {
+
+		super.getInstanceData(i_renderContext, o_data, i_offset);
+		setInstanceColor(m_fillColor, m_alpha, o_data, i_offset + 16);
+		setInstanceColor(m_outlineColor, m_alpha, o_data, i_offset + 20);
+	}
+
+	/**
+	 * {@inheritDoc} Only opaque cuboids without a texture can be rendered as
+	 * instances.
+	 * 
+	 * @see org.eclipse.draw3d.shapes.PositionableShape#getInstanceKey(org.eclipse.draw3d.RenderContext)
+	 */
+	@Override
+	public Object getInstanceKey(RenderContext i_renderContext) {
+
+		if (m_textureId != null || getRenderType() != RenderType.OPAQUE)
+			return null;
+
+		Graphics3D g3d = i_renderContext.getGraphics3D();
+		initDisplayLists(g3d.getDisplayListManager(), g3d);
+
+		if (m_instanceKey == null)
+			m_instanceKey =
+				new ShapeInstanceKey(m_fill ? DL_FILL_FRONT : null,
+					m_fill ? DL_FILL_REST : null,
+					m_outline ? DL_OUTLINE : null);
+
+		return m_instanceKey;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -345,6 +386,35 @@ public class CuboidShape extends PositionableShape {
 		displayListManager.executeDisplayList(DL_OUTLINE);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.shapes.PositionableShape#renderInstance(org.eclipse.draw3d.RenderContext,
+	 *      float[], int)
+	 */
+	@Override
+	public void renderInstance(RenderContext i_renderContext, float[] i_data,
+		int i_offset) {
+
+		Graphics3D g3d = i_renderContext.getGraphics3D();
+		DisplayListManager displayListManager = g3d.getDisplayListManager();
+
+		if (m_fill) {
+			g3d.glPolygonMode(Graphics3DDraw.GL_FRONT_AND_BACK,
+				Graphics3DDraw.GL_FILL);
+			g3d.glColor4f(i_data[i_offset + 16], i_data[i_offset + 17],
+				i_data[i_offset + 18], i_data[i_offset + 19]);
+			displayListManager.executeDisplayList(DL_FILL_FRONT);
+			displayListManager.executeDisplayList(DL_FILL_REST);
+		}
+
+		if (m_outline) {
+			g3d.glColor4f(i_data[i_offset + 20], i_data[i_offset + 21],
+				i_data[i_offset + 22], i_data[i_offset + 23]);
+			displayListManager.executeDisplayList(DL_OUTLINE);
+		}
+	}
+
 	/**
 	 * Sets the alpha value of this shape.
 	 * 
@@ -364,6 +434,7 @@ public class CuboidShape extends PositionableShape {
 	public void setFill(boolean i_fill) {
 
 		m_fill = i_fill;
+		m_instanceKey = null;
 	}
 
 	/**
@@ -386,6 +457,7 @@ public class CuboidShape extends PositionableShape {
 	public void setOutline(boolean i_outline) {
 
 		m_outline = i_outline;
+		m_instanceKey = null;
 	}
 
 	/**
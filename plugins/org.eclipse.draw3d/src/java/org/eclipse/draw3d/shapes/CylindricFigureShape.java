@@ -43,15 +43,14 @@ public class CylindricFigureShape extends FigureShape<CylinderShape> {
 	/**
 	 * {@inheritDoc}
 	 * 
-	 * @see org.eclipse.draw3d.RenderFragment#render(org.eclipse.draw3d.RenderContext)
+	 * @see org.eclipse.draw3d.shapes.FigureShape#updateShape(org.eclipse.draw3d.RenderContext)
 	 */
-	public void render(RenderContext i_renderContext) {
+	@Override
+	protected void updateShape(RenderContext i_renderContext) {
 
 		getShape().setAlpha(getFigure().getAlpha());
 		getShape().setFillColor(getFigure().getBackgroundColor());
 		getShape().setOutlineColor(getFigure().getForegroundColor());
-
-		getShape().render(i_renderContext);
 	}
 
 	/**
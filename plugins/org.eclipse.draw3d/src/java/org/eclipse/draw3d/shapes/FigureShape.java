@@ -13,6 +13,7 @@ package org.eclipse.draw3d.shapes;
 import java.util.Map;
 
 import org.eclipse.draw3d.IFigure3D;
+import org.eclipse.draw3d.InstancedRenderFragment;
 import org.eclipse.draw3d.RenderContext;
 import org.eclipse.draw3d.geometry.IVector3f;
 import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
@@ -20,13 +21,17 @@ import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
 /**
  * An abstract base class for shapes that use a figure to retrieve graphical
  * properties during rendering. The actual rendering is delegated to a shape.
+ * If the delegate shape is an {@link InstancedRenderFragment}, this shape can
+ * be rendered as an instance, too. The graphical properties are transferred
+ * to the delegate shape in {@link #updateShape(RenderContext)}.
  * 
  * @author Kristian Duske
  * @version $Revision$
  * @param <T> the type of the delegate shape
  * @since 14.10.2009
  */
-public abstract class FigureShape<T extends Shape> implements Shape {
+public abstract class FigureShape<T extends Shape> implements Shape,
+		InstancedRenderFragment {
 
 	private IFigure3D m_figure;
 
@@ -103,6 +108,34 @@ public abstract class FigureShape<T extends Shape> implements Shape {
 		return m_shape.getDistanceMeasure(i_renderContext);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.InstancedRenderFragment#getInstanceData(org.eclipse.draw3d.RenderContext,
+	 *      float[], int)
+	 */
+	public void getInstanceData(RenderContext i_renderContext,
+		float[] o_data, int i_offset) {
+
+		((InstancedRenderFragment) m_shape).getInstanceData(i_renderContext,
+			o_data, i_offset);
+	}
+
+	/**
+	 * {@inheritDoc} The delegate shape is updated first.
+	 * 
+	 * @see org.eclipse.draw3d.InstancedRenderFragment#getInstanceKey(org.eclipse.draw3d.RenderContext)
+	 */
+	public Object getInstanceKey(RenderContext i_renderContext) {
+
+		if (!(m_shape instanceof InstancedRenderFragment))
+			return null;
+
+		updateShape(i_renderContext);
+		return ((InstancedRenderFragment) m_shape)
+			.getInstanceKey(i_renderContext);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -113,6 +146,42 @@ public abstract class FigureShape<T extends Shape> implements Shape {
 		return m_shape.getRenderType();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.RenderFragment#render(org.eclipse.draw3d.RenderContext)
+	 */
+	public void render(RenderContext i_renderContext) {
+
+		updateShape(i_renderContext);
+		m_shape.render(i_renderContext);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.InstancedRenderFragment#renderInstance(org.eclipse.draw3d.RenderContext,
+	 *      float[], int)
+	 */
+	public void renderInstance(RenderContext i_renderContext, float[] i_data,
+		int i_offset) {
+
+		((InstancedRenderFragment) m_shape).renderInstance(i_renderContext,
+			i_data, i_offset);
+	}
+
+	/**
+	 * Transfers the graphical properties of the figure to the delegate shape.
+	 * This is called before the delegate shape is rendered and before its
+	 * instance key is requested.
+	 * 
+	 * @param i_renderContext the current render context
+	 */
+	protected void updateShape(RenderContext i_renderContext) {
+
+		// nothing to do by default
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
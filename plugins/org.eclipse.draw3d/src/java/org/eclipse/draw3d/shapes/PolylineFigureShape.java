@@ -107,85 +107,102 @@ public class PolylineFigureShape implements Shape {
 		Plane vBorder =
 			getVerticalBorder(i_rayOrigin, i_rayDirection, i_context);
 
-		IVector3f p1 = points.get(0);
-		IVector3f p2;
+		Vector3f p1 = Math3DCache.getVector3f();
+		Vector3f p2 = Math3DCache.getVector3f();
+		try {
+			points.getPoint3D(0, p1);
 
-		Side visSide1 = visBorder.getSide(p1);
-		Side hSide1 = null, vSide1 = null, visSide2, hSide2, vSide2;
+			Side visSide1 = visBorder.getSide(p1);
+			Side hSide1 = null, vSide1 = null, visSide2, hSide2, vSide2;
 
-		for (int i = 1; i < points.size(); i++) {
-			p2 = points.get(i);
-			visSide2 = visBorder.getSide(p2);
+			for (int i = 1; i < points.size(); i++) {
+				points.getPoint3D(i, p2);
+				visSide2 = visBorder.getSide(p2);
 
-			// is at least one point in the front subspace?
-			if (visSide1 != visSide2 || visSide1 == Side.FRONT) {
+				// is at least one point in the front subspace?
+				if (visSide1 != visSide2 || visSide1 == Side.FRONT) {
 
-				if (hSide1 == null)
-					hSide1 = hBorder.getSide(p1);
-				hSide2 = hBorder.getSide(p2);
+					if (hSide1 == null)
+						hSide1 = hBorder.getSide(p1);
+					hSide2 = hBorder.getSide(p2);
 
-				// are the points on different sides or on the horizontal plane?
-				if (hSide1 != hSide2 || (hSide1 == null && hSide2 == null)) {
-
-					if (vSide1 == null)
-						vSide1 = vBorder.getSide(p1);
-					vSide2 = vBorder.getSide(p2);
-
-					// are the points on different sides or on the vertical
+					// are the points on different sides or on the horizontal
 					// plane?
-					if (vSide1 != vSide2 || (vSide1 == null && vSide2 == null)) {
-						Vector3f intersection = Math3DCache.getVector3f();
-						Vector3f tmp = Math3DCache.getVector3f();
-						try {
-							// the two points are in different quadrants or on a
-							// plane, so we try and hit the segment
-							Plane intersectingBorder = null;
-							if ((hSide1 == null && hSide2 == null))
-								intersectingBorder = vBorder;
-							else
-								intersectingBorder = hBorder;
-
-							intersectingBorder.intersectionWithSegment(p1, p2,
-								intersection);
-
-							// intersection only if tmp is on the
-							// picking ray
-							Math3D.sub(intersection, i_rayOrigin, tmp);
-							float fx = tmp.getX() / i_rayDirection.getX();
-							float fy = tmp.getY() / i_rayDirection.getY();
-							float fz = tmp.getZ() / i_rayDirection.getZ();
-
-							if (!Math3D.equals(fx, fy, ACCURACY))
-								return Float.NaN;
-
-							if (!Math3D.equals(fx, fz, ACCURACY))
-								return Float.NaN;
-
-							if (!Math3D.equals(fy, fz, ACCURACY))
-								return Float.NaN;
-
-							return (fx + fy + fz) / 3f;
-						} finally {
-							Math3DCache.returnVector3f(intersection, tmp);
+					if (hSide1 != hSide2
+						|| (hSide1 == null && hSide2 == null)) {
+
+						if (vSide1 == null)
+							vSide1 = vBorder.getSide(p1);
+						vSide2 = vBorder.getSide(p2);
+
+						// are the points on different sides or on the vertical
+						// plane?
+						if (vSide1 != vSide2
+							|| (vSide1 == null && vSide2 == null)) {
+							Vector3f intersection =
+								Math3DCache.getVector3f();
+							Vector3f tmp = Math3DCache.getVector3f();
+							try {
+								// the two points are in different quadrants or
+								// on a plane, so we try and hit the segment
+								Plane intersectingBorder = null;
+								if ((hSide1 == null && hSide2 == null))
+									intersectingBorder = vBorder;
+								else
+									intersectingBorder = hBorder;
+
+								intersectingBorder.intersectionWithSegment(p1,
+									p2, intersection);
+
+								// intersection only if tmp is on the
+								// picking ray
+								Math3D.sub(intersection, i_rayOrigin, tmp);
+								float fx =
+									tmp.getX() / i_rayDirection.getX();
+								float fy =
+									tmp.getY() / i_rayDirection.getY();
+								float fz =
+									tmp.getZ() / i_rayDirection.getZ();
+
+								if (!Math3D.equals(fx, fy, ACCURACY))
+									return Float.NaN;
+
+								if (!Math3D.equals(fx, fz, ACCURACY))
+									return Float.NaN;
+
+								if (!Math3D.equals(fy, fz, ACCURACY))
+									return Float.NaN;
+
+								return (fx + fy + fz) / 3f;
+							} finally {
+								Math3DCache
+									.returnVector3f(intersection, tmp);
+							}
 						}
+
+						// carry the "vertical" side of point 2 to point 1
+						vSide1 = vSide2;
+					} else {
+						vSide1 = null;
 					}
 
-					// carry the "vertical" side of point 2 to point 1
-					vSide1 = vSide2;
+					// carry the "horizontal" side of point 2 to point 1
+					hSide1 = hSide2;
 				} else {
+					hSide1 = null;
 					vSide1 = null;
 				}
 
-				// carry the "horizontal" side of point 2 to point 1
-				hSide1 = hSide2;
-			} else {
-				hSide1 = null;
-				vSide1 = null;
-			}
+				// carry the "visible" side of point 2 to point 1
+				visSide1 = visSide2;
 
-			// carry the "visible" side of point 2 to point 1
-			visSide1 = visSide2;
-			p1 = p2;
+				// reuse the vector of point 1 for the next point 2
+				Vector3f t = p1;
+				p1 = p2;
+				p2 = t;
+			}
+		} finally {
+			Math3DCache.returnVector3f(p1, p2);
 		}
 
 		return Float.NaN;
@@ -314,9 +331,19 @@ public class PolylineFigureShape implements Shape {
 
 		g3d.glLineWidth(m_figure.getLineWidth());
 
+		// the points are in world coordinates
+		float ox = 0, oy = 0, oz = 0;
+		IVector3f origin = g3d.getRenderOrigin();
+		if (origin != null) {
+			ox = origin.getX();
+			oy = origin.getY();
+			oz = origin.getZ();
+		}
+
 		g3d.glBegin(Graphics3DDraw.GL_LINE_STRIP);
-		for (IVector3f point : points)
-			g3d.glVertex3f(point);
+		for (int i = 0; i < points.size(); i++)
+			g3d.glVertex3f(points.getX(i) - ox, points.getY(i) - oy,
+				points.getZ(i) - oz);
 		g3d.glEnd();
 	}
 }
@@ -15,6 +15,7 @@ import java.util.logging.Logger;
 
 import org.eclipse.draw3d.Figure3D;
 import org.eclipse.draw3d.IFigure3D;
+import org.eclipse.draw3d.InstancedRenderFragment;
 import org.eclipse.draw3d.RenderContext;
 import org.eclipse.draw3d.RenderFragment;
 import org.eclipse.draw3d.ShapeFigure3D;
@@ -23,21 +24,32 @@ import org.eclipse.draw3d.geometry.IPosition3D;
 import org.eclipse.draw3d.geometry.IVector3f;
 import org.eclipse.draw3d.geometry.Math3D;
 import org.eclipse.draw3d.geometry.Math3DCache;
+import org.eclipse.draw3d.geometry.Matrix4f;
 import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
 import org.eclipse.draw3d.geometry.ParaxialBoundingBoxImpl;
 import org.eclipse.draw3d.geometry.Vector3f;
 import org.eclipse.draw3d.graphics3d.Graphics3D;
 import org.eclipse.draw3d.graphics3d.Graphics3DDraw;
 import org.eclipse.draw3d.util.Draw3DCache;
+import org.eclipse.swt.graphics.Color;
 
 /**
  * PositionableShape There should really be more documentation here.
+ * <p>
+ * Positionable shapes can be rendered as instances of a shared geometry, see
+ * {@link InstancedRenderFragment}. By default,
+ * {@link #getInstanceKey(RenderContext)} returns <code>null</code>, so
+ * subclasses must override it along with
+ * {@link #getInstanceData(RenderContext, float[], int)} and
+ * {@link #renderInstance(RenderContext, float[], int)} to support this.
+ * </p>
  * 
  * @author Kristian Duske
  * @version $Revision$
  * @since 05.08.2009
  */
-public abstract class PositionableShape implements Shape {
+public abstract class PositionableShape implements Shape,
+		InstancedRenderFragment {
 
 	@SuppressWarnings("unused")
 	private static final Logger log = Logger.getLogger(PositionableShape.class
@@ -172,6 +184,63 @@ public abstract class PositionableShape implements Shape {
 		}
 	}
 
+	/**
+	 * {@inheritDoc} The transformation matrix of this shape's position is
+	 * written, relative to the render origin if one is set. The colors are
+	 * set to 0. Subclasses should override this method to set the colors.
+	 * 
+	 * @see org.eclipse.draw3d.InstancedRenderFragment#getInstanceData(org.eclipse.draw3d.RenderContext,
+	 *      float[], int)
+	 * @see org.eclipse.draw3d.graphics3d.Graphics3DDraw#setRenderOrigin(IVector3f)
+	 */
+	public void getInstanceData(RenderContext i_renderContext,
+		float[] o_data, int i_offset) {
+
+		IVector3f origin = i_renderContext.getGraphics3D().getRenderOrigin();
+		if (origin == null) {
+			m_position3D.getTransformationMatrix().toArrayRowMajor(o_data,
+				i_offset);
+		} else {
+			Matrix4f matrix = Draw3DCache.getMatrix4f();
+			try {
+				m_position3D.getTransformationMatrix(origin, matrix)
+					.toArrayRowMajor(o_data, i_offset);
+			} finally {
+				Draw3DCache.returnMatrix4f(matrix);
+			}
+		}
+
+		for (int i = 16; i < INSTANCE_DATA_SIZE; i++)
+			o_data[i_offset + i] = 0;
+	}
+
+	/**
+	 * {@inheritDoc} This implementation returns <code>null</code>.
+	 * 
+	 * @see org.eclipse.draw3d.InstancedRenderFragment#getInstanceKey(org.eclipse.draw3d.RenderContext)
+	 */
+	public Object getInstanceKey(RenderContext i_renderContext) {
+
+		return null;
+	}
+
+	/**
+	 * Stores the given color in the given instance data.
+	 * 
+	 * @param i_color the color
+	 * @param i_alpha the alpha value, between 0 and 255
+	 * @param o_data the instance data
+	 * @param i_offset the index at which the color is stored
+	 */
+	protected static void setInstanceColor(Color i_color, int i_alpha,
+		float[] o_data, int i_offset) {
+
+		o_data[i_offset] = i_color.getRed() / 255f;
+		o_data[i_offset + 1] = i_color.getGreen() / 255f;
+		o_data[i_offset + 2] = i_color.getBlue() / 255f;
+		o_data[i_offset + 3] = i_alpha / 255f;
+	}
+
 	/**
 	 * Returns the position of this shape.
 	 * 
@@ -182,6 +251,19 @@ public abstract class PositionableShape implements Shape {
 		return m_position3D;
 	}
 
+	/**
+	 * {@inheritDoc} This implementation ignores the instance data and calls
+	 * {@link #doRender(RenderContext)}.
+	 * 
+	 * @see org.eclipse.draw3d.InstancedRenderFragment#renderInstance(org.eclipse.draw3d.RenderContext,
+	 *      float[], int)
+	 */
+	public void renderInstance(RenderContext i_renderContext, float[] i_data,
+		int i_offset) {
+
+		doRender(i_renderContext);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.shapes;
+
+import java.util.Arrays;
+
+/**
+ * The instance key of a shape, consisting of the keys of all display lists
+ * that are executed when an instance of the shape is rendered. Shapes with
+ * equal instance keys render the same display lists and can therefore be
+ * rendered in one instance batch.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ * @see org.eclipse.draw3d.InstancedRenderFragment#getInstanceKey(org.eclipse.draw3d.RenderContext)
+ */
+class ShapeInstanceKey {
+
+	private final Object[] m_displayListKeys;
+
+	private final int m_hashCode;
+
+	/**
+	 * Creates a new instance key.
+	 *
+	 * @param i_displayListKeys the keys of the display lists in the order in
+	 *            which they are executed, a key is <code>null</code> if the
+	 *            corresponding part of the shape (e.g. the fill or the
+	 *            outline) is not rendered
+	 */
+	ShapeInstanceKey(Object... i_displayListKeys) {
+
+		m_displayListKeys = i_displayListKeys.clone();
+		m_hashCode = Arrays.hashCode(m_displayListKeys);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object i_obj) {
+
+		if (this == i_obj)
+			return true;
+
+		if (!(i_obj instanceof ShapeInstanceKey))
+			return false;
+
+		ShapeInstanceKey key = (ShapeInstanceKey) i_obj;
+		return m_hashCode == key.m_hashCode
+			&& Arrays.equals(m_displayListKeys, key.m_displayListKeys);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		return m_hashCode;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "ShapeInstanceKey" + Arrays.toString(m_displayListKeys);
+	}
+}
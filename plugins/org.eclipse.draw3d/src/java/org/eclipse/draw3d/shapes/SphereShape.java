@@ -138,6 +138,8 @@ public class SphereShape extends PositionableShape {
 
 	private SphereKey m_fillKey;
 
+	private ShapeInstanceKey m_instanceKey;
+
 	private boolean m_outline = true;
 
 	private Color m_outlineColor = Display.getCurrent().getSystemColor(
@@ -315,6 +317,43 @@ public class SphereShape extends PositionableShape {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.shapes.PositionableShape#getInstanceData(org.eclipse.draw3d.RenderContext,
+	 *      float[], int)
+	 */
+	@Override
+	public void getInstanceData(RenderContext i_renderContext,
+		float[] o_data, int i_offset) {
+
+		super.getInstanceData(i_renderContext, o_data, i_offset);
+		setInstanceColor(m_fillColor, m_alpha, o_data, i_offset + 16);
+		setInstanceColor(m_outlineColor, m_alpha, o_data, i_offset + 20);
+	}
+
+	/**
+	 * {@inheritDoc} Only opaque spheres can be rendered as instances.
+	 * 
+	 * @see org.eclipse.draw3d.shapes.PositionableShape#getInstanceKey(org.eclipse.draw3d.RenderContext)
+	 */
+	@Override
+	public Object getInstanceKey(RenderContext i_renderContext) {
+
+		if (getRenderType() != RenderType.OPAQUE)
+			return null;
+
+		Graphics3D g3d = i_renderContext.getGraphics3D();
+		initDisplayLists(g3d.getDisplayListManager(), g3d);
+
+		if (m_instanceKey == null)
+			m_instanceKey =
+				new ShapeInstanceKey(m_fill ? m_fillKey : null,
+					m_outline ? m_outlineKey : null);
+
+		return m_instanceKey;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -437,6 +476,32 @@ public class SphereShape extends PositionableShape {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.draw3d.shapes.PositionableShape#renderInstance(org.eclipse.draw3d.RenderContext,
+	 *      float[], int)
+	 */
+	@Override
+	public void renderInstance(RenderContext i_renderContext, float[] i_data,
+		int i_offset) {
+
+		Graphics3D g3d = i_renderContext.getGraphics3D();
+		DisplayListManager displayListManager = g3d.getDisplayListManager();
+
+		if (m_fill) {
+			g3d.glColor4f(i_data[i_offset + 16], i_data[i_offset + 17],
+				i_data[i_offset + 18], i_data[i_offset + 19]);
+			displayListManager.executeDisplayList(m_fillKey);
+		}
+
+		if (m_outline) {
+			g3d.glColor4f(i_data[i_offset + 20], i_data[i_offset + 21],
+				i_data[i_offset + 22], i_data[i_offset + 23]);
+			displayListManager.executeDisplayList(m_outlineKey);
+		}
+	}
+
 	/**
 	 * Sets the alpha value of this shape.
 	 * 
@@ -456,6 +521,7 @@ public class SphereShape extends PositionableShape {
 	public void setFill(boolean i_fill) {
 
 		m_fill = i_fill;
+		m_instanceKey = null;
 	}
 
 	/**
@@ -478,6 +544,7 @@ public class SphereShape extends PositionableShape {
 	public void setOutline(boolean i_outline) {
 
 		m_outline = i_outline;
+		m_instanceKey = null;
 	}
 
 	/**
@@ -0,0 +1,392 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Measures the number of bytes allocated by the rendering thread during the
+ * phases of a render pass, using the per-thread allocation counter of the JVM.
+ * A profiler is attached to a render context with
+ * {@link org.eclipse.draw3d.RenderContext#setAllocationProfiler(AllocationProfiler)}
+ * and is passed to the scene listeners once per render pass (see
+ * {@link org.eclipse.draw3d.ISceneListener#allocationsMeasured(org.eclipse.draw3d.RenderContext, AllocationProfiler)})
+ * or can be queried via JMX (see {@link #registerMBean(String)}).
+ * <p>
+ * A phase is measured by taking a mark with {@link #mark()} and recording the
+ * bytes allocated since that mark with {@link #record(Phase, long)}, which
+ * returns a new mark for the next phase. A frame starts with
+ * {@link #beginFrame()}, which completes the previous frame. Since the buffers
+ * are swapped after a render pass has finished, all statistics refer to the
+ * last completed frame.
+ * </p>
+ * <p>
+ * The allocation counter is only available on JVMs that implement
+ * <code>com.sun.management.ThreadMXBean</code>, it is accessed by reflection.
+ * The JVM does not count the objects allocated per thread, so only bytes are
+ * measured. The constant overhead of reading the counter is calibrated and
+ * subtracted.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class AllocationProfiler implements AllocationProfilerMBean {
+
+	/**
+	 * The measured phases of a frame.
+	 *
+	 * @author Jens von Pilgrim
+	 * @version $Revision$
+	 * @since 16.10.2026
+	 */
+	public static enum Phase {
+		/**
+		 * Collecting the render fragments, i.e. painting the figure tree or,
+		 * in retained mode, distributing the retained fragments.
+		 */
+		COLLECT,
+		/**
+		 * Sorting the render fragments.
+		 */
+		SORT,
+		/**
+		 * Rendering the render fragments.
+		 */
+		RENDER,
+		/**
+		 * Swapping the buffers after the render pass.
+		 */
+		SWAP
+	}
+
+	private static final String DOMAIN = "org.eclipse.draw3d";
+
+	private static final Logger log =
+		Logger.getLogger(AllocationProfiler.class.getName());
+
+	private static final Method ALLOCATED_BYTES;
+
+	private static final ThreadMXBean THREAD_BEAN;
+
+	static {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		Method allocatedBytes = null;
+		try {
+			Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+			if (type.isInstance(threadBean)) {
+				Method supported =
+					type.getMethod("isThreadAllocatedMemorySupported");
+				if (Boolean.TRUE.equals(supported.invoke(threadBean))) {
+					type.getMethod("setThreadAllocatedMemoryEnabled",
+						boolean.class).invoke(threadBean, Boolean.TRUE);
+					allocatedBytes =
+						type.getMethod("getThreadAllocatedBytes", long.class);
+				}
+			}
+		} catch (Exception ex) {
+			log.log(Level.INFO, "Allocation counter not available", ex);
+		}
+
+		THREAD_BEAN = threadBean;
+		ALLOCATED_BYTES = allocatedBytes;
+	}
+
+	private Object[] m_args;
+
+	private final long[] m_current = new long[Phase.values().length];
+
+	private long m_frameCount;
+
+	private final long[] m_last = new long[Phase.values().length];
+
+	private long m_maxFrameBytes;
+
+	private ObjectName m_objectName;
+
+	private long m_overhead;
+
+	private Thread m_thread;
+
+	private long m_totalBytes;
+
+	/**
+	 * Creates a new profiler.
+	 */
+	public AllocationProfiler() {
+
+		if (!isSupported())
+			return;
+
+		// the overhead of reading the counter, e.g. boxing the result
+		m_overhead = Long.MAX_VALUE;
+		for (int i = 0; i < 10; i++) {
+			long mark = mark();
+			m_overhead = Math.min(m_overhead, mark() - mark);
+		}
+	}
+
+	/**
+	 * Completes the current frame and starts a new one. Must be called on the
+	 * rendering thread.
+	 */
+	public synchronized void beginFrame() {
+
+		long frameBytes = 0;
+		for (int i = 0; i < m_current.length; i++) {
+			frameBytes += m_current[i];
+			m_last[i] = m_current[i];
+			m_current[i] = 0;
+		}
+
+		if (frameBytes == 0)
+			return;
+
+		m_frameCount++;
+		m_totalBytes += frameBytes;
+		m_maxFrameBytes = Math.max(m_maxFrameBytes, frameBytes);
+	}
+
+	/**
+	 * Returns the number of bytes allocated during the given phase of the last
+	 * completed frame.
+	 *
+	 * @param i_phase the phase
+	 * @return the number of bytes
+	 */
+	public synchronized long getAllocatedBytes(Phase i_phase) {
+
+		return m_last[i_phase.ordinal()];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#getAverageFrameBytes()
+	 */
+	public synchronized long getAverageFrameBytes() {
+
+		if (m_frameCount == 0)
+			return 0;
+
+		return m_totalBytes / m_frameCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#getCollectBytes()
+	 */
+	public long getCollectBytes() {
+
+		return getAllocatedBytes(Phase.COLLECT);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#getFrameBytes()
+	 */
+	public synchronized long getFrameBytes() {
+
+		long frameBytes = 0;
+		for (int i = 0; i < m_last.length; i++)
+			frameBytes += m_last[i];
+
+		return frameBytes;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#getFrameCount()
+	 */
+	public synchronized long getFrameCount() {
+
+		return m_frameCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#getMaxFrameBytes()
+	 */
+	public synchronized long getMaxFrameBytes() {
+
+		return m_maxFrameBytes;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#getRenderBytes()
+	 */
+	public long getRenderBytes() {
+
+		return getAllocatedBytes(Phase.RENDER);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#getSortBytes()
+	 */
+	public long getSortBytes() {
+
+		return getAllocatedBytes(Phase.SORT);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#getSwapBytes()
+	 */
+	public long getSwapBytes() {
+
+		return getAllocatedBytes(Phase.SWAP);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#isSupported()
+	 */
+	public boolean isSupported() {
+
+		return ALLOCATED_BYTES != null;
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the current thread so far. The
+	 * returned value is only meaningful as an argument to
+	 * {@link #record(Phase, long)}.
+	 *
+	 * @return the mark, or 0 if allocations cannot be measured
+	 */
+	public long mark() {
+
+		if (ALLOCATED_BYTES == null)
+			return 0;
+
+		Thread thread = Thread.currentThread();
+		if (thread != m_thread) {
+			m_thread = thread;
+			m_args = new Object[] { Long.valueOf(thread.getId()) };
+		}
+
+		try {
+			return ((Long) ALLOCATED_BYTES.invoke(THREAD_BEAN, m_args))
+				.longValue();
+		} catch (Exception ex) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Adds the bytes allocated by the current thread since the given mark to
+	 * the given phase of the current frame.
+	 *
+	 * @param i_phase the phase
+	 * @param i_mark the mark taken at the beginning of the phase
+	 * @return a new mark for the next phase
+	 */
+	public long record(Phase i_phase, long i_mark) {
+
+		long mark = mark();
+		long bytes = mark - i_mark - m_overhead;
+		if (bytes > 0)
+			m_current[i_phase.ordinal()] += bytes;
+
+		return mark;
+	}
+
+	/**
+	 * Registers this profiler with the platform MBean server under the given
+	 * name. A previous registration of this profiler is removed. Errors are
+	 * logged.
+	 *
+	 * @param i_name the name of this profiler, e.g. the name of the editor
+	 */
+	public void registerMBean(String i_name) {
+
+		unregisterMBean();
+		try {
+			ObjectName objectName =
+				new ObjectName(DOMAIN + ":type=AllocationProfiler,name="
+					+ ObjectName.quote(i_name));
+
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			server.registerMBean(this, objectName);
+			m_objectName = objectName;
+		} catch (Exception ex) {
+			log.log(Level.WARNING, "Cannot register allocation profiler "
+				+ i_name, ex);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.draw3d.util.AllocationProfilerMBean#reset()
+	 */
+	public synchronized void reset() {
+
+		for (int i = 0; i < m_current.length; i++) {
+			m_current[i] = 0;
+			m_last[i] = 0;
+		}
+
+		m_frameCount = 0;
+		m_totalBytes = 0;
+		m_maxFrameBytes = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "AllocationProfiler[collect: " + getCollectBytes() + ", sort: "
+			+ getSortBytes() + ", render: " + getRenderBytes() + ", swap: "
+			+ getSwapBytes() + ", average: " + getAverageFrameBytes() + "]";
+	}
+
+	/**
+	 * Removes this profiler from the platform MBean server if it was
+	 * registered. Errors are logged.
+	 */
+	public void unregisterMBean() {
+
+		if (m_objectName == null)
+			return;
+
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(
+				m_objectName);
+		} catch (Exception ex) {
+			log.log(Level.WARNING, "Cannot unregister allocation profiler",
+				ex);
+		} finally {
+			m_objectName = null;
+		}
+	}
+}
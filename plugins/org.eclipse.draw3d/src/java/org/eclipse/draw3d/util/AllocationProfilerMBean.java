@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+/**
+ * Management interface of {@link AllocationProfiler}, which exposes the
+ * allocation statistics of the render passes via JMX. All values refer to the
+ * last completed frame unless noted otherwise.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ * @see AllocationProfiler#registerMBean(String)
+ */
+public interface AllocationProfilerMBean {
+
+	/**
+	 * Returns the average number of bytes allocated per frame since the
+	 * profiler was created or reset.
+	 *
+	 * @return the average number of bytes per frame
+	 */
+	public long getAverageFrameBytes();
+
+	/**
+	 * Returns the number of bytes allocated while collecting the render
+	 * fragments.
+	 *
+	 * @return the number of bytes
+	 */
+	public long getCollectBytes();
+
+	/**
+	 * Returns the total number of bytes allocated during the frame.
+	 *
+	 * @return the number of bytes
+	 */
+	public long getFrameBytes();
+
+	/**
+	 * Returns the number of frames completed since the profiler was created or
+	 * reset.
+	 *
+	 * @return the number of frames
+	 */
+	public long getFrameCount();
+
+	/**
+	 * Returns the maximum number of bytes allocated during a single frame
+	 * since the profiler was created or reset.
+	 *
+	 * @return the maximum number of bytes
+	 */
+	public long getMaxFrameBytes();
+
+	/**
+	 * Returns the number of bytes allocated while rendering the render
+	 * fragments.
+	 *
+	 * @return the number of bytes
+	 */
+	public long getRenderBytes();
+
+	/**
+	 * Returns the number of bytes allocated while sorting the render
+	 * fragments.
+	 *
+	 * @return the number of bytes
+	 */
+	public long getSortBytes();
+
+	/**
+	 * Returns the number of bytes allocated while swapping the buffers.
+	 *
+	 * @return the number of bytes
+	 */
+	public long getSwapBytes();
+
+	/**
+	 * Indicates whether the JVM supports measuring the allocated bytes per
+	 * thread. If not, all values are 0.
+	 *
+	 * @return <code>true</code> if allocations can be measured and
+	 *         <code>false</code> otherwise
+	 */
+	public boolean isSupported();
+
+	/**
+	 * Resets all statistics.
+	 */
+	public void reset();
+}
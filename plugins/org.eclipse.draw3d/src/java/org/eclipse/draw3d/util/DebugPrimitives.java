@@ -189,10 +189,22 @@ public class DebugPrimitives implements Renderable {
 			m_warning = false;
 		}
 
-		renderLines(i_renderContext);
-		renderRays(i_renderContext);
-		renderSegments(i_renderContext);
-		renderPoints(i_renderContext);
+		// debug primitives are given in world coordinates
+		Graphics3D g3d = i_renderContext.getGraphics3D();
+		IVector3f origin = g3d.getRenderOrigin();
+		g3d.glPushMatrix();
+		try {
+			if (origin != null)
+				g3d.glTranslatef(-origin.getX(), -origin.getY(), -origin
+					.getZ());
+
+			renderLines(i_renderContext);
+			renderRays(i_renderContext);
+			renderSegments(i_renderContext);
+			renderPoints(i_renderContext);
+		} finally {
+			g3d.glPopMatrix();
+		}
 	}
 
 	private void renderLines(RenderContext i_renderContext) {
@@ -10,28 +10,23 @@
  ******************************************************************************/
 package org.eclipse.draw3d.util;
 
-import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
-import java.util.logging.Logger;
 
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw3d.geometry.Math3DCache;
+import org.eclipse.draw3d.geometry.ObjectPool;
+import org.eclipse.draw3d.geometry.SizedObjectPool;
 
 /**
  * Extends {@link org.eclipse.draw3d.geometry.Math3DCache} with support for
  * draw2d primitives. This way, only the plugin containing this class needs to
- * depend on draw2d.
+ * depend on draw2d. Like the objects of the super class, the objects and
+ * buffers cached by this class are kept in thread-local pools.
  * 
  * @author Kristian Duske
  * @version $Revision$
@@ -39,175 +34,99 @@ import org.eclipse.draw3d.geometry.Math3DCache;
  */
 public class Draw3DCache extends Math3DCache {
 
-	private static final Logger log =
-		Logger.getLogger(Draw3DCache.class.getName());
+	private static final SizedObjectPool<ByteBuffer> m_byteBuffer =
+		new SizedObjectPool<ByteBuffer>("ByteBuffer", POOL_SIZE, LEAK_THRESHOLD) {
 
-	private static final Comparator<Object> m_bufferComparator =
-		new Comparator<Object>() {
-			public int compare(Object i_o1, Object i_o2) {
+			@Override
+			protected ByteBuffer create(int i_size) {
 
-				int i1, i2;
-
-				if (i_o1 instanceof Integer)
-					i1 = (Integer) i_o1;
-				else
-					i1 = ((Buffer) i_o1).capacity();
-
-				if (i_o2 instanceof Integer)
-					i2 = (Integer) i_o2;
-				else
-					i2 = ((Buffer) i_o2).capacity();
+				return BufferUtils.createByteBuffer(i_size);
+			}
 
-				if (i1 < i2)
-					return -1;
+			@Override
+			protected int getSize(ByteBuffer i_buffer) {
 
-				return 0;
+				return i_buffer.capacity();
 			}
 		};
 
-	private static final List<ByteBuffer> m_byteBuffer =
-		new ArrayList<ByteBuffer>();
-
-	private static int m_byteBufferCounter;
-
-	private static final Queue<Dimension> m_dimension =
-		new LinkedList<Dimension>();
-
-	private static int m_dimensionCounter;
-
-	private static final List<DoubleBuffer> m_doubleBuffer =
-		new ArrayList<DoubleBuffer>();
-
-	private static int m_doubleBufferCounter;
-
-	private static final List<FloatBuffer> m_floatBuffer =
-		new ArrayList<FloatBuffer>();
-
-	private static int m_floatBufferCounter;
-
-	private static final List<IntBuffer> m_intBuffer =
-		new ArrayList<IntBuffer>();
-
-	private static int m_intBufferCounter;
+	private static final SizedObjectPool<DoubleBuffer> m_doubleBuffer =
+		new SizedObjectPool<DoubleBuffer>("DoubleBuffer", POOL_SIZE, LEAK_THRESHOLD) {
 
-	private static final Queue<Point> m_point = new LinkedList<Point>();
-
-	private static int m_pointCounter;
-
-	private static Queue<Rectangle> m_rectangle = new LinkedList<Rectangle>();
-
-	private static int m_rectangleCounter;
-
-	private static ByteBuffer createByteBuffer(int i_capacity) {
-
-		if (m_count) {
-			m_byteBufferCounter++;
-			if (m_byteBufferCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " byte buffers, are you properly returning them?");
-		}
-
-		return BufferUtils.createByteBuffer(i_capacity);
-	}
-
-	private static Dimension createDimension() {
-
-		if (m_count) {
-			m_dimensionCounter++;
-			if (m_dimensionCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " dimensions, are you properly returning them?");
-		}
-
-		return new Dimension();
-	}
+			@Override
+			protected DoubleBuffer create(int i_size) {
 
-	private static DoubleBuffer createDoubleBuffer(int i_capacity) {
-
-		if (m_count) {
-			m_doubleBufferCounter++;
-			if (m_doubleBufferCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " double buffers, are you properly returning them?");
-		}
+				return BufferUtils.createDoubleBuffer(i_size);
+			}
 
-		return BufferUtils.createDoubleBuffer(i_capacity);
-	}
+			@Override
+			protected int getSize(DoubleBuffer i_buffer) {
 
-	private static FloatBuffer createFloatBuffer(int i_capacity) {
+				return i_buffer.capacity();
+			}
+		};
 
-		if (m_count) {
-			m_floatBufferCounter++;
-			if (m_floatBufferCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " float buffers, are you properly returning them?");
-		}
+	private static final SizedObjectPool<FloatBuffer> m_floatBuffer =
+		new SizedObjectPool<FloatBuffer>("FloatBuffer", POOL_SIZE, LEAK_THRESHOLD) {
 
-		return BufferUtils.createFloatBuffer(i_capacity);
-	}
+			@Override
+			protected FloatBuffer create(int i_size) {
 
-	private static IntBuffer createIntBuffer(int i_capacity) {
+				return BufferUtils.createFloatBuffer(i_size);
+			}
 
-		if (m_count) {
-			m_intBufferCounter++;
-			if (m_intBufferCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " int buffers, are you properly returning them?");
-		}
+			@Override
+			protected int getSize(FloatBuffer i_buffer) {
 
-		return BufferUtils.createIntBuffer(i_capacity);
-	}
+				return i_buffer.capacity();
+			}
+		};
 
-	private static Point createPoint() {
+	private static final SizedObjectPool<IntBuffer> m_intBuffer =
+		new SizedObjectPool<IntBuffer>("IntBuffer", POOL_SIZE, LEAK_THRESHOLD) {
 
-		if (m_count) {
-			m_pointCounter++;
-			if (m_pointCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " points, are you properly returning them?");
-		}
+			@Override
+			protected IntBuffer create(int i_size) {
 
-		return new Point();
-	}
+				return BufferUtils.createIntBuffer(i_size);
+			}
 
-	private static Rectangle createRectangle() {
+			@Override
+			protected int getSize(IntBuffer i_buffer) {
 
-		if (m_count) {
-			m_rectangleCounter++;
-			if (m_rectangleCounter > m_counterThreshold)
-				log.warning("created more than " + m_counterThreshold
-					+ " rectangles, are you properly returning them?");
-		}
+				return i_buffer.capacity();
+			}
+		};
 
-		return new Rectangle();
-	}
+	private static final ObjectPool<Dimension> m_dimension =
+		new ObjectPool<Dimension>("Dimension", POOL_SIZE, LEAK_THRESHOLD) {
 
-	private static <T extends Buffer> T doGetBuffer(List<T> i_buffers,
-		int i_capacity) {
+			@Override
+			protected Dimension create() {
 
-		int index =
-			Collections.binarySearch(i_buffers, i_capacity, m_bufferComparator);
+				return new Dimension();
+			}
+		};
 
-		if (index >= 0) {
-			T buffer = i_buffers.remove(index);
-			buffer.limit(i_capacity);
-			return buffer;
-		}
+	private static final ObjectPool<Point> m_point =
+		new ObjectPool<Point>("Point", POOL_SIZE, LEAK_THRESHOLD) {
 
-		return null;
-	}
+			@Override
+			protected Point create() {
 
-	private static <T extends Buffer> void doReturnBuffer(List<T> i_buffers,
-		T i_buffer) {
+				return new Point();
+			}
+		};
 
-		int index =
-			Collections.binarySearch(i_buffers, i_buffer, m_bufferComparator);
+	private static final ObjectPool<Rectangle> m_rectangle =
+		new ObjectPool<Rectangle>("Rectangle", POOL_SIZE, LEAK_THRESHOLD) {
 
-		if (index < 0)
-			index = -index - 1;
+			@Override
+			protected Rectangle create() {
 
-		i_buffers.add(index, i_buffer);
-	}
+				return new Rectangle();
+			}
+		};
 
 	/**
 	 * Returns a buffer with at least the given capacity. The returned buffer
@@ -218,18 +137,8 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static ByteBuffer getByteBuffer(int i_capacity) {
 
-		ByteBuffer buffer;
-		if (m_synchronized)
-			synchronized (m_byteBuffer) {
-				buffer = doGetBuffer(m_byteBuffer, i_capacity);
-			}
-		else
-			buffer = doGetBuffer(m_byteBuffer, i_capacity);
-
-		if (buffer == null)
-			buffer = createByteBuffer(i_capacity);
-		else
-			buffer.limit(i_capacity);
+		ByteBuffer buffer = m_byteBuffer.get(i_capacity);
+		buffer.limit(i_capacity);
 
 		return buffer;
 	}
@@ -241,19 +150,20 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static Dimension getDimension() {
 
-		if (m_synchronized) {
-			synchronized (m_dimension) {
-				if (m_dimension.isEmpty())
-					return createDimension();
-				else
-					return m_dimension.remove();
-			}
-		} else {
-			if (m_dimension.isEmpty())
-				return createDimension();
-			else
-				return m_dimension.remove();
-		}
+		return m_dimension.get();
+	}
+
+	/**
+	 * Acquires a cached {@link Dimension} from the given scope. The dimension is
+	 * returned to the cache when the scope is closed.
+	 * 
+	 * @param i_scope the scope
+	 * @return a cached dimension
+	 * @see Math3DCache#beginScope()
+	 */
+	public static Dimension getDimension(Scope i_scope) {
+
+		return i_scope.acquire(m_dimension);
 	}
 
 	/**
@@ -265,18 +175,8 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static DoubleBuffer getDoubleBuffer(int i_capacity) {
 
-		DoubleBuffer buffer;
-		if (m_synchronized)
-			synchronized (m_doubleBuffer) {
-				buffer = doGetBuffer(m_doubleBuffer, i_capacity);
-			}
-		else
-			buffer = doGetBuffer(m_doubleBuffer, i_capacity);
-
-		if (buffer == null)
-			buffer = createDoubleBuffer(i_capacity);
-		else
-			buffer.limit(i_capacity);
+		DoubleBuffer buffer = m_doubleBuffer.get(i_capacity);
+		buffer.limit(i_capacity);
 
 		return buffer;
 	}
@@ -290,18 +190,8 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static FloatBuffer getFloatBuffer(int i_capacity) {
 
-		FloatBuffer buffer;
-		if (m_synchronized)
-			synchronized (m_floatBuffer) {
-				buffer = doGetBuffer(m_floatBuffer, i_capacity);
-			}
-		else
-			buffer = doGetBuffer(m_floatBuffer, i_capacity);
-
-		if (buffer == null)
-			buffer = createFloatBuffer(i_capacity);
-		else
-			buffer.limit(i_capacity);
+		FloatBuffer buffer = m_floatBuffer.get(i_capacity);
+		buffer.limit(i_capacity);
 
 		return buffer;
 	}
@@ -315,18 +205,8 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static IntBuffer getIntBuffer(int i_capacity) {
 
-		IntBuffer buffer;
-		if (m_synchronized)
-			synchronized (m_intBuffer) {
-				buffer = doGetBuffer(m_intBuffer, i_capacity);
-			}
-		else
-			buffer = doGetBuffer(m_intBuffer, i_capacity);
-
-		if (buffer == null)
-			buffer = createIntBuffer(i_capacity);
-		else
-			buffer.limit(i_capacity);
+		IntBuffer buffer = m_intBuffer.get(i_capacity);
+		buffer.limit(i_capacity);
 
 		return buffer;
 	}
@@ -338,19 +218,20 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static Point getPoint() {
 
-		if (m_synchronized) {
-			synchronized (m_point) {
-				if (m_point.isEmpty())
-					return createPoint();
-				else
-					return m_point.remove();
-			}
-		} else {
-			if (m_point.isEmpty())
-				return createPoint();
-			else
-				return m_point.remove();
-		}
+		return m_point.get();
+	}
+
+	/**
+	 * Acquires a cached {@link Point} from the given scope. The point is returned
+	 * to the cache when the scope is closed.
+	 * 
+	 * @param i_scope the scope
+	 * @return a cached point
+	 * @see Math3DCache#beginScope()
+	 */
+	public static Point getPoint(Scope i_scope) {
+
+		return i_scope.acquire(m_point);
 	}
 
 	/**
@@ -360,19 +241,20 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static Rectangle getRectangle() {
 
-		if (m_synchronized) {
-			synchronized (m_rectangle) {
-				if (m_rectangle.isEmpty())
-					return createRectangle();
-				else
-					return m_rectangle.remove();
-			}
-		} else {
-			if (m_rectangle.isEmpty())
-				return createRectangle();
-			else
-				return m_rectangle.remove();
-		}
+		return m_rectangle.get();
+	}
+
+	/**
+	 * Acquires a cached {@link Rectangle} from the given scope. The rectangle is
+	 * returned to the cache when the scope is closed.
+	 * 
+	 * @param i_scope the scope
+	 * @return a cached rectangle
+	 * @see Math3DCache#beginScope()
+	 */
+	public static Rectangle getRectangle(Scope i_scope) {
+
+		return i_scope.acquire(m_rectangle);
 	}
 
 	/**
@@ -383,21 +265,8 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static void returnByteBuffer(ByteBuffer... i_bs) {
 
-		if (m_synchronized) {
-			synchronized (m_floatBuffer) {
-				for (ByteBuffer b : i_bs)
-					if (b != null)
-						doReturnBuffer(m_byteBuffer, b);
-			}
-		} else {
-			for (ByteBuffer b : i_bs)
-				if (b != null)
-					doReturnBuffer(m_byteBuffer, b);
-		}
-
-		if (m_count && m_byteBuffer.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " byte buffers");
+		for (ByteBuffer b : i_bs)
+			m_byteBuffer.put(b);
 	}
 
 	/**
@@ -408,46 +277,20 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static void returnDimension(Dimension... i_ds) {
 
-		if (m_synchronized)
-			synchronized (m_dimension) {
-				for (Dimension d : i_ds)
-					if (d != null)
-						m_dimension.offer(d);
-			}
-		else
-			for (Dimension d : i_ds)
-				if (d != null)
-					m_dimension.offer(d);
-
-		if (m_count && m_dimension.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " dimensions");
+		for (Dimension d : i_ds)
+			m_dimension.put(d);
 	}
 
 	/**
-	 * Returns the given double buffers to the cache. If any of the given
-	 * buffers is <code>null</code>, it is ignored.
+	 * Returns the given double buffers to the cache. If any of the given buffers
+	 * is <code>null</code>, it is ignored.
 	 * 
 	 * @param i_bs the buffers to return
 	 */
 	public static void returnDoubleBuffer(DoubleBuffer... i_bs) {
 
-		if (m_synchronized) {
-			synchronized (m_doubleBuffer) {
-				for (DoubleBuffer b : i_bs)
-					if (b != null)
-						doReturnBuffer(m_doubleBuffer, b);
-			}
-		} else {
-			for (DoubleBuffer b : i_bs)
-				if (b != null)
-					doReturnBuffer(m_doubleBuffer, b);
-		}
-
-		if (m_count && m_doubleBuffer.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " double buffers");
-
+		for (DoubleBuffer b : i_bs)
+			m_doubleBuffer.put(b);
 	}
 
 	/**
@@ -458,21 +301,8 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static void returnFloatBuffer(FloatBuffer... i_bs) {
 
-		if (m_synchronized) {
-			synchronized (m_floatBuffer) {
-				for (FloatBuffer b : i_bs)
-					if (b != null)
-						doReturnBuffer(m_floatBuffer, b);
-			}
-		} else {
-			for (FloatBuffer b : i_bs)
-				if (b != null)
-					doReturnBuffer(m_floatBuffer, b);
-		}
-
-		if (m_count && m_floatBuffer.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " float buffers");
+		for (FloatBuffer b : i_bs)
+			m_floatBuffer.put(b);
 	}
 
 	/**
@@ -483,45 +313,20 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static void returnIntBuffer(IntBuffer... i_bs) {
 
-		if (m_synchronized) {
-			synchronized (m_intBuffer) {
-				for (IntBuffer b : i_bs)
-					if (b != null)
-						doReturnBuffer(m_intBuffer, b);
-			}
-		} else {
-			for (IntBuffer b : i_bs)
-				if (b != null)
-					doReturnBuffer(m_intBuffer, b);
-		}
-
-		if (m_count && m_intBuffer.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " int buffers");
+		for (IntBuffer b : i_bs)
+			m_intBuffer.put(b);
 	}
 
 	/**
-	 * Returns the given points to the cache. If any of the given points is
-	 * <code>null</code>, it is ignored.
+	 * Returns the given points to the cache. If any of the given points
+	 * is <code>null</code>, it is ignored.
 	 * 
 	 * @param i_ps the points to return
 	 */
 	public static void returnPoint(Point... i_ps) {
 
-		if (m_synchronized)
-			synchronized (m_point) {
-				for (Point p : i_ps)
-					if (p != null)
-						m_point.offer(p);
-			}
-		else
-			for (Point p : i_ps)
-				if (p != null)
-					m_point.offer(p);
-
-		if (m_count && m_point.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " points");
+		for (Point p : i_ps)
+			m_point.put(p);
 	}
 
 	/**
@@ -532,19 +337,7 @@ public class Draw3DCache extends Math3DCache {
 	 */
 	public static void returnRectangle(Rectangle... i_rs) {
 
-		if (m_synchronized)
-			synchronized (m_rectangle) {
-				for (Rectangle r : i_rs)
-					if (r != null)
-						m_rectangle.offer(r);
-			}
-		else
-			for (Rectangle r : i_rs)
-				if (r != null)
-					m_rectangle.offer(r);
-
-		if (m_count && m_rectangle.size() > m_instanceThreshold)
-			log.warning("cache contains more than " + m_instanceThreshold
-				+ " rectangles");
+		for (Rectangle r : i_rs)
+			m_rectangle.put(r);
 	}
 }
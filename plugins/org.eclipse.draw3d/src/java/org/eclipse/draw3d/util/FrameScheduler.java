@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+/**
+ * Coalesces render requests and limits the frame rate. A request only has to
+ * be scheduled if {@link #request()} returns <code>true</code>, all further
+ * requests are handled by the same frame until it is taken with
+ * {@link #take()}. The delay that is needed to keep the target frame rate is
+ * calculated from the start time of the last frame.
+ * <p>
+ * This class does not execute anything itself, so it does not depend on a
+ * display or an OpenGL context. Times are passed in nanoseconds as returned
+ * by {@link System#nanoTime()}. Instances are thread safe.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class FrameScheduler {
+
+	private boolean m_framed = false;
+
+	private long m_lastFrame;
+
+	private boolean m_pending = false;
+
+	private int m_targetFps;
+
+	/**
+	 * Creates a new scheduler.
+	 *
+	 * @param i_targetFps the maximum number of frames per second, a value
+	 *            less than or equal to 0 disables the limit
+	 */
+	public FrameScheduler(int i_targetFps) {
+
+		m_targetFps = i_targetFps;
+	}
+
+	/**
+	 * Cancels a pending frame, e.g. because a frame is rendered immediately.
+	 */
+	public synchronized void cancel() {
+
+		m_pending = false;
+	}
+
+	/**
+	 * Records that a frame was started at the given time.
+	 *
+	 * @param i_nanoTime the start time of the frame
+	 */
+	public synchronized void frameStarted(long i_nanoTime) {
+
+		m_lastFrame = i_nanoTime;
+		m_framed = true;
+	}
+
+	/**
+	 * Returns the delay until the next frame can be started without exceeding
+	 * the target frame rate. The delay is rounded up to full milliseconds.
+	 *
+	 * @param i_nanoTime the current time
+	 * @return the delay in milliseconds, may be 0
+	 */
+	public synchronized int getDelay(long i_nanoTime) {
+
+		if (m_targetFps <= 0 || !m_framed)
+			return 0;
+
+		long interval = 1000000000L / m_targetFps;
+		long remaining = interval - (i_nanoTime - m_lastFrame);
+		if (remaining <= 0)
+			return 0;
+
+		return (int) ((remaining + 999999L) / 1000000L);
+	}
+
+	/**
+	 * Returns the target frame rate.
+	 *
+	 * @return the maximum number of frames per second, a value less than or
+	 *         equal to 0 indicates that the frame rate is not limited
+	 */
+	public synchronized int getTargetFps() {
+
+		return m_targetFps;
+	}
+
+	/**
+	 * Indicates whether a frame was requested but not taken yet.
+	 *
+	 * @return <code>true</code> if a frame is pending
+	 */
+	public synchronized boolean isPending() {
+
+		return m_pending;
+	}
+
+	/**
+	 * Requests a frame.
+	 *
+	 * @return <code>true</code> if the frame has to be scheduled or
+	 *         <code>false</code> if a frame is already pending, which will
+	 *         handle this request as well
+	 */
+	public synchronized boolean request() {
+
+		if (m_pending)
+			return false;
+
+		m_pending = true;
+		return true;
+	}
+
+	/**
+	 * Sets the target frame rate.
+	 *
+	 * @param i_targetFps the maximum number of frames per second, a value
+	 *            less than or equal to 0 disables the limit
+	 */
+	public synchronized void setTargetFps(int i_targetFps) {
+
+		m_targetFps = i_targetFps;
+	}
+
+	/**
+	 * Takes the pending frame. This is called when a scheduled frame is
+	 * executed, a frame that was cancelled in the meantime must not be
+	 * rendered.
+	 *
+	 * @return <code>true</code> if a frame was pending and has to be rendered
+	 *         or <code>false</code> if it was cancelled
+	 */
+	public synchronized boolean take() {
+
+		if (!m_pending)
+			return false;
+
+		m_pending = false;
+		return true;
+	}
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+/**
+ * Loads the glyph pages of a font on demand. A glyph page contains the glyphs
+ * of <code>2^pageBits</code> consecutive code points and is created when one
+ * of its code points is used for the first time. If the maximum number of
+ * pages is loaded, the least recently used page that is not
+ * {@link #acquire(int) acquired} is deleted before a new page is created (see
+ * {@link LruCache}).
+ * <p>
+ * Text usually consists of characters of a single page, so the page that was
+ * used last is returned without a lookup. Instances are not thread safe.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ * @param <P> the type of the glyph pages
+ */
+public abstract class GlyphPageCache<P> {
+
+	/**
+	 * The page that was used last, which saves the page lookup for subsequent
+	 * characters of the same page.
+	 */
+	private P m_lastPage;
+
+	private int m_lastPageIndex;
+
+	private final int m_pageBits;
+
+	private final LruCache<Integer, P> m_pages;
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param i_pageBits the number of bits of a code point that select the
+	 *            glyph within its page
+	 * @param i_maxPages the number of pages up to which no page is deleted
+	 * @throws IllegalArgumentException if the number of bits is not between 1
+	 *             and 20 or if the maximum number of pages is not positive
+	 */
+	public GlyphPageCache(int i_pageBits, int i_maxPages) {
+
+		if (i_pageBits < 1 || i_pageBits > 20)
+			throw new IllegalArgumentException("invalid page bits: "
+				+ i_pageBits);
+
+		m_pageBits = i_pageBits;
+		m_pages = new LruCache<Integer, P>(i_maxPages);
+	}
+
+	/**
+	 * Acquires the page that contains the given code point, which loads the
+	 * page if necessary. An acquired page is not deleted until it is
+	 * {@link #release(int) released} as often as it was acquired.
+	 *
+	 * @param i_codePoint the code point
+	 */
+	public void acquire(int i_codePoint) {
+
+		get(i_codePoint);
+		m_pages.acquire(Integer.valueOf(getPageIndex(i_codePoint)));
+	}
+
+	/**
+	 * Deletes all pages, including the acquired ones.
+	 */
+	public void clear() {
+
+		for (P page : m_pages.values())
+			deletePage(page);
+
+		m_pages.clear();
+		m_lastPage = null;
+	}
+
+	/**
+	 * Creates the page with the given index.
+	 *
+	 * @param i_page the page index
+	 * @return the page
+	 */
+	protected abstract P createPage(int i_page);
+
+	/**
+	 * Deletes the given page, which was evicted or cleared, and frees its
+	 * resources.
+	 *
+	 * @param i_page the page to delete
+	 */
+	protected abstract void deletePage(P i_page);
+
+	/**
+	 * Returns the page that contains the given code point. If the page is not
+	 * loaded yet, it is created. Unless the page is acquired, it may be
+	 * deleted as soon as another page is loaded.
+	 *
+	 * @param i_codePoint the code point
+	 * @return the page
+	 */
+	public P get(int i_codePoint) {
+
+		int index = getPageIndex(i_codePoint);
+		if (m_lastPage != null && m_lastPageIndex == index)
+			return m_lastPage;
+
+		Integer key = Integer.valueOf(index);
+		P page = m_pages.get(key);
+		if (page == null) {
+			m_lastPage = null;
+			if (m_pages.isFull()) {
+				P lru = m_pages.evict();
+				if (lru != null)
+					deletePage(lru);
+			}
+
+			page = createPage(index);
+			m_pages.put(key, page);
+		}
+
+		m_lastPage = page;
+		m_lastPageIndex = index;
+
+		return page;
+	}
+
+	/**
+	 * Returns the index of the glyph of the given code point within its page.
+	 *
+	 * @param i_codePoint the code point
+	 * @return the glyph index
+	 */
+	public int getGlyphIndex(int i_codePoint) {
+
+		return i_codePoint & ((1 << m_pageBits) - 1);
+	}
+
+	/**
+	 * Returns the number of loaded pages.
+	 *
+	 * @return the number of pages
+	 */
+	public int getPageCount() {
+
+		return m_pages.size();
+	}
+
+	/**
+	 * Returns the index of the page that contains the given code point.
+	 *
+	 * @param i_codePoint the code point
+	 * @return the page index
+	 */
+	public int getPageIndex(int i_codePoint) {
+
+		return i_codePoint >>> m_pageBits;
+	}
+
+	/**
+	 * Releases a page that was acquired by {@link #acquire(int)}.
+	 *
+	 * @param i_codePoint the code point that was passed to
+	 *            {@link #acquire(int)}
+	 * @throws IllegalStateException if the page is not acquired
+	 */
+	public void release(int i_codePoint) {
+
+		Integer key = Integer.valueOf(getPageIndex(i_codePoint));
+		if (m_pages.getReferences(key) == 0)
+			throw new IllegalStateException("glyph page of " + i_codePoint
+				+ " is not acquired");
+
+		m_pages.release(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "GlyphPageCache[page size: " + (1 << m_pageBits)
+			+ ", pages: " + m_pages + "]";
+	}
+}
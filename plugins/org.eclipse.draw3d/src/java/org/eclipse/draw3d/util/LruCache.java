@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of values that hold resources, e.g. textures, which are evicted in
+ * least recently used order. A value is used when it is returned by
+ * {@link #get(Object)} or {@link #acquire(Object)}. Acquired values are
+ * referenced by other objects and are never evicted until they are released
+ * as often as they were acquired.
+ * <p>
+ * The cache does not evict values by itself. Before a value is added, the
+ * owner checks the capacity and {@link #evict() evicts} a value, whose
+ * resources it frees. If all values are acquired, nothing can be evicted and
+ * the cache grows beyond its capacity. Instances are not thread safe.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LruCache<K, V> {
+
+	private final int m_capacity;
+
+	/**
+	 * The reference counts of the acquired values.
+	 */
+	private final Map<K, Integer> m_references = new HashMap<K, Integer>();
+
+	/**
+	 * The values in access order, so that the first value is the least
+	 * recently used one.
+	 */
+	private final Map<K, V> m_values;
+
+	/**
+	 * Creates a new cache with the given capacity.
+	 *
+	 * @param i_capacity the number of values up to which no value needs to be
+	 *            evicted
+	 * @throws IllegalArgumentException if the given capacity is not positive
+	 */
+	public LruCache(int i_capacity) {
+
+		if (i_capacity <= 0)
+			throw new IllegalArgumentException(
+				"capacity must be positive: " + i_capacity);
+
+		m_capacity = i_capacity;
+		m_values = new LinkedHashMap<K, V>(i_capacity, 0.75f, true);
+	}
+
+	/**
+	 * Acquires the value with the given key, which marks it as used. An
+	 * acquired value is not evicted until it is {@link #release(Object)
+	 * released}.
+	 *
+	 * @param i_key the key
+	 * @throws IllegalArgumentException if this cache does not contain a value
+	 *             with the given key
+	 */
+	public void acquire(K i_key) {
+
+		if (m_values.get(i_key) == null)
+			throw new IllegalArgumentException("no value for key " + i_key);
+
+		m_references.put(i_key, Integer.valueOf(getReferences(i_key) + 1));
+	}
+
+	/**
+	 * Removes all values without evicting them. The owner is responsible for
+	 * freeing their resources.
+	 */
+	public void clear() {
+
+		m_values.clear();
+		m_references.clear();
+	}
+
+	/**
+	 * Removes the least recently used value that is not acquired.
+	 *
+	 * @return the removed value or <code>null</code> if all values are
+	 *         acquired
+	 */
+	public V evict() {
+
+		Iterator<Map.Entry<K, V>> entries = m_values.entrySet().iterator();
+		while (entries.hasNext()) {
+			Map.Entry<K, V> entry = entries.next();
+			if (!m_references.containsKey(entry.getKey())) {
+				entries.remove();
+				return entry.getValue();
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the value with the given key and marks it as used.
+	 *
+	 * @param i_key the key
+	 * @return the value or <code>null</code> if this cache does not contain a
+	 *         value with the given key
+	 */
+	public V get(K i_key) {
+
+		return m_values.get(i_key);
+	}
+
+	/**
+	 * Returns the number of values up to which no value needs to be evicted.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+
+		return m_capacity;
+	}
+
+	/**
+	 * Returns how often the value with the given key is acquired.
+	 *
+	 * @param i_key the key
+	 * @return the reference count, which is <code>0</code> if the value is not
+	 *         acquired or if there is no value with the given key
+	 */
+	public int getReferences(K i_key) {
+
+		Integer references = m_references.get(i_key);
+		return references != null ? references.intValue() : 0;
+	}
+
+	/**
+	 * Indicates whether this cache has reached its capacity, so that a value
+	 * should be evicted before another one is added.
+	 *
+	 * @return <code>true</code> if this cache is full
+	 */
+	public boolean isFull() {
+
+		return m_values.size() >= m_capacity;
+	}
+
+	/**
+	 * Adds the given value, which is the most recently used one afterwards.
+	 * This cache must not contain a value with the given key yet.
+	 *
+	 * @param i_key the key
+	 * @param i_value the value
+	 * @throws NullPointerException if the given value is <code>null</code>
+	 * @throws IllegalArgumentException if this cache already contains a value
+	 *             with the given key
+	 */
+	public void put(K i_key, V i_value) {
+
+		if (i_value == null)
+			throw new NullPointerException("i_value must not be null");
+
+		if (m_values.containsKey(i_key))
+			throw new IllegalArgumentException("duplicate key " + i_key);
+
+		m_values.put(i_key, i_value);
+	}
+
+	/**
+	 * Releases the value with the given key, which was acquired by
+	 * {@link #acquire(Object)}.
+	 *
+	 * @param i_key the key
+	 * @throws IllegalStateException if the value is not acquired
+	 */
+	public void release(K i_key) {
+
+		int references = getReferences(i_key);
+		if (references == 0)
+			throw new IllegalStateException("value for key " + i_key
+				+ " is not acquired");
+
+		if (references == 1)
+			m_references.remove(i_key);
+		else
+			m_references.put(i_key, Integer.valueOf(references - 1));
+	}
+
+	/**
+	 * Returns the number of values.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+
+		return m_values.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "LruCache[capacity: " + m_capacity + ", values: "
+			+ m_values.size() + ", acquired: " + m_references.size() + "]";
+	}
+
+	/**
+	 * Returns an unmodifiable view of the values in least recently used
+	 * order. Iterating over the view does not mark the values as used, but
+	 * the view must not be iterated while values are used, added or evicted.
+	 *
+	 * @return the values
+	 */
+	public Collection<V> values() {
+
+		return Collections.unmodifiableCollection(m_values.values());
+	}
+}
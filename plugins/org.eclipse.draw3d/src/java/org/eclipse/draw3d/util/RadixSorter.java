@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+/**
+ * Sorts objects by float keys using a least significant digit radix sort. The
+ * keys are converted to integers whose unsigned order is the order of
+ * {@link Float#compare(float, float)}, so <code>-0</code> is smaller than
+ * <code>0</code> and <code>NaN</code> is greater than any other key. The sort
+ * is stable, i.e. objects with equal keys keep the order in which they were
+ * added.
+ * <p>
+ * The arrays used for sorting grow as needed and are reused, so an instance
+ * that is used to sort collections of similar size over and over does not
+ * allocate any memory. Instances are not thread safe.
+ * </p>
+ *
+ * <pre>
+ * sorter.clear();
+ * for (...)
+ * 	sorter.add(value, key);
+ * sorter.sortDescending();
+ * for (int i = 0; i &lt; sorter.size(); i++)
+ * 	... sorter.get(i) ...
+ * sorter.clear();
+ * </pre>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ * @param <T> the type of the sorted objects
+ */
+public class RadixSorter<T> {
+
+	private static final int BITS = 8;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private static final int MASK = (1 << BITS) - 1;
+
+	private final int[] m_counts = new int[1 << BITS];
+
+	private int[] m_keys = new int[INITIAL_CAPACITY];
+
+	private int m_size = 0;
+
+	private int[] m_tmpKeys = new int[INITIAL_CAPACITY];
+
+	private Object[] m_tmpValues = new Object[INITIAL_CAPACITY];
+
+	private Object[] m_values = new Object[INITIAL_CAPACITY];
+
+	/**
+	 * Adds the given object with the given key.
+	 *
+	 * @param i_value the object to add, may be <code>null</code>
+	 * @param i_key the sort key of the object
+	 */
+	public void add(T i_value, float i_key) {
+
+		if (m_size == m_keys.length)
+			grow();
+
+		// flip all bits of negative numbers and only the sign bit of positive
+		// numbers so that the unsigned order of the keys is the float order
+		int bits = Float.floatToIntBits(i_key);
+		m_keys[m_size] = bits ^ ((bits >> 31) | 0x80000000);
+		m_values[m_size] = i_value;
+		m_size++;
+	}
+
+	/**
+	 * Removes all objects. The references to the objects are released, but
+	 * the arrays are kept for the next sort.
+	 */
+	public void clear() {
+
+		for (int i = 0; i < m_size; i++)
+			m_values[i] = null;
+
+		m_size = 0;
+	}
+
+	/**
+	 * Returns the object at the given index.
+	 *
+	 * @param i_index the index
+	 * @return the object at the given index
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int i_index) {
+
+		if (i_index < 0 || i_index >= m_size)
+			throw new IndexOutOfBoundsException("index out of bounds: "
+				+ i_index);
+
+		return (T) m_values[i_index];
+	}
+
+	private void grow() {
+
+		int capacity = m_keys.length * 2;
+
+		int[] keys = new int[capacity];
+		System.arraycopy(m_keys, 0, keys, 0, m_size);
+		m_keys = keys;
+
+		Object[] values = new Object[capacity];
+		System.arraycopy(m_values, 0, values, 0, m_size);
+		m_values = values;
+
+		m_tmpKeys = new int[capacity];
+		m_tmpValues = new Object[capacity];
+	}
+
+	private void invert() {
+
+		for (int i = 0; i < m_size; i++)
+			m_keys[i] = ~m_keys[i];
+	}
+
+	/**
+	 * Returns the number of objects.
+	 *
+	 * @return the number of objects
+	 */
+	public int size() {
+
+		return m_size;
+	}
+
+	private void sort() {
+
+		for (int shift = 0; shift < 32; shift += BITS) {
+			for (int i = 0; i < m_counts.length; i++)
+				m_counts[i] = 0;
+
+			for (int i = 0; i < m_size; i++)
+				m_counts[(m_keys[i] >>> shift) & MASK]++;
+
+			// skip digits that are equal for all keys, which is usual for the
+			// exponent of keys of similar magnitude
+			if (m_counts[(m_keys[0] >>> shift) & MASK] == m_size)
+				continue;
+
+			int offset = 0;
+			for (int i = 0; i < m_counts.length; i++) {
+				int count = m_counts[i];
+				m_counts[i] = offset;
+				offset += count;
+			}
+
+			for (int i = 0; i < m_size; i++) {
+				int index = m_counts[(m_keys[i] >>> shift) & MASK]++;
+				m_tmpKeys[index] = m_keys[i];
+				m_tmpValues[index] = m_values[i];
+			}
+
+			int[] keys = m_keys;
+			m_keys = m_tmpKeys;
+			m_tmpKeys = keys;
+
+			Object[] values = m_values;
+			m_values = m_tmpValues;
+			m_tmpValues = values;
+		}
+
+		for (int i = 0; i < m_size; i++)
+			m_tmpValues[i] = null;
+	}
+
+	/**
+	 * Sorts the objects by their keys in ascending order.
+	 */
+	public void sortAscending() {
+
+		if (m_size < 2)
+			return;
+
+		sort();
+	}
+
+	/**
+	 * Sorts the objects by their keys in descending order. Objects with equal
+	 * keys keep the order in which they were added.
+	 */
+	public void sortDescending() {
+
+		if (m_size < 2)
+			return;
+
+		// the complement reverses the order of the keys
+		invert();
+		sort();
+		invert();
+	}
+}
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+/**
+ * Manages the free ranges of a memory block of fixed capacity, e.g. of a
+ * buffer object. Ranges are allocated first fit and their offsets and sizes
+ * are rounded to a multiple of the alignment. Released ranges are merged with
+ * their free neighbours, so that a block whose ranges were all released is a
+ * single free range again.
+ * <p>
+ * The free ranges are kept in two arrays sorted by offset, so neither
+ * allocating nor releasing a range creates any objects unless the arrays must
+ * grow. Instances are not thread safe.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class RangeAllocator {
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private final int m_alignment;
+
+	private final int m_capacity;
+
+	private int m_count;
+
+	private int m_freeSize;
+
+	private int[] m_offsets = new int[INITIAL_CAPACITY];
+
+	private int[] m_sizes = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Creates a new allocator for a block of the given capacity.
+	 *
+	 * @param i_capacity the capacity of the block
+	 * @param i_alignment the alignment of the allocated ranges, which must be
+	 *            a power of two
+	 * @throws IllegalArgumentException if the capacity is not positive, if
+	 *             the alignment is not a power of two or if the capacity is
+	 *             not a multiple of the alignment
+	 */
+	public RangeAllocator(int i_capacity, int i_alignment) {
+
+		if (i_capacity <= 0)
+			throw new IllegalArgumentException("capacity must be positive: "
+				+ i_capacity);
+
+		if (i_alignment <= 0 || (i_alignment & (i_alignment - 1)) != 0)
+			throw new IllegalArgumentException(
+				"alignment must be a power of two: " + i_alignment);
+
+		if (i_capacity % i_alignment != 0)
+			throw new IllegalArgumentException("capacity " + i_capacity
+				+ " is not a multiple of the alignment " + i_alignment);
+
+		m_capacity = i_capacity;
+		m_alignment = i_alignment;
+
+		m_offsets[0] = 0;
+		m_sizes[0] = i_capacity;
+		m_count = 1;
+		m_freeSize = i_capacity;
+	}
+
+	/**
+	 * Allocates a range of the given size.
+	 *
+	 * @param i_size the size of the range
+	 * @return the offset of the range or <code>-1</code> if there is no free
+	 *         range that is large enough
+	 * @throws IllegalArgumentException if the given size is not positive
+	 */
+	public int allocate(int i_size) {
+
+		int size = align(i_size);
+		for (int i = 0; i < m_count; i++) {
+			if (m_sizes[i] >= size) {
+				int offset = m_offsets[i];
+				if (m_sizes[i] == size) {
+					remove(i);
+				} else {
+					m_offsets[i] += size;
+					m_sizes[i] -= size;
+				}
+
+				m_freeSize -= size;
+				return offset;
+			}
+		}
+
+		return -1;
+	}
+
+	private int align(int i_size) {
+
+		if (i_size <= 0)
+			throw new IllegalArgumentException("size must be positive: "
+				+ i_size);
+
+		return (i_size + m_alignment - 1) & ~(m_alignment - 1);
+	}
+
+	/**
+	 * Releases the range with the given offset and size, which must have been
+	 * allocated by this allocator.
+	 *
+	 * @param i_offset the offset of the range
+	 * @param i_size the size of the range, as passed to
+	 *            {@link #allocate(int)}
+	 * @throws IllegalArgumentException if the given range was not allocated
+	 *             or overlaps a free range
+	 */
+	public void free(int i_offset, int i_size) {
+
+		int size = align(i_size);
+		if (i_offset < 0 || i_offset % m_alignment != 0
+			|| i_offset + size > m_capacity)
+			throw new IllegalArgumentException("invalid range: " + i_offset
+				+ ", " + i_size);
+
+		// index of the first free range behind the released range
+		int index = 0;
+		while (index < m_count && m_offsets[index] < i_offset)
+			index++;
+
+		boolean mergePrevious =
+			index > 0 && checkEnd(index - 1, i_offset) == i_offset;
+		boolean mergeNext =
+			index < m_count && checkStart(index, i_offset + size);
+
+		if (mergePrevious && mergeNext) {
+			m_sizes[index - 1] += size + m_sizes[index];
+			remove(index);
+		} else if (mergePrevious) {
+			m_sizes[index - 1] += size;
+		} else if (mergeNext) {
+			m_offsets[index] = i_offset;
+			m_sizes[index] += size;
+		} else {
+			insert(index, i_offset, size);
+		}
+
+		m_freeSize += size;
+	}
+
+	private int checkEnd(int i_index, int i_offset) {
+
+		int end = m_offsets[i_index] + m_sizes[i_index];
+		if (end > i_offset)
+			throw new IllegalArgumentException("range at " + i_offset
+				+ " overlaps a free range");
+
+		return end;
+	}
+
+	private boolean checkStart(int i_index, int i_end) {
+
+		int start = m_offsets[i_index];
+		if (start < i_end)
+			throw new IllegalArgumentException("range ending at " + i_end
+				+ " overlaps a free range");
+
+		return start == i_end;
+	}
+
+	/**
+	 * Returns the capacity of the managed block.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+
+		return m_capacity;
+	}
+
+	/**
+	 * Returns the number of free bytes, which may be spread over several free
+	 * ranges.
+	 *
+	 * @return the number of free bytes
+	 */
+	public int getFreeSize() {
+
+		return m_freeSize;
+	}
+
+	private void insert(int i_index, int i_offset, int i_size) {
+
+		if (m_count == m_offsets.length) {
+			int[] offsets = new int[m_count * 2];
+			System.arraycopy(m_offsets, 0, offsets, 0, m_count);
+			m_offsets = offsets;
+
+			int[] sizes = new int[m_count * 2];
+			System.arraycopy(m_sizes, 0, sizes, 0, m_count);
+			m_sizes = sizes;
+		}
+
+		System.arraycopy(m_offsets, i_index, m_offsets, i_index + 1, m_count
+			- i_index);
+		System.arraycopy(m_sizes, i_index, m_sizes, i_index + 1, m_count
+			- i_index);
+
+		m_offsets[i_index] = i_offset;
+		m_sizes[i_index] = i_size;
+		m_count++;
+	}
+
+	/**
+	 * Indicates whether no range is currently allocated.
+	 *
+	 * @return <code>true</code> if the whole block is free and
+	 *         <code>false</code> otherwise
+	 */
+	public boolean isEmpty() {
+
+		return m_freeSize == m_capacity;
+	}
+
+	private void remove(int i_index) {
+
+		System.arraycopy(m_offsets, i_index + 1, m_offsets, i_index, m_count
+			- i_index - 1);
+		System.arraycopy(m_sizes, i_index + 1, m_sizes, i_index, m_count
+			- i_index - 1);
+		m_count--;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "RangeAllocator[capacity: " + m_capacity + ", free: "
+			+ m_freeSize + ", free ranges: " + m_count + "]";
+	}
+}
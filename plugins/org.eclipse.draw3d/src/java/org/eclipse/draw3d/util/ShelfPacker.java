@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs rectangles into a square area, e.g. images into a texture, using shelf
+ * packing. The area is divided into horizontal shelves whose height is the
+ * height of the rectangle that opened them. A rectangle is placed on the
+ * lowest shelf that is high enough and has enough room left, so that little
+ * space is wasted above it. If there is no such shelf, a new shelf is opened
+ * below the existing ones. Space is never reclaimed, instances are not thread
+ * safe.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class ShelfPacker {
+
+	private static final int SHELF_HEIGHT = 2;
+
+	private static final int SHELF_X = 0;
+
+	private static final int SHELF_Y = 1;
+
+	private final List<int[]> m_shelves = new ArrayList<int[]>();
+
+	private final int m_size;
+
+	private int m_top;
+
+	/**
+	 * Creates a new packer for a square area of the given size.
+	 *
+	 * @param i_size the width and height of the area
+	 * @throws IllegalArgumentException if the given size is not positive
+	 */
+	public ShelfPacker(int i_size) {
+
+		if (i_size <= 0)
+			throw new IllegalArgumentException("size must be positive: "
+				+ i_size);
+
+		m_size = i_size;
+	}
+
+	/**
+	 * Returns the number of shelves.
+	 *
+	 * @return the number of shelves
+	 */
+	public int getShelfCount() {
+
+		return m_shelves.size();
+	}
+
+	/**
+	 * Returns the width and height of the area.
+	 *
+	 * @return the size of the area
+	 */
+	public int getSize() {
+
+		return m_size;
+	}
+
+	/**
+	 * Finds a free place for a rectangle of the given size.
+	 *
+	 * @param i_width the width of the rectangle
+	 * @param i_height the height of the rectangle
+	 * @param o_position an array that receives the X and Y coordinates of the
+	 *            top left corner of the placed rectangle
+	 * @return <code>true</code> if the rectangle was placed or
+	 *         <code>false</code> if there is no room left for it
+	 * @throws IllegalArgumentException if the width or the height is not
+	 *             positive
+	 */
+	public boolean place(int i_width, int i_height, int[] o_position) {
+
+		if (i_width <= 0 || i_height <= 0)
+			throw new IllegalArgumentException("invalid size: " + i_width
+				+ ", " + i_height);
+
+		int[] best = null;
+		for (int i = 0; i < m_shelves.size(); i++) {
+			int[] shelf = m_shelves.get(i);
+			if (shelf[SHELF_HEIGHT] < i_height
+				|| m_size - shelf[SHELF_X] < i_width)
+				continue;
+
+			if (best == null || shelf[SHELF_HEIGHT] < best[SHELF_HEIGHT])
+				best = shelf;
+		}
+
+		if (best == null) {
+			if (i_width > m_size || i_height > m_size - m_top)
+				return false;
+
+			best = new int[] { 0, m_top, i_height };
+			m_shelves.add(best);
+			m_top += i_height;
+		}
+
+		o_position[0] = best[SHELF_X];
+		o_position[1] = best[SHELF_Y];
+		best[SHELF_X] += i_width;
+
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "ShelfPacker[size: " + m_size + ", shelves: "
+			+ m_shelves.size() + ", top: " + m_top + "]";
+	}
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+/**
+ * Computes signed distance fields of binary masks, e.g. of rasterized glyphs.
+ * A distance field stores the distance of every pixel to the closest edge of
+ * the shape, with the distance being negative outside of the shape. When such
+ * a field is used as an alpha texture with linear filtering and an alpha test
+ * at the edge value, the shape stays sharp at any magnification.
+ * <p>
+ * The distances are computed with the exact euclidean distance transform by
+ * Felzenszwalb and Huttenlocher, which takes linear time. The mask may be
+ * supersampled, i.e. have a higher resolution than the field, which improves
+ * the accuracy of the edges considerably.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class SignedDistanceField {
+
+	/**
+	 * The field value of the pixels on the edge of the shape. Larger values
+	 * are inside of the shape, smaller values are outside.
+	 */
+	public static final int EDGE = 128;
+
+	private static final float INFINITY = 1e20f;
+
+	/**
+	 * Computes the squared euclidean distance transform of the given row or
+	 * column in place.
+	 *
+	 * @param io_f the squared distances, read and written at the given offset
+	 *            and stride
+	 * @param i_offset the index of the first element
+	 * @param i_stride the distance between two elements
+	 * @param i_n the number of elements
+	 * @param v the locations of the parabolas of the lower envelope
+	 * @param z the boundaries between the parabolas
+	 * @param d the temporary result
+	 */
+	private static void transform(float[] io_f, int i_offset, int i_stride,
+		int i_n, int[] v, float[] z, float[] d) {
+
+		int k = 0;
+		v[0] = 0;
+		z[0] = -INFINITY;
+		z[1] = INFINITY;
+
+		for (int q = 1; q < i_n; q++) {
+			float fq = io_f[i_offset + q * i_stride];
+			float s = intersect(io_f, i_offset, i_stride, v[k], q, fq);
+			while (s <= z[k]) {
+				k--;
+				s = intersect(io_f, i_offset, i_stride, v[k], q, fq);
+			}
+
+			k++;
+			v[k] = q;
+			z[k] = s;
+			z[k + 1] = INFINITY;
+		}
+
+		k = 0;
+		for (int q = 0; q < i_n; q++) {
+			while (z[k + 1] < q)
+				k++;
+
+			int p = v[k];
+			d[q] = (q - p) * (q - p) + io_f[i_offset + p * i_stride];
+		}
+
+		for (int q = 0; q < i_n; q++)
+			io_f[i_offset + q * i_stride] = d[q];
+	}
+
+	/**
+	 * Returns the location of the intersection of the parabolas that are
+	 * rooted at p and q.
+	 */
+	private static float intersect(float[] i_f, int i_offset, int i_stride,
+		int p, int q, float fq) {
+
+		float fp = i_f[i_offset + p * i_stride];
+		return ((fq + q * q) - (fp + p * p)) / (2 * q - 2 * p);
+	}
+
+	/**
+	 * Computes the squared distance of every pixel to the closest pixel whose
+	 * mask value equals the given value.
+	 */
+	private static float[] distances(boolean[] i_mask, boolean i_value,
+		int i_width, int i_height, int[] v, float[] z, float[] d) {
+
+		float[] f = new float[i_width * i_height];
+		for (int i = 0; i < f.length; i++)
+			f[i] = i_mask[i] == i_value ? 0 : INFINITY;
+
+		for (int x = 0; x < i_width; x++)
+			transform(f, x, i_width, i_height, v, z, d);
+
+		for (int y = 0; y < i_height; y++)
+			transform(f, y * i_width, 1, i_width, v, z, d);
+
+		return f;
+	}
+
+	/**
+	 * Computes the signed distance field of the given mask. Each field pixel
+	 * corresponds to a block of <code>i_scale</code> x <code>i_scale</code>
+	 * mask pixels, and its distance is the average distance of these mask
+	 * pixels. The distances are mapped to bytes so that {@link #EDGE} is the
+	 * edge of the shape, and a distance of <code>i_spread</code> field pixels
+	 * or more maps to 255 inside of the shape and to 0 outside.
+	 *
+	 * @param i_mask the mask, stored row by row, with <code>true</code>
+	 *            denoting pixels inside of the shape
+	 * @param i_width the width of the mask
+	 * @param i_height the height of the mask
+	 * @param i_scale the number of mask pixels per field pixel in each
+	 *            direction
+	 * @param i_spread the largest distance that can be represented, in field
+	 *            pixels
+	 * @param o_field the field, whose pixels are stored row by row with the
+	 *            given stride
+	 * @param i_offset the index of the first field pixel
+	 * @param i_stride the distance between the first pixels of two rows of
+	 *            the field
+	 * @throws NullPointerException if the mask or the field is
+	 *             <code>null</code>
+	 * @throws IllegalArgumentException if the mask size does not match the
+	 *             given dimensions, if the dimensions are not a multiple of
+	 *             the scale or if the scale or the spread is not positive
+	 * @throws IndexOutOfBoundsException if the field is too small
+	 */
+	public static void create(boolean[] i_mask, int i_width, int i_height,
+		int i_scale, float i_spread, byte[] o_field, int i_offset,
+		int i_stride) {
+
+		if (i_mask == null)
+			throw new NullPointerException("i_mask must not be null");
+
+		if (o_field == null)
+			throw new NullPointerException("o_field must not be null");
+
+		if (i_scale <= 0)
+			throw new IllegalArgumentException("scale must be positive: "
+				+ i_scale);
+
+		if (i_spread <= 0)
+			throw new IllegalArgumentException("spread must be positive: "
+				+ i_spread);
+
+		if (i_width <= 0 || i_height <= 0 || i_width % i_scale != 0
+			|| i_height % i_scale != 0)
+			throw new IllegalArgumentException("invalid dimensions: "
+				+ i_width + "x" + i_height + " with scale " + i_scale);
+
+		if (i_mask.length != i_width * i_height)
+			throw new IllegalArgumentException("mask has " + i_mask.length
+				+ " pixels instead of " + i_width * i_height);
+
+		int fieldWidth = i_width / i_scale;
+		int fieldHeight = i_height / i_scale;
+		int last = i_offset + (fieldHeight - 1) * i_stride + fieldWidth;
+		if (i_offset < 0 || last > o_field.length)
+			throw new IndexOutOfBoundsException("field is too small");
+
+		int n = Math.max(i_width, i_height);
+		int[] v = new int[n];
+		float[] z = new float[n + 1];
+		float[] d = new float[n];
+
+		float[] outside = distances(i_mask, true, i_width, i_height, v, z, d);
+		float[] inside = distances(i_mask, false, i_width, i_height, v, z, d);
+
+		// the average of a block in field pixels, scaled to the byte range
+		float factor = (EDGE - 0.5f) / (i_spread * i_scale * i_scale * i_scale);
+		for (int fy = 0; fy < fieldHeight; fy++) {
+			for (int fx = 0; fx < fieldWidth; fx++) {
+				float sum = 0;
+				for (int y = fy * i_scale; y < (fy + 1) * i_scale; y++) {
+					int index = y * i_width + fx * i_scale;
+					for (int x = 0; x < i_scale; x++, index++)
+						sum +=
+							(float) (Math.sqrt(inside[index]) - Math
+								.sqrt(outside[index]));
+				}
+
+				int value = Math.round(EDGE - 0.5f + sum * factor);
+				if (value < 0)
+					value = 0;
+				else if (value > 255)
+					value = 255;
+
+				o_field[i_offset + fy * i_stride + fx] = (byte) value;
+			}
+		}
+	}
+
+	private SignedDistanceField() {
+
+		// utility class
+	}
+}
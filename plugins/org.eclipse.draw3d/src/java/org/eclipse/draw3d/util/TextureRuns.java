@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+/**
+ * Sorts textured quads into runs of consecutive vertices that use the same
+ * texture, so that a batch of quads, e.g. the glyphs of a text, can be
+ * rendered with one draw call per texture instead of one per quad. The quads
+ * are added in two passes: the first pass {@link #count(int) counts} the
+ * quads per texture, then the runs are {@link #layout(int) laid out}, and the
+ * second pass determines the {@link #next(int) vertex index} of every quad.
+ * The runs are ordered by the first use of their texture. Instances are not
+ * thread safe.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class TextureRuns {
+
+	/**
+	 * The number of vertices of a quad.
+	 */
+	public static final int QUAD_VERTICES = 4;
+
+	private int m_count;
+
+	private int[] m_first = new int[4];
+
+	/**
+	 * The index of the next vertex of each run, which is only used while the
+	 * quads are added.
+	 */
+	private int[] m_next = new int[4];
+
+	private int[] m_quadCounts = new int[4];
+
+	private int[] m_textureIds = new int[4];
+
+	private static int[] grow(int[] i_array) {
+
+		int[] result = new int[2 * i_array.length];
+		System.arraycopy(i_array, 0, result, 0, i_array.length);
+		return result;
+	}
+
+	/**
+	 * Counts a quad that uses the given texture and creates a run for the
+	 * texture if necessary.
+	 *
+	 * @param i_textureId the texture ID
+	 */
+	public void count(int i_textureId) {
+
+		for (int i = 0; i < m_count; i++) {
+			if (m_textureIds[i] == i_textureId) {
+				m_quadCounts[i]++;
+				return;
+			}
+		}
+
+		if (m_count == m_textureIds.length) {
+			m_textureIds = grow(m_textureIds);
+			m_quadCounts = grow(m_quadCounts);
+			m_first = grow(m_first);
+			m_next = grow(m_next);
+		}
+
+		m_textureIds[m_count] = i_textureId;
+		m_quadCounts[m_count] = 1;
+		m_count++;
+	}
+
+	/**
+	 * Returns the index of the first vertex of the given run.
+	 *
+	 * @param i_run the run index
+	 * @return the first vertex index
+	 */
+	public int getFirst(int i_run) {
+
+		return m_first[i_run];
+	}
+
+	private int getRun(int i_textureId) {
+
+		for (int i = 0; i < m_count; i++)
+			if (m_textureIds[i] == i_textureId)
+				return i;
+
+		throw new IllegalArgumentException("no quad was counted for texture "
+			+ i_textureId);
+	}
+
+	/**
+	 * Returns the number of runs, i.e. the number of distinct textures.
+	 *
+	 * @return the number of runs
+	 */
+	public int getRunCount() {
+
+		return m_count;
+	}
+
+	/**
+	 * Returns the texture of the given run.
+	 *
+	 * @param i_run the run index
+	 * @return the texture ID
+	 */
+	public int getTextureId(int i_run) {
+
+		return m_textureIds[i_run];
+	}
+
+	/**
+	 * Returns the number of vertices of the given run.
+	 *
+	 * @param i_run the run index
+	 * @return the number of vertices
+	 */
+	public int getVertexCount(int i_run) {
+
+		return QUAD_VERTICES * m_quadCounts[i_run];
+	}
+
+	/**
+	 * Lays out the runs after all quads were counted. The runs are stored
+	 * one after another.
+	 *
+	 * @param i_first the index of the first vertex of the first run
+	 * @return the total number of vertices of all runs
+	 */
+	public int layout(int i_first) {
+
+		int index = i_first;
+		for (int i = 0; i < m_count; i++) {
+			m_first[i] = index;
+			m_next[i] = index;
+			index += getVertexCount(i);
+		}
+
+		return index - i_first;
+	}
+
+	/**
+	 * Returns the index of the first vertex of the next quad that uses the
+	 * given texture.
+	 *
+	 * @param i_textureId the texture ID
+	 * @return the vertex index
+	 * @throws IllegalArgumentException if no quad was counted for the given
+	 *             texture
+	 * @throws IllegalStateException if more quads were added for the given
+	 *             texture than were counted
+	 */
+	public int next(int i_textureId) {
+
+		int run = getRun(i_textureId);
+		int index = m_next[run];
+		if (index == m_first[run] + getVertexCount(run))
+			throw new IllegalStateException("run of texture " + i_textureId
+				+ " is full");
+
+		m_next[run] += QUAD_VERTICES;
+		return index;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return "TextureRuns[runs: " + m_count + "]";
+	}
+}
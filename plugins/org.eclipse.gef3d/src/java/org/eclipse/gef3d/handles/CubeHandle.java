@@ -168,7 +168,7 @@ public abstract class CubeHandle extends AbstractHandle3D {
 		Vector3f location = Draw3DCache.getVector3f();
 		Vector3f size = Draw3DCache.getVector3f();
 		try {
-			if (m_paraxialBounds == null) {
+			if (m_paraxialBounds == null || !helper.isParaxialBoundsValid()) {
 				m_paraxialBounds = m_alphaCube.getParaxialBoundingBox(null);
 
 				if (m_paraxialBounds == null)
@@ -16,6 +16,7 @@ import java.util.logging.Logger;
 import org.eclipse.draw3d.ISceneListener;
 import org.eclipse.draw3d.RenderContext;
 import org.eclipse.draw3d.camera.ICamera;
+import org.eclipse.draw3d.util.AllocationProfiler;
 import org.eclipse.jface.action.ContributionItem;
 import org.eclipse.jface.action.StatusLineLayoutData;
 import org.eclipse.swt.SWT;
@@ -55,6 +56,18 @@ public class FpsStatusLineItem extends ContributionItem implements
 
     private long m_lastFrame = -1;
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.eclipse.draw3d.ISceneListener#allocationsMeasured(org.eclipse.draw3d.RenderContext,
+     *      org.eclipse.draw3d.util.AllocationProfiler)
+     */
+    public void allocationsMeasured(RenderContext i_renderContext,
+        AllocationProfiler i_profiler) {
+
+        // nothing to do
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -66,6 +79,18 @@ public class FpsStatusLineItem extends ContributionItem implements
         // nothing to do
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.eclipse.draw3d.ISceneListener#figuresCulled(org.eclipse.draw3d.RenderContext,
+     *      int, int)
+     */
+    public void figuresCulled(RenderContext i_renderContext, int i_culledCount,
+        int i_visibleCount) {
+
+        // nothing to do
+    }
+
     /**
      * {@inheritDoc}
      * 
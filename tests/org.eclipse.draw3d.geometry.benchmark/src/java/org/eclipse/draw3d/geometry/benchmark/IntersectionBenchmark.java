@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Math3D;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the ray intersection tests in {@link Math3D}, which are used for
+ * picking.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntersectionBenchmark {
+
+	private static final int PLANE_COUNT = 16;
+
+	private float[] m_distances;
+
+	private IVector3f m_direction;
+
+	private Vector3f m_intersection;
+
+	private IVector3f m_normal;
+
+	private IVector3f m_origin;
+
+	private IVector3f m_planePoint;
+
+	private float[] m_planes;
+
+	private IVector3f[] m_polygon;
+
+	/**
+	 * Creates a ray that hits a quad in the plane z = 5, and a number of
+	 * planes parallel to it.
+	 */
+	@Setup
+	public void setup() {
+
+		m_origin = new Vector3fImpl(0.5f, 0.5f, -2);
+		m_direction =
+			Math3D.normalise(new Vector3fImpl(0.1f, 0.05f, 1), null);
+
+		m_planePoint = new Vector3fImpl(0, 0, 5);
+		m_normal = new Vector3fImpl(0, 0, -1);
+
+		m_polygon =
+			new IVector3f[] { new Vector3fImpl(0, 0, 5),
+				new Vector3fImpl(0, 2, 5), new Vector3fImpl(2, 2, 5),
+				new Vector3fImpl(2, 0, 5) };
+
+		m_planes = new float[Math3D.PLANE_SIZE * PLANE_COUNT];
+		for (int i = 0; i < PLANE_COUNT; i++) {
+			int offset = Math3D.PLANE_SIZE * i;
+			m_planes[offset + 2] = -1;
+			m_planes[offset + 3] = -(i + 1);
+		}
+
+		m_distances = new float[PLANE_COUNT];
+		m_intersection = new Vector3fImpl();
+	}
+
+	/**
+	 * Intersects the ray with a single plane.
+	 *
+	 * @return the distance
+	 */
+	@Benchmark
+	public float rayIntersectsPlane() {
+
+		return Math3D.rayIntersectsPlane(m_origin, m_direction, m_planePoint,
+			m_normal);
+	}
+
+	/**
+	 * Intersects the ray with a number of planes, one at a time.
+	 *
+	 * @return the distance of the last plane
+	 */
+	@Benchmark
+	public float rayIntersectsPlaneLoop() {
+
+		Vector3f point = m_intersection;
+		float distance = Float.NaN;
+		for (int i = 0; i < PLANE_COUNT; i++) {
+			int offset = Math3D.PLANE_SIZE * i;
+			point.set(0, 0, m_planes[offset + 3] * m_planes[offset + 2]);
+			distance =
+				Math3D.rayIntersectsPlane(m_origin, m_direction, point,
+					m_normal);
+		}
+
+		return distance;
+	}
+
+	/**
+	 * Intersects the ray with a number of planes at once.
+	 *
+	 * @return the index of the closest plane
+	 */
+	@Benchmark
+	public int rayIntersectsPlanes() {
+
+		return Math3D.rayIntersectsPlanes(m_origin, m_direction, m_planes, 0,
+			PLANE_COUNT, m_distances, 0);
+	}
+
+	/**
+	 * Intersects the ray with a quad whose normal is given.
+	 *
+	 * @return the distance
+	 */
+	@Benchmark
+	public float rayIntersectsPolygon() {
+
+		return Math3D.rayIntersectsPolygon(m_origin, m_direction, m_polygon,
+			m_normal, m_intersection);
+	}
+
+	/**
+	 * Intersects the ray with a quad whose normal is calculated.
+	 *
+	 * @return the distance
+	 */
+	@Benchmark
+	public float rayIntersectsPolygonWithoutNormal() {
+
+		return Math3D.rayIntersectsPolygon(m_origin, m_direction, m_polygon,
+			m_intersection);
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw3d.geometry.Math3DCache;
+import org.eclipse.draw3d.geometry.Matrix4f;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks getting objects from {@link Math3DCache} and returning them, both
+ * directly and via a scope. The benchmarks run in several threads, so that
+ * contention between the thread-local pools would show up.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class Math3DCacheBenchmark {
+
+	/**
+	 * Gets a vector and returns it.
+	 *
+	 * @param i_blackhole consumes the vector
+	 */
+	@Benchmark
+	public void vector3f(Blackhole i_blackhole) {
+
+		Vector3f v = Math3DCache.getVector3f();
+		try {
+			i_blackhole.consume(v);
+		} finally {
+			Math3DCache.returnVector3f(v);
+		}
+	}
+
+	/**
+	 * Gets three vectors and returns them with a single call, as it is
+	 * usually done.
+	 *
+	 * @param i_blackhole consumes the vectors
+	 */
+	@Benchmark
+	public void vector3fMultiple(Blackhole i_blackhole) {
+
+		Vector3f v0 = Math3DCache.getVector3f();
+		Vector3f v1 = Math3DCache.getVector3f();
+		Vector3f v2 = Math3DCache.getVector3f();
+		try {
+			i_blackhole.consume(v0);
+			i_blackhole.consume(v1);
+			i_blackhole.consume(v2);
+		} finally {
+			Math3DCache.returnVector3f(v0, v1, v2);
+		}
+	}
+
+	/**
+	 * Gets a matrix and returns it.
+	 *
+	 * @param i_blackhole consumes the matrix
+	 */
+	@Benchmark
+	public void matrix4f(Blackhole i_blackhole) {
+
+		Matrix4f m = Math3DCache.getMatrix4f();
+		try {
+			i_blackhole.consume(m);
+		} finally {
+			Math3DCache.returnMatrix4f(m);
+		}
+	}
+
+	/**
+	 * Gets a float array and returns it.
+	 *
+	 * @param i_blackhole consumes the array
+	 */
+	@Benchmark
+	public void floatArray(Blackhole i_blackhole) {
+
+		float[] a = Math3DCache.getFloatArray(24);
+		try {
+			i_blackhole.consume(a);
+		} finally {
+			Math3DCache.returnFloatArray(a);
+		}
+	}
+
+	/**
+	 * Gets three vectors from a scope, which returns them when it is closed.
+	 *
+	 * @param i_blackhole consumes the vectors
+	 */
+	@Benchmark
+	public void scope(Blackhole i_blackhole) {
+
+		Math3DCache.Scope scope = Math3DCache.beginScope();
+		try {
+			i_blackhole.consume(scope.getVector3f());
+			i_blackhole.consume(scope.getVector3f());
+			i_blackhole.consume(scope.getVector3f());
+		} finally {
+			scope.close();
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw3d.geometry.Math3D;
+import org.eclipse.draw3d.geometry.Matrix4f;
+import org.eclipse.draw3d.geometry.Matrix4fImpl;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the multiplication and inversion of 4x4 matrices, with a separate
+ * result matrix and with the result being one of the operands.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Matrix4fBenchmark {
+
+	private Matrix4f m_left;
+
+	private Matrix4f m_result;
+
+	private Matrix4f m_right;
+
+	/**
+	 * Creates the operands, an affine transformation and a projective one.
+	 */
+	@Setup
+	public void setup() {
+
+		m_left = new Matrix4fImpl();
+		Math3D.rotate(0.7f, new Vector3fImpl(1, 2, 3), m_left, m_left);
+		Math3D.scale(new Vector3fImpl(2, 3, 4), m_left, m_left);
+		Math3D.translate(m_left, new Vector3fImpl(-1, 5, 2), m_left);
+
+		m_right = new Matrix4fImpl(m_left);
+		Math3D.rotate(-1.1f, new Vector3fImpl(0, 1, 0), m_right, m_right);
+		m_right.set(1, 3, 0.25f);
+
+		m_result = new Matrix4fImpl();
+	}
+
+	/**
+	 * Multiplies two matrices into a third one.
+	 *
+	 * @return the result
+	 */
+	@Benchmark
+	public Matrix4f mul() {
+
+		return Math3D.mul(m_left, m_right, m_result);
+	}
+
+	/**
+	 * Multiplies two matrices, storing the result in the left operand. The
+	 * operand is reset first, so that its values stay finite.
+	 *
+	 * @return the result
+	 */
+	@Benchmark
+	public Matrix4f mulAliased() {
+
+		m_result.set(m_left);
+		return Math3D.mul(m_result, m_right, m_result);
+	}
+
+	/**
+	 * Inverts a matrix into another one.
+	 *
+	 * @return the result
+	 */
+	@Benchmark
+	public Matrix4f invert() {
+
+		return Math3D.invert(m_right, m_result);
+	}
+
+	/**
+	 * Inverts a matrix in place.
+	 *
+	 * @return the result
+	 */
+	@Benchmark
+	public Matrix4f invertAliased() {
+
+		m_result.set(m_right);
+		return Math3D.invert(m_result, m_result);
+	}
+}
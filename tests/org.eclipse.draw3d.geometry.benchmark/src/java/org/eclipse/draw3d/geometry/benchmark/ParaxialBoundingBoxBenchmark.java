@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
+import org.eclipse.draw3d.geometry.ParaxialBoundingBoxImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the union of paraxial bounding boxes, which is used to calculate
+ * the bounds of a figure and its children.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParaxialBoundingBoxBenchmark {
+
+	private ParaxialBoundingBox[] m_boxes;
+
+	/**
+	 * The number of boxes that are united.
+	 */
+	@Param( { "1", "64" })
+	public int m_count;
+
+	private ParaxialBoundingBox m_result;
+
+	/**
+	 * Creates boxes with random locations and sizes. The random generator is
+	 * seeded, so that all runs use the same boxes.
+	 */
+	@Setup
+	public void setup() {
+
+		Random random = new Random(42);
+
+		m_boxes = new ParaxialBoundingBox[m_count];
+		for (int i = 0; i < m_count; i++) {
+			m_boxes[i] = new ParaxialBoundingBoxImpl();
+			m_boxes[i].setLocation(random.nextFloat() * 1000,
+				random.nextFloat() * 1000, random.nextFloat() * 1000);
+			m_boxes[i].setSize(random.nextFloat() * 100,
+				random.nextFloat() * 100, random.nextFloat() * 100);
+		}
+
+		m_result = new ParaxialBoundingBoxImpl();
+	}
+
+	/**
+	 * Unites all boxes.
+	 *
+	 * @return the united box
+	 */
+	@Benchmark
+	public ParaxialBoundingBox union() {
+
+		m_result.set(m_boxes[0]);
+		for (int i = 1; i < m_count; i++)
+			m_result.union(m_boxes[i]);
+
+		return m_result;
+	}
+
+	/**
+	 * Unites a box with a box that it contains, so that the box is not
+	 * changed.
+	 *
+	 * @return whether the box was changed
+	 */
+	@Benchmark
+	public boolean unionContained() {
+
+		m_result.set(m_boxes[0]);
+		return m_result.union(m_boxes[0]);
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw3d.geometry.AbstractPosition3D;
+import org.eclipse.draw3d.geometry.IMatrix4f;
+import org.eclipse.draw3d.geometry.Position3D;
+import org.eclipse.draw3d.geometry.Position3DUtil;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the validation of {@link AbstractPosition3D}, i.e. the
+ * calculation of its matrices after it has been changed, for an absolute
+ * position and for a position that is relative to a parent position.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Position3DBenchmark {
+
+	private Position3D m_child;
+
+	private Vector3f m_location;
+
+	private Position3D m_parent;
+
+	private Vector3f m_rotation;
+
+	/**
+	 * Creates a rotated parent position and a child position.
+	 */
+	@Setup
+	public void setup() {
+
+		m_parent = Position3DUtil.createAbsolutePosition();
+		m_parent.setLocation3D(new Vector3fImpl(10, 20, 30));
+		m_parent.setSize3D(new Vector3fImpl(100, 200, 300));
+		m_parent.setRotation3D(new Vector3fImpl(0.1f, 0.2f, 0.3f));
+
+		m_child = Position3DUtil.createRelativePosition(m_parent.getHost());
+		m_child.setLocation3D(new Vector3fImpl(1, 2, 3));
+		m_child.setSize3D(new Vector3fImpl(10, 20, 30));
+		m_child.setRotation3D(new Vector3fImpl(0, 0.5f, 0));
+
+		m_location = new Vector3fImpl();
+		m_rotation = new Vector3fImpl();
+	}
+
+	/**
+	 * Returns the matrix of a valid position.
+	 *
+	 * @return the transformation matrix
+	 */
+	@Benchmark
+	public IMatrix4f getValid() {
+
+		return m_child.getTransformationMatrix();
+	}
+
+	/**
+	 * Changes the location of the absolute position and validates it.
+	 *
+	 * @return the transformation matrix
+	 */
+	@Benchmark
+	public IMatrix4f validateAbsolute() {
+
+		m_location.set(m_parent.getLocation3D());
+		m_location.setX(-m_location.getX());
+		m_parent.setLocation3D(m_location);
+
+		return m_parent.getTransformationMatrix();
+	}
+
+	/**
+	 * Changes the rotation of the relative position and validates it, using
+	 * the matrices of its valid parent.
+	 *
+	 * @return the transformation matrix
+	 */
+	@Benchmark
+	public IMatrix4f validateRelative() {
+
+		m_rotation.set(m_child.getRotation3D());
+		m_rotation.setY(-m_rotation.getY());
+		m_child.setRotation3D(m_rotation);
+
+		return m_child.getTransformationMatrix();
+	}
+
+	/**
+	 * Invalidates the parent position and validates the child, which has to
+	 * recalculate its matrices as well.
+	 *
+	 * @return the transformation matrix
+	 */
+	@Benchmark
+	public IMatrix4f validateParentChanged() {
+
+		m_parent.invalidate();
+		return m_child.getTransformationMatrix();
+	}
+}
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ChildBatches}. The batches contain up to 4 children and the
+ * recorded images are strings that contain a running number and the index of
+ * the first child of the batch, so that re-recorded batches can be told apart
+ * from the batches that were kept.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class ChildBatchesTest {
+
+	/**
+	 * A recorder that logs the recorded and retired images.
+	 */
+	private static class TestRecorder implements
+		ChildBatches.Recorder<String> {
+
+		private int m_count;
+
+		private final List<IFigure> m_figures;
+
+		private final List<String> m_recorded = new ArrayList<String>();
+
+		private final List<String> m_retired = new ArrayList<String>();
+
+		public TestRecorder(List<IFigure> i_figures) {
+
+			m_figures = i_figures;
+		}
+
+		public String record(List<IFigure> i_children) {
+
+			String image =
+				m_count++ + ":" + m_figures.indexOf(i_children.get(0));
+			m_recorded.add(image);
+
+			return image;
+		}
+
+		public void reset() {
+
+			m_recorded.clear();
+			m_retired.clear();
+		}
+
+		public void retire(String i_image) {
+
+			m_retired.add(i_image);
+		}
+	}
+
+	private static final int BATCH_SIZE = 4;
+
+	private static List<IFigure> createFigures(int i_count) {
+
+		List<IFigure> figures = new ArrayList<IFigure>(i_count);
+		for (int i = 0; i < i_count; i++) {
+			Figure figure = new Figure();
+			figure.setBounds(new Rectangle(i * 10, 0, 10, 10));
+			figures.add(figure);
+		}
+
+		return figures;
+	}
+
+	private static List<String> getImages(ChildBatches<String> i_batches) {
+
+		return i_batches.getImages(new ArrayList<String>());
+	}
+
+	private static IFigure[] toArray(List<IFigure> i_figures) {
+
+		return i_figures.toArray(new IFigure[i_figures.size()]);
+	}
+
+	/**
+	 * Tests that adding and removing children records the batches whose
+	 * children have changed and retires the images of removed batches.
+	 */
+	@Test
+	public void testAddAndRemove() {
+
+		List<IFigure> figures = createFigures(8);
+		TestRecorder recorder = new TestRecorder(figures);
+		ChildBatches<String> batches =
+			new ChildBatches<String>(BATCH_SIZE, recorder);
+		batches.update(toArray(figures), false);
+		assertEquals(Arrays.asList("0:0", "1:4"), getImages(batches));
+
+		// appending a child creates a new batch
+		recorder.reset();
+		figures.addAll(createFigures(1));
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(Arrays.asList("2:8"), recorder.m_recorded);
+		assertTrue(recorder.m_retired.isEmpty());
+
+		// removing a child shifts the following children
+		recorder.reset();
+		figures.remove(5);
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(Arrays.asList("3:4"), recorder.m_recorded);
+		assertEquals(Arrays.asList("1:4", "2:8"), recorder.m_retired);
+		assertEquals(Arrays.asList("0:0", "3:4"), getImages(batches));
+
+		// inserting a child at the front changes all batches
+		recorder.reset();
+		figures.add(0, createFigures(1).get(0));
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(Arrays.asList("4:0", "5:4", "6:8"), recorder.m_recorded);
+		assertEquals(Arrays.asList("0:0", "3:4"), recorder.m_retired);
+
+		recorder.reset();
+		assertTrue(batches.update(new IFigure[0], false));
+		assertEquals(0, batches.getBatchCount());
+		assertTrue(recorder.m_recorded.isEmpty());
+		assertEquals(Arrays.asList("4:0", "5:4", "6:8"), recorder.m_retired);
+	}
+
+	/**
+	 * Tests that only the batch that contains an invalidated, moved, resized,
+	 * hidden or shown child is recorded again.
+	 */
+	@Test
+	public void testChangedChild() {
+
+		List<IFigure> figures = createFigures(10);
+		TestRecorder recorder = new TestRecorder(figures);
+		ChildBatches<String> batches =
+			new ChildBatches<String>(BATCH_SIZE, recorder);
+
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(3, batches.getBatchCount());
+		assertEquals(Arrays.asList("0:0", "1:4", "2:8"), getImages(batches));
+		assertTrue(recorder.m_retired.isEmpty());
+
+		// nothing has changed
+		recorder.reset();
+		assertFalse(batches.update(toArray(figures), false));
+		assertTrue(recorder.m_recorded.isEmpty());
+
+		batches.invalidate(figures.get(5));
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(Arrays.asList("3:4"), recorder.m_recorded);
+		assertEquals(Arrays.asList("1:4"), recorder.m_retired);
+		assertEquals(Arrays.asList("0:0", "3:4", "2:8"), getImages(batches));
+
+		// the dirty children are cleared by the update
+		recorder.reset();
+		assertFalse(batches.update(toArray(figures), false));
+
+		figures.get(0).setBounds(new Rectangle(0, 5, 10, 10));
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(Arrays.asList("4:0"), recorder.m_recorded);
+
+		recorder.reset();
+		figures.get(9).setBounds(new Rectangle(90, 0, 20, 10));
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(Arrays.asList("5:8"), recorder.m_recorded);
+
+		recorder.reset();
+		figures.get(3).setVisible(false);
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(Arrays.asList("6:0"), recorder.m_recorded);
+
+		recorder.reset();
+		figures.get(3).setVisible(true);
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(Arrays.asList("7:0"), recorder.m_recorded);
+		assertEquals(Arrays.asList("6:0"), recorder.m_retired);
+		assertEquals(Arrays.asList("7:0", "3:4", "5:8"), getImages(batches));
+	}
+
+	/**
+	 * Tests that all batches are recorded again if a redraw is requested, and
+	 * that clearing the batches does not retire their images.
+	 */
+	@Test
+	public void testRedrawAndClear() {
+
+		List<IFigure> figures = createFigures(6);
+		TestRecorder recorder = new TestRecorder(figures);
+		ChildBatches<String> batches =
+			new ChildBatches<String>(BATCH_SIZE, recorder);
+		batches.update(toArray(figures), false);
+
+		recorder.reset();
+		assertTrue(batches.update(toArray(figures), true));
+		assertEquals(Arrays.asList("2:0", "3:4"), recorder.m_recorded);
+		assertEquals(Arrays.asList("0:0", "1:4"), recorder.m_retired);
+
+		recorder.reset();
+		batches.invalidate(figures.get(0));
+		batches.clear();
+		assertEquals(0, batches.getBatchCount());
+		assertTrue(recorder.m_retired.isEmpty());
+
+		assertTrue(batches.update(toArray(figures), false));
+		assertEquals(Arrays.asList("4:0", "5:4"), recorder.m_recorded);
+		assertTrue(recorder.m_retired.isEmpty());
+	}
+}
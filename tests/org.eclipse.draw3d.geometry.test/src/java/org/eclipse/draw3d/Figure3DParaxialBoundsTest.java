@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.draw3d.geometry.Math3D;
+import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
+import org.eclipse.draw3d.geometry.ParaxialBoundingBoxImpl;
+import org.eclipse.draw3d.geometry.Position3D;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.junit.Test;
+
+/**
+ * Tests that the cached paraxial bounds of {@link Figure3D} stay exact while
+ * the figure tree is edited. The expected bounds are calculated from scratch
+ * after each edit.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class Figure3DParaxialBoundsTest {
+
+	private static final float EPS = 0.01f;
+
+	private List<Figure3D> m_figures;
+
+	private Random m_random;
+
+	private Figure3D m_root;
+
+	/**
+	 * Adds a new figure with a random position to the given parent.
+	 *
+	 * @param i_parent the parent figure
+	 * @return the new figure
+	 */
+	private Figure3D addFigure(Figure3D i_parent) {
+
+		Figure3D figure = new Figure3D();
+		i_parent.add(figure);
+		m_figures.add(figure);
+
+		Position3D position = figure.getPosition3D();
+		position.setLocation3D(randomVector(-100, 100));
+		position.setSize3D(randomVector(1, 50));
+
+		return figure;
+	}
+
+	private void assertBounds(Figure3D i_figure) {
+
+		ParaxialBoundingBox expected = getExpectedBounds(i_figure);
+		ParaxialBoundingBox actual = i_figure.getParaxialBoundingBox(null);
+		assertNotNull(actual);
+
+		Vector3f expectedVector = new Vector3fImpl();
+		Vector3f actualVector = new Vector3fImpl();
+
+		expected.getLocation(expectedVector);
+		actual.getLocation(actualVector);
+		assertVector(expectedVector, actualVector);
+
+		expected.getSize(expectedVector);
+		actual.getSize(actualVector);
+		assertVector(expectedVector, actualVector);
+	}
+
+	private void assertVector(Vector3f i_expected, Vector3f i_actual) {
+
+		assertEquals(i_expected.getX(), i_actual.getX(), EPS);
+		assertEquals(i_expected.getY(), i_actual.getY(), EPS);
+		assertEquals(i_expected.getZ(), i_actual.getZ(), EPS);
+	}
+
+	/**
+	 * Calculates the paraxial bounds of the given figure and its subtree
+	 * without using any cached bounds.
+	 *
+	 * @param i_figure the figure
+	 * @return the bounds
+	 */
+	private ParaxialBoundingBox getExpectedBounds(Figure3D i_figure) {
+
+		Vector3f location = new Vector3fImpl();
+		Vector3f size = new Vector3fImpl();
+		Math3D.getCuboidParaxialBoundingBox(i_figure.getPosition3D(),
+			location, size);
+
+		ParaxialBoundingBox bounds = new ParaxialBoundingBoxImpl();
+		bounds.setLocation(location);
+		bounds.setSize(size);
+
+		for (Object child : i_figure.getChildren())
+			bounds.union(getExpectedBounds((Figure3D) child));
+
+		return bounds;
+	}
+
+	private Vector3f randomVector(float i_min, float i_max) {
+
+		float d = i_max - i_min;
+		return new Vector3fImpl(i_min + m_random.nextFloat() * d, i_min
+			+ m_random.nextFloat() * d, i_min + m_random.nextFloat() * d);
+	}
+
+	/**
+	 * Removes the given figure and its subtree.
+	 *
+	 * @param i_figure the figure to remove
+	 */
+	private void removeFigure(Figure3D i_figure) {
+
+		for (Object child : new ArrayList<Object>(i_figure.getChildren()))
+			removeFigure((Figure3D) child);
+
+		i_figure.getParent().remove(i_figure);
+		m_figures.remove(i_figure);
+	}
+
+	/**
+	 * Applies random edits to random figures of a tree and checks the bounds
+	 * of the root and of a random figure after each edit. Checking only some
+	 * of the figures leaves the cached bounds of the others out of date for
+	 * a while, which must be detected later.
+	 */
+	@Test
+	public void testRandomEdits() {
+
+		m_random = new Random(4711);
+		m_figures = new ArrayList<Figure3D>();
+
+		m_root = new Figure3D();
+		m_figures.add(m_root);
+		m_root.getPosition3D().setSize3D(new Vector3fImpl(10, 10, 10));
+
+		for (int i = 0; i < 30; i++)
+			addFigure(m_figures.get(m_random.nextInt(m_figures.size())));
+
+		for (Figure3D figure : m_figures)
+			assertBounds(figure);
+
+		for (int i = 0; i < 500; i++) {
+			Figure3D figure = m_figures.get(m_random.nextInt(m_figures.size()));
+			Position3D position = figure.getPosition3D();
+
+			switch (m_random.nextInt(6)) {
+			case 0:
+				position.setLocation3D(randomVector(-100, 100));
+				break;
+			case 1:
+				position.setSize3D(randomVector(1, 50));
+				break;
+			case 2:
+				Vector3f size = new Vector3fImpl(position.getSize3D());
+				size.setZ(1 + m_random.nextFloat() * 50);
+				position.setSize3D(size);
+				break;
+			case 3:
+				position.setRotation3D(randomVector(0, (float) Math.PI));
+				break;
+			case 4:
+				addFigure(figure);
+				break;
+			default:
+				if (figure != m_root && m_figures.size() > 10)
+					removeFigure(figure);
+			}
+
+			assertBounds(m_figures.get(m_random.nextInt(m_figures.size())));
+			if (i % 5 == 0)
+				assertBounds(m_root);
+		}
+
+		for (Figure3D figure : m_figures)
+			assertBounds(figure);
+	}
+
+	/**
+	 * Tests that the bounds of a figure shrink if its only child is moved
+	 * back into it or removed.
+	 */
+	@Test
+	public void testShrink() {
+
+		m_random = new Random(42);
+		m_figures = new ArrayList<Figure3D>();
+
+		m_root = new Figure3D();
+		m_figures.add(m_root);
+		m_root.getPosition3D().setSize3D(new Vector3fImpl(10, 10, 10));
+
+		Figure3D child = addFigure(m_root);
+		Figure3D grandChild = addFigure(child);
+
+		child.getPosition3D().setLocation3D(new Vector3fImpl(100, 0, 0));
+		assertBounds(m_root);
+
+		child.getPosition3D().setLocation3D(new Vector3fImpl(1, 1, 1));
+		child.getPosition3D().setSize3D(new Vector3fImpl(1, 1, 1));
+		child.remove(grandChild);
+		assertBounds(m_root);
+
+		m_root.remove(child);
+		assertBounds(m_root);
+	}
+}
@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.eclipse.draw3d.graphics3d.DisplayListManager;
+import org.eclipse.draw3d.graphics3d.Graphics3D;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the instance batches of {@link RenderContext}. The graphics object
+ * does not render anything, it only counts the display lists that are created
+ * and called, and the display lists are managed by a real
+ * {@link DisplayListManager}.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class RenderContextInstancingTest {
+
+	/**
+	 * A fragment that renders the display list of its instance key, just like
+	 * the shapes do.
+	 */
+	private class TestFragment implements InstancedRenderFragment {
+
+		private final String m_key;
+
+		private int m_renderCount;
+
+		private int m_renderInstanceCount;
+
+		private float m_value;
+
+		public TestFragment(String i_key, float i_value) {
+
+			m_key = i_key;
+			m_value = i_value;
+		}
+
+		public float getDistanceMeasure(RenderContext i_renderContext) {
+
+			return 0;
+		}
+
+		public void getInstanceData(RenderContext i_renderContext,
+			float[] o_data, int i_offset) {
+
+			for (int i = 0; i < INSTANCE_DATA_SIZE; i++)
+				o_data[i_offset + i] = m_value;
+		}
+
+		public Object getInstanceKey(RenderContext i_renderContext) {
+
+			if (m_key != null && !m_displayListManager.isDisplayList(m_key))
+				createDisplayList(m_key);
+
+			return m_key;
+		}
+
+		public RenderType getRenderType() {
+
+			return RenderType.OPAQUE;
+		}
+
+		public void render(RenderContext i_renderContext) {
+
+			m_renderCount++;
+		}
+
+		public void renderInstance(RenderContext i_renderContext,
+			float[] i_data, int i_offset) {
+
+			assertEquals(m_value, i_data[i_offset], 0);
+			m_displayListManager.executeDisplayList(m_key);
+			m_renderInstanceCount++;
+		}
+	}
+
+	private int m_callCount;
+
+	private RenderContext m_context;
+
+	private DisplayListManager m_displayListManager;
+
+	private int m_listCount;
+
+	private int m_newListCount;
+
+	private void createDisplayList(String i_key) {
+
+		m_displayListManager.createDisplayList(i_key, new Runnable() {
+
+			public void run() {
+
+				// nothing to render
+			}
+		});
+	}
+
+	private void render(TestFragment... i_fragments) {
+
+		m_callCount = 0;
+		m_newListCount = 0;
+
+		for (TestFragment fragment : i_fragments)
+			m_context.addRenderFragment(fragment);
+
+		m_context.renderFragments();
+		m_context.clear();
+	}
+
+	/**
+	 * Creates a render context whose graphics object counts the display lists.
+	 */
+	@Before
+	public void setUp() {
+
+		Graphics3D g3d =
+			(Graphics3D) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[] { Graphics3D.class }, new InvocationHandler() {
+
+					public Object invoke(Object i_proxy, Method i_method,
+						Object[] i_args) {
+
+						String name = i_method.getName();
+						if (name.equals("getDisplayListManager"))
+							return m_displayListManager;
+
+						if (name.equals("glGenLists")) {
+							int base = m_listCount + 1;
+							m_listCount += (Integer) i_args[0];
+							return Integer.valueOf(base);
+						}
+
+						if (name.equals("glNewList"))
+							m_newListCount++;
+						else if (name.equals("glCallList"))
+							m_callCount++;
+
+						Class<?> type = i_method.getReturnType();
+						if (type == Boolean.TYPE)
+							return Boolean.FALSE;
+
+						if (type.isPrimitive() && type != Void.TYPE)
+							throw new UnsupportedOperationException(
+								i_method.toString());
+
+						return null;
+					}
+				});
+
+		m_displayListManager = new DisplayListManager(g3d);
+		m_context = new RenderContext();
+		m_context.setGraphics3D(g3d);
+	}
+
+	/**
+	 * Tests that fragments with equal instance keys are rendered in one batch,
+	 * which is compiled into a display list once its data does not change
+	 * anymore, and that fragments without a key or without other instances
+	 * are rendered individually.
+	 */
+	@Test
+	public void testGrouping() {
+
+		TestFragment a1 = new TestFragment("a", 1);
+		TestFragment a2 = new TestFragment("a", 2);
+		TestFragment a3 = new TestFragment("a", 3);
+		TestFragment b1 = new TestFragment("b", 1);
+		TestFragment b2 = new TestFragment("b", 2);
+		TestFragment c = new TestFragment("c", 1);
+		TestFragment single = new TestFragment(null, 1);
+
+		// the data of the first pass differs from the (empty) previous data
+		render(a1, b1, a2, single, c, a3, b2);
+		assertEquals(3, m_context.getInstanceBatchCount());
+		assertEquals(1, a1.m_renderInstanceCount);
+		assertEquals(1, b2.m_renderInstanceCount);
+		assertEquals(0, a1.m_renderCount);
+		assertEquals(1, c.m_renderCount);
+		assertEquals(0, c.m_renderInstanceCount);
+		assertEquals(1, single.m_renderCount);
+
+		// only the display lists of the instances were created
+		assertEquals(3, m_newListCount);
+
+		// the unchanged batches are compiled
+		render(a1, b1, a2, single, c, a3, b2);
+		assertEquals(3, m_context.getInstanceBatchCount());
+		assertEquals(2, a3.m_renderInstanceCount);
+		assertEquals(2, b1.m_renderInstanceCount);
+		assertEquals(2, c.m_renderCount);
+		assertEquals(2, m_newListCount);
+
+		// and rendered with a single call
+		render(a1, b1, a2, single, c, a3, b2);
+		assertEquals(2, a3.m_renderInstanceCount);
+		assertEquals(2, b1.m_renderInstanceCount);
+		assertEquals(0, m_newListCount);
+		assertEquals(2, m_callCount);
+
+		// changed data is rendered directly
+		a2.m_value = 5;
+		render(a1, b1, a2, single, c, a3, b2);
+		assertEquals(3, a3.m_renderInstanceCount);
+		assertEquals(2, b1.m_renderInstanceCount);
+		assertEquals(0, m_newListCount);
+
+		// instancing can be disabled
+		m_context.setInstancing(false);
+		render(a1, b1, a2, single, c, a3, b2);
+		assertEquals(0, m_context.getInstanceBatchCount());
+		assertEquals(3, a3.m_renderInstanceCount);
+		assertEquals(1, a3.m_renderCount);
+	}
+
+	/**
+	 * Tests that a compiled batch is compiled again if a display list that is
+	 * called by its instances is created again.
+	 */
+	@Test
+	public void testRebuiltDisplayList() {
+
+		TestFragment a1 = new TestFragment("a", 1);
+		TestFragment a2 = new TestFragment("a", 2);
+
+		render(a1, a2);
+		render(a1, a2);
+		assertEquals(1, m_newListCount);
+		render(a1, a2);
+		assertEquals(0, m_newListCount);
+		assertEquals(2, a1.m_renderInstanceCount);
+
+		createDisplayList("a");
+		render(a1, a2);
+		assertEquals(1, m_newListCount);
+		assertEquals(3, a1.m_renderInstanceCount);
+
+		render(a1, a2);
+		assertEquals(0, m_newListCount);
+		assertEquals(3, a1.m_renderInstanceCount);
+
+		// deleting the display list of the instances deletes the batch list
+		m_displayListManager.deleteDisplayLists("a");
+		render(a1, a2);
+		assertTrue(m_displayListManager.isDisplayList("a"));
+		assertEquals(2, m_newListCount);
+		assertEquals(4, a1.m_renderInstanceCount);
+	}
+
+	/**
+	 * Tests that the batches whose instance keys are no longer used are
+	 * removed and their display lists are deleted.
+	 */
+	@Test
+	public void testRemoval() {
+
+		TestFragment a1 = new TestFragment("a", 1);
+		TestFragment a2 = new TestFragment("a", 2);
+		TestFragment b1 = new TestFragment("b", 1);
+		TestFragment b2 = new TestFragment("b", 2);
+
+		render(a1, a2, b1, b2);
+		render(a1, a2, b1, b2);
+		assertEquals(2, m_context.getInstanceBatchCount());
+		int lists = m_listCount;
+
+		render(b1, b2);
+		assertEquals(1, m_context.getInstanceBatchCount());
+		assertEquals(1, m_callCount);
+
+		render();
+		assertEquals(0, m_context.getInstanceBatchCount());
+
+		// the IDs of the deleted batch lists are reused
+		render(a1, a2, b1, b2);
+		render(a1, a2, b1, b2);
+		assertEquals(2, m_newListCount);
+		assertEquals(lists, m_listCount);
+	}
+}
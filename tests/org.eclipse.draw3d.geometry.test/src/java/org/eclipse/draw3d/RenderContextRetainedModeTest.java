@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the bookkeeping of the retained mode of {@link RenderContext}. The
+ * figures are not painted, the tests add the fragments of a figure tree just
+ * like {@link Figure3D#paint(org.eclipse.draw2d.Graphics)} does, so no
+ * graphics or OpenGL context is needed.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class RenderContextRetainedModeTest {
+
+	/**
+	 * An opaque fragment that renders nothing.
+	 */
+	private static class TestFragment implements RenderFragment {
+
+		public float getDistanceMeasure(RenderContext i_renderContext) {
+
+			return 0;
+		}
+
+		public RenderType getRenderType() {
+
+			return RenderType.OPAQUE;
+		}
+
+		public void render(RenderContext i_renderContext) {
+
+			// nothing to do
+		}
+	}
+
+	private Figure3D m_a;
+
+	private Figure3D m_b;
+
+	private RenderContext m_context;
+
+	private Figure3D m_root;
+
+	/**
+	 * Adds one fragment for the given figure and each figure of its subtree,
+	 * bracketed by {@link RenderContext#beginFigure(IFigure3D)} and
+	 * {@link RenderContext#endFigure(IFigure3D)}.
+	 *
+	 * @param i_figure the figure to paint
+	 */
+	private void paint(IFigure3D i_figure) {
+
+		IFigure3D previous = m_context.beginFigure(i_figure);
+		try {
+			m_context.addRenderFragment(new TestFragment());
+			for (Object child : i_figure.getChildren())
+				paint((IFigure3D) child);
+		} finally {
+			m_context.endFigure(previous);
+		}
+	}
+
+	/**
+	 * Executes a render pass like the root figure of
+	 * {@link LightweightSystem3D} does, except that the fragments are not
+	 * rendered.
+	 *
+	 * @return <code>true</code> if the whole figure tree was painted
+	 */
+	private boolean renderPass() {
+
+		boolean paintTree = m_context.beginCollection(m_root);
+		if (paintTree) {
+			m_context.addRenderFragment(new TestFragment());
+			for (Object child : m_root.getChildren())
+				paint((IFigure3D) child);
+		}
+		m_context.endCollection();
+		m_context.clear();
+
+		return paintTree;
+	}
+
+	/**
+	 * Creates a tree of four figures, a root with the children a and c and
+	 * the grandchild b below a.
+	 */
+	@Before
+	public void setUp() {
+
+		m_root = new Figure3D();
+		m_a = new Figure3D();
+		m_b = new Figure3D();
+
+		m_root.add(m_a);
+		m_a.add(m_b);
+		m_root.add(new Figure3D());
+
+		m_context = new RenderContext();
+	}
+
+	/**
+	 * Tests that the color picking passes neither use nor validate the
+	 * retained fragments.
+	 */
+	@Test
+	public void testColorPicking() {
+
+		m_context.setRetainedMode(true);
+
+		m_context.setColorPicking(true);
+		assertTrue(renderPass());
+		m_context.setColorPicking(false);
+		assertEquals(0, m_context.getRetainedFragmentCount());
+
+		assertTrue(renderPass());
+		assertEquals(4, m_context.getRetainedFragmentCount());
+
+		m_context.setColorPicking(true);
+		assertTrue(renderPass());
+		m_context.setColorPicking(false);
+
+		assertFalse(renderPass());
+		assertEquals(4, m_context.getRetainedFragmentCount());
+	}
+
+	/**
+	 * Tests that every render pass paints the whole tree if retained mode is
+	 * disabled.
+	 */
+	@Test
+	public void testImmediateMode() {
+
+		assertFalse(m_context.isRetainedMode());
+
+		assertTrue(renderPass());
+		assertTrue(renderPass());
+		assertEquals(0, m_context.getRetainedFragmentCount());
+	}
+
+	/**
+	 * Tests that invalidating the fragments, a figure without 3D ancestor or
+	 * the 2D content causes the whole tree to be painted again.
+	 */
+	@Test
+	public void testInvalidateTree() {
+
+		m_context.setRetainedMode(true);
+		assertTrue(renderPass());
+
+		m_context.invalidateFragments();
+		assertTrue(renderPass());
+		assertFalse(renderPass());
+
+		m_context.invalidateFragments(m_root);
+		assertTrue(renderPass());
+
+		m_context.invalidateFragments(null);
+		assertTrue(renderPass());
+
+		m_context.setRedraw2DContent();
+		assertTrue(renderPass());
+		assertFalse(renderPass());
+
+		assertEquals(4, m_context.getRetainedFragmentCount());
+	}
+
+	/**
+	 * Tests that a repainted figure does not cause the whole tree to be
+	 * painted and that painting its subtree again replaces its fragments.
+	 */
+	@Test
+	public void testRepaintSubtree() {
+
+		m_context.setRetainedMode(true);
+		assertTrue(renderPass());
+
+		m_context.invalidateFragments(m_b);
+		m_context.invalidateFragments(m_a);
+
+		assertFalse(m_context.beginCollection(m_root));
+		paint(m_a);
+		m_context.endCollection();
+		m_context.clear();
+
+		assertEquals(4, m_context.getRetainedFragmentCount());
+		assertFalse(renderPass());
+	}
+
+	/**
+	 * Tests that the fragments are retained if nothing was changed, e.g. if
+	 * only the camera was moved.
+	 */
+	@Test
+	public void testRetainFragments() {
+
+		m_context.setRetainedMode(true);
+		assertTrue(m_context.isRetainedMode());
+
+		assertTrue(renderPass());
+		assertEquals(4, m_context.getRetainedFragmentCount());
+
+		assertFalse(renderPass());
+		assertFalse(renderPass());
+		assertEquals(4, m_context.getRetainedFragmentCount());
+	}
+
+	/**
+	 * Tests that switching the retained mode discards the retained fragments.
+	 */
+	@Test
+	public void testSwitchMode() {
+
+		m_context.setRetainedMode(true);
+		assertTrue(renderPass());
+
+		m_context.setRetainedMode(false);
+		assertEquals(0, m_context.getRetainedFragmentCount());
+		assertTrue(renderPass());
+
+		m_context.setRetainedMode(true);
+		assertTrue(renderPass());
+		assertFalse(renderPass());
+	}
+}
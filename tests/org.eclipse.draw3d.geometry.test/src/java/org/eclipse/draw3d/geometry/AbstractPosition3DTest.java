@@ -136,4 +136,168 @@ public class AbstractPosition3DTest {
 		}
 	}
 
+	/**
+	 * Tests that a child position detects a change of its parent even if the
+	 * parent has been validated again before the child is accessed.
+	 */
+	@Test
+	public void testParentChangedAndValidated() {
+		Position3D parent = Position3DUtil.createAbsolutePosition();
+		Position3D pos =
+			Position3DUtil.createRelativePosition(parent.getHost());
+
+		pos.setLocation3D(new Vector3fImpl(1, 2, 3));
+		pos.setSize3D(new Vector3fImpl(1, 1, 1));
+		assertEquals(1, pos.getTransformationMatrix().get(3, 0), EPS);
+		assertTrue(pos.isValid());
+
+		parent.setLocation3D(new Vector3fImpl(10, 0, 0));
+		assertFalse(pos.isValid());
+
+		parent.getTransformationMatrix();
+		assertTrue(parent.isValid());
+		assertFalse(pos.isValid());
+
+		assertEquals(11, pos.getTransformationMatrix().get(3, 0), EPS);
+		assertEquals(11.5f, pos.getCenter3D().getX(), EPS);
+		assertTrue(pos.isValid());
+	}
+
+	/**
+	 * Tests that the generation of a position only changes if the position or
+	 * its parent was changed.
+	 */
+	@Test
+	public void testGeneration() {
+		AbstractPosition3D parent =
+			(AbstractPosition3D) Position3DUtil.createAbsolutePosition();
+		AbstractPosition3D pos =
+			(AbstractPosition3D) Position3DUtil.createRelativePosition(parent
+				.getHost());
+
+		int generation = pos.getGeneration();
+		assertEquals(generation, pos.getGeneration());
+
+		pos.setLocation3D(new Vector3fImpl(1, 2, 3));
+		assertTrue(generation != pos.getGeneration());
+
+		generation = pos.getGeneration();
+		int parentGeneration = parent.getGeneration();
+		parent.setLocation3D(new Vector3fImpl(10, 0, 0));
+		assertTrue(generation != pos.getGeneration());
+		assertTrue(parentGeneration != parent.getGeneration());
+
+		generation = pos.getGeneration();
+		pos.getTransformationMatrix();
+		assertEquals(generation, pos.getGeneration());
+	}
+
+	/**
+	 * Tests that the absolute rotation matrix of unrotated positions is the
+	 * identity matrix and that of a child of a rotated position is not.
+	 */
+	@Test
+	public void testAbsoluteRotationMatrix() {
+		Position3D parent = Position3DUtil.createAbsolutePosition();
+		Position3D pos =
+			Position3DUtil.createRelativePosition(parent.getHost());
+
+		assertSame(IMatrix4f.IDENTITY, pos.getAbsoluteRotationMatrix());
+
+		parent.setRotation3D(new Vector3fImpl(0, 0, 1));
+		Matrix4f expected =
+			Math3D.rotate(1, IVector3f.Z_AXIS, IMatrix4f.IDENTITY, null);
+		assertTrue(Math3D.equals(expected, pos.getAbsoluteRotationMatrix(),
+			EPS));
+
+		parent.setRotation3D(IVector3f.NULLVEC3f);
+		assertSame(IMatrix4f.IDENTITY, pos.getAbsoluteRotationMatrix());
+	}
+
+	/**
+	 * Tests that rays are transformed with the inverse transformation matrix
+	 * for unrotated and rotated positions.
+	 */
+	@Test
+	public void testTransformRay() {
+		Position3D parent = Position3DUtil.createAbsolutePosition();
+		Position3D pos =
+			Position3DUtil.createRelativePosition(parent.getHost());
+
+		parent.setLocation3D(new Vector3fImpl(10, 20, 30));
+		pos.setLocation3D(new Vector3fImpl(1, 2, 3));
+		pos.setSize3D(new Vector3fImpl(2, 4, 8));
+		assertTransformRay(pos);
+
+		pos.setRotation3D(new Vector3fImpl(0.3f, 0.2f, 0.1f));
+		assertTransformRay(pos);
+
+		pos.setRotation3D(IVector3f.NULLVEC3f);
+		parent.setRotation3D(new Vector3fImpl(0, 1, 0));
+		assertTransformRay(pos);
+
+		pos.setSize3D(new Vector3fImpl(2, 0, 8));
+		assertFalse(pos.transformRay(new Vector3fImpl(), new Vector3fImpl()));
+	}
+
+	/**
+	 * Tests that the transformation matrix relative to an origin is the
+	 * absolute transformation matrix translated by the origin, and that it is
+	 * precise for positions which are far away from the world origin.
+	 */
+	@Test
+	public void testRelativeTransformationMatrix() {
+		Position3D parent = Position3DUtil.createAbsolutePosition();
+		Position3D pos =
+			Position3DUtil.createRelativePosition(parent.getHost());
+
+		pos.setLocation3D(new Vector3fImpl(1, 2, 3));
+		pos.setSize3D(new Vector3fImpl(2, 4, 8));
+		pos.setRotation3D(new Vector3fImpl(0.3f, 0.2f, 0.1f));
+
+		Matrix4f relative =
+			pos.getTransformationMatrix(IVector3f.NULLVEC3f, null);
+		assertTrue(Math3D.equals(pos.getTransformationMatrix(), relative, EPS));
+
+		// a child that is close to its parent which is far away
+		parent.setLocation3D(new Vector3fImpl(25000.3f, -25000.7f, 25000.1f));
+		pos.setRotation3D(IVector3f.NULLVEC3f);
+		pos.setLocation3D(new Vector3fImpl(0.001f, 0.002f, 0.003f));
+
+		IVector3f origin = parent.getLocation3D();
+		pos.getTransformationMatrix(origin, relative);
+		assertEquals(0.001f, relative.get(3, 0), 1E-6f);
+		assertEquals(0.002f, relative.get(3, 1), 1E-6f);
+		assertEquals(0.003f, relative.get(3, 2), 1E-6f);
+		assertEquals(2, relative.get(0, 0), 0);
+		assertEquals(8, relative.get(2, 2), 0);
+
+		// rays are transformed precisely as well
+		Vector3f rayOrigin = new Vector3fImpl(origin);
+		Vector3f rayDirection = new Vector3fImpl(0, 0, 1);
+		assertTrue(pos.transformRay(rayOrigin, rayDirection));
+		assertEquals(-0.001f / 2, rayOrigin.getX(), 1E-6f);
+		assertEquals(-0.002f / 4, rayOrigin.getY(), 1E-6f);
+		assertEquals(-0.003f / 8, rayOrigin.getZ(), 1E-6f);
+	}
+
+	private void assertTransformRay(IPosition3D i_position) {
+		Vector3f origin = new Vector3fImpl(1, -2, 3);
+		Vector3f direction = new Vector3fImpl(0, 0, 1);
+
+		Matrix4f originMatrix =
+			Math3D.invert(i_position.getTransformationMatrix(), null);
+		Matrix4f directionMatrix =
+			Math3D.scale(i_position.getSize3D(), i_position
+				.getAbsoluteRotationMatrix(), null);
+		Math3D.invert(directionMatrix, directionMatrix);
+
+		Vector3f expectedOrigin = Math3D.transform(origin, originMatrix, null);
+		Vector3f expectedDirection =
+			Math3D.transform(direction, directionMatrix, null);
+
+		assertTrue(i_position.transformRay(origin, direction));
+		assertTrue(Math3D.equals(expectedOrigin, origin, EPS));
+		assertTrue(Math3D.equals(expectedDirection, direction, EPS));
+	}
 }
@@ -41,6 +41,7 @@ public class GeometryTests {
 		suite.addTestSuite(Matrix4fTest.class);
 		suite.addTestSuite(Math3DTest.class);
 		suite.addTestSuite(BoundingBox3fTest.class);
+		suite.addTestSuite(Math3DCacheTest.class);
 		suite.addTestSuite(SyncedBoundsTest.class);
 		suite.addTestSuite(SyncedVector3fTest.class);
 		// $JUnit-END$
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import org.junit.Test;
+
+/**
+ * Compares the results of the bulk operations in {@link Math3DBulkOps} with
+ * the results of the corresponding single vector operations.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class Math3DBulkOpsTest {
+
+	public final static float PREC = 0.0001f;
+
+	private static Matrix4f getAffineMatrix() {
+
+		Matrix4f m = new Matrix4fImpl();
+		Math3D.rotate(new Vector3fImpl(0.3f, -1.2f, 2.1f), m, m);
+		Math3D.scale(new Vector3fImpl(2, 0.5f, 3), m, m);
+		Math3D.translate(m, new Vector3fImpl(5, -7, 11), m);
+		return m;
+	}
+
+	private static float[] getRandomPoints(int i_count) {
+
+		float[] points = new float[3 * i_count];
+		for (int i = 0; i < points.length; i++)
+			points[i] = GeometryTests.getRandomFloat() * 20 - 10;
+		return points;
+	}
+
+	/**
+	 * Test method for
+	 * {@link Math3DBulkOps#transformPoints(float[], int, int, IMatrix4f, float[], int)}
+	 * .
+	 */
+	@Test
+	public void testTransformPoints() {
+
+		Matrix4f affine = getAffineMatrix();
+		Matrix4f projective = new Matrix4fImpl(affine);
+		projective.set(0, 3, 0.1f);
+		projective.set(3, 3, 2);
+
+		for (Matrix4f m : new Matrix4f[] { affine, projective }) {
+			float[] points = getRandomPoints(17);
+			float[] result = new float[points.length + 3];
+			Math3D.transformPoints(points, 0, 17, m, result, 3);
+
+			Vector3f v = new Vector3fImpl();
+			for (int i = 0; i < 17; i++) {
+				v.set(points[3 * i], points[3 * i + 1], points[3 * i + 2]);
+				Math3D.transform(v, m, v);
+				assertEquals(v.getX(), result[3 + 3 * i], PREC);
+				assertEquals(v.getY(), result[3 + 3 * i + 1], PREC);
+				assertEquals(v.getZ(), result[3 + 3 * i + 2], PREC);
+			}
+
+			// in place
+			Math3D.transformPoints(points, 0, 17, m, points, 0);
+			for (int i = 0; i < points.length; i++)
+				assertEquals(result[3 + i], points[i], PREC);
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link Math3DBulkOps#transformPoints(float[], int, int, IMatrix3f, FloatBuffer, int)}
+	 * .
+	 */
+	@Test
+	public void testTransformPointsBuffer() {
+
+		Matrix3f affine = new Matrix3fImpl();
+		Math3D.scale(new Vector2fImpl(2, 3), affine, affine);
+		Math3D.translate(affine, new Vector2fImpl(-4, 7), affine);
+		Matrix3f projective = new Matrix3fImpl(affine);
+		projective.set(0, 2, 0.1f);
+		projective.set(2, 2, 2);
+
+		float[] points = new float[] { 1, 2, -3, 4, 5, -6 };
+		for (Matrix3f m : new Matrix3f[] { affine, projective }) {
+			float[] expected = new float[points.length];
+			Math3D.transformPoints(points, 0, 3, m, expected, 0);
+
+			// heap buffers are transformed via their arrays, direct buffers
+			// element by element
+			FloatBuffer[] results =
+				new FloatBuffer[] { FloatBuffer.allocate(points.length + 2),
+					ByteBuffer.allocateDirect(4 * points.length + 8).order(
+						ByteOrder.nativeOrder()).asFloatBuffer() };
+
+			for (FloatBuffer result : results) {
+				Math3D.transformPoints(points, 0, 3, m, result, 2);
+
+				assertEquals(0, result.position());
+				for (int i = 0; i < expected.length; i++)
+					assertEquals(expected[i], result.get(2 + i), PREC);
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link Math3DBulkOps#transformPoints(float[], int, int, IMatrix3f, float[], int)}
+	 * .
+	 */
+	@Test
+	public void testTransformPoints2D() {
+
+		Matrix3f m = new Matrix3fImpl();
+		Math3D.scale(new Vector2fImpl(2, 3), m, m);
+		Math3D.translate(m, new Vector2fImpl(-4, 7), m);
+
+		float[] points = new float[] { 1, 2, -3, 4 };
+		Math3D.transformPoints(points, 0, 2, m, points, 0);
+
+		Vector2f v = new Vector2fImpl(1, 2);
+		Math3D.transform(v, m, v);
+		assertEquals(v.getX(), points[0], PREC);
+		assertEquals(v.getY(), points[1], PREC);
+
+		v.set(-3, 4);
+		Math3D.transform(v, m, v);
+		assertEquals(v.getX(), points[2], PREC);
+		assertEquals(v.getY(), points[3], PREC);
+	}
+
+	/**
+	 * Test method for
+	 * {@link Math3DBulkOps#transformBoxes(float[], int, int, IMatrix4f, float[], int)}
+	 * .
+	 */
+	@Test
+	public void testTransformBoxes() {
+
+		Matrix4f affine = getAffineMatrix();
+		Matrix4f projective = new Matrix4fImpl(affine);
+		projective.set(1, 3, 0.05f);
+
+		for (Matrix4f m : new Matrix4f[] { affine, projective }) {
+			float[] box = new float[] { -1, 2, 3, 4, 5, 6 };
+			float[] corners = new float[24];
+			for (int c = 0; c < 8; c++) {
+				corners[3 * c] = box[0] + ((c & 1) == 0 ? 0 : box[3]);
+				corners[3 * c + 1] = box[1] + ((c & 2) == 0 ? 0 : box[4]);
+				corners[3 * c + 2] = box[2] + ((c & 4) == 0 ? 0 : box[5]);
+			}
+			Math3D.transformPoints(corners, 0, 8, m, corners, 0);
+
+			Vector3f location = new Vector3fImpl();
+			Vector3f size = new Vector3fImpl();
+			Math3D.getBounds(corners, 0, 8, location, size);
+
+			Math3D.transformBoxes(box, 0, 1, m, box, 0);
+			assertEquals(location.getX(), box[0], PREC);
+			assertEquals(location.getY(), box[1], PREC);
+			assertEquals(location.getZ(), box[2], PREC);
+			assertEquals(size.getX(), box[3], PREC);
+			assertEquals(size.getY(), box[4], PREC);
+			assertEquals(size.getZ(), box[5], PREC);
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link Math3DBulkOps#dot(float[], int, int, IVector3f, float[], int)}.
+	 */
+	@Test
+	public void testDot() {
+
+		float[] vectors = getRandomPoints(9);
+		float[] result = new float[9];
+		IVector3f w = new Vector3fImpl(1, -2, 3);
+		Math3D.dot(vectors, 0, 9, w, result, 0);
+
+		for (int i = 0; i < 9; i++) {
+			IVector3f v =
+				new Vector3fImpl(vectors[3 * i], vectors[3 * i + 1],
+					vectors[3 * i + 2]);
+			assertEquals(Math3D.dot(v, w), result[i], PREC);
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link Math3DBulkOps#rayIntersectsPlanes(IVector3f, IVector3f, float[], int, int, float[], int)}
+	 * .
+	 */
+	@Test
+	public void testRayIntersectsPlanes() {
+
+		IVector3f origin = new Vector3fImpl(0, 0, 0);
+		IVector3f direction = new Vector3fImpl(0, 0, 1);
+
+		float[] planes = new float[] { //
+			0, 0, 1, 5, // z = 5
+			0, 0, -1, -2, // z = 2, facing the origin
+			1, 0, 0, 3, // parallel to the ray
+			0, 0, 1, -4 // behind the origin
+			};
+		float[] distances = new float[4];
+
+		int closest =
+			Math3D.rayIntersectsPlanes(origin, direction, planes, 0, 4,
+				distances, 0);
+
+		assertEquals(1, closest);
+		assertEquals(5, distances[0], PREC);
+		assertEquals(2, distances[1], PREC);
+		assertTrue(Float.isNaN(distances[2]));
+		assertTrue(Float.isNaN(distances[3]));
+
+		for (int i = 0; i < 2; i++) {
+			IVector3f normal =
+				new Vector3fImpl(planes[4 * i], planes[4 * i + 1],
+					planes[4 * i + 2]);
+			IVector3f point = new Vector3fImpl(0, 0, planes[4 * i + 3]
+				* normal.getZ());
+			assertEquals(Math3D.rayIntersectsPlane(origin, direction, point,
+				normal), distances[i], PREC);
+		}
+	}
+}
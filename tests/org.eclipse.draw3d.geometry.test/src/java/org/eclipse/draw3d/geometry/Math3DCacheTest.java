@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.draw3d.geometry;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the thread-local pools of {@link Math3DCache} and {@link ObjectPool}.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class Math3DCacheTest extends TestCase {
+
+	private static class CountingPool extends ObjectPool<Object> {
+
+		CountingPool() {
+
+			super("Test", 4, Integer.MAX_VALUE);
+		}
+
+		@Override
+		protected Object create() {
+
+			return new Object();
+		}
+	}
+
+	/**
+	 * Tests that a returned object is handed out again.
+	 */
+	public void testReuse() {
+
+		Vector3f v0 = Math3DCache.getVector3f();
+		Math3DCache.returnVector3f(v0);
+
+		Vector3f v1 = Math3DCache.getVector3f();
+		try {
+			assertSame(v0, v1);
+		} finally {
+			Math3DCache.returnVector3f(v1);
+		}
+	}
+
+	/**
+	 * Tests that every thread has its own pool.
+	 *
+	 * @throws InterruptedException
+	 */
+	public void testThreadLocal() throws InterruptedException {
+
+		Vector3f v0 = Math3DCache.getVector3f();
+		Math3DCache.returnVector3f(v0);
+
+		final Vector3f[] other = new Vector3f[1];
+		Thread thread = new Thread(new Runnable() {
+
+			public void run() {
+
+				other[0] = Math3DCache.getVector3f();
+				Math3DCache.returnVector3f(other[0]);
+			}
+		});
+		thread.start();
+		thread.join();
+
+		assertNotNull(other[0]);
+		assertNotSame(v0, other[0]);
+	}
+
+	/**
+	 * Tests that closing a scope returns all objects acquired from it, and
+	 * that nested scopes only return their own objects.
+	 */
+	public void testScope() {
+
+		CountingPool pool = new CountingPool();
+
+		Math3DCache.Scope outer = Math3DCache.beginScope();
+		try {
+			Object o0 = outer.acquire(pool);
+			assertEquals(1, pool.getInUse());
+
+			Math3DCache.Scope inner = Math3DCache.beginScope();
+			try {
+				inner.acquire(pool);
+				inner.acquire(pool);
+				assertEquals(3, pool.getInUse());
+			} finally {
+				inner.close();
+			}
+
+			assertEquals(1, pool.getInUse());
+			assertNotSame(o0, pool.get());
+		} finally {
+			outer.close();
+		}
+
+		// the object that was taken by get() is not returned by the scope
+		assertEquals(1, pool.getInUse());
+		assertEquals(3, pool.getHighWaterMark());
+
+		try {
+			outer.close();
+			fail("closing a closed scope must fail");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests that returned objects beyond the maximum size are discarded.
+	 */
+	public void testMaxSize() {
+
+		CountingPool pool = new CountingPool();
+
+		Object[] objects = new Object[6];
+		for (int i = 0; i < objects.length; i++)
+			objects[i] = pool.get();
+		assertEquals(6, pool.getHighWaterMark());
+
+		for (int i = 0; i < objects.length; i++)
+			pool.put(objects[i]);
+		assertEquals(0, pool.getInUse());
+
+		// only 4 objects were kept, so get() returns them in reverse order
+		for (int i = 3; i >= 0; i--)
+			assertSame(objects[i], pool.get());
+		assertNotSame(objects[4], pool.get());
+	}
+
+	/**
+	 * Tests that sized pools return the smallest object that is large enough.
+	 */
+	public void testSizedPool() {
+
+		SizedObjectPool<float[]> pool =
+			new SizedObjectPool<float[]>("Test", 10, Integer.MAX_VALUE) {
+
+				@Override
+				protected float[] create(int i_size) {
+
+					return new float[i_size];
+				}
+
+				@Override
+				protected int getSize(float[] i_object) {
+
+					return i_object.length;
+				}
+			};
+
+		float[] a16 = new float[16];
+		float[] a4 = new float[4];
+		float[] a8 = new float[8];
+		pool.put(a16);
+		pool.put(a4);
+		pool.put(a8);
+
+		assertSame(a8, pool.get(5));
+		assertSame(a4, pool.get(1));
+		assertEquals(32, pool.get(32).length);
+		assertSame(a16, pool.get(16));
+	}
+}
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+/**
+ * Tests that the matrix operations in {@link Math3D} do not allocate any
+ * objects if a result is given and all parameters are implementation
+ * instances, and that they compute correct results if the result is one of
+ * the operands.
+ * <p>
+ * The allocated bytes are measured with the HotSpot extension of
+ * {@link ThreadMXBean}. If that is not available, the allocation test is
+ * skipped.
+ * </p>
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class Math3DMatrixAllocationTest {
+
+	/**
+	 * The number of bytes that may be allocated while the operations are
+	 * performed, e.g. by the measurement itself.
+	 */
+	private static final long MAX_ALLOCATED = 1024;
+
+	private static final int ITERATIONS = 20000;
+
+	public final static float PREC = 0.0001f;
+
+	private Matrix2f m_a2 = new Matrix2fImpl(2, 1, -1, 3);
+
+	private Matrix3f m_a3 = new Matrix3fImpl(2, 1, 0, -1, 3, 1, 0.5f, 0, 1);
+
+	private Matrix4f m_a4 = new Matrix4fImpl();
+
+	private Matrix2f m_b2 = new Matrix2fImpl();
+
+	private Matrix3f m_b3 = new Matrix3fImpl();
+
+	private Matrix4f m_b4 = new Matrix4fImpl();
+
+	private Vector2f m_v2 = new Vector2fImpl();
+
+	private Vector3f m_v3 = new Vector3fImpl();
+
+	private Vector4f m_v4 = new Vector4fImpl();
+
+	/**
+	 * Creates a new test.
+	 */
+	public Math3DMatrixAllocationTest() {
+
+		Math3D.rotate(0.7f, new Vector3fImpl(1, 2, 3), m_a4, m_a4);
+		Math3D.scale(new Vector3fImpl(2, 3, 4), m_a4, m_a4);
+		Math3D.translate(m_a4, new Vector3fImpl(-1, 5, 2), m_a4);
+	}
+
+	private static float[] toArray(IMatrix i_matrix) {
+
+		float[] array = new float[i_matrix.size()];
+		i_matrix.toArrayRowMajor(array);
+		return array;
+	}
+
+	private static void assertArrayEquals(float[] i_expected,
+		float[] i_actual) {
+
+		assertEquals(i_expected.length, i_actual.length);
+		for (int i = 0; i < i_expected.length; i++)
+			assertEquals(i_expected[i], i_actual[i], PREC);
+	}
+
+	/**
+	 * Performs all operations once, using aliased parameters where possible.
+	 * The matrices and vectors are reset so that their values stay finite.
+	 */
+	private void performOperations() {
+
+		m_b2.set(m_a2);
+		Math3D.mul(m_b2, m_a2, m_b2);
+		Math3D.mul(m_b2, m_b2, m_b2);
+		Math3D.add(m_b2, m_a2, m_b2);
+		Math3D.sub(m_b2, m_a2, m_b2);
+		Math3D.mul(0.5f, m_b2, m_b2);
+		Math3D.transpose(m_b2, m_b2);
+		Math3D.negate(m_b2, m_b2);
+
+		m_b3.set(m_a3);
+		Math3D.mul(m_b3, m_a3, m_b3);
+		Math3D.mul(m_a3, m_b3, m_b3);
+		Math3D.mul(m_b3, m_b3, m_b3);
+		Math3D.add(m_b3, m_a3, m_b3);
+		Math3D.sub(m_b3, m_a3, m_b3);
+		Math3D.mul(0.5f, m_b3, m_b3);
+		Math3D.transpose(m_b3, m_b3);
+		Math3D.adjugate(m_b3, m_b3);
+		Math3D.negate(m_b3, m_b3);
+		Math3D.scale(m_v2, m_b3, m_b3);
+		Math3D.translate(m_b3, m_v2, m_b3);
+
+		m_v2.set(1, 2);
+		Math3D.transform(m_v2, m_a3, m_v2);
+
+		m_b4.set(m_a4);
+		Math3D.mul(m_b4, m_a4, m_b4);
+		Math3D.mul(m_a4, m_b4, m_b4);
+		Math3D.mul(m_b4, m_b4, m_b4);
+		Math3D.add(m_b4, m_a4, m_b4);
+		Math3D.sub(m_b4, m_a4, m_b4);
+		Math3D.mul(0.5f, m_b4, m_b4);
+		Math3D.transpose(m_b4, m_b4);
+		Math3D.invert(m_b4, m_b4);
+		Math3D.negate(m_b4, m_b4);
+		Math3D.rotate(0.3f, IVector3f.Z_AXIS, m_b4, m_b4);
+		Math3D.scale(m_v3, m_b4, m_b4);
+		Math3D.translate(m_b4, m_v3, m_b4);
+
+		m_v3.set(1, 2, 3);
+		Math3D.transform(m_v3, m_a3, m_v3);
+		Math3D.transform(m_v3, m_a4, m_v3);
+
+		m_v4.set(1, 2, 3, 1);
+		Math3D.transform(m_v4, m_a4, m_v4);
+	}
+
+	/**
+	 * Tests that no operation allocates any objects in steady state.
+	 *
+	 * @throws Exception if the measurement fails
+	 */
+	@Test
+	public void testNoAllocation() throws Exception {
+
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Class<?> type = null;
+		try {
+			type = Class.forName("com.sun.management.ThreadMXBean");
+		} catch (ClassNotFoundException ex) {
+			// not supported by this VM
+		}
+		assumeTrue(type != null && type.isInstance(bean));
+
+		Method method = type.getMethod("getThreadAllocatedBytes", long.class);
+		Long threadId = Long.valueOf(Thread.currentThread().getId());
+
+		// the measurement may be disabled
+		assumeTrue(((Long) method.invoke(bean, threadId)).longValue() >= 0);
+
+		// warm up, so that neither class loading nor compilation is measured
+		for (int i = 0; i < ITERATIONS; i++)
+			performOperations();
+
+		long before = ((Long) method.invoke(bean, threadId)).longValue();
+		for (int i = 0; i < ITERATIONS; i++)
+			performOperations();
+		long after = ((Long) method.invoke(bean, threadId)).longValue();
+
+		long allocated = after - before;
+		if (allocated > MAX_ALLOCATED)
+			fail("matrix operations allocated " + allocated + " bytes in "
+				+ ITERATIONS + " iterations");
+	}
+
+	/**
+	 * Tests that the multiplications return the same results if the result is
+	 * one of the operands.
+	 */
+	@Test
+	public void testMulAliased() {
+
+		Matrix4f b4 = Math3D.rotate(-1.1f, IVector3f.X_AXIS, m_a4, null);
+		b4.set(1, 3, 0.25f);
+		Matrix4f expected4 = Math3D.mul(m_a4, b4, null);
+		Matrix4f left4 = new Matrix4fImpl(m_a4);
+		Math3D.mul(left4, b4, left4);
+		assertArrayEquals(toArray(expected4), toArray(left4));
+
+		Matrix4f right4 = new Matrix4fImpl(b4);
+		Math3D.mul(m_a4, right4, right4);
+		assertArrayEquals(toArray(expected4), toArray(right4));
+
+		Matrix4f square4 = Math3D.mul(m_a4, m_a4, null);
+		Matrix4f both4 = new Matrix4fImpl(m_a4);
+		Math3D.mul(both4, both4, both4);
+		assertArrayEquals(toArray(square4), toArray(both4));
+
+		Matrix3f expected3 = Math3D.mul(m_a3, m_a3, null);
+		Matrix3f both3 = new Matrix3fImpl(m_a3);
+		Math3D.mul(both3, both3, both3);
+		assertArrayEquals(toArray(expected3), toArray(both3));
+
+		Matrix2f b2 = new Matrix2fImpl(1, -2, 4, 0.5f);
+		Matrix2f expected2 = Math3D.mul(m_a2, b2, null);
+		Matrix2f right2 = new Matrix2fImpl(b2);
+		Math3D.mul(m_a2, right2, right2);
+		assertArrayEquals(toArray(expected2), toArray(right2));
+
+		Matrix2f left2 = new Matrix2fImpl(m_a2);
+		Math3D.mul(left2, b2, left2);
+		assertArrayEquals(toArray(expected2), toArray(left2));
+
+		Matrix2f square2 = Math3D.mul(m_a2, m_a2, null);
+		Matrix2f both2 = new Matrix2fImpl(m_a2);
+		Math3D.mul(both2, both2, both2);
+		assertArrayEquals(toArray(square2), toArray(both2));
+	}
+
+	/**
+	 * Tests that inverting a matrix in place yields its inverse and that
+	 * singular matrices cannot be inverted.
+	 */
+	@Test
+	public void testInvertAliased() {
+
+		Matrix4f inverse = new Matrix4fImpl(m_a4);
+		assertTrue(Math3D.invert(inverse, inverse) == inverse);
+
+		Matrix4f product = Math3D.mul(m_a4, inverse, null);
+		assertArrayEquals(toArray(IMatrix4f.IDENTITY), toArray(product));
+
+		Matrix4f projective = new Matrix4fImpl(m_a4);
+		projective.set(0, 3, 0.1f);
+		projective.set(2, 3, -0.2f);
+		Matrix4f projectiveInverse = Math3D.invert(projective, null);
+		Math3D.mul(projectiveInverse, projective, projectiveInverse);
+		assertArrayEquals(toArray(IMatrix4f.IDENTITY),
+			toArray(projectiveInverse));
+
+		Matrix4f singular = new Matrix4fImpl(m_a4);
+		Math3D.scale(new Vector3fImpl(1, 0, 1), singular, singular);
+		assertNull(Math3D.invert(singular, null));
+	}
+}
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.geometryext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.eclipse.draw3d.geometry.Math3D;
+import org.eclipse.draw3d.geometry.Matrix4f;
+import org.eclipse.draw3d.geometry.Matrix4fImpl;
+import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
+import org.eclipse.draw3d.geometry.ParaxialBoundingBoxImpl;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.junit.Test;
+
+/**
+ * Tests for {@link Frustum}. The frustum is created from the matrices of a
+ * camera at (50, 0, 0) that looks at the origin with the Z axis pointing up,
+ * using a perspective projection with a field of view of 90 degrees, an
+ * aspect ratio of 1 and the clipping planes at distance 1 and 101. A point
+ * (x, y, z) is therefore visible if its distance <code>d = 50 - x</code> from
+ * the camera is between 1 and 101 and <code>|y| <= d</code> and
+ * <code>|z| <= d</code>.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class FrustumTest {
+
+	/**
+	 * The projection matrix as created by
+	 * <code>gluPerspective(90, 1, 1, 101)</code>, in the column vector
+	 * convention of OpenGL.
+	 */
+	private static final float[] PROJECTION = new float[] { //
+		1, 0, 0, 0, //
+		0, 1, 0, 0, //
+		0, 0, -1.02f, -2.02f, //
+		0, 0, -1, 0 };
+
+	/**
+	 * The view matrix as created by
+	 * <code>gluLookAt(50, 0, 0, 0, 0, 0, 0, 0, 1)</code>, in the column
+	 * vector convention of OpenGL.
+	 */
+	private static final float[] VIEW = new float[] { //
+		0, 1, 0, 0, //
+		0, 0, 1, 0, //
+		1, 0, 0, -50, //
+		0, 0, 0, 1 };
+
+	/**
+	 * Converts the given OpenGL matrix to the row vector convention of
+	 * {@link Math3D}, just like the camera does with the matrices it reads
+	 * from OpenGL.
+	 */
+	private static Matrix4f toMath3D(float[] i_glMatrix) {
+
+		Matrix4fImpl result = new Matrix4fImpl();
+		result.setRowMajor(i_glMatrix);
+		Math3D.transpose(result, result);
+
+		return result;
+	}
+
+	private static Frustum createFrustum() {
+
+		Matrix4f viewProjection =
+			Math3D.mul(toMath3D(PROJECTION), toMath3D(VIEW), null);
+
+		Frustum frustum = new Frustum();
+		frustum.set(viewProjection);
+
+		return frustum;
+	}
+
+	/**
+	 * Tests that the combined matrix transforms into clip coordinates, i.e.
+	 * that the test setup uses the conventions of {@link Frustum}.
+	 */
+	@Test
+	public void testViewProjection() {
+
+		Matrix4f viewProjection =
+			Math3D.mul(toMath3D(PROJECTION), toMath3D(VIEW), null);
+
+		// on the near plane in the lower left corner
+		Vector3f v = Math3D.transform(new Vector3fImpl(49, -1, -1),
+			viewProjection, null);
+		assertEquals(-1, v.getX(), 0.0001f);
+		assertEquals(-1, v.getY(), 0.0001f);
+		assertEquals(-1, v.getZ(), 0.0001f);
+
+		// on the far plane in the upper right corner
+		Math3D.transform(new Vector3fImpl(-51, 101, 101), viewProjection, v);
+		assertEquals(1, v.getX(), 0.0001f);
+		assertEquals(1, v.getY(), 0.0001f);
+		assertEquals(1, v.getZ(), 0.0001f);
+	}
+
+	/**
+	 * Tests boxes that are entirely inside of the frustum.
+	 */
+	@Test
+	public void testInside() {
+
+		Frustum frustum = createFrustum();
+		assertTrue(frustum.isValid());
+
+		assertTrue(frustum.intersects(-1, -1, -1, 1, 1, 1));
+		assertTrue(frustum.intersects(48, -0.5f, -0.5f, 48.5f, 0.5f, 0.5f));
+		assertTrue(frustum.intersects(-50, -90, -90, -40, 80, 80));
+	}
+
+	/**
+	 * Tests boxes that are entirely outside of exactly one of the six planes.
+	 */
+	@Test
+	public void testOutside() {
+
+		Frustum frustum = createFrustum();
+
+		assertFalse("near", frustum.intersects(49.2f, -0.1f, -0.1f, 49.8f,
+			0.1f, 0.1f));
+		assertFalse("far", frustum.intersects(-60, -1, -1, -55, 1, 1));
+		assertFalse("left", frustum.intersects(-1, -60, -1, 1, -55, 1));
+		assertFalse("right", frustum.intersects(-1, 55, -1, 1, 60, 1));
+		assertFalse("bottom", frustum.intersects(-1, -1, -60, 1, 1, -55));
+		assertFalse("top", frustum.intersects(-1, -1, 55, 1, 1, 60));
+
+		// behind the camera
+		assertFalse(frustum.intersects(60, -1, -1, 70, 1, 1));
+	}
+
+	/**
+	 * Tests boxes that intersect one of the six planes.
+	 */
+	@Test
+	public void testStraddling() {
+
+		Frustum frustum = createFrustum();
+
+		assertTrue("near", frustum.intersects(48, -0.1f, -0.1f, 52, 0.1f,
+			0.1f));
+		assertTrue("far", frustum.intersects(-55, -1, -1, -45, 1, 1));
+		assertTrue("left", frustum.intersects(-1, -55, -1, 1, -45, 1));
+		assertTrue("right", frustum.intersects(-1, 45, -1, 1, 55, 1));
+		assertTrue("bottom", frustum.intersects(-1, -1, -55, 1, 1, -45));
+		assertTrue("top", frustum.intersects(-1, -1, 45, 1, 1, 55));
+
+		// contains the whole frustum
+		assertTrue(frustum.intersects(-200, -200, -200, 200, 200, 200));
+	}
+
+	/**
+	 * Tests the bounding box variant of the intersection test.
+	 */
+	@Test
+	public void testBoundingBox() {
+
+		Frustum frustum = createFrustum();
+		ParaxialBoundingBox box = new ParaxialBoundingBoxImpl();
+
+		box.setLocation(-1, -60, -1);
+		box.setSize(2, 5, 2);
+		assertFalse(frustum.intersects(box));
+
+		box.setSize(2, 15, 2);
+		assertTrue(frustum.intersects(box));
+
+		try {
+			frustum.intersects(null);
+			fail("box must not be null");
+		} catch (NullPointerException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests that an invalid frustum contains everything and that a copy
+	 * classifies boxes like the original.
+	 */
+	@Test
+	public void testInvalidAndCopy() {
+
+		Frustum frustum = new Frustum();
+		assertFalse(frustum.isValid());
+		assertTrue(frustum.intersects(-60, -1, -1, -55, 1, 1));
+
+		frustum.set(createFrustum());
+		assertTrue(frustum.isValid());
+		assertFalse(frustum.intersects(-60, -1, -1, -55, 1, 1));
+		assertTrue(frustum.intersects(-1, -1, -1, 1, 1, 1));
+
+		frustum.invalidate();
+		assertFalse(frustum.isValid());
+		assertTrue(frustum.intersects(-60, -1, -1, -55, 1, 1));
+	}
+}
@@ -12,8 +12,11 @@ package org.eclipse.draw3d.geometryext;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.nio.FloatBuffer;
 import java.util.Iterator;
 import java.util.ListIterator;
 
@@ -21,6 +24,7 @@ import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Vector3f;
 import org.eclipse.draw3d.geometry.Vector3fImpl;
 import org.junit.Test;
 
@@ -356,5 +360,160 @@ public class PointList3DTest {
 		assertEquals(0, pl.size());
 	}
 
+	/**
+	 * Test method for {@link org.eclipse.draw3d.geometryext.PointList3D#addAll(org.eclipse.draw2d.geometry.PointList)}
+	 * with a 3D point list.
+	 */
+	@Test
+	public void testAddAllPointList3D() {
+		PointList3D pl = new PointList3D();
+		pl.add(new Vector3fImpl(-1, -2, -3));
+		pl.addAll((PointList) TEN);
+		assertEquals(11, pl.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(TEN.get(i), pl.get(i + 1));
+		}
+
+		pl.addAll(2, pl);
+		assertEquals(22, pl.size());
+		assertEquals(new Vector3fImpl(-1, -2, -3), pl.get(2));
+		assertEquals(TEN.get(0), pl.get(1));
+		assertEquals(TEN.get(0), pl.get(3));
+		assertEquals(TEN.get(1), pl.get(13));
+	}
+
+	/**
+	 * Test method for {@link org.eclipse.draw3d.geometryext.PointList3D#getBounds()}
+	 * with negative coordinates.
+	 */
+	@Test
+	public void testGetBoundsNegative() {
+		PointList3D pl = new PointList3D();
+		pl.addPoint(-10, -20);
+		pl.addPoint(-5, -2);
+		assertEquals(new Rectangle(-10, -20, 5, 18), pl.getBounds());
+	}
+
+	/**
+	 * Test method for {@link org.eclipse.draw3d.geometryext.PointList3D#getPoint3D(int, Vector3f)}
+	 * and the coordinate accessors.
+	 */
+	@Test
+	public void testGetPoint3DIntVector3f() {
+		Vector3f v = new Vector3fImpl();
+		assertSame(v, TEN.getPoint3D(4, v));
+		assertEquals(new Vector3fImpl(5, 15, 25), v);
+		assertEquals(5, TEN.getX(4), 0);
+		assertEquals(15, TEN.getY(4), 0);
+		assertEquals(25, TEN.getZ(4), 0);
+
+		try {
+			TEN.getX(10);
+			fail("IndexOutOfBoundsException expected");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * Returned points are copies, changing them does not change the list.
+	 */
+	@Test
+	public void testGetReturnsCopy() {
+		PointList3D pl = new PointList3D(TEN);
+		((Vector3f) pl.get(0)).set(99, 99, 99);
+		assertEquals(TEN.get(0), pl.get(0));
+
+		PointList3D copy = (PointList3D) pl.getCopy();
+		copy.set(0, new Vector3fImpl(99, 99, 99));
+		assertEquals(TEN.get(0), pl.get(0));
+	}
+
+	/**
+	 * Test method for {@link org.eclipse.draw3d.geometryext.PointList3D#set(float[], int, int)}
+	 * and {@link org.eclipse.draw3d.geometryext.PointList3D#addAll(float[], int, int)}.
+	 */
+	@Test
+	public void testSetFloatArray() {
+		float[] coords = new float[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+
+		PointList3D pl = new PointList3D(TEN);
+		pl.set(coords, 1, 2);
+		assertEquals(2, pl.size());
+		assertEquals(new Vector3fImpl(1, 2, 3), pl.get(0));
+		assertEquals(new Vector3fImpl(4, 5, 6), pl.get(1));
+
+		pl.addAll(coords, 0, 3);
+		assertEquals(5, pl.size());
+		assertEquals(new Vector3fImpl(4, 5, 6), pl.get(1));
+		assertEquals(new Vector3fImpl(0, 1, 2), pl.get(2));
+		assertEquals(new Vector3fImpl(6, 7, 8), pl.get(4));
+	}
+
+	/**
+	 * Test method for {@link org.eclipse.draw3d.geometryext.PointList3D#toBuffer(FloatBuffer)}
+	 * and {@link org.eclipse.draw3d.geometryext.PointList3D#getBuffer()}.
+	 */
+	@Test
+	public void testToBuffer() {
+		FloatBuffer buffer = FloatBuffer.allocate(31);
+		buffer.put(-1);
+		TEN.toBuffer(buffer);
+		assertEquals(31, buffer.position());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i + 1, buffer.get(1 + 3 * i), 0);
+			assertEquals(i + 11, buffer.get(2 + 3 * i), 0);
+			assertEquals(i + 21, buffer.get(3 + 3 * i), 0);
+		}
+
+		FloatBuffer wrapped = TEN.getBuffer();
+		assertEquals(0, wrapped.position());
+		assertEquals(30, wrapped.limit());
+		for (int i = 0; i < 30; i++) {
+			assertEquals(buffer.get(i + 1), wrapped.get(i), 0);
+		}
+	}
+
+	/**
+	 * Test method for {@link java.util.ListIterator#remove()} and
+	 * {@link java.util.ListIterator#set(Object)}.
+	 */
+	@Test
+	public void testListIteratorModification() {
+		PointList3D pl = new PointList3D(TEN);
+		ListIterator<IVector3f> iter = pl.listIterator();
+		while (iter.hasNext()) {
+			IVector3f v = iter.next();
+			if (((int) v.getX()) % 2 == 0)
+				iter.remove();
+			else
+				iter.set(new Vector3fImpl(v.getX(), v.getY(), 0));
+		}
+		assertEquals(5, pl.size());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(new Vector3fImpl(2 * i + 1, 2 * i + 11, 0), pl
+				.get(i));
+		}
+
+		iter = pl.listIterator(5);
+		iter.previous();
+		iter.add(new Vector3fImpl(1, 2, 3));
+		assertEquals(6, pl.size());
+		assertEquals(new Vector3fImpl(1, 2, 3), pl.get(4));
+		assertEquals(new Vector3fImpl(9, 19, 0), iter.next());
+	}
+
+	/**
+	 * Test method for {@link org.eclipse.draw3d.geometryext.PointList3D#retainAll(java.util.Collection)}.
+	 */
+	@Test
+	public void testRetainAll() {
+		PointList3D pl = new PointList3D(TEN);
+		assertFalse(pl.retainAll(TEN));
+		assertTrue(pl.retainAll(TEN.subList(3, 5)));
+		assertEquals(2, pl.size());
+		assertEquals(TEN.get(3), pl.get(0));
+		assertEquals(TEN.get(4), pl.get(1));
+	}
 
 }
@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics.optimizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.draw3d.geometry.IMatrix3f;
+import org.eclipse.draw3d.graphics.optimizer.classification.PrimitiveClass;
+import org.eclipse.draw3d.graphics.optimizer.primitive.Primitive;
+import org.eclipse.draw3d.graphics.optimizer.primitive.RenderRule;
+import org.junit.Test;
+
+/**
+ * Tests the overlap test of {@link PrimitiveSet}, which uses a spatial hash
+ * with a cell size of 64. The results are compared with a brute force test of
+ * all primitives in the set.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class PrimitiveSetTest {
+
+	/**
+	 * A primitive that intersects with every primitive whose bounds it
+	 * intersects.
+	 */
+	private static class TestPrimitive implements Primitive {
+
+		private final PrimitiveBounds m_bounds;
+
+		public TestPrimitive(float i_x0, float i_y0, float i_x1, float i_y1) {
+
+			m_bounds =
+				new PrimitiveBounds(new float[] { i_x0, i_y0, i_x1, i_y1 });
+		}
+
+		public PrimitiveBounds getBounds() {
+
+			return m_bounds;
+		}
+
+		public RenderRule getRenderRule() {
+
+			return null;
+		}
+
+		public IMatrix3f getTransformation() {
+
+			return null;
+		}
+
+		public boolean intersects(Primitive i_primitive) {
+
+			return m_bounds.intersects(i_primitive.getBounds());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+
+			return m_bounds.toString();
+		}
+	}
+
+	/**
+	 * A set that accepts every primitive and exposes the overlap test.
+	 */
+	private static class TestSet extends PrimitiveSet {
+
+		private final List<Primitive> m_added = new ArrayList<Primitive>();
+
+		public TestSet() {
+
+			super(ALL);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see org.eclipse.draw3d.graphics.optimizer.PrimitiveSet#add(org.eclipse.draw3d.graphics.optimizer.primitive.Primitive)
+		 */
+		@Override
+		public boolean add(Primitive i_primitive) {
+
+			m_added.add(i_primitive);
+			return super.add(i_primitive);
+		}
+
+		public void assertOverlaps(boolean i_expected, Primitive i_candidate) {
+
+			boolean expected = false;
+			for (Primitive primitive : m_added)
+				if (primitive.intersects(i_candidate))
+					expected = true;
+
+			assertEquals("brute force test of " + i_candidate, i_expected,
+				expected);
+			assertEquals(i_candidate.toString(), i_expected,
+				overlaps(i_candidate));
+		}
+
+		public boolean testOverlaps(Primitive i_candidate) {
+
+			return overlaps(i_candidate);
+		}
+	}
+
+	private static final PrimitiveClass ALL =
+		(PrimitiveClass) Proxy.newProxyInstance(
+			PrimitiveSetTest.class.getClassLoader(),
+			new Class[] { PrimitiveClass.class }, new InvocationHandler() {
+
+				public Object invoke(Object i_proxy, Method i_method,
+					Object[] i_args) {
+
+					if (i_method.getName().equals("contains"))
+						return Boolean.TRUE;
+
+					throw new UnsupportedOperationException(
+						i_method.toString());
+				}
+			});
+
+	private static TestPrimitive primitive(float i_x0, float i_y0,
+		float i_x1, float i_y1) {
+
+		return new TestPrimitive(i_x0, i_y0, i_x1, i_y1);
+	}
+
+	/**
+	 * Tests that primitives that were added after the first overlap test, when
+	 * the spatial hash was built, are found by later tests.
+	 */
+	@Test
+	public void testAddAfterBuild() {
+
+		TestSet set = new TestSet();
+		set.add(primitive(0, 0, 10, 10));
+
+		TestPrimitive candidate = primitive(100, 100, 110, 110);
+		TestPrimitive large = primitive(-2000, 500, 2000, 510);
+		set.assertOverlaps(false, candidate);
+		set.assertOverlaps(false, large);
+
+		set.add(primitive(105, 105, 200, 200));
+		set.assertOverlaps(true, candidate);
+		set.assertOverlaps(true, primitive(190, 190, 300, 300));
+		set.assertOverlaps(false, large);
+
+		set.add(primitive(-5000, 505, 5000, 506));
+		set.assertOverlaps(true, large);
+		set.assertOverlaps(true, primitive(-4000, 500, -3990, 600));
+		set.assertOverlaps(false, primitive(-4000, 0, -3990, 100));
+	}
+
+	/**
+	 * Tests primitives that overlap only in some of the cells that they
+	 * occupy, and primitives that touch at a cell border.
+	 */
+	@Test
+	public void testCellBorders() {
+
+		TestSet set = new TestSet();
+		set.add(primitive(60, 60, 70, 70));
+		set.add(primitive(100, 100, 128, 128));
+
+		set.assertOverlaps(true, primitive(69, 69, 80, 80));
+		set.assertOverlaps(true, primitive(-5, -5, 61, 61));
+		set.assertOverlaps(true, primitive(70, 0, 80, 60));
+		set.assertOverlaps(false, primitive(71, 0, 127, 59));
+		set.assertOverlaps(false, primitive(71, 71, 99, 99));
+
+		// touching at the border between the cells 1 and 2
+		set.assertOverlaps(true, primitive(128, 128, 130, 130));
+		set.assertOverlaps(true, primitive(128, 0, 140, 100));
+		set.assertOverlaps(false, primitive(128.5f, 0, 140, 140));
+	}
+
+	/**
+	 * Tests primitives that span too many cells to be hashed and primitives
+	 * whose bounds are not finite.
+	 */
+	@Test
+	public void testLargeAndNonFiniteBounds() {
+
+		TestSet set = new TestSet();
+		set.add(primitive(0, 0, 10000, 10000));
+		set.assertOverlaps(true, primitive(5000, 5000, 5001, 5001));
+		set.assertOverlaps(false, primitive(-10, -10, -5, -5));
+
+		set = new TestSet();
+		set.add(primitive(50, 0, 51, 1));
+		set.assertOverlaps(true, primitive(-100000, -1, 100000, 1));
+		set.assertOverlaps(false, primitive(-100000, 2, 100000, 3));
+		set.assertOverlaps(true, primitive(-Float.MAX_VALUE, -Float.MAX_VALUE,
+			Float.MAX_VALUE, Float.MAX_VALUE));
+
+		set = new TestSet();
+		set.add(primitive(0, 0, Float.POSITIVE_INFINITY,
+			Float.POSITIVE_INFINITY));
+		set.assertOverlaps(true, primitive(1e30f, 1e30f, 2e30f, 2e30f));
+		set.assertOverlaps(false, primitive(-10, -10, -5, -5));
+		set.assertOverlaps(true, primitive(-1, 5, 0, 5));
+		set.assertOverlaps(false, primitive(-20, 5, -5, 5));
+
+		set = new TestSet();
+		set.add(primitive(0, 0, 10, 10));
+		set.add(primitive(Float.NaN, Float.NaN, Float.NaN, Float.NaN));
+
+		// the overlap test must agree with the primitives
+		TestPrimitive candidate = primitive(1000, 1000, 1001, 1001);
+		assertEquals(set.m_added.get(1).intersects(candidate),
+			set.testOverlaps(candidate));
+	}
+
+	/**
+	 * Tests primitives with negative coordinates, which are mapped to cells
+	 * with negative indices.
+	 */
+	@Test
+	public void testNegativeCoordinates() {
+
+		TestSet set = new TestSet();
+		set.add(primitive(-70, -70, -65, -65));
+		set.add(primitive(-1, -1, 1, 1));
+
+		set.assertOverlaps(true, primitive(-66, -66, -60, -60));
+		set.assertOverlaps(false, primitive(-64, -64, -2, -2));
+		set.assertOverlaps(false, primitive(-200, -200, -71, -71));
+		set.assertOverlaps(true, primitive(0.5f, 0.5f, 2, 2));
+		set.assertOverlaps(true, primitive(-0.5f, -3, -0.25f, -0.5f));
+		set.assertOverlaps(false, primitive(-64, 1.5f, -1.5f, 64));
+	}
+
+	/**
+	 * Compares the overlap test with a brute force test for random primitives,
+	 * half of which are added after the spatial hash was built.
+	 */
+	@Test
+	public void testRandomPrimitives() {
+
+		Random random = new Random(4711);
+		TestSet set = new TestSet();
+
+		for (int i = 0; i < 400; i++) {
+			if (i == 200)
+				set.testOverlaps(primitive(0, 0, 1, 1));
+
+			float x = random.nextFloat() * 4000 - 2000;
+			float y = random.nextFloat() * 4000 - 2000;
+			float size = random.nextInt(10) == 0 ? 1000 : 40;
+			set.add(primitive(x, y, x + random.nextFloat() * size, y
+				+ random.nextFloat() * size));
+		}
+
+		int overlaps = 0;
+		for (int i = 0; i < 1000; i++) {
+			float x = random.nextFloat() * 5000 - 2500;
+			float y = random.nextFloat() * 5000 - 2500;
+			float size = random.nextInt(10) == 0 ? 3000 : 20;
+			TestPrimitive candidate =
+				primitive(x, y, x + random.nextFloat() * size, y
+					+ random.nextFloat() * size);
+
+			boolean expected = false;
+			for (Primitive primitive : set.m_added)
+				if (primitive.intersects(candidate))
+					expected = true;
+
+			if (expected)
+				overlaps++;
+
+			set.assertOverlaps(expected, candidate);
+		}
+
+		// make sure that both outcomes were tested
+		assertTrue(overlaps > 0);
+		assertFalse(overlaps == 1000);
+	}
+}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics3d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link RenderImageSwap}. The images are prepared in two stages
+ * like the 2D images of the LWJGL renderer: the first stage runs on a worker
+ * thread and waits for a latch that is released by the test, the second stage
+ * is performed by {@link RenderImage#initialize(Graphics3D)} and waits for the
+ * first one.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class RenderImageSwapTest {
+
+	/**
+	 * An image that is prepared on a worker thread.
+	 */
+	private static class TestImage implements AsyncRenderImage {
+
+		private int m_disposed;
+
+		private final Future<Boolean> m_future;
+
+		private boolean m_initialized;
+
+		private final CountDownLatch m_latch = new CountDownLatch(1);
+
+		public TestImage(ExecutorService i_executor) {
+
+			m_future = i_executor.submit(new Callable<Boolean>() {
+
+				public Boolean call() throws Exception {
+
+					m_latch.await();
+					return Boolean.TRUE;
+				}
+			});
+		}
+
+		public void dispose() {
+
+			m_disposed++;
+		}
+
+		public void initialize(Graphics3D i_g3d) {
+
+			try {
+				assertTrue(m_future.get().booleanValue());
+			} catch (InterruptedException ex) {
+				throw new RuntimeException(ex);
+			} catch (ExecutionException ex) {
+				throw new RuntimeException(ex);
+			}
+
+			m_initialized = true;
+		}
+
+		public boolean isPrepared() {
+
+			return m_future.isDone();
+		}
+
+		public void prepare() throws Exception {
+
+			m_latch.countDown();
+			m_future.get();
+		}
+
+		public void render(Graphics3D i_g3d, ILodHelper i_lodHelper) {
+
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static TestImage display(RenderImageSwap i_swap,
+		ExecutorService i_executor) throws Exception {
+
+		TestImage image = new TestImage(i_executor);
+		i_swap.add(image);
+		image.prepare();
+		i_swap.swap(null);
+
+		return image;
+	}
+
+	/**
+	 * Tests that clearing the swap disposes the retired images, but not the
+	 * pending images.
+	 */
+	@Test
+	public void testClear() throws Exception {
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			RenderImageSwap swap = new RenderImageSwap();
+			TestImage displayed = display(swap, executor);
+
+			TestImage pending = new TestImage(executor);
+			swap.add(pending);
+			swap.retire(displayed);
+
+			swap.clear();
+			assertTrue(swap.isEmpty());
+			assertEquals(1, displayed.m_disposed);
+			assertEquals(0, pending.m_disposed);
+			assertFalse(pending.m_initialized);
+
+			pending.prepare();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests that a pending image that is retired before it was swapped in is
+	 * disposed immediately and never initialized.
+	 */
+	@Test
+	public void testRetirePending() throws Exception {
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			RenderImageSwap swap = new RenderImageSwap();
+			TestImage displayed = display(swap, executor);
+
+			TestImage first = new TestImage(executor);
+			swap.add(first);
+			swap.retire(displayed);
+
+			// the first replacement is replaced before it was displayed
+			TestImage second = new TestImage(executor);
+			swap.add(second);
+			swap.retire(first);
+			assertEquals(1, first.m_disposed);
+			assertEquals(0, displayed.m_disposed);
+
+			first.prepare();
+			assertFalse(swap.isPrepared());
+
+			second.prepare();
+			assertTrue(swap.isPrepared());
+			swap.swap(null);
+
+			assertFalse(first.m_initialized);
+			assertEquals(1, first.m_disposed);
+			assertTrue(second.m_initialized);
+			assertEquals(1, displayed.m_disposed);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests that the displayed images are kept until their replacements are
+	 * prepared, and that the swap initializes the replacements and disposes
+	 * the replaced images.
+	 */
+	@Test
+	public void testSwap() throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			RenderImageSwap swap = new RenderImageSwap();
+			assertTrue(swap.isEmpty());
+			assertTrue(swap.isPrepared());
+
+			TestImage displayed = display(swap, executor);
+			assertTrue(displayed.m_initialized);
+			assertTrue(swap.isEmpty());
+
+			TestImage replacement = new TestImage(executor);
+			TestImage added = new TestImage(executor);
+			swap.add(replacement);
+			swap.add(added);
+			swap.retire(displayed);
+			assertFalse(swap.isEmpty());
+			assertFalse(swap.isPrepared());
+
+			replacement.prepare();
+			assertFalse(swap.isPrepared());
+			assertEquals(0, displayed.m_disposed);
+
+			added.prepare();
+			assertTrue(swap.isPrepared());
+
+			swap.swap(null);
+			assertTrue(swap.isEmpty());
+			assertTrue(replacement.m_initialized);
+			assertTrue(added.m_initialized);
+			assertEquals(1, displayed.m_disposed);
+			assertEquals(0, replacement.m_disposed);
+
+			// swapping again does not dispose anything twice
+			swap.swap(null);
+			assertEquals(1, displayed.m_disposed);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.graphics3d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.eclipse.draw3d.geometry.IVector2f;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TextLod}. The LOD helper returns the x coordinate of a text
+ * as its normalized distance.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class TextLodTest {
+
+	/**
+	 * A LOD helper that counts its calls and returns the x coordinate of the
+	 * position as the normalized distance.
+	 */
+	private static class TestLodHelper implements ILodHelper {
+
+		private int m_calls;
+
+		public float getNormalizedArea(IVector3f i_position, IVector2f i_size,
+			IVector3f i_normal) {
+
+			throw new UnsupportedOperationException();
+		}
+
+		public float getNormalizedDistance(IVector3f i_position,
+			IVector2f i_size, IVector3f i_normal) {
+
+			assertEquals(IVector3f.Z_AXIS_NEG, i_normal);
+			m_calls++;
+			return i_position.getX();
+		}
+	}
+
+	private static TextLod createLod(float... i_distances) {
+
+		TextLod lod = new TextLod(i_distances.length, IVector3f.Z_AXIS_NEG);
+		for (float distance : i_distances)
+			lod.add(new Vector3fImpl(distance, 0, 0), 100, 10);
+
+		return lod;
+	}
+
+	/**
+	 * Tests that more texts than the capacity are rejected.
+	 */
+	@Test
+	public void testCapacity() {
+
+		TextLod lod = createLod(1, 2);
+		try {
+			lod.add(IVector3f.NULLVEC3f, 1, 1);
+			fail("text was added beyond the capacity");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests that no more distances are computed once a text requires the
+	 * vector font.
+	 */
+	@Test
+	public void testEarlyExit() {
+
+		TestLodHelper helper = new TestLodHelper();
+		TextLod lod = createLod(5000, 100, 20000, 50);
+		assertEquals(4, lod.getCount());
+
+		assertEquals(TextLod.Level.VECTOR, lod.getLevel(helper));
+		assertEquals(2, helper.m_calls);
+
+		helper.m_calls = 0;
+		assertEquals(TextLod.Level.TEXTURE, createLod(5000, 3000, 9000)
+			.getLevel(helper));
+		assertEquals(3, helper.m_calls);
+	}
+
+	/**
+	 * Tests that the level is determined by the closest text.
+	 */
+	@Test
+	public void testLevel() {
+
+		TestLodHelper helper = new TestLodHelper();
+		assertEquals(TextLod.Level.NONE, createLod().getLevel(helper));
+		assertEquals(TextLod.Level.NONE, createLod(20000, 10001).getLevel(
+			helper));
+		assertEquals(TextLod.Level.TEXTURE, createLod(20000, 10000).getLevel(
+			helper));
+		assertEquals(TextLod.Level.TEXTURE, createLod(1201, 5000).getLevel(
+			helper));
+		assertEquals(TextLod.Level.VECTOR, createLod(5000, 1200, 20000)
+			.getLevel(helper));
+	}
+}
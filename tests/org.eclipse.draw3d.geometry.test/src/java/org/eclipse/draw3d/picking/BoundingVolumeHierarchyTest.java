@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.picking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.draw3d.Figure3D;
+import org.eclipse.draw3d.IFigure3D;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.ParaxialBoundingBox;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.junit.Test;
+
+/**
+ * Tests for {@link BoundingVolumeHierarchy}. The figures are placed directly
+ * below a root figure at the origin, so their locations are world
+ * coordinates. The traversals are compared with a brute force test of the
+ * paraxial bounding boxes of all figures.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class BoundingVolumeHierarchyTest {
+
+	private static final float EPS = 0.001f;
+
+	private static Figure3D addFigure(Figure3D i_parent, float i_x, float i_y,
+		float i_z, float i_size) {
+
+		Figure3D figure = new Figure3D();
+		figure.getPosition3D().setLocation3D(new Vector3fImpl(i_x, i_y, i_z));
+		figure.getPosition3D().setSize3D(
+			new Vector3fImpl(i_size, i_size, i_size));
+		i_parent.add(figure);
+
+		return figure;
+	}
+
+	/**
+	 * Returns the distance at which the given ray enters the paraxial bounding
+	 * box of the given figure.
+	 *
+	 * @return the distance or {@link Float#NaN} if the ray misses the box
+	 */
+	private static float intersect(IFigure3D i_figure, IVector3f i_origin,
+		IVector3f i_direction) {
+
+		ParaxialBoundingBox box = i_figure.getParaxialBoundingBox(null);
+
+		float[] o = new float[3];
+		float[] d = new float[3];
+		float[] min = new float[3];
+		float[] max = new float[3];
+		i_origin.toArray(o);
+		i_direction.toArray(d);
+		box.getLocation(null).toArray(min);
+		box.getEnd(null).toArray(max);
+
+		double near = 0;
+		double far = Double.MAX_VALUE;
+		for (int i = 0; i < 3; i++) {
+			if (d[i] == 0) {
+				if (o[i] < min[i] || o[i] > max[i])
+					return Float.NaN;
+			} else {
+				double t0 = (min[i] - o[i]) / (double) d[i];
+				double t1 = (max[i] - o[i]) / (double) d[i];
+				near = Math.max(near, Math.min(t0, t1));
+				far = Math.min(far, Math.max(t0, t1));
+			}
+		}
+
+		return near <= far ? (float) near : Float.NaN;
+	}
+
+	private static List<IFigure3D> traverse(BoundingVolumeHierarchy i_bvh,
+		IVector3f i_origin, IVector3f i_direction, float i_maxDistance) {
+
+		List<IFigure3D> result = new ArrayList<IFigure3D>();
+		i_bvh.beginTraversal(i_origin, i_direction);
+
+		IFigure3D figure;
+		while ((figure = i_bvh.nextFigure(i_maxDistance)) != null)
+			result.add(figure);
+
+		return result;
+	}
+
+	/**
+	 * Tests that figures that are added to the tree are found after the
+	 * hierarchy was invalidated, regardless of whether the whole hierarchy
+	 * or only the new figure was invalidated.
+	 */
+	@Test
+	public void testAddFigures() {
+
+		Figure3D root = new Figure3D();
+		addFigure(root, 0, 0, 0, 5);
+
+		BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+		bvh.setRootFigure(root);
+		assertEquals(1, bvh.getFigureCount());
+
+		Figure3D added = addFigure(root, 20, 0, 0, 5);
+		bvh.invalidate(added);
+		assertEquals(2, bvh.getFigureCount());
+
+		addFigure(root, 40, 0, 0, 5);
+		bvh.invalidate();
+		assertEquals(3, bvh.getFigureCount());
+
+		List<IFigure3D> hits =
+			traverse(bvh, new Vector3fImpl(-10, 1, 1), new Vector3fImpl(1, 0,
+				0), Float.MAX_VALUE);
+		assertEquals(3, hits.size());
+		assertSame(added, hits.get(1));
+	}
+
+	/**
+	 * Tests that the traversal stops at the given maximum distance.
+	 */
+	@Test
+	public void testMaxDistance() {
+
+		Figure3D root = new Figure3D();
+		for (int i = 0; i < 10; i++)
+			addFigure(root, i * 10, 0, 0, 5);
+
+		BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+		bvh.setRootFigure(root);
+
+		IVector3f origin = new Vector3fImpl(-10, 1, 1);
+		IVector3f direction = new Vector3fImpl(1, 0, 0);
+
+		// boxes are entered at distances 10, 20, 30...
+		assertEquals(4, traverse(bvh, origin, direction, 40).size());
+		assertEquals(0, traverse(bvh, origin, direction, 5).size());
+
+		// once null was returned, the traversal is finished
+		bvh.beginTraversal(origin, direction);
+		assertTrue(bvh.nextFigure(Float.MAX_VALUE) != null);
+		assertNull(bvh.nextFigure(0));
+		assertNull(bvh.nextFigure(Float.MAX_VALUE));
+	}
+
+	/**
+	 * Tests that random rays visit exactly the figures whose bounding boxes
+	 * they hit, in ascending order of the distance at which they enter them.
+	 */
+	@Test
+	public void testRandomRays() {
+
+		Random random = new Random(4711);
+		Figure3D root = new Figure3D();
+		List<IFigure3D> figures = new ArrayList<IFigure3D>();
+		for (int i = 0; i < 200; i++)
+			figures.add(addFigure(root, random.nextFloat() * 200 - 100,
+				random.nextFloat() * 200 - 100,
+				random.nextFloat() * 200 - 100, 1 + random.nextFloat() * 20));
+
+		BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+		bvh.setRootFigure(root);
+		assertEquals(200, bvh.getFigureCount());
+		assertTrue(bvh.getUnboundedFigures().isEmpty());
+
+		Vector3f origin = new Vector3fImpl();
+		Vector3f direction = new Vector3fImpl();
+		for (int i = 0; i < 100; i++) {
+			origin.set(random.nextFloat() * 300 - 150,
+				random.nextFloat() * 300 - 150,
+				random.nextFloat() * 300 - 150);
+			direction.set(random.nextFloat() * 2 - 1,
+				random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1);
+
+			Set<IFigure3D> expected = new HashSet<IFigure3D>();
+			for (IFigure3D figure : figures)
+				if (!Float.isNaN(intersect(figure, origin, direction)))
+					expected.add(figure);
+
+			List<IFigure3D> actual =
+				traverse(bvh, origin, direction, Float.MAX_VALUE);
+			assertEquals(expected.size(), actual.size());
+			assertEquals(expected, new HashSet<IFigure3D>(actual));
+
+			float last = 0;
+			for (IFigure3D figure : actual) {
+				float distance = intersect(figure, origin, direction);
+				assertTrue(distance + EPS >= last);
+				last = distance;
+			}
+		}
+	}
+
+	/**
+	 * Tests that a figure is found at its new location after it was moved
+	 * and invalidated.
+	 */
+	@Test
+	public void testRefit() {
+
+		Figure3D root = new Figure3D();
+		Figure3D moved = addFigure(root, 0, 0, 0, 5);
+		for (int i = 1; i < 8; i++)
+			addFigure(root, i * 10, 0, 0, 5);
+
+		BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+		bvh.setRootFigure(root);
+
+		IVector3f down = new Vector3fImpl(0, 0, -1);
+		assertEquals(1, traverse(bvh, new Vector3fImpl(1, 1, 100), down,
+			Float.MAX_VALUE).size());
+
+		moved.getPosition3D().setLocation3D(new Vector3fImpl(0, 50, 0));
+		bvh.invalidate(moved);
+
+		assertEquals(0, traverse(bvh, new Vector3fImpl(1, 1, 100), down,
+			Float.MAX_VALUE).size());
+
+		List<IFigure3D> hits =
+			traverse(bvh, new Vector3fImpl(1, 51, 100), down, Float.MAX_VALUE);
+		assertEquals(1, hits.size());
+		assertSame(moved, hits.get(0));
+		assertEquals(8, bvh.getFigureCount());
+	}
+
+	/**
+	 * Tests that invalidating a figure that was neither moved nor resized does
+	 * not change the hierarchy, while moving, resizing, adding, removing,
+	 * hiding and showing figures does.
+	 */
+	@Test
+	public void testRepaint() {
+
+		Figure3D root = new Figure3D();
+		Figure3D figure = addFigure(root, 0, 0, 0, 5);
+		addFigure(root, 10, 0, 0, 5);
+
+		BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+		assertTrue("not built yet", bvh.invalidate(figure));
+
+		bvh.setRootFigure(root);
+		assertEquals(2, bvh.getFigureCount());
+		assertFalse(bvh.invalidate(figure));
+		assertFalse(bvh.invalidate(root));
+
+		figure.getPosition3D().setLocation3D(new Vector3fImpl(0, 20, 0));
+		assertTrue(bvh.invalidate(figure));
+		assertTrue("still dirty", bvh.invalidate(figure));
+
+		// the refit stores the new location
+		assertEquals(2, bvh.getFigureCount());
+		assertFalse(bvh.invalidate(figure));
+
+		figure.getPosition3D().setSize3D(new Vector3fImpl(6, 6, 6));
+		assertTrue(bvh.invalidate(figure));
+		assertEquals(2, bvh.getFigureCount());
+		assertFalse(bvh.invalidate(figure));
+
+		// a figure unknown to the hierarchy must be added
+		Figure3D added = addFigure(root, 40, 0, 0, 5);
+		assertTrue(bvh.invalidate(added));
+		assertEquals(3, bvh.getFigureCount());
+		assertFalse(bvh.invalidate(added));
+		assertFalse(bvh.invalidate(root));
+
+		root.remove(added);
+		assertTrue(bvh.invalidate(root));
+		assertEquals(2, bvh.getFigureCount());
+		assertFalse(bvh.invalidate(root));
+
+		// hiding a figure repaints its parent, showing repaints the figure
+		figure.setVisible(false);
+		assertTrue(bvh.invalidate(root));
+		assertEquals(2, bvh.getFigureCount());
+		assertFalse(bvh.invalidate(root));
+
+		figure.setVisible(true);
+		assertTrue(bvh.invalidate(figure));
+		assertEquals(2, bvh.getFigureCount());
+		assertFalse(bvh.invalidate(figure));
+		assertFalse(bvh.invalidate(root));
+
+		assertTrue(bvh.invalidate(null));
+	}
+
+	/**
+	 * Tests that figures without paraxial bounding box are not stored in the
+	 * hierarchy.
+	 */
+	@Test
+	public void testUnboundedFigures() {
+
+		Figure3D root = new Figure3D();
+		addFigure(root, 0, 0, 0, 5);
+
+		Figure3D unbounded = new Figure3D() {
+
+			@Override
+			public ParaxialBoundingBox getParaxialBoundingBox(
+				ParaxialBoundingBox o_result) {
+
+				return null;
+			}
+		};
+		root.add(unbounded);
+
+		BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+		bvh.setRootFigure(root);
+
+		assertEquals(1, bvh.getFigureCount());
+		assertEquals(1, bvh.getUnboundedFigures().size());
+		assertSame(unbounded, bvh.getUnboundedFigures().get(0));
+	}
+}
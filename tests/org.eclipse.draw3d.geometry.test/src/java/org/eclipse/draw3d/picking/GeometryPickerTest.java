@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.picking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import org.eclipse.draw3d.Figure3D;
+import org.eclipse.draw3d.IScene;
+import org.eclipse.draw3d.camera.ICamera;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.junit.Test;
+
+/**
+ * Tests the hit cache of {@link GeometryPicker}. The camera is located at
+ * (5, 5, 100) and the mouse location (x, y) is unprojected to (x, y, 99), so
+ * that the ray of the mouse location (5, 5) points straight down to the box
+ * figure that is placed at the origin.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class GeometryPickerTest {
+
+	/**
+	 * A figure that is hit if its paraxial bounding box is hit.
+	 */
+	private static class BoxFigure extends Figure3D {
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see org.eclipse.draw3d.Figure3D#getDistance(org.eclipse.draw3d.geometry.IVector3f,
+		 *      org.eclipse.draw3d.geometry.IVector3f, java.util.Map)
+		 */
+		@Override
+		public float getDistance(IVector3f i_rayOrigin,
+			IVector3f i_rayDirection, Map<Object, Object> i_context) {
+
+			return getParaxialBoundingBox(null).intersectRay(i_rayOrigin,
+				i_rayDirection);
+		}
+	}
+
+	private final long[] m_cameraRevision = new long[1];
+
+	private final ICamera m_camera =
+		(ICamera) Proxy.newProxyInstance(getClass().getClassLoader(),
+			new Class[] { ICamera.class }, new InvocationHandler() {
+
+				public Object invoke(Object i_proxy, Method i_method,
+					Object[] i_args) {
+
+					String name = i_method.getName();
+					if (name.equals("getRevision"))
+						return Long.valueOf(m_cameraRevision[0]);
+
+					if (name.equals("getPosition")) {
+						Vector3f result = (Vector3f) i_args[0];
+						result.set(5, 5, 100);
+						return result;
+					}
+
+					if (name.equals("unProject")) {
+						Vector3f result = (Vector3f) i_args[4];
+						result.set((Integer) i_args[0], (Integer) i_args[1],
+							99);
+						return result;
+					}
+
+					return invokeObjectMethod(i_proxy, i_method, i_args);
+				}
+			});
+
+	private final IScene m_scene =
+		(IScene) Proxy.newProxyInstance(getClass().getClassLoader(),
+			new Class[] { IScene.class }, new InvocationHandler() {
+
+				public Object invoke(Object i_proxy, Method i_method,
+					Object[] i_args) {
+
+					String name = i_method.getName();
+					if (name.equals("getCamera"))
+						return m_camera;
+
+					if (name.equals("isDebug"))
+						return Boolean.FALSE;
+
+					return invokeObjectMethod(i_proxy, i_method, i_args);
+				}
+			});
+
+	private static Object invokeObjectMethod(Object i_proxy, Method i_method,
+		Object[] i_args) {
+
+		String name = i_method.getName();
+		if (name.equals("equals"))
+			return Boolean.valueOf(i_proxy == i_args[0]);
+
+		if (name.equals("hashCode"))
+			return Integer.valueOf(System.identityHashCode(i_proxy));
+
+		if (name.equals("toString"))
+			return i_method.getDeclaringClass().getSimpleName();
+
+		throw new UnsupportedOperationException(i_method.toString());
+	}
+
+	private static void assertCacheCounts(GeometryPicker i_picker,
+		int i_hits, int i_misses) {
+
+		assertEquals("cache hits", i_hits, i_picker.getCacheHitCount());
+		assertEquals("cache misses", i_misses, i_picker.getCacheMissCount());
+	}
+
+	/**
+	 * Tests that repeated queries are answered from the cache until the
+	 * camera, the bounds of a figure or the figure tree change, and that
+	 * repainting a figure without moving it keeps the cache.
+	 */
+	@Test
+	public void testHitCache() {
+
+		Figure3D root = new Figure3D();
+		BoxFigure box = new BoxFigure();
+		box.getPosition3D().setSize3D(new Vector3fImpl(10, 10, 10));
+		root.add(box);
+
+		GeometryPicker picker = new GeometryPicker(m_scene);
+		picker.setRootFigure(root);
+
+		Hit hit = picker.getHit(5, 5);
+		assertNotNull(hit);
+		assertSame(box, hit.getFigure3D());
+		assertEquals(90, hit.getDistance(), 0.001f);
+		assertCacheCounts(picker, 0, 1);
+
+		assertSame(box, picker.getHit(5, 5).getFigure3D());
+		assertCacheCounts(picker, 1, 1);
+
+		// misses are cached as well
+		assertNull(picker.getHit(300, 300));
+		assertNull(picker.getHit(300, 300));
+		assertCacheCounts(picker, 2, 2);
+
+		// cosmetic repaint
+		picker.invalidate(box);
+		assertSame(box, picker.getHit(5, 5).getFigure3D());
+		assertCacheCounts(picker, 3, 2);
+
+		box.getPosition3D().setLocation3D(new Vector3fImpl(50, 50, 0));
+		picker.invalidate(box);
+		assertNull(picker.getHit(5, 5));
+		assertCacheCounts(picker, 3, 3);
+
+		m_cameraRevision[0]++;
+		assertNull(picker.getHit(5, 5));
+		assertCacheCounts(picker, 3, 4);
+
+		picker.invalidate();
+		assertNull(picker.getHit(5, 5));
+		assertNull(picker.getHit(5, 5));
+		assertCacheCounts(picker, 4, 5);
+
+		picker.resetCacheStatistics();
+		assertCacheCounts(picker, 0, 0);
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.picking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw3d.Figure3D;
+import org.eclipse.draw3d.IFigure3D;
+import org.eclipse.draw3d.geometry.IVector3f;
+import org.eclipse.draw3d.geometry.Vector3f;
+import org.eclipse.draw3d.geometry.Vector3fImpl;
+import org.junit.Test;
+
+/**
+ * Tests that copies of hits stay valid when the copied hit is reused.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class HitImplTest {
+
+	private static final float PREC = 0.0001f;
+
+	private static void assertWorldLocation(float i_x, float i_y, float i_z,
+		Hit i_hit) {
+
+		Vector3f location = i_hit.getWorldLocation(null);
+		assertEquals(i_x, location.getX(), PREC);
+		assertEquals(i_y, location.getY(), PREC);
+		assertEquals(i_z, location.getZ(), PREC);
+	}
+
+	/**
+	 * Tests that copying a hit copies its picking ray, so that the world
+	 * location of the copy is calculated from the copied ray.
+	 */
+	@Test
+	public void testSetHit() {
+
+		Figure3D figure = new Figure3D();
+		HitImpl hit =
+			new HitImpl(figure, figure, 5, new Vector3fImpl(1, 2, 3),
+				new Vector3fImpl(0, 0, 1));
+
+		HitImpl copy = new HitImpl();
+		copy.set(hit);
+
+		// the hit is reused by the next query
+		Figure3D other = new Figure3D();
+		hit.set(other, other, 1, IVector3f.NULLVEC3f, IVector3f.X_AXIS);
+		assertWorldLocation(1, 0, 0, hit);
+
+		assertSame(figure, copy.getFigure3D());
+		assertSame(figure, copy.getSearchResult());
+		assertEquals(5, copy.getDistance(), 0);
+		assertWorldLocation(1, 2, 8, copy);
+
+		// copying a hit whose world location is known
+		copy.set(hit);
+		hit.set(figure, figure, 2, IVector3f.NULLVEC3f, IVector3f.Y_AXIS);
+		assertWorldLocation(1, 0, 0, copy);
+		assertWorldLocation(0, 2, 0, hit);
+	}
+
+	/**
+	 * Tests that copying a hit that is not a {@link HitImpl} copies its world
+	 * location.
+	 */
+	@Test
+	public void testSetOtherHit() {
+
+		final Figure3D figure = new Figure3D();
+		Hit hit = new Hit() {
+
+			public float getDistance() {
+
+				return 3;
+			}
+
+			public IFigure3D getFigure3D() {
+
+				return figure;
+			}
+
+			public IFigure getSearchResult() {
+
+				return figure;
+			}
+
+			public Vector3f getWorldLocation(Vector3f o_result) {
+
+				Vector3f result = o_result;
+				if (result == null)
+					result = new Vector3fImpl();
+
+				result.set(4, 5, 6);
+				return result;
+			}
+		};
+
+		HitImpl copy = new HitImpl();
+		copy.set(hit);
+
+		assertSame(figure, copy.getFigure3D());
+		assertEquals(3, copy.getDistance(), 0);
+		assertWorldLocation(4, 5, 6, copy);
+	}
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.eclipse.draw3d.util.AllocationProfiler.Phase;
+import org.junit.Test;
+
+/**
+ * Tests for {@link AllocationProfiler}.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class AllocationProfilerTest {
+
+	private static final int SIZE = 1 << 20;
+
+	/**
+	 * Keeps the allocated arrays reachable.
+	 */
+	private Object m_sink;
+
+	/**
+	 * Tests that the bytes allocated during a phase are recorded for that
+	 * phase and become visible when the next frame begins.
+	 */
+	@Test
+	public void testRecord() {
+
+		AllocationProfiler profiler = new AllocationProfiler();
+		if (!profiler.isSupported())
+			return;
+
+		profiler.beginFrame();
+		long mark = profiler.mark();
+		mark = profiler.record(Phase.COLLECT, mark);
+
+		m_sink = new byte[SIZE];
+		mark = profiler.record(Phase.RENDER, mark);
+
+		// nothing is visible before the frame is completed
+		assertEquals(0, profiler.getRenderBytes());
+
+		profiler.beginFrame();
+		assertTrue(profiler.getRenderBytes() >= SIZE);
+		assertTrue(profiler.getCollectBytes() < SIZE);
+		assertEquals(0, profiler.getSwapBytes());
+		assertEquals(profiler.getFrameBytes(), profiler.getMaxFrameBytes());
+		assertEquals(1, profiler.getFrameCount());
+
+		m_sink = new byte[2 * SIZE];
+		profiler.record(Phase.SWAP, mark);
+		profiler.beginFrame();
+		assertTrue(profiler.getSwapBytes() >= 2 * SIZE);
+		assertEquals(2, profiler.getFrameCount());
+		assertTrue(profiler.getAverageFrameBytes() >= 3 * SIZE / 2);
+
+		profiler.reset();
+		assertEquals(0, profiler.getFrameCount());
+		assertEquals(0, profiler.getFrameBytes());
+		assertEquals(0, profiler.getMaxFrameBytes());
+	}
+
+	/**
+	 * Tests that the profiler can be registered with the platform MBean
+	 * server.
+	 *
+	 * @throws Exception if the MBean server cannot be queried
+	 */
+	@Test
+	public void testRegisterMBean() throws Exception {
+
+		AllocationProfiler profiler = new AllocationProfiler();
+		ObjectName name =
+			new ObjectName("org.eclipse.draw3d:type=AllocationProfiler,name="
+				+ ObjectName.quote("test"));
+
+		profiler.registerMBean("test");
+		try {
+			assertTrue(ManagementFactory.getPlatformMBeanServer()
+				.isRegistered(name));
+		} finally {
+			profiler.unregisterMBean();
+		}
+
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+			name));
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link FrameScheduler}.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class FrameSchedulerTest {
+
+	private static final long MS = 1000000L;
+
+	/**
+	 * Tests that a cancelled frame is not rendered and that a new frame can
+	 * be requested afterwards.
+	 */
+	@Test
+	public void testCancel() {
+
+		FrameScheduler scheduler = new FrameScheduler(60);
+
+		assertTrue(scheduler.request());
+		scheduler.cancel();
+		assertFalse(scheduler.isPending());
+		assertFalse(scheduler.take());
+
+		assertTrue(scheduler.request());
+		assertTrue(scheduler.take());
+	}
+
+	/**
+	 * Tests that all requests are handled by a single frame until that frame
+	 * is taken.
+	 */
+	@Test
+	public void testCoalescing() {
+
+		FrameScheduler scheduler = new FrameScheduler(60);
+		assertFalse(scheduler.isPending());
+		assertFalse(scheduler.take());
+
+		assertTrue(scheduler.request());
+		for (int i = 0; i < 10; i++)
+			assertFalse(scheduler.request());
+		assertTrue(scheduler.isPending());
+
+		assertTrue(scheduler.take());
+		assertFalse(scheduler.isPending());
+		assertFalse(scheduler.take());
+
+		assertTrue(scheduler.request());
+	}
+
+	/**
+	 * Tests the delay that keeps a frame rate of 50 frames per second, i.e.
+	 * an interval of 20 ms between the frames.
+	 */
+	@Test
+	public void testFrameCap() {
+
+		FrameScheduler scheduler = new FrameScheduler(50);
+		long start = 123456789L;
+
+		// no frame was rendered yet
+		assertEquals(0, scheduler.getDelay(start));
+
+		scheduler.frameStarted(start);
+		assertEquals(20, scheduler.getDelay(start));
+		assertEquals(15, scheduler.getDelay(start + 5 * MS));
+		assertEquals(16, scheduler.getDelay(start + 4 * MS + MS / 2));
+		assertEquals(1, scheduler.getDelay(start + 20 * MS - 1));
+		assertEquals(0, scheduler.getDelay(start + 20 * MS));
+		assertEquals(0, scheduler.getDelay(start + 1000 * MS));
+
+		scheduler.frameStarted(start + 1000 * MS);
+		assertEquals(10, scheduler.getDelay(start + 1010 * MS));
+	}
+
+	/**
+	 * Tests that a target frame rate less than or equal to 0 disables the
+	 * limit and that the target frame rate can be changed.
+	 */
+	@Test
+	public void testUnlimited() {
+
+		FrameScheduler scheduler = new FrameScheduler(0);
+		scheduler.frameStarted(0);
+		assertEquals(0, scheduler.getDelay(0));
+
+		scheduler.setTargetFps(-1);
+		assertEquals(-1, scheduler.getTargetFps());
+		assertEquals(0, scheduler.getDelay(0));
+
+		scheduler.setTargetFps(100);
+		assertEquals(100, scheduler.getTargetFps());
+		assertEquals(10, scheduler.getDelay(0));
+	}
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link GlyphPageCache}. The pages contain 256 code points like
+ * the glyph pages of the fonts, and at most 3 pages are loaded.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class GlyphPageCacheTest {
+
+	/**
+	 * A cache that logs the created and deleted pages.
+	 */
+	private static class TestCache extends GlyphPageCache<String> {
+
+		private final List<Integer> m_created = new ArrayList<Integer>();
+
+		private final List<Integer> m_deleted = new ArrayList<Integer>();
+
+		public TestCache() {
+
+			super(8, 3);
+		}
+
+		@Override
+		protected String createPage(int i_page) {
+
+			m_created.add(i_page);
+			return "page" + i_page;
+		}
+
+		@Override
+		protected void deletePage(String i_page) {
+
+			m_deleted.add(Integer.valueOf(i_page.substring(4)));
+		}
+	}
+
+	/**
+	 * Tests that acquired pages are not deleted, that they are deleted once
+	 * they are released as often as they were acquired, and that all pages
+	 * are deleted when the cache is cleared.
+	 */
+	@Test
+	public void testAcquire() {
+
+		TestCache cache = new TestCache();
+		cache.acquire('a');
+		cache.acquire('b');
+		cache.acquire(0x400);
+		cache.acquire(0x3042);
+		assertEquals(Arrays.asList(0, 4, 0x30), cache.m_created);
+
+		// all pages are acquired, so the cache grows
+		cache.get(0x1000);
+		assertEquals(4, cache.getPageCount());
+		assertTrue(cache.m_deleted.isEmpty());
+
+		// page 0 is still acquired once
+		cache.release('a');
+		cache.release(0x3042);
+		cache.get(0x2000);
+		assertEquals(Arrays.asList(0x30), cache.m_deleted);
+
+		cache.release('b');
+		cache.get(0x5000);
+		assertEquals(Arrays.asList(0x30, 0), cache.m_deleted);
+		cache.get(0x6000);
+		cache.get(0x7000);
+		assertEquals(Arrays.asList(0x30, 0, 0x10, 0x20), cache.m_deleted);
+
+		cache.m_deleted.clear();
+		cache.clear();
+		assertEquals(0, cache.getPageCount());
+		assertEquals(4, cache.m_deleted.size());
+		assertTrue(cache.m_deleted.contains(4));
+	}
+
+	/**
+	 * Tests that pages are created once and that the least recently used page
+	 * is deleted when a page is created while the maximum number of pages is
+	 * loaded.
+	 */
+	@Test
+	public void testLeastRecentlyUsed() {
+
+		TestCache cache = new TestCache();
+		assertEquals("page0", cache.get('a'));
+		assertSame(cache.get('a'), cache.get('z'));
+		assertEquals("page1", cache.get(0xE9 + 0x100));
+		assertEquals("page48", cache.get(0x3042));
+		assertEquals(Arrays.asList(0, 1, 48), cache.m_created);
+		assertEquals(0x42, cache.getGlyphIndex(0x3042));
+
+		// page 0 becomes the most recently used page
+		cache.get('x');
+		cache.get(0x4E00);
+		assertEquals(Arrays.asList(1), cache.m_deleted);
+
+		cache.get(0x100);
+		assertEquals(Arrays.asList(1, 48), cache.m_deleted);
+		assertEquals(Arrays.asList(0, 1, 48, 0x4E, 1), cache.m_created);
+		assertEquals(3, cache.getPageCount());
+	}
+
+	/**
+	 * Tests that releasing a page that is not acquired is detected.
+	 */
+	@Test
+	public void testRelease() {
+
+		TestCache cache = new TestCache();
+		cache.acquire('a');
+		cache.release('b');
+
+		try {
+			cache.release('c');
+			fail("page was released twice");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+
+		try {
+			cache.release(0x100);
+			fail("page that is not loaded was released");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+}
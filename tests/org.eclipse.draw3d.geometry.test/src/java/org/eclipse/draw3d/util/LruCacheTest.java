@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link LruCache}. The values stand for texture pages like the
+ * pages of the image atlas, which are acquired by the regions that are in
+ * use.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class LruCacheTest {
+
+	private static LruCache<Integer, String> createCache(int i_count) {
+
+		LruCache<Integer, String> cache = new LruCache<Integer, String>(4);
+		for (int i = 0; i < i_count; i++)
+			cache.put(Integer.valueOf(i), "page" + i);
+
+		return cache;
+	}
+
+	/**
+	 * Tests that acquired values are not evicted and that the cache grows
+	 * beyond its capacity if all values are acquired.
+	 */
+	@Test
+	public void testAcquire() {
+
+		LruCache<Integer, String> cache = createCache(4);
+		cache.acquire(0);
+		cache.acquire(0);
+		cache.acquire(1);
+		assertEquals(2, cache.getReferences(0));
+
+		assertEquals("page2", cache.evict());
+		cache.put(4, "page4");
+
+		// a value stays acquired until it is released as often as acquired
+		cache.release(0);
+		assertEquals("page3", cache.evict());
+		assertEquals("page4", cache.evict());
+
+		cache.acquire(0);
+		assertNull(cache.evict());
+		assertEquals(2, cache.size());
+
+		cache.put(5, "page5");
+		cache.put(6, "page6");
+		cache.put(7, "page7");
+		cache.acquire(5);
+		cache.acquire(6);
+		cache.acquire(7);
+		assertTrue(cache.isFull());
+		assertNull(cache.evict());
+		cache.put(8, "page8");
+		assertEquals(6, cache.size());
+
+		// the released values are evicted in the order of their last use
+		cache.release(1);
+		cache.release(0);
+		cache.release(0);
+		cache.acquire(1);
+		cache.release(1);
+		assertEquals("page0", cache.evict());
+		assertEquals("page8", cache.evict());
+		assertEquals("page1", cache.evict());
+		assertNull(cache.evict());
+		assertFalse(cache.isFull());
+	}
+
+	/**
+	 * Tests that clearing the cache forgets the values and their references.
+	 */
+	@Test
+	public void testClear() {
+
+		LruCache<Integer, String> cache = createCache(3);
+		cache.acquire(1);
+		cache.clear();
+
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getReferences(1));
+		assertTrue(cache.values().isEmpty());
+
+		cache.put(1, "page1");
+		assertEquals("page1", cache.evict());
+	}
+
+	/**
+	 * Tests that invalid keys and values are rejected.
+	 */
+	@Test
+	public void testInvalid() {
+
+		LruCache<Integer, String> cache = createCache(1);
+		try {
+			cache.acquire(1);
+			fail("missing value was acquired");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+
+		try {
+			cache.release(0);
+			fail("value that is not acquired was released");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+
+		try {
+			cache.put(0, "other");
+			fail("duplicate key was added");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+
+		try {
+			cache.put(1, null);
+			fail("null value was added");
+		} catch (NullPointerException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests that the least recently used value is evicted and that iterating
+	 * over the values does not change their order.
+	 */
+	@Test
+	public void testLeastRecentlyUsed() {
+
+		LruCache<Integer, String> cache = createCache(4);
+		assertTrue(cache.isFull());
+
+		assertEquals("page0", cache.get(0));
+		cache.acquire(2);
+		cache.release(2);
+		assertNull(cache.get(4));
+
+		assertEquals(Arrays.asList("page1", "page3", "page0", "page2"),
+			new ArrayList<String>(cache.values()));
+		assertEquals(Arrays.asList("page1", "page3", "page0", "page2"),
+			new ArrayList<String>(cache.values()));
+
+		assertEquals("page1", cache.evict());
+		assertFalse(cache.isFull());
+		assertNull(cache.get(1));
+
+		cache.put(4, "page4");
+		assertEquals("page3", cache.evict());
+		assertEquals("page0", cache.evict());
+		assertEquals("page2", cache.evict());
+		assertEquals("page4", cache.evict());
+		assertNull(cache.evict());
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link RadixSorter}. The results are compared with the results of
+ * {@link Collections#sort(List, Comparator)}, which is stable as well.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class RadixSorterTest {
+
+	private static class Entry {
+
+		float key;
+
+		Entry(float i_key) {
+
+			key = i_key;
+		}
+	}
+
+	private static final Comparator<Entry> DESCENDING =
+		new Comparator<Entry>() {
+
+			public int compare(Entry i_e1, Entry i_e2) {
+
+				return Float.compare(i_e2.key, i_e1.key);
+			}
+		};
+
+	private void assertSorted(List<Entry> i_expected,
+		RadixSorter<Entry> i_sorter) {
+
+		assertEquals(i_expected.size(), i_sorter.size());
+		for (int i = 0; i < i_expected.size(); i++)
+			assertSame(i_expected.get(i), i_sorter.get(i));
+	}
+
+	/**
+	 * Tests that special keys are sorted like {@link Float#compare(float,
+	 * float)} sorts them.
+	 */
+	@Test
+	public void testSpecialKeys() {
+
+		float[] keys =
+			{ 1, Float.NaN, -0f, Float.NEGATIVE_INFINITY, 0f,
+				Float.POSITIVE_INFINITY, -1, Float.MIN_VALUE, -Float.MAX_VALUE };
+
+		List<Entry> expected = new ArrayList<Entry>();
+		RadixSorter<Entry> sorter = new RadixSorter<Entry>();
+		for (float key : keys) {
+			Entry entry = new Entry(key);
+			expected.add(entry);
+			sorter.add(entry, key);
+		}
+
+		Collections.sort(expected, DESCENDING);
+		sorter.sortDescending();
+		assertSorted(expected, sorter);
+
+		// all keys are different, so the ascending order is the reverse
+		sorter.clear();
+		for (Entry entry : expected)
+			sorter.add(entry, entry.key);
+
+		sorter.sortAscending();
+		Collections.reverse(expected);
+		assertSorted(expected, sorter);
+	}
+
+	/**
+	 * Tests that random keys with many duplicates are sorted in descending
+	 * order and that entries with equal keys keep their order. The same
+	 * sorter is reused for lists of different sizes.
+	 */
+	@Test
+	public void testSortDescending() {
+
+		Random random = new Random(4711);
+		RadixSorter<Entry> sorter = new RadixSorter<Entry>();
+
+		for (int size : new int[] { 0, 1, 2, 100, 1000, 10 }) {
+			List<Entry> expected = new ArrayList<Entry>();
+			sorter.clear();
+
+			for (int i = 0; i < size; i++) {
+				float key = random.nextInt(50) * random.nextFloat() * 1000;
+				if (random.nextBoolean())
+					key = -key;
+
+				Entry entry = new Entry(key);
+				expected.add(entry);
+				sorter.add(entry, key);
+			}
+
+			Collections.sort(expected, DESCENDING);
+			sorter.sortDescending();
+			assertSorted(expected, sorter);
+		}
+	}
+}
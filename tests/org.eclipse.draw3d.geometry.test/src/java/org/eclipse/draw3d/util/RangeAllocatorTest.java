@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link RangeAllocator}.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class RangeAllocatorTest {
+
+	/**
+	 * Tests that ranges are aligned, allocated first fit and merged with their
+	 * neighbours when they are released.
+	 */
+	@Test
+	public void testAllocateAndFree() {
+
+		RangeAllocator allocator = new RangeAllocator(256, 16);
+
+		assertEquals(0, allocator.allocate(10));
+		assertEquals(16, allocator.allocate(32));
+		assertEquals(48, allocator.allocate(16));
+		assertEquals(256 - 64, allocator.getFreeSize());
+
+		allocator.free(16, 32);
+		assertEquals(16, allocator.allocate(17));
+		assertEquals(-1, allocator.allocate(256));
+
+		allocator.free(0, 10);
+		allocator.free(48, 16);
+		allocator.free(16, 17);
+		assertTrue(allocator.isEmpty());
+		assertEquals(0, allocator.allocate(256));
+		assertEquals(-1, allocator.allocate(1));
+	}
+
+	/**
+	 * Tests that releasing a range twice is detected.
+	 */
+	@Test
+	public void testFreeTwice() {
+
+		RangeAllocator allocator = new RangeAllocator(64, 4);
+		int offset = allocator.allocate(8);
+		allocator.allocate(8);
+		allocator.free(offset, 8);
+
+		try {
+			allocator.free(offset, 8);
+			fail("range was released twice");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * Allocates and releases random ranges and checks that allocated ranges
+	 * never overlap and that the block is empty again in the end.
+	 */
+	@Test
+	public void testRandom() {
+
+		Random random = new Random(4711);
+		RangeAllocator allocator = new RangeAllocator(4096, 8);
+		boolean[] used = new boolean[4096];
+		List<int[]> ranges = new ArrayList<int[]>();
+
+		for (int i = 0; i < 2000; i++) {
+			if (ranges.isEmpty() || random.nextInt(3) > 0) {
+				int size = 1 + random.nextInt(200);
+				int offset = allocator.allocate(size);
+				if (offset >= 0) {
+					assertEquals(0, offset % 8);
+					for (int j = offset; j < offset + size; j++) {
+						assertFalse(used[j]);
+						used[j] = true;
+					}
+					ranges.add(new int[] { offset, size });
+				}
+			} else {
+				int[] range = ranges.remove(random.nextInt(ranges.size()));
+				for (int j = range[0]; j < range[0] + range[1]; j++)
+					used[j] = false;
+				allocator.free(range[0], range[1]);
+			}
+		}
+
+		for (int[] range : ranges)
+			allocator.free(range[0], range[1]);
+
+		assertTrue(allocator.isEmpty());
+		assertEquals(0, allocator.allocate(4096));
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ShelfPacker}.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class ShelfPackerTest {
+
+	private static void assertPlaced(ShelfPacker i_packer, int i_width,
+		int i_height, int i_x, int i_y) {
+
+		int[] position = new int[2];
+		assertTrue(i_packer.place(i_width, i_height, position));
+		assertEquals(i_x, position[0]);
+		assertEquals(i_y, position[1]);
+	}
+
+	/**
+	 * Tests that rectangles that do not fit into the area are rejected and
+	 * that a full area rejects all further rectangles.
+	 */
+	@Test
+	public void testFull() {
+
+		ShelfPacker packer = new ShelfPacker(64);
+		int[] position = new int[2];
+
+		assertFalse(packer.place(65, 1, position));
+		assertFalse(packer.place(1, 65, position));
+		assertEquals(0, packer.getShelfCount());
+
+		assertPlaced(packer, 64, 40, 0, 0);
+		assertFalse(packer.place(10, 30, position));
+		assertPlaced(packer, 30, 24, 0, 40);
+		assertPlaced(packer, 34, 24, 30, 40);
+		assertFalse(packer.place(1, 1, position));
+	}
+
+	/**
+	 * Tests that randomly sized rectangles never overlap and stay within the
+	 * area.
+	 */
+	@Test
+	public void testNoOverlap() {
+
+		int size = 256;
+		ShelfPacker packer = new ShelfPacker(size);
+		Random random = new Random(17);
+
+		List<int[]> placed = new ArrayList<int[]>();
+		int[] position = new int[2];
+		for (int i = 0; i < 500; i++) {
+			int w = 1 + random.nextInt(40);
+			int h = 1 + random.nextInt(40);
+			if (packer.place(w, h, position)) {
+				int[] r = { position[0], position[1], w, h };
+				assertTrue(r[0] >= 0 && r[0] + w <= size);
+				assertTrue(r[1] >= 0 && r[1] + h <= size);
+
+				for (int[] other : placed)
+					assertFalse(r[0] < other[0] + other[2]
+						&& other[0] < r[0] + r[2]
+						&& r[1] < other[1] + other[3]
+						&& other[1] < r[1] + r[3]);
+
+				placed.add(r);
+			}
+		}
+
+		assertFalse(placed.isEmpty());
+	}
+
+	/**
+	 * Tests that rectangles are placed on the lowest shelf that is high enough
+	 * and has enough room left, and that a new shelf is opened below the
+	 * existing ones if there is no such shelf.
+	 */
+	@Test
+	public void testShelves() {
+
+		ShelfPacker packer = new ShelfPacker(100);
+
+		assertPlaced(packer, 40, 30, 0, 0);
+		assertPlaced(packer, 40, 10, 40, 0);
+		assertEquals(1, packer.getShelfCount());
+
+		// too high for the first shelf
+		assertPlaced(packer, 10, 31, 0, 30);
+		assertEquals(2, packer.getShelfCount());
+
+		// fits on both shelves, the flatter one wastes less space
+		assertPlaced(packer, 10, 20, 80, 0);
+		assertPlaced(packer, 10, 30, 90, 0);
+
+		// the first shelf is full
+		assertPlaced(packer, 10, 30, 10, 30);
+
+		// too wide for the remaining room of both shelves
+		assertPlaced(packer, 90, 5, 0, 61);
+		assertEquals(3, packer.getShelfCount());
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link SignedDistanceField}.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 16.10.2026
+ */
+public class SignedDistanceFieldTest {
+
+	private static boolean[] createDisc(int i_size, float i_radius) {
+
+		boolean[] mask = new boolean[i_size * i_size];
+		float center = i_size / 2f;
+		for (int y = 0; y < i_size; y++) {
+			for (int x = 0; x < i_size; x++) {
+				float dx = x + 0.5f - center;
+				float dy = y + 0.5f - center;
+				mask[y * i_size + x] = dx * dx + dy * dy <= i_radius * i_radius;
+			}
+		}
+
+		return mask;
+	}
+
+	private static int value(byte[] i_field, int i_index) {
+
+		return i_field[i_index] & 0xFF;
+	}
+
+	/**
+	 * Tests the distances of a disc: the field is saturated far away from the
+	 * edge and the distance to the edge grows linearly with the spread.
+	 */
+	@Test
+	public void testDisc() {
+
+		int size = 64;
+		boolean[] mask = createDisc(size, 16);
+		byte[] field = new byte[size * size];
+		SignedDistanceField.create(mask, size, size, 1, 8, field, 0, size);
+
+		// center and corner are farther from the edge than the spread
+		assertEquals(255, value(field, 32 * size + 32));
+		assertEquals(0, value(field, 0));
+
+		// the pixels next to the edge are close to the edge value
+		int inside = value(field, 32 * size + 32 + 15);
+		int outside = value(field, 32 * size + 32 + 16);
+		assertTrue(inside >= SignedDistanceField.EDGE);
+		assertTrue(outside < SignedDistanceField.EDGE);
+		assertTrue(inside - SignedDistanceField.EDGE < 24);
+		assertTrue(SignedDistanceField.EDGE - outside < 24);
+
+		// 4 pixels away from the last inside pixel is half the spread
+		int half = value(field, 32 * size + 32 + 19);
+		assertEquals(SignedDistanceField.EDGE - 64, half, 8);
+
+		// the field decreases from the center to the border
+		for (int x = 33; x < size; x++)
+			assertTrue(value(field, 32 * size + x) <= value(field, 32 * size
+				+ x - 1));
+	}
+
+	/**
+	 * Tests that an empty mask yields a field that is outside everywhere.
+	 */
+	@Test
+	public void testEmpty() {
+
+		byte[] field = new byte[16];
+		SignedDistanceField.create(new boolean[16], 4, 4, 1, 4, field, 0, 4);
+
+		for (int i = 0; i < field.length; i++)
+			assertEquals(0, value(field, i));
+	}
+
+	/**
+	 * Tests that the field of a supersampled mask matches the exact distances
+	 * of a disc, and that the field is written at the given offset and
+	 * stride.
+	 */
+	@Test
+	public void testScale() {
+
+		int scale = 4;
+		boolean[] mask = createDisc(32 * scale, 8 * scale);
+
+		byte[] field = new byte[40 * 34];
+		SignedDistanceField.create(mask, 32 * scale, 32 * scale, scale, 4,
+			field, 40 + 2, 40);
+
+		for (int y = 0; y < 32; y++) {
+			for (int x = 0; x < 32; x++) {
+				float dx = x + 0.5f - 16;
+				float dy = y + 0.5f - 16;
+				float distance = 8 - (float) Math.sqrt(dx * dx + dy * dy);
+
+				float expected = 127.5f + distance * 127.5f / 4;
+				expected = Math.max(0, Math.min(255, expected));
+
+				assertEquals(expected, value(field, (y + 1) * 40 + x + 2), 12);
+			}
+		}
+
+		assertEquals(0, value(field, 0));
+		assertEquals(0, value(field, 40 + 1));
+	}
+
+	/**
+	 * Tests the validation of the arguments.
+	 */
+	@Test
+	public void testInvalidScale() {
+
+		try {
+			SignedDistanceField.create(new boolean[36], 6, 6, 4, 4,
+				new byte[4], 0, 1);
+			fail("dimensions are not a multiple of the scale");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+}
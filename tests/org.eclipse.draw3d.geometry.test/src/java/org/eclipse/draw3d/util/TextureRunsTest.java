@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Jens von Pilgrim and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Jens von Pilgrim - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.draw3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link TextureRuns}. The texture IDs stand for the glyph pages of
+ * a font, and the quads for the glyphs of a text.
+ *
+ * @author Jens von Pilgrim
+ * @version $Revision$
+ * @since 17.10.2026
+ */
+public class TextureRunsTest {
+
+	/**
+	 * Tests that quads of unknown textures and more quads than counted are
+	 * rejected.
+	 */
+	@Test
+	public void testInvalid() {
+
+		TextureRuns runs = new TextureRuns();
+		runs.count(1);
+		runs.count(2);
+		runs.layout(0);
+
+		try {
+			runs.next(3);
+			fail("quad of an unknown texture was added");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+
+		assertEquals(0, runs.next(1));
+		try {
+			runs.next(1);
+			fail("more quads were added than counted");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+
+		assertEquals(4, runs.next(2));
+	}
+
+	/**
+	 * Tests that the runs are laid out in the order of the first use of their
+	 * texture and that the quads of a texture are stored consecutively, even
+	 * if the textures alternate.
+	 */
+	@Test
+	public void testLayout() {
+
+		TextureRuns runs = new TextureRuns();
+		int[] textures = { 7, 3, 7, 9, 3, 7 };
+		for (int texture : textures)
+			runs.count(texture);
+
+		assertEquals(3, runs.getRunCount());
+		assertEquals(24, runs.layout(8));
+
+		assertEquals(7, runs.getTextureId(0));
+		assertEquals(3, runs.getTextureId(1));
+		assertEquals(9, runs.getTextureId(2));
+
+		assertEquals(8, runs.getFirst(0));
+		assertEquals(12, runs.getVertexCount(0));
+		assertEquals(20, runs.getFirst(1));
+		assertEquals(8, runs.getVertexCount(1));
+		assertEquals(28, runs.getFirst(2));
+		assertEquals(4, runs.getVertexCount(2));
+
+		int[] expected = { 8, 20, 12, 28, 24, 16 };
+		for (int i = 0; i < textures.length; i++)
+			assertEquals(expected[i], runs.next(textures[i]));
+	}
+
+	/**
+	 * Tests that the runs grow beyond their initial capacity.
+	 */
+	@Test
+	public void testManyTextures() {
+
+		TextureRuns runs = new TextureRuns();
+		for (int i = 0; i < 20; i++)
+			for (int j = 0; j <= i; j++)
+				runs.count(100 + i);
+
+		assertEquals(20, runs.getRunCount());
+		assertEquals(4 * 210, runs.layout(0));
+
+		for (int i = 0; i < 20; i++) {
+			assertEquals(100 + i, runs.getTextureId(i));
+			assertEquals(2 * i * (i + 1), runs.getFirst(i));
+			assertEquals(4 * (i + 1), runs.getVertexCount(i));
+		}
+	}
+}